@@ -0,0 +1,96 @@
+package benchmark;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Compares two JMH result files written with -rf json and reports how each benchmark changed. Exits with status 1
+// if any benchmark got slower than the baseline by more than the threshold and by more than the measurement error.
+public final class BenchmarkComparison {
+
+    // Constants
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+    // EFFECTS: prevents construction
+    private BenchmarkComparison() {
+    }
+
+    // EFFECTS: compares args[1] (current results) against args[0] (baseline results), using args[2] as the
+    //          regression threshold in percent if given, and prints one line per benchmark
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: BenchmarkComparison <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = (args.length > 2) ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, JSONObject> baseline = readResults(args[0]);
+        Map<String, JSONObject> current = readResults(args[1]);
+
+        int regressions = 0;
+        for (Map.Entry<String, JSONObject> entry : current.entrySet()) {
+            JSONObject before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %s%n", entry.getKey(), "new");
+            } else if (compare(entry.getKey(), before, entry.getValue(), threshold)) {
+                regressions++;
+            }
+        }
+        System.out.println(regressions + " regression(s) beyond " + threshold + "%");
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    // EFFECTS: prints how the benchmark with the given key changed and returns true if it regressed
+    private static boolean compare(String key, JSONObject before, JSONObject after, double threshold) {
+        JSONObject beforeMetric = before.getJSONObject("primaryMetric");
+        JSONObject afterMetric = after.getJSONObject("primaryMetric");
+        double beforeScore = beforeMetric.getDouble("score");
+        double afterScore = afterMetric.getDouble("score");
+        double error = errorOf(beforeMetric) + errorOf(afterMetric);
+        boolean higherIsBetter = "thrpt".equals(after.getString("mode"));
+
+        double change = (afterScore - beforeScore) / beforeScore * 100;
+        double worsening = higherIsBetter ? -change : change;
+        boolean regressed = worsening > threshold && Math.abs(afterScore - beforeScore) > error;
+        System.out.printf("%-90s %12.3f -> %12.3f %s %+7.1f%%%s%n", key, beforeScore, afterScore,
+                afterMetric.getString("scoreUnit"), change, regressed ? "  REGRESSION" : "");
+        return regressed;
+    }
+
+    // EFFECTS: returns the score error of metric, or 0 if JMH could not compute one
+    private static double errorOf(JSONObject metric) {
+        double error = metric.optDouble("scoreError", 0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    // EFFECTS: reads a JMH JSON result file and returns its results keyed by benchmark name, parameters, and
+    //          thread count
+    private static Map<String, JSONObject> readResults(String file) throws IOException {
+        String json = new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8);
+        JSONArray results = new JSONArray(json);
+        Map<String, JSONObject> resultsByKey = new LinkedHashMap<>();
+        for (int i = 0; i < results.length(); i++) {
+            JSONObject result = results.getJSONObject(i);
+            resultsByKey.put(keyOf(result), result);
+        }
+        return resultsByKey;
+    }
+
+    // EFFECTS: returns a key identifying the benchmark, its parameters, and its thread count
+    private static String keyOf(JSONObject result) {
+        StringBuilder key = new StringBuilder(result.getString("benchmark"));
+        JSONObject params = result.optJSONObject("params");
+        if (params != null) {
+            for (Map.Entry<String, Object> param : new TreeMap<>(params.toMap()).entrySet()) {
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue());
+            }
+        }
+        return key.append(" threads=").append(result.optInt("threads", 1)).toString();
+    }
+}
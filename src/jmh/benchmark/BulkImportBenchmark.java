@@ -0,0 +1,84 @@
+package benchmark;
+
+import model.PresetList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistence.BulkFormat;
+import persistence.BulkPresetReader;
+import persistence.BulkPresetWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Measures how bulk import of a large CSV or JSON Lines preset file scales with the number of threads parsing its
+// chunks, and how long streaming the same presets out again takes, which does not depend on threads.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BulkImportBenchmark {
+
+    // Fields
+    @Param({"2000000"})
+    private int numberOfPresets;
+    @Param({"CSV", "JSON_LINES"})
+    private BulkFormat format;
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+    private Path directory;
+    private Path bulkFile;
+    private Path exportFile;
+    private ForkJoinPool pool;
+    private PresetList presets;
+
+    @Setup(Level.Trial)
+    public void writeBulkFile() throws IOException {
+        directory = Files.createTempDirectory("bulkImportBenchmark");
+        String extension = format == BulkFormat.CSV ? ".csv" : ".jsonl";
+        bulkFile = directory.resolve("presets" + extension);
+        exportFile = directory.resolve("exported" + extension);
+        BulkPresetWriter writer = new BulkPresetWriter(bulkFile.toString(), format);
+        writer.open();
+        presets = PresetFiles.makePresetList(numberOfPresets);
+        writer.write(presets);
+        writer.close();
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteBulkFile() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(bulkFile);
+        Files.deleteIfExists(exportFile);
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public BulkPresetReader.Result importPresets() throws IOException {
+        return new BulkPresetReader(bulkFile.toString(), format, pool, BulkPresetReader.DEFAULT_CHUNK_BYTES).read();
+    }
+
+    @Benchmark
+    public void exportPresets() throws IOException {
+        BulkPresetWriter writer = new BulkPresetWriter(exportFile.toString(), format);
+        writer.open();
+        writer.write(presets);
+        writer.close();
+    }
+}
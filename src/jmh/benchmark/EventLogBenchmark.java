@@ -0,0 +1,68 @@
+package benchmark;
+
+import model.Event;
+import model.EventLog;
+import model.EventType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Measures the throughput of EventLog.logEvent when 1, 4 and 16 threads log at the same time, and the cost of
+// creating an event as well as logging it.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventLogBenchmark {
+
+    // Fields
+    private final EventLog log = EventLog.getInstance();
+    private final Event event = new Event("Added Preset: Benchmark.");
+
+    @Benchmark
+    @Threads(1)
+    public void logEventOneThread() {
+        log.logEvent(event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void logEventFourThreads() {
+        log.logEvent(event);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void logEventSixteenThreads() {
+        log.logEvent(event);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void createAndLogEventOneThread() {
+        log.logEvent(new Event("Added Preset: Benchmark."));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void logStructuredEventOneThread() {
+        log.logEvent(EventType.PRESET_ADDED, 1, "Benchmark");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void logStructuredEventFourThreads() {
+        log.logEvent(EventType.PRESET_ADDED, 1, "Benchmark");
+    }
+}
@@ -0,0 +1,86 @@
+package benchmark;
+
+import model.PresetList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import persistence.JsonReader;
+import persistence.JsonWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Measures how long JsonReader and JsonWriter take to read and write preset files of different sizes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class JsonPersistenceBenchmark {
+
+    // Fields
+    @Param({"10", "10000", "1000000"})
+    private int numberOfPresets;
+    private Path directory;
+    private Path presetFile;
+    private PresetList presets;
+
+    @Setup(Level.Trial)
+    public void writePresetFile() throws IOException {
+        directory = Files.createTempDirectory("jsonPersistenceBenchmark");
+        presetFile = directory.resolve("presets.json");
+        presets = PresetFiles.makePresetList(numberOfPresets);
+        JsonWriter writer = new JsonWriter(presetFile.toString());
+        writer.open();
+        writer.write(presets);
+        writer.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deletePresetFiles() throws IOException {
+        Files.deleteIfExists(directory.resolve("written.json"));
+        Files.deleteIfExists(presetFile);
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public PresetList readPresetList() throws IOException {
+        return new JsonReader(presetFile.toString()).read();
+    }
+
+    @Benchmark
+    public void streamPresets(Blackhole blackhole) throws IOException {
+        new JsonReader(presetFile.toString()).read(blackhole::consume);
+    }
+
+    @Benchmark
+    public void writePrettyPresetList() throws IOException {
+        write(new JsonWriter(directory.resolve("written.json").toString()));
+    }
+
+    @Benchmark
+    public void writeCompactPresetList() throws IOException {
+        write(new JsonWriter(directory.resolve("written.json").toString(), false, false));
+    }
+
+    // EFFECTS: writes the preset list with writer
+    private void write(JsonWriter writer) throws IOException {
+        writer.open();
+        writer.write(presets);
+        writer.close();
+    }
+}
@@ -0,0 +1,26 @@
+package benchmark;
+
+import model.Preset;
+import model.PresetList;
+
+// Represents helpers shared by the benchmarks for building preset lists of a given size.
+final class PresetFiles {
+
+    // EFFECTS: prevents construction
+    private PresetFiles() {
+    }
+
+    // EFFECTS: returns a preset list holding the given number of presets with distinct names and times
+    static PresetList makePresetList(int numberOfPresets) {
+        PresetList pl = new PresetList();
+        for (int i = 0; i < numberOfPresets; i++) {
+            pl.addPreset(makePreset(i));
+        }
+        return pl;
+    }
+
+    // EFFECTS: returns the i-th preset of a generated preset list
+    static Preset makePreset(int i) {
+        return new Preset("Preset " + i, 25 + i % 50, 5 + i % 10, 15 + i % 30);
+    }
+}
@@ -0,0 +1,89 @@
+package benchmark;
+
+import model.Preset;
+import model.PresetList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import persistence.BinaryReader;
+import persistence.BinaryWriter;
+import persistence.JsonReader;
+import persistence.JsonWriter;
+import persistence.MappedPresets;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Compares how long it takes to load the same presets from a JSON file and from a binary file, both when every
+// preset is needed and when only one is. See PresetFormatFootprint for the memory each way of loading keeps.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PresetFormatBenchmark {
+
+    // Fields
+    @Param({"10", "10000", "1000000"})
+    private int numberOfPresets;
+    private Path directory;
+    private Path jsonFile;
+    private Path binaryFile;
+
+    @Setup(Level.Trial)
+    public void writePresetFiles() throws IOException {
+        directory = Files.createTempDirectory("presetFormatBenchmark");
+        jsonFile = directory.resolve("presets.json");
+        binaryFile = directory.resolve("presets.bin");
+        PresetList presets = PresetFiles.makePresetList(numberOfPresets);
+        JsonWriter jsonWriter = new JsonWriter(jsonFile.toString());
+        jsonWriter.open();
+        jsonWriter.write(presets);
+        jsonWriter.close();
+        BinaryWriter binaryWriter = new BinaryWriter(binaryFile.toString());
+        binaryWriter.open();
+        binaryWriter.write(presets);
+        binaryWriter.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deletePresetFiles() throws IOException {
+        Files.delete(jsonFile);
+        Files.delete(binaryFile);
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public PresetList readJsonPresetList() throws IOException {
+        return new JsonReader(jsonFile.toString()).read();
+    }
+
+    @Benchmark
+    public PresetList readBinaryPresetList() throws IOException {
+        return new BinaryReader(binaryFile.toString()).read();
+    }
+
+    @Benchmark
+    public MappedPresets openBinaryFile() throws IOException {
+        return new BinaryReader(binaryFile.toString()).open();
+    }
+
+    @Benchmark
+    public Preset openBinaryFileAndGetLastPreset() throws IOException {
+        MappedPresets presets = new BinaryReader(binaryFile.toString()).open();
+        return presets.getPreset(presets.size() - 1);
+    }
+}
@@ -0,0 +1,78 @@
+package benchmark;
+
+import model.PresetList;
+import persistence.BinaryReader;
+import persistence.BinaryWriter;
+import persistence.JsonReader;
+import persistence.JsonWriter;
+import persistence.MappedPresets;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Reports how much heap stays in use after loading the same presets from a JSON file and from a binary file.
+// Run with the number of presets as its argument, for example:
+//     java -Xmx2g -cp "out/jmh:lib/*" benchmark.PresetFormatFootprint 1000000
+public class PresetFormatFootprint {
+
+    // EFFECTS: writes args[0] presets in both formats to a temporary directory and prints the heap retained by
+    //          each way of loading them
+    public static void main(String[] args) throws IOException {
+        int numberOfPresets = Integer.parseInt(args[0]);
+        Path directory = Files.createTempDirectory("presetFormatFootprint");
+        Path jsonFile = directory.resolve("presets.json");
+        Path binaryFile = directory.resolve("presets.bin");
+        try {
+            writePresetFiles(numberOfPresets, jsonFile, binaryFile);
+
+            long before = usedHeap();
+            PresetList fromJson = new JsonReader(jsonFile.toString()).read();
+            report("JSON, PresetList", usedHeap() - before, Files.size(jsonFile));
+            fromJson = null;
+
+            before = usedHeap();
+            PresetList fromBinary = new BinaryReader(binaryFile.toString()).read();
+            report("binary, PresetList", usedHeap() - before, Files.size(binaryFile));
+            fromBinary = null;
+
+            before = usedHeap();
+            MappedPresets mapped = new BinaryReader(binaryFile.toString()).open();
+            report("binary, mapped", usedHeap() - before, Files.size(binaryFile));
+            System.out.println("(mapped presets: " + mapped.size() + ", file pages are loaded by the OS on access)");
+        } finally {
+            Files.deleteIfExists(jsonFile);
+            Files.deleteIfExists(binaryFile);
+            Files.delete(directory);
+        }
+    }
+
+    // EFFECTS: writes the same generated presets to jsonFile and binaryFile
+    private static void writePresetFiles(int numberOfPresets, Path jsonFile, Path binaryFile) throws IOException {
+        PresetList presets = PresetFiles.makePresetList(numberOfPresets);
+        JsonWriter jsonWriter = new JsonWriter(jsonFile.toString());
+        jsonWriter.open();
+        jsonWriter.write(presets);
+        jsonWriter.close();
+        BinaryWriter binaryWriter = new BinaryWriter(binaryFile.toString());
+        binaryWriter.open();
+        binaryWriter.write(presets);
+        binaryWriter.close();
+    }
+
+    // EFFECTS: returns the heap in use after asking for a full garbage collection
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    // EFFECTS: prints the heap retained and the file size for one way of loading the presets
+    private static void report(String format, long retainedBytes, long fileBytes) {
+        System.out.printf("%-20s retained heap %,14d bytes   file %,14d bytes%n", format, retainedBytes, fileBytes);
+    }
+}
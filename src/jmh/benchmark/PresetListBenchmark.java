@@ -0,0 +1,78 @@
+package benchmark;
+
+import model.Preset;
+import model.PresetList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Measures the throughput of adding, deleting, looking up and searching for presets in a PresetList of a given size.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PresetListBenchmark {
+
+    // Fields
+    @Param({"10", "10000", "100000"})
+    private int numberOfPresets;
+    private PresetList presets;
+    private ArrayDeque<Preset> oldestFirst;
+    private int nextPreset;
+
+    @Setup(Level.Iteration)
+    public void makePresetList() {
+        presets = PresetFiles.makePresetList(numberOfPresets);
+        oldestFirst = new ArrayDeque<>(presets.getPresetList());
+        nextPreset = numberOfPresets;
+        presets.searchByName("preset", 1); // builds the name index outside the measurement
+    }
+
+    @Benchmark
+    public PresetList addPreset() {
+        presets.addPreset(PresetFiles.makePreset(nextPreset++));
+        return presets;
+    }
+
+    @Benchmark
+    public PresetList deleteOldestAndAddPreset() {
+        presets.deletePreset(oldestFirst.removeFirst());
+        Preset added = PresetFiles.makePreset(nextPreset++);
+        presets.addPreset(added);
+        oldestFirst.addLast(added);
+        return presets;
+    }
+
+    @Benchmark
+    public Preset getPresetById() {
+        return presets.getPresetById(1 + (nextPreset++ % numberOfPresets));
+    }
+
+    @Benchmark
+    public List<Preset> searchByNameAsTyped() {
+        String name = PresetFiles.makePreset(nextPreset++ % numberOfPresets).getPresetName();
+        return presets.searchByName(name.substring(0, 1 + nextPreset % name.length()), 50);
+    }
+
+    @Benchmark
+    public PresetList renameSearchedPreset() {
+        Preset preset = presets.getPresetById(1 + (nextPreset % numberOfPresets));
+        preset.setPresetName("Renamed " + nextPreset++);
+        return presets;
+    }
+}
@@ -0,0 +1,127 @@
+package benchmark;
+
+import model.Preset;
+import server.SessionHttpServer;
+import server.SessionServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Load test for the headless session server. It hosts many concurrent sessions with short preset times, so every
+// session keeps moving from block to block, and reports how late the block transitions were against each session's
+// planned timeline, as the sessions measure it, and how much CPU the scheduler threads used. Every hundredth
+// session is created through the HTTP API and the rest directly, since the API's round trips would otherwise
+// dominate the setup time. Run with the number of sessions, scheduler threads and seconds, for example:
+//     java -cp "out/jmh:lib/*" benchmark.SessionServerLoad 10000 2 30
+public class SessionServerLoad {
+
+    // Constants
+    private static final int HISTOGRAM_MILLIS = 1000;
+    private static final int MIN_BLOCK_MILLIS = 500;
+    private static final int MAX_BLOCK_MILLIS = 2000;
+    private static final int SESSIONS_PER_REQUEST = 100;
+
+    // EFFECTS: runs the load test and prints the lateness of block transitions behind their planned ends
+    public static void main(String[] args) throws Exception {
+        int numberOfSessions = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int schedulerThreads = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        SessionServer sessions = new SessionServer(schedulerThreads, TimeUnit.MILLISECONDS);
+        SessionHttpServer api = new SessionHttpServer(sessions, 0, 4);
+        AtomicLongArray lateness = new AtomicLongArray(HISTOGRAM_MILLIS + 1); // the last bucket is "or later"
+        sessions.addBlockObserver((blockType, presetId, startEpochMillis, durationMillis, driftMicroSeconds) -> {
+            // blocks are shortened to make up earlier drift, so lateness is measured against the planned timeline
+            long late = TimeUnit.MICROSECONDS.toMillis(driftMicroSeconds);
+            lateness.incrementAndGet((int) Math.max(0, Math.min(HISTOGRAM_MILLIS, late)));
+        });
+        api.start();
+        try {
+            Random random = new Random(1);
+            long started = System.nanoTime();
+            for (int i = 0; i < numberOfSessions; i++) {
+                Preset preset = new Preset("Load " + i, blockMillis(random), blockMillis(random), blockMillis(random));
+                if (i % SESSIONS_PER_REQUEST == 0) {
+                    post(api.getPort(), preset);
+                } else {
+                    sessions.createSession(preset);
+                }
+            }
+            System.out.printf("Created %d sessions on %d scheduler threads in %d ms%n", sessions.getSessionCount(),
+                    schedulerThreads, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+            for (int i = 0; i < lateness.length(); i++) {
+                lateness.set(i, 0); // only count the transitions during the measured seconds
+            }
+            long cpuBefore = processCpuNanos();
+            Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+            long cpuUsed = processCpuNanos() - cpuBefore;
+            report(lateness, seconds, cpuUsed);
+        } finally {
+            api.stop();
+            sessions.shutdown();
+        }
+    }
+
+    // EFFECTS: returns a random block length in milliseconds
+    private static long blockMillis(Random random) {
+        return MIN_BLOCK_MILLIS + random.nextInt(MAX_BLOCK_MILLIS - MIN_BLOCK_MILLIS);
+    }
+
+    // EFFECTS: creates a session with the given preset through the HTTP API
+    private static void post(int port, Preset preset) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + "/sessions")
+                .openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(preset.toJson().toString().getBytes(StandardCharsets.UTF_8));
+        }
+        if (connection.getResponseCode() != 201) {
+            throw new IOException("Session not created: " + connection.getResponseCode());
+        }
+        try (InputStream in = connection.getInputStream()) {
+            in.readAllBytes();
+        }
+    }
+
+    // EFFECTS: prints the number of transitions and their lateness percentiles
+    private static void report(AtomicLongArray lateness, int seconds, long cpuNanos) {
+        long total = 0;
+        for (int i = 0; i < lateness.length(); i++) {
+            total += lateness.get(i);
+        }
+        System.out.printf("%d transitions in %d s (%d per second), CPU %.1f%% of one core%n", total, seconds,
+                total / seconds, 100.0 * cpuNanos / TimeUnit.SECONDS.toNanos(seconds));
+        for (double percentile : new double[] {0.5, 0.99, 0.999, 1.0}) {
+            System.out.printf("  p%-5s late by <= %s ms%n", percentile * 100, percentileMillis(lateness, total,
+                    percentile));
+        }
+    }
+
+    // EFFECTS: returns the lateness in milliseconds below which the given fraction of transitions fell
+    private static String percentileMillis(AtomicLongArray lateness, long total, double percentile) {
+        long target = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < lateness.length(); i++) {
+            seen += lateness.get(i);
+            if (seen >= target && seen > 0) {
+                return i == HISTOGRAM_MILLIS ? ">" + HISTOGRAM_MILLIS : String.valueOf(i);
+            }
+        }
+        return "-";
+    }
+
+    // EFFECTS: returns the CPU time used by this process so far, in nanoseconds
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) java.lang.management.ManagementFactory
+                .getOperatingSystemMXBean()).getProcessCpuTime();
+    }
+}
@@ -0,0 +1,91 @@
+package benchmark;
+
+import model.DeadlineScheduler;
+import model.TimingWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Compares the cost of re-arming block deadlines in a TimingWheel and in a ScheduledThreadPoolExecutor while a given
+// number of deadlines are waiting. Each operation cancels one waiting deadline and schedules a new one, as pausing
+// and resuming a session does. The deadlines are spread over an hour, so none fall due during a run.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerBenchmark {
+
+    // Constants
+    private static final long SPREAD_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    // Fields
+    @Param({"1000", "100000", "1000000"})
+    private int numberOfTimers;
+    @Param({"wheel", "executor"})
+    private String scheduler;
+    private TimingWheel wheel;
+    private ScheduledThreadPoolExecutor executor;
+    private DeadlineScheduler deadlines;
+    private DeadlineScheduler.Deadline[] waiting;
+    private Random random;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void fillScheduler() {
+        if (scheduler.equals("wheel")) {
+            wheel = new TimingWheel();
+            deadlines = wheel;
+        } else {
+            executor = new ScheduledThreadPoolExecutor(1);
+            executor.setRemoveOnCancelPolicy(true); // otherwise cancelled deadlines stay queued until due
+            deadlines = DeadlineScheduler.of(executor);
+        }
+        random = new Random(1);
+        waiting = new DeadlineScheduler.Deadline[numberOfTimers];
+        for (int i = 0; i < numberOfTimers; i++) {
+            waiting[i] = deadlines.schedule(TimerBenchmark::expire, nextDelay());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        if (wheel != null) {
+            wheel.shutdown();
+        } else {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public DeadlineScheduler.Deadline cancelAndReschedule() {
+        int i = next++ % numberOfTimers;
+        waiting[i].cancel();
+        waiting[i] = deadlines.schedule(TimerBenchmark::expire, nextDelay());
+        return waiting[i];
+    }
+
+    // EFFECTS: returns a random delay of up to an hour, starting a minute from now
+    private long nextDelay() {
+        return TimeUnit.MINUTES.toNanos(1) + (long) (random.nextDouble() * SPREAD_NANOS);
+    }
+
+    // EFFECTS: does nothing; no deadline falls due during a run
+    private static void expire() {
+    }
+}
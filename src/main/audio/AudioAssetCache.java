@@ -0,0 +1,159 @@
+package audio;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Represents a cache of decoded sound files. A file is decoded to PCM in BrownianNoiseGenerator.FORMAT the first
+// time it is asked for, into a direct buffer outside the heap that every caller shares through read-only views.
+// When the decoded sounds take more than the byte budget, the least recently used ones are evicted; views handed
+// out earlier stay valid until their users drop them.
+public class AudioAssetCache {
+
+    // Constants
+    public static final long DEFAULT_BYTE_BUDGET = 32L << 20;
+
+    // Fields
+    private final long byteBudget;
+    private final LinkedHashMap<String, ByteBuffer> sounds;
+    private long residentBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    // REQUIRES: byteBudget >= 0
+    // EFFECTS: constructs an empty cache that keeps at most byteBudget bytes of decoded sound
+    public AudioAssetCache(long byteBudget) {
+        this.byteBudget = byteBudget;
+        this.sounds = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a read-only view of the decoded samples of the sound file at path, decoding it if it is not
+    //          cached; throws IOException if the file cannot be read and UnsupportedAudioFileException if it cannot
+    //          be converted to BrownianNoiseGenerator.FORMAT
+    public ByteBuffer get(String path) throws IOException, UnsupportedAudioFileException {
+        synchronized (this) {
+            ByteBuffer cached = sounds.get(path);
+            if (cached != null) {
+                hits++;
+                return cached.asReadOnlyBuffer();
+            }
+            misses++;
+        }
+        ByteBuffer decoded = decode(path); // outside the lock, so other sounds can be served meanwhile
+        synchronized (this) {
+            ByteBuffer cached = sounds.get(path);
+            if (cached != null) {
+                return cached.asReadOnlyBuffer(); // another thread decoded it first
+            }
+            sounds.put(path, decoded);
+            residentBytes += decoded.capacity();
+            evictOver(byteBudget, path);
+            return decoded.asReadOnlyBuffer();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a source that loops the sound file at path; throws as get does
+    public NoiseSource openLoop(String path) throws IOException, UnsupportedAudioFileException {
+        return new LoopingSampleSource(get(path));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: evicts every cached sound
+    public synchronized void clear() {
+        evictOver(0, null);
+    }
+
+    // EFFECTS: returns true if the sound file at path is cached
+    public synchronized boolean contains(String path) {
+        return sounds.containsKey(path);
+    }
+
+    // EFFECTS: returns the most bytes of decoded sound the cache keeps
+    public long getByteBudget() {
+        return byteBudget;
+    }
+
+    // EFFECTS: returns the bytes of decoded sound currently cached
+    public synchronized long getResidentBytes() {
+        return residentBytes;
+    }
+
+    // EFFECTS: returns the number of requests served from the cache
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    // EFFECTS: returns the number of requests that had to decode a file
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    // EFFECTS: returns the number of sounds evicted to stay within the byte budget
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: evicts least recently used sounds other than keep until at most budget bytes are cached, or keep is
+    //          the only sound left
+    private void evictOver(long budget, String keep) {
+        Iterator<Map.Entry<String, ByteBuffer>> leastRecentFirst = sounds.entrySet().iterator();
+        while (residentBytes > budget && leastRecentFirst.hasNext()) {
+            Map.Entry<String, ByteBuffer> entry = leastRecentFirst.next();
+            if (!entry.getKey().equals(keep)) {
+                residentBytes -= entry.getValue().capacity();
+                leastRecentFirst.remove();
+                evictions++;
+            }
+        }
+    }
+
+    // EFFECTS: decodes the sound file at path into a new direct buffer in BrownianNoiseGenerator.FORMAT
+    private static ByteBuffer decode(String path) throws IOException, UnsupportedAudioFileException {
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(new File(path));
+             AudioInputStream pcm = convert(source)) {
+            long frames = pcm.getFrameLength();
+            ByteBuffer decoded;
+            if (frames != AudioSystem.NOT_SPECIFIED && frames * BrownianNoiseGenerator.BYTES_PER_FRAME
+                    <= Integer.MAX_VALUE) {
+                decoded = ByteBuffer.allocateDirect((int) frames * BrownianNoiseGenerator.BYTES_PER_FRAME);
+                byte[] chunk = new byte[8192];
+                int read;
+                while (decoded.hasRemaining() && (read = pcm.read(chunk, 0,
+                        Math.min(chunk.length, decoded.remaining()))) > 0) {
+                    decoded.put(chunk, 0, read);
+                }
+                decoded.flip();
+            } else {
+                ByteArrayOutputStream all = new ByteArrayOutputStream();
+                pcm.transferTo(all);
+                decoded = ByteBuffer.allocateDirect(all.size()).put(all.toByteArray()).flip();
+            }
+            return decoded;
+        }
+    }
+
+    // EFFECTS: returns source converted to BrownianNoiseGenerator.FORMAT; throws UnsupportedAudioFileException if
+    //          no installed converter can do it
+    private static AudioInputStream convert(AudioInputStream source) throws UnsupportedAudioFileException {
+        if (source.getFormat().matches(BrownianNoiseGenerator.FORMAT)) {
+            return source;
+        }
+        try {
+            return AudioSystem.getAudioInputStream(BrownianNoiseGenerator.FORMAT, source);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedAudioFileException("Cannot convert " + source.getFormat() + " to "
+                    + BrownianNoiseGenerator.FORMAT);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package audio;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Represents a Java Flight Recorder event for an audio line that played everything queued in it before the next
+// buffer was ready, so the listener heard a gap.
+@Name("focusclinic.AudioUnderrun")
+@Label("Audio Underrun")
+@Category({"Focus Clinic", "Audio"})
+@Description("The audio line ran out of queued audio while playing")
+@StackTrace(false)
+class AudioUnderrunEvent extends jdk.jfr.Event {
+
+    // Fields
+    @Label("Line Buffer")
+    @DataAmount
+    int lineBufferBytes;
+}
@@ -0,0 +1,70 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+
+// Represents a generator that synthesizes a variation of Brownian noise sample by sample, following a NoiseProfile.
+// Samples are written into a caller-owned buffer, so generating audio does not allocate.
+public class BrownianNoiseGenerator implements NoiseSource {
+
+    // Constants
+    public static final float SAMPLE_RATE = 44100f;
+    public static final int BYTES_PER_FRAME = 2;
+    public static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+    private static final double HEADROOM = 0.25; // keeps peaks of the unit-variance signal from clipping
+    private static final double UNIT_VARIANCE_OF_UNIFORM_NOISE = Math.sqrt(3);
+    private static final double TO_UNIT_INTERVAL = 0x1.0p-53;
+
+    // Fields
+    private final double leak;
+    private final double drive;
+    private final double smoothing;
+    private final double gain;
+    private double integrated;
+    private double filtered;
+    private long seed;
+
+    // EFFECTS: constructs a generator for the given profile with a seed taken from the system clock
+    public BrownianNoiseGenerator(NoiseProfile profile) {
+        this(profile, System.nanoTime());
+    }
+
+    // EFFECTS: constructs a generator for the given profile whose output is fully determined by seed
+    public BrownianNoiseGenerator(NoiseProfile profile, long seed) {
+        leak = Math.exp(-2 * Math.PI * profile.getCornerFrequency() / SAMPLE_RATE);
+        drive = Math.sqrt(1 - leak * leak) * UNIT_VARIANCE_OF_UNIFORM_NOISE;
+        smoothing = 1 - Math.exp(-2 * Math.PI * profile.getCutoffFrequency() / SAMPLE_RATE);
+        gain = profile.getGain() * HEADROOM;
+        this.seed = (seed == 0) ? 1 : seed;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next sample of noise in the range [-1, 1]
+    @Override
+    public double nextSample() {
+        integrated = integrated * leak + nextWhiteNoise() * drive;
+        filtered += smoothing * (integrated - filtered);
+        return Math.max(-1, Math.min(1, filtered * gain));
+    }
+
+    // REQUIRES: buffer has room for frames * BYTES_PER_FRAME bytes from offset
+    // MODIFIES: this, buffer
+    // EFFECTS: writes the next frames samples into buffer as 16-bit signed little-endian PCM in FORMAT
+    public void fill(byte[] buffer, int offset, int frames) {
+        int end = offset + frames * BYTES_PER_FRAME;
+        for (int i = offset; i < end; i += BYTES_PER_FRAME) {
+            int sample = (int) Math.round(nextSample() * Short.MAX_VALUE);
+            buffer[i] = (byte) sample;
+            buffer[i + 1] = (byte) (sample >> 8);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a uniformly distributed value in [-1, 1) using a xorshift* generator
+    private double nextWhiteNoise() {
+        seed ^= seed >>> 12;
+        seed ^= seed << 25;
+        seed ^= seed >>> 27;
+        long bits = seed * 0x2545F4914F6CDD1DL;
+        return (bits >>> 11) * TO_UNIT_INTERVAL * 2 - 1;
+    }
+}
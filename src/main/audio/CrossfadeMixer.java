@@ -0,0 +1,110 @@
+package audio;
+
+// Represents the mixer stage between the noise sources and the audio line. It plays one source at a time and
+// moves to another by crossfading over a fixed number of frames, so changing blocks never cuts the waveform. A
+// crossfade requested from another thread starts exactly at the first frame of the next buffer the mixer fills;
+// one requested while another crossfade is running starts as soon as that one ends.
+public class CrossfadeMixer {
+
+    // Fields
+    private final int crossfadeFrames;
+    private final double[] fadeIn;
+    private NoiseSource current;
+    private NoiseSource next;
+    private int fadePosition;
+    private NoiseSource requested;
+    private boolean requestPending;
+
+    // REQUIRES: crossfadeFrames >= 1
+    // EFFECTS: constructs a silent mixer whose crossfades last crossfadeFrames frames
+    public CrossfadeMixer(int crossfadeFrames) {
+        this.crossfadeFrames = crossfadeFrames;
+        fadeIn = new double[crossfadeFrames];
+        for (int i = 0; i < crossfadeFrames; i++) {
+            // equal-power curve: the two uncorrelated noises keep a constant combined loudness
+            fadeIn[i] = Math.sin(0.5 * Math.PI * (i + 0.5) / crossfadeFrames);
+        }
+        fadePosition = -1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: asks the mixer to crossfade to target, or to fade out to silence if target is null; a later request
+    //          made before this one starts replaces it
+    public synchronized void crossfadeTo(NoiseSource target) {
+        requested = target;
+        requestPending = true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: silences the mixer at once, dropping any crossfade in progress or requested
+    public synchronized void cut() {
+        current = null;
+        next = null;
+        fadePosition = -1;
+        requested = null;
+        requestPending = false;
+    }
+
+    // EFFECTS: returns the number of frames each crossfade lasts
+    public int getCrossfadeFrames() {
+        return crossfadeFrames;
+    }
+
+    // EFFECTS: returns true if a crossfade is running or waiting to start
+    public synchronized boolean isCrossfading() {
+        return fadePosition >= 0 || requestPending;
+    }
+
+    // REQUIRES: buffer has room for frames * BYTES_PER_FRAME bytes from offset
+    // MODIFIES: this, buffer
+    // EFFECTS: writes the next frames mixed samples into buffer as 16-bit signed little-endian PCM
+    public synchronized void fill(byte[] buffer, int offset, int frames) {
+        int end = offset + frames * BrownianNoiseGenerator.BYTES_PER_FRAME;
+        for (int i = offset; i < end; i += BrownianNoiseGenerator.BYTES_PER_FRAME) {
+            int sample = (int) Math.round(mixSample() * Short.MAX_VALUE);
+            buffer[i] = (byte) sample;
+            buffer[i + 1] = (byte) (sample >> 8);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next mixed sample in the range [-1, 1]
+    public synchronized double nextSample() {
+        return mixSample();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next mixed sample in the range [-1, 1], advancing any crossfade by one frame
+    private double mixSample() {
+        if (fadePosition < 0) {
+            if (!requestPending) {
+                return (current == null) ? 0 : current.nextSample();
+            }
+            startCrossfade();
+            if (fadePosition < 0) {
+                return (current == null) ? 0 : current.nextSample();
+            }
+        }
+        double in = fadeIn[fadePosition];
+        double out = fadeIn[crossfadeFrames - 1 - fadePosition];
+        double sample = ((current == null) ? 0 : current.nextSample() * out)
+                + ((next == null) ? 0 : next.nextSample() * in);
+        if (++fadePosition == crossfadeFrames) {
+            current = next;
+            next = null;
+            fadePosition = -1;
+        }
+        return Math.max(-1, Math.min(1, sample));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts the requested crossfade, unless it asks for what is already playing
+    private void startCrossfade() {
+        requestPending = false;
+        if (requested != current) {
+            next = requested;
+            fadePosition = 0;
+        }
+        requested = null;
+    }
+}
@@ -0,0 +1,34 @@
+package audio;
+
+import java.nio.ByteBuffer;
+
+// Represents a source that plays decoded 16-bit signed little-endian mono PCM from a buffer over and over. It reads
+// through its own view of the buffer, so any number of sources can share one decoded sound.
+public class LoopingSampleSource implements NoiseSource {
+
+    // Fields
+    private final ByteBuffer samples;
+    private int position;
+
+    // REQUIRES: samples holds a whole number of frames in BrownianNoiseGenerator.FORMAT
+    // EFFECTS: constructs a source that plays samples from its start; an empty buffer plays silence
+    public LoopingSampleSource(ByteBuffer samples) {
+        this.samples = samples.duplicate();
+        this.position = this.samples.position();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next sample, starting again from the beginning after the last one
+    @Override
+    public double nextSample() {
+        if (samples.limit() - samples.position() < BrownianNoiseGenerator.BYTES_PER_FRAME) {
+            return 0;
+        }
+        int sample = (samples.get(position) & 0xFF) | (samples.get(position + 1) << 8);
+        position += BrownianNoiseGenerator.BYTES_PER_FRAME;
+        if (position + BrownianNoiseGenerator.BYTES_PER_FRAME > samples.limit()) {
+            position = samples.position();
+        }
+        return (double) sample / Short.MAX_VALUE;
+    }
+}
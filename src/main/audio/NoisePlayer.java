@@ -0,0 +1,274 @@
+package audio;
+
+import model.BlockPlayer;
+import model.BlockType;
+
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static audio.BrownianNoiseGenerator.BYTES_PER_FRAME;
+import static audio.BrownianNoiseGenerator.FORMAT;
+import static audio.BrownianNoiseGenerator.SAMPLE_RATE;
+
+// Represents a player that streams generated Brownian noise to a single audio line. A streaming thread fills one
+// small buffer at a time from the generator for the current block, so no audio is decoded or held in memory.
+// The line stays open for the whole session, and a CrossfadeMixer blends each block's noise into the next one's.
+// A block can instead play a sound file, which is decoded through an AudioAssetCache and looped; sound files shipped
+// in a directory and named after a kind of block, such as focus.wav, are used for that kind of block.
+public class NoisePlayer implements BlockPlayer {
+
+    // Constants
+    public static final int DEFAULT_CROSSFADE_MILLIS = 250;
+    private static final int FRAMES_PER_BUFFER = 2048; // about 46 ms of audio
+    private static final int BUFFERS_PER_LINE = 4;
+    private static final List<String> SOUND_FILE_EXTENSIONS = List.of(".wav", ".aiff", ".aif", ".au");
+
+    // Fields
+    private final Map<BlockType, BrownianNoiseGenerator> generators;
+    private final Map<BlockType, String> soundFiles;
+    private final AudioAssetCache assets;
+    private final CrossfadeMixer mixer;
+    private final byte[] buffer;
+    private SourceDataLine line;
+    private Thread streamer;
+    private NoiseSource current;
+    private boolean paused;
+    private boolean closed;
+    private volatile boolean lineEmptied = true;
+
+    // EFFECTS: constructs a player that uses the default noise profile for each kind of block
+    public NoisePlayer() {
+        this(defaultProfiles(), DEFAULT_CROSSFADE_MILLIS, new AudioAssetCache(AudioAssetCache.DEFAULT_BYTE_BUDGET));
+    }
+
+    // REQUIRES: profiles has a profile for every BlockType, crossfadeMillis >= 1
+    // EFFECTS: constructs a player that uses the given noise profile for each kind of block, crossfades between
+    //          blocks over crossfadeMillis milliseconds, and decodes sound files through assets
+    public NoisePlayer(Map<BlockType, NoiseProfile> profiles, int crossfadeMillis, AudioAssetCache assets) {
+        this.assets = assets;
+        soundFiles = new EnumMap<>(BlockType.class);
+        mixer = new CrossfadeMixer(Math.max(1, Math.round(crossfadeMillis * SAMPLE_RATE / 1000)));
+        generators = new EnumMap<>(BlockType.class);
+        for (Map.Entry<BlockType, NoiseProfile> entry : profiles.entrySet()) {
+            generators.put(entry.getKey(), new BrownianNoiseGenerator(entry.getValue()));
+        }
+        buffer = new byte[FRAMES_PER_BUFFER * BYTES_PER_FRAME];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens the audio line and starts the streaming thread, which waits until a block is played;
+    //          throws LineUnavailableException if no audio line can be opened
+    public void open() throws LineUnavailableException {
+        line = AudioSystem.getSourceDataLine(FORMAT);
+        line.open(FORMAT, buffer.length * BUFFERS_PER_LINE);
+        streamer = new Thread(this::stream, "noise-player");
+        streamer.setDaemon(true);
+        streamer.start();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes the given kind of block loop the sound file at path instead of generated noise, or go back to
+    //          generated noise if path is null; takes effect the next time such a block is played
+    public synchronized void setSoundFile(BlockType blockType, String path) {
+        if (path == null) {
+            soundFiles.remove(blockType);
+        } else {
+            soundFiles.put(blockType, path);
+        }
+    }
+
+    // EFFECTS: returns the sound file the given kind of block loops, or null if it plays generated noise
+    public synchronized String getSoundFile(BlockType blockType) {
+        return soundFiles.get(blockType);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: decodes the sound file at path into the cache ahead of its block, so the block does not wait for it,
+    //          and returns true; returns false and reports the problem if it cannot be decoded
+    public boolean preload(String path) {
+        try {
+            assets.get(path);
+            return true;
+        } catch (IOException | UnsupportedAudioFileException e) {
+            System.out.println("Unable to play sound file: " + path);
+            return false;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes each kind of block that has a sound file in directory named after it, such as focus.wav, loop
+    //          that file instead of generated noise, preloading it; files that cannot be decoded are left out
+    public void useSoundFiles(String directory) {
+        for (String path : listSoundFiles(directory)) {
+            String name = Paths.get(path).getFileName().toString();
+            String blockName = name.substring(0, name.lastIndexOf('.')).toUpperCase(Locale.ROOT);
+            for (BlockType blockType : BlockType.values()) {
+                if (blockType.name().equals(blockName) && getSoundFile(blockType) == null && preload(path)) {
+                    setSoundFile(blockType, path);
+                }
+            }
+        }
+    }
+
+    // EFFECTS: returns the paths of the sound files in directory, in alphabetical order, or none if there is no
+    //          such directory or it cannot be read
+    public static List<String> listSoundFiles(String directory) {
+        List<String> paths = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(directory))) {
+            for (Path file : files) {
+                String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+                if (Files.isRegularFile(file) && SOUND_FILE_EXTENSIONS.stream().anyMatch(name::endsWith)) {
+                    paths.add(file.toString());
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return paths;
+        } catch (IOException e) {
+            System.out.println("Unable to read from directory: " + directory);
+        }
+        Collections.sort(paths);
+        return paths;
+    }
+
+    // REQUIRES: open() has been called
+    // MODIFIES: this
+    // EFFECTS: crossfades playback to the sound for the given kind of block; the crossfade is heard within
+    //          getMaxLatencyFrames() frames
+    @Override
+    public synchronized void play(BlockType blockType) {
+        current = getSource(blockType);
+        mixer.crossfadeTo(current);
+        paused = false;
+        line.start();
+        notifyAll();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops playback and discards buffered audio; does nothing if nothing is playing
+    @Override
+    public synchronized void pause() {
+        if (current == null || paused) {
+            return;
+        }
+        paused = true;
+        line.stop();
+        line.flush(); // releases the streaming thread if it is blocked writing to the line
+        lineEmptied = true;
+        mixer.cut(); // resuming fades the noise back in
+    }
+
+    // MODIFIES: this
+    // EFFECTS: continues playback after a pause; does nothing if not paused
+    @Override
+    public synchronized void resume() {
+        if (current == null || !paused) {
+            return;
+        }
+        paused = false;
+        mixer.crossfadeTo(current);
+        line.start();
+        notifyAll();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops playback until the next block is played; the line stays open
+    @Override
+    public synchronized void stop() {
+        pause();
+        current = null;
+        paused = false;
+    }
+
+    // EFFECTS: returns the most frames that can be heard between play() and the start of its crossfade: the audio
+    //          queued in the line plus the buffer being filled
+    public int getMaxLatencyFrames() {
+        return FRAMES_PER_BUFFER * (BUFFERS_PER_LINE + 1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops the streaming thread and closes the audio line
+    public void close() throws InterruptedException {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        if (streamer != null) {
+            streamer.interrupt();
+            streamer.join();
+            line.close();
+        }
+    }
+
+    // EFFECTS: writes mixed noise to the line until closed; the line's blocking write paces the loop
+    private void stream() {
+        try {
+            while (awaitPlaying()) {
+                mixer.fill(buffer, 0, FRAMES_PER_BUFFER);
+                checkUnderrun();
+                line.write(buffer, 0, buffer.length);
+            }
+        } catch (InterruptedException e) {
+            // closed while waiting for a block to play
+        }
+    }
+
+    // EFFECTS: records an AudioUnderrunEvent if the line played everything queued in it while the next buffer was
+    //          being filled; the line is expected to be empty before the first write after it was opened or paused
+    private void checkUnderrun() {
+        if (lineEmptied) {
+            lineEmptied = false;
+            return;
+        }
+        AudioUnderrunEvent event = new AudioUnderrunEvent();
+        if (event.isEnabled() && line.available() >= line.getBufferSize()) {
+            event.lineBufferBytes = line.getBufferSize();
+            event.commit();
+        }
+    }
+
+    // EFFECTS: waits until a block is playing and returns true, or returns false once closed
+    private synchronized boolean awaitPlaying() throws InterruptedException {
+        while (!closed && (current == null || paused)) {
+            wait();
+        }
+        return !closed;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a looping source for the block's sound file, or its noise generator if it has no sound file
+    //          or the file cannot be decoded
+    private NoiseSource getSource(BlockType blockType) {
+        String path = soundFiles.get(blockType);
+        if (path != null) {
+            try {
+                return assets.openLoop(path);
+            } catch (IOException | UnsupportedAudioFileException e) {
+                System.out.println("Unable to play sound file: " + path);
+            }
+        }
+        return generators.get(blockType);
+    }
+
+    // EFFECTS: returns the default noise profile for each kind of block
+    private static Map<BlockType, NoiseProfile> defaultProfiles() {
+        Map<BlockType, NoiseProfile> profiles = new EnumMap<>(BlockType.class);
+        for (BlockType blockType : BlockType.values()) {
+            profiles.put(blockType, NoiseProfile.forBlock(blockType));
+        }
+        return profiles;
+    }
+}
@@ -0,0 +1,54 @@
+package audio;
+
+import model.BlockType;
+
+// Represents the spectral profile of a variation of Brownian noise. White noise is integrated by a leaky integrator
+// whose corner frequency sets where the spectrum stops rising towards the bass, then smoothed by a one-pole low-pass
+// filter that sets how bright the noise sounds.
+public class NoiseProfile {
+
+    // Constants
+    public static final NoiseProfile FOCUS = new NoiseProfile(10, 400, 0.8);
+    public static final NoiseProfile MEDITATION = new NoiseProfile(40, 1200, 0.7);
+    public static final NoiseProfile REST = new NoiseProfile(120, 4000, 0.6);
+
+    // Fields
+    private final double cornerFrequency;
+    private final double cutoffFrequency;
+    private final double gain;
+
+    // REQUIRES: 0 < cornerFrequency < cutoffFrequency < half the sample rate, 0 < gain <= 1
+    // EFFECTS: constructs a profile with the given corner and cutoff frequencies in Hz and output gain
+    public NoiseProfile(double cornerFrequency, double cutoffFrequency, double gain) {
+        this.cornerFrequency = cornerFrequency;
+        this.cutoffFrequency = cutoffFrequency;
+        this.gain = gain;
+    }
+
+    // EFFECTS: returns the frequency in Hz below which the spectrum is flat
+    public double getCornerFrequency() {
+        return cornerFrequency;
+    }
+
+    // EFFECTS: returns the frequency in Hz above which the spectrum is rolled off further
+    public double getCutoffFrequency() {
+        return cutoffFrequency;
+    }
+
+    // EFFECTS: returns the output gain
+    public double getGain() {
+        return gain;
+    }
+
+    // EFFECTS: returns the default profile for the given kind of block
+    public static NoiseProfile forBlock(BlockType blockType) {
+        switch (blockType) {
+            case MEDITATION:
+                return MEDITATION;
+            case REST:
+                return REST;
+            default:
+                return FOCUS;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package audio;
+
+// Represents a source of mono audio samples that a CrossfadeMixer can play.
+public interface NoiseSource {
+
+    // MODIFIES: this
+    // EFFECTS: returns the next sample in the range [-1, 1]
+    double nextSample();
+}
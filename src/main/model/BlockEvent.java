@@ -0,0 +1,77 @@
+package model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Represents a Java Flight Recorder event spanning one block of a session, from the moment it starts playing until
+// it ends or the session is stopped. Its drift is how far behind the session's planned timeline the block ended.
+// Like every JFR event it costs little more than a field check unless a recording has it enabled.
+@Name("focusclinic.Block")
+@Label("Block")
+@Category({"Focus Clinic", "Session"})
+@Description("A block of a session, from when it started playing until it ended")
+@StackTrace(false)
+class BlockEvent extends jdk.jfr.Event {
+
+    // Fields
+    @Label("Block Type")
+    String blockType;
+
+    @Label("Preset Id")
+    long presetId;
+
+    @Label("Planned")
+    @Timespan(Timespan.MILLISECONDS)
+    long planned;
+
+    @Label("Paused")
+    @Timespan(Timespan.NANOSECONDS)
+    long paused;
+
+    @Label("Drift")
+    @Description("How far behind the session's planned timeline the block ended")
+    @Timespan(Timespan.NANOSECONDS)
+    long drift;
+
+    @Label("Completed")
+    @Description("False if the session was stopped before the block ended")
+    boolean completed;
+
+    private transient long pausedAtNanos;
+
+    // EFFECTS: constructs an event for a block of the given type and planned length that starts now
+    BlockEvent(BlockType blockType, long presetId, long plannedMillis) {
+        this.blockType = blockType.toString();
+        this.presetId = presetId;
+        this.planned = plannedMillis;
+        begin();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: notes that the block was paused
+    void pause() {
+        pausedAtNanos = System.nanoTime();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the time since the block was paused to its paused time
+    void resume() {
+        paused += System.nanoTime() - pausedAtNanos;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: ends the event, recording whether the block ran to its end and its drift in nanoseconds, and
+    //          commits it if it is enabled
+    void finish(boolean completed, long driftNanos) {
+        end();
+        if (shouldCommit()) {
+            this.completed = completed;
+            this.drift = driftNanos;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package model;
+
+// Represents an observer that is notified whenever a SessionEngine finishes playing a block.
+public interface BlockObserver {
+
+    // EFFECTS: handles a block of the given type, played with the preset with the given id, that started at
+    //          startEpochMillis (milliseconds since the epoch), lasted durationMillis of unpaused time, and ended
+    //          driftMicroSeconds after its planned end on the session's timeline
+    void blockCompleted(BlockType blockType, long presetId, long startEpochMillis, long durationMillis,
+                        long driftMicroSeconds);
+}
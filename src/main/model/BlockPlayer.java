@@ -0,0 +1,17 @@
+package model;
+
+// Represents something that plays the sound for each block of a session.
+public interface BlockPlayer {
+
+    // EFFECTS: starts playing the sound for the given kind of block, replacing whatever is playing
+    void play(BlockType blockType);
+
+    // EFFECTS: pauses the sound that is playing
+    void pause();
+
+    // EFFECTS: continues the sound after a pause
+    void resume();
+
+    // EFFECTS: stops the sound at the end of a session
+    void stop();
+}
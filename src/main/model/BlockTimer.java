@@ -0,0 +1,161 @@
+package model;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Represents a timer for a single block of a session. The end of a block is signalled by a deadline armed on a
+// scheduler, so threads waiting for the block to end are parked instead of polling the audio position. Pausing
+// cancels the deadline and freezes the time remaining; resuming arms a new deadline for that time. Time is read from
+// the monotonic clock of a TimeSource.
+public class BlockTimer {
+
+    // Fields
+    private final DeadlineScheduler scheduler;
+    private final TimeSource clock;
+    private DeadlineScheduler.Deadline deadline;
+    private CountDownLatch expired;
+    private Runnable onExpiry;
+    private long deadlineInNanoSeconds;
+    private long remainingNanoSeconds;
+    private long generation;
+    private boolean paused;
+
+    // EFFECTS: constructs a timer whose deadlines are armed on its own daemon scheduler thread
+    public BlockTimer() {
+        this(Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "block-timer");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    // EFFECTS: constructs a timer whose deadlines are armed on the given scheduler
+    public BlockTimer(ScheduledExecutorService scheduler) {
+        this(DeadlineScheduler.of(scheduler));
+    }
+
+    // EFFECTS: constructs a timer whose deadlines are armed on the given scheduler, such as a TimingWheel
+    public BlockTimer(DeadlineScheduler scheduler) {
+        this(scheduler, TimeSource.SYSTEM);
+    }
+
+    // EFFECTS: constructs a timer whose deadlines are armed on the given scheduler and that reads time from clock;
+    //          the scheduler must measure delays on the same clock
+    public BlockTimer(DeadlineScheduler scheduler, TimeSource clock) {
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.expired = new CountDownLatch(0);
+    }
+
+    // REQUIRES: durationInMicroSeconds >= 0
+    // MODIFIES: this
+    // EFFECTS: starts a new block that ends after durationInMicroSeconds, replacing any block in progress
+    public void start(long durationInMicroSeconds) {
+        start(durationInMicroSeconds, null);
+    }
+
+    // REQUIRES: durationInMicroSeconds >= 0
+    // MODIFIES: this
+    // EFFECTS: starts a new block that ends after durationInMicroSeconds, replacing any block in progress, and runs
+    //          onExpiry (if not null) on the scheduler's thread when it ends
+    public synchronized void start(long durationInMicroSeconds, Runnable onExpiry) {
+        disarm();
+        this.onExpiry = onExpiry;
+        expired.countDown(); // releases anyone still waiting on the replaced block
+        expired = new CountDownLatch(1);
+        remainingNanoSeconds = TimeUnit.MICROSECONDS.toNanos(durationInMicroSeconds);
+        paused = false;
+        arm();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: freezes the remaining time of the current block; does nothing if the block is paused or has ended
+    public synchronized void pause() {
+        if (paused || expired.getCount() == 0) {
+            return;
+        }
+        disarm();
+        remainingNanoSeconds = Math.max(0, deadlineInNanoSeconds - clock.nanoTime());
+        paused = true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: re-arms the deadline of a paused block with its remaining time; does nothing if not paused
+    public synchronized void resume() {
+        if (!paused) {
+            return;
+        }
+        paused = false;
+        arm();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: ends the current block without running its callback and releases any threads waiting for it
+    public synchronized void cancel() {
+        disarm();
+        paused = false;
+        remainingNanoSeconds = 0;
+        expired.countDown();
+    }
+
+    // EFFECTS: parks the calling thread until the current block has ended (pauses extend the wait)
+    public void awaitExpiry() throws InterruptedException {
+        CountDownLatch blockEnded;
+        synchronized (this) {
+            blockEnded = expired;
+        }
+        blockEnded.await();
+    }
+
+    // EFFECTS: returns the time remaining in the current block in microseconds, or 0 if no block is in progress
+    public synchronized long getRemainingMicroSeconds() {
+        if (expired.getCount() == 0) {
+            return 0;
+        }
+        long remaining = paused ? remainingNanoSeconds : deadlineInNanoSeconds - clock.nanoTime();
+        return TimeUnit.NANOSECONDS.toMicros(Math.max(0, remaining));
+    }
+
+    // EFFECTS: returns true if the current block is paused
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: schedules the end of the current block after its remaining time
+    private void arm() {
+        long armedGeneration = ++generation;
+        deadlineInNanoSeconds = clock.nanoTime() + remainingNanoSeconds;
+        deadline = scheduler.schedule(() -> expire(armedGeneration), remainingNanoSeconds);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: cancels the scheduled end of the current block, if any
+    private void disarm() {
+        generation++; // a deadline that is already running will see it was disarmed and do nothing
+        if (deadline != null) {
+            deadline.cancel();
+            deadline = null;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: ends the current block if the deadline that fired is still the armed one, then runs its callback
+    private void expire(long armedGeneration) {
+        Runnable callback;
+        synchronized (this) {
+            if (armedGeneration != generation) {
+                return;
+            }
+            deadline = null;
+            remainingNanoSeconds = 0;
+            expired.countDown();
+            callback = onExpiry;
+        }
+        if (callback != null) {
+            callback.run();
+        }
+    }
+}
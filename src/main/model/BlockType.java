@@ -0,0 +1,8 @@
+package model;
+
+// Represents the kinds of blocks a session cycles through.
+public enum BlockType {
+    FOCUS,
+    MEDITATION,
+    REST
+}
@@ -0,0 +1,34 @@
+package model;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Represents a scheduler that runs each task once its delay has passed, unless the task is cancelled first.
+public interface DeadlineScheduler {
+
+    // Represents a task waiting for its delay to pass.
+    interface Deadline {
+
+        // EFFECTS: stops the task from running if it has not been run yet; returns true if it was stopped
+        boolean cancel();
+    }
+
+    // REQUIRES: delayNanos >= 0
+    // EFFECTS: schedules task to run once delayNanos nanoseconds have passed
+    Deadline schedule(Runnable task, long delayNanos);
+
+    // EFFECTS: returns a scheduler that waits for delays with this one, then hands each task to executor to run
+    default DeadlineScheduler runningOn(Executor executor) {
+        return (task, delayNanos) -> schedule(() -> executor.execute(task), delayNanos);
+    }
+
+    // EFFECTS: returns a scheduler that schedules tasks on executor
+    static DeadlineScheduler of(ScheduledExecutorService executor) {
+        return (task, delayNanos) -> {
+            ScheduledFuture<?> future = executor.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+            return () -> future.cancel(false);
+        };
+    }
+}
@@ -1,17 +1,22 @@
 package model;
 
-import java.util.Calendar;
 import java.util.Date;
+import java.util.Objects;
 
 // Represents a preset event.
+// An event is stored in structured form: its type, the id of the preset it is about, and the time it was logged.
+// Its description is only built when it is asked for.
 public class Event {
 
     // Constants
     private static final int HASH_CONSTANT = 13;
 
     // Fields
-    private final Date dateLogged;
-    private final String description;
+    private final EventType type;
+    private final long presetId;
+    private final String detail;
+    private final long epochMillis;
+    private final long nanoTime;
 
     /**
      * Creates an event with the given description
@@ -20,8 +25,74 @@ public class Event {
      * @param description a description of the event
      */
     public Event(String description) {
-        dateLogged = Calendar.getInstance().getTime();
-        this.description = description;
+        this(EventType.MESSAGE, Preset.NO_ID, description, TimeSource.SYSTEM.currentTimeMillis(),
+                TimeSource.SYSTEM.nanoTime());
+    }
+
+    /**
+     * Creates an event from its structured fields.
+     *
+     * @param type        the kind of event
+     * @param presetId    the id of the preset the event is about, or Preset.NO_ID
+     * @param detail      the name of the preset, or the description of a MESSAGE event
+     * @param epochMillis when the event happened, in milliseconds since the epoch
+     * @param nanoTime    when the event happened, on a monotonic clock in nanoseconds
+     */
+    public Event(EventType type, long presetId, String detail, long epochMillis, long nanoTime) {
+        this.type = type;
+        this.presetId = presetId;
+        this.detail = detail;
+        this.epochMillis = epochMillis;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * @return the kind of event
+     */
+    public EventType getType() {
+        return type;
+    }
+
+    /**
+     * @return the id of the preset the event is about, or Preset.NO_ID
+     */
+    public long getPresetId() {
+        return presetId;
+    }
+
+    /**
+     * @return the name of the preset, or the description of a MESSAGE event
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * @return when the event happened, in milliseconds since the epoch
+     */
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+
+    /**
+     * @return when the event happened, on a monotonic clock in nanoseconds
+     */
+    public long getNanoTime() {
+        return nanoTime;
+    }
+
+    /**
+     * @return the date the event was logged
+     */
+    public Date getDate() {
+        return new Date(epochMillis);
+    }
+
+    /**
+     * @return a description of the event, built when it is called
+     */
+    public String getDescription() {
+        return type.describe(detail);
     }
 
     @Override
@@ -36,17 +107,24 @@ public class Event {
 
         Event otherEvent = (Event) other;
 
-        return (this.dateLogged.equals(otherEvent.dateLogged)
-                && this.description.equals(otherEvent.description));
+        return (this.type == otherEvent.type
+                && this.presetId == otherEvent.presetId
+                && this.epochMillis == otherEvent.epochMillis
+                && this.nanoTime == otherEvent.nanoTime
+                && Objects.equals(this.detail, otherEvent.detail));
     }
 
     @Override
     public int hashCode() {
-        return (HASH_CONSTANT * dateLogged.hashCode() + description.hashCode());
+        int hash = type.getCode();
+        hash = HASH_CONSTANT * hash + Long.hashCode(presetId);
+        hash = HASH_CONSTANT * hash + Long.hashCode(epochMillis);
+        hash = HASH_CONSTANT * hash + Long.hashCode(nanoTime);
+        return HASH_CONSTANT * hash + Objects.hashCode(detail);
     }
 
     @Override
     public String toString() {
-        return dateLogged.toString() + "\n" + description;
+        return getDate().toString() + "\n" + getDescription();
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,12 @@
 package model;
 
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
 /**
  * We use the Singleton Design Pattern to ensure that there is only
@@ -11,48 +15,385 @@ import java.util.Iterator;
  */
 
 // Represents a log of preset events.
+// Events are kept in a bounded ring buffer that any number of threads can log to without locking. Once the log is
+// full, it either overwrites its oldest events or drops new ones, depending on its OverflowPolicy. A reader that
+// drains the log can mark the events it has read, so their slots are free again: a log that drops new events is
+// then only full when the events not yet read fill it.
+// The ring stores the fields of each event in primitive arrays, so logging a structured event allocates nothing;
+// Event objects are only created when the log is iterated.
 public class EventLog implements Iterable<Event> {
+
+    // Constants
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    public static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.OVERWRITE_OLDEST;
+
+    // Represents what happens when an event is logged to a full log.
+    public enum OverflowPolicy {
+        OVERWRITE_OLDEST,
+        DROP_NEWEST
+    }
+
     /**
      * the only EventLog in the system (Singleton Design Pattern)
      */
 
     // Fields
-    private static EventLog theLog;
-    private final Collection<Event> events;
+    private static final EventLog theLog = new EventLog();
+    private volatile Ring events;
+    private volatile TimeSource timeSource;
 
     /**
      * Prevent external construction.
      * (Singleton Design Pattern).
      */
     private EventLog() {
-        events = new ArrayList<>();
+        events = new Ring(DEFAULT_CAPACITY, DEFAULT_OVERFLOW_POLICY);
+        timeSource = TimeSource.SYSTEM;
     }
 
     /**
-     * Gets instance of EventLog - creates it
-     * if it doesn't already exist.
+     * Gets instance of EventLog. The instance is created when
+     * the class is loaded, so every thread sees the same one.
      * (Singleton Design Pattern)
      *
      * @return instance of EventLog
      */
     public static EventLog getInstance() {
-        if (theLog == null) {
-            theLog = new EventLog();
-        }
         return theLog;
     }
 
     /**
-     * Adds an event to the event log.
+     * Replaces the log with an empty one that holds at most capacity
+     * events (rounded up to a power of two) and handles overflow with
+     * the given policy. Events logged so far are discarded.
+     *
+     * @param capacity the maximum number of events kept, at least 1
+     * @param policy   what to do when an event is logged to a full log
+     */
+    public void configure(int capacity, OverflowPolicy policy) {
+        events = new Ring(capacity, policy);
+    }
+
+    /**
+     * Sets the clock that timestamps events logged with
+     * logEvent(EventType, long, String).
+     *
+     * @param timeSource the clock to read
+     */
+    public void setTimeSource(TimeSource timeSource) {
+        this.timeSource = timeSource;
+    }
+
+    /**
+     * Adds an event to the event log without blocking.
      *
      * @param e the event to be added
      */
     public void logEvent(Event e) {
-        events.add(e);
+        events.offer(e.getType(), e.getPresetId(), e.getDetail(), e.getEpochMillis(), e.getNanoTime());
+    }
+
+    /**
+     * Adds an event, timestamped now, to the event log without
+     * blocking or allocating.
+     *
+     * @param type     the kind of event
+     * @param presetId the id of the preset the event is about, or Preset.NO_ID
+     * @param detail   the name of the preset, or the description of a MESSAGE event
+     */
+    public void logEvent(EventType type, long presetId, String detail) {
+        TimeSource clock = timeSource;
+        events.offer(type, presetId, detail, clock.currentTimeMillis(), clock.nanoTime());
+    }
+
+    /**
+     * Removes all events from the event log.
+     */
+    public void clear() {
+        events.clear();
+    }
+
+    /**
+     * @return the maximum number of events the log keeps
+     */
+    public int getCapacity() {
+        return events.capacity();
+    }
+
+    /**
+     * @return what the log does when an event is logged while it is full
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return events.policy;
+    }
+
+    /**
+     * @return the number of events that were not logged because the log was full
+     */
+    public long getDroppedCount() {
+        return events.dropped.sum();
+    }
+
+    /**
+     * @return the number of events that were overwritten by newer events
+     * before they were marked read
+     */
+    public long getOverwrittenCount() {
+        return events.overwritten.sum();
+    }
+
+    /**
+     * @return the number of events logged since the log was last configured,
+     * including any dropped, overwritten or cleared since
+     */
+    public long getLoggedCount() {
+        return events.nextSequence.get();
+    }
+
+    /**
+     * Passes events to consumer, oldest first, starting from the event
+     * with the given sequence number (the value of getLoggedCount() when
+     * it was logged), without blocking threads logging events. Events
+     * overwritten or cleared before they are read are skipped. It stops
+     * after max events, or at an event that is still being written so a
+     * later call can pick it up.
+     *
+     * @param from     the sequence number of the first event wanted; if
+     *                 it is beyond the end of the log, as when the log has
+     *                 been reconfigured, it starts from the oldest event
+     * @param max      the most events to pass to consumer
+     * @param consumer receives each event read
+     * @return the sequence number to continue from on the next call
+     */
+    public long drainTo(long from, int max, Consumer<Event> consumer) {
+        return events.drainTo(from, max, consumer);
+    }
+
+    /**
+     * Marks the events before the given sequence number as read, so a
+     * DROP_NEWEST log may reuse their slots for new events instead of
+     * dropping them. A reader that drains the log publishes its cursor
+     * this way; without one, a DROP_NEWEST log keeps the first events
+     * logged until it is cleared.
+     *
+     * @param sequence the sequence number returned by drainTo
+     */
+    public void markRead(long sequence) {
+        events.markRead(sequence);
     }
 
+    /**
+     * Returns a weakly consistent iterator over the events from oldest
+     * to newest. It never blocks threads logging events; events logged
+     * or overwritten while iterating may or may not be seen.
+     */
     @Override
     public Iterator<Event> iterator() {
         return events.iterator();
     }
-}
\ No newline at end of file
+
+    // Represents a fixed-size ring of events, where event number n is stored in slot n % capacity. Each slot has a
+    // state recording which event it holds and whether that event is still being written, so readers can tell if
+    // an event they read was overwritten underneath them. The fields of a slot are plain array elements: writers
+    // publish them by setting the slot's state, and readers check the state again after reading them.
+    private static final class Ring {
+
+        // Fields
+        private final OverflowPolicy policy;
+        private final int mask;
+        private final EventType[] types;
+        private final long[] presetIds;
+        private final String[] details;
+        private final long[] epochMillis;
+        private final long[] nanoTimes;
+        private final AtomicLongArray states;
+        private final AtomicLong nextSequence;
+        private final LongAdder dropped;
+        private final LongAdder overwritten;
+        private final AtomicLong readSequence;
+        private volatile long firstSequence;
+
+        // REQUIRES: capacity >= 1
+        // EFFECTS: constructs an empty ring for at least capacity events
+        private Ring(int capacity, OverflowPolicy policy) {
+            int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+            this.policy = policy;
+            this.mask = size - 1;
+            this.types = new EventType[size];
+            this.presetIds = new long[size];
+            this.details = new String[size];
+            this.epochMillis = new long[size];
+            this.nanoTimes = new long[size];
+            this.states = new AtomicLongArray(size);
+            this.nextSequence = new AtomicLong();
+            this.dropped = new LongAdder();
+            this.overwritten = new LongAdder();
+            this.readSequence = new AtomicLong();
+        }
+
+        // EFFECTS: returns the number of slots in the ring
+        private int capacity() {
+            return mask + 1;
+        }
+
+        // EFFECTS: returns the sequence number of the oldest event neither cleared nor marked read
+        private long oldestUnread() {
+            return Math.max(firstSequence, readSequence.get());
+        }
+
+        // MODIFIES: this
+        // EFFECTS: claims the next sequence number and stores the event in its slot, or counts it as dropped if the
+        //          ring is full of unread events and the policy is DROP_NEWEST
+        private void offer(EventType type, long presetId, String detail, long millis, long nanos) {
+            long sequence;
+            if (policy == OverflowPolicy.DROP_NEWEST) {
+                do {
+                    sequence = nextSequence.get();
+                    if (sequence - oldestUnread() >= capacity()) {
+                        dropped.increment();
+                        return;
+                    }
+                } while (!nextSequence.compareAndSet(sequence, sequence + 1));
+            } else {
+                sequence = nextSequence.getAndIncrement();
+            }
+            store(sequence, type, presetId, detail, millis, nanos);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: writes the event into the slot for sequence, counting the event it replaces as overwritten unless
+        //          it was cleared or read. If
+        //          the ring wrapped around while this thread was between claiming and storing, a newer event may
+        //          already own the slot, so this event counts as overwritten; if an older event is still being
+        //          written there, this event is dropped instead of waiting for it.
+        private void store(long sequence, EventType type, long presetId, String detail, long millis, long nanos) {
+            int slot = (int) sequence & mask;
+            long state;
+            do {
+                state = states.get(slot);
+                if (state >= written(sequence)) {
+                    overwritten.increment();
+                    return;
+                }
+                if (isBeingWritten(state)) {
+                    dropped.increment();
+                    return;
+                }
+            } while (!states.compareAndSet(slot, state, written(sequence) + 1));
+            if (state >= written(oldestUnread())) {
+                overwritten.increment();
+            }
+            types[slot] = type;
+            presetIds[slot] = presetId;
+            details[slot] = detail;
+            epochMillis[slot] = millis;
+            nanoTimes[slot] = nanos;
+            states.set(slot, written(sequence)); // a volatile write, so the fields above are visible first
+        }
+
+        // MODIFIES: this
+        // EFFECTS: empties the ring by starting it after the last event claimed so far
+        private void clear() {
+            firstSequence = nextSequence.get();
+        }
+
+        // MODIFIES: this
+        // EFFECTS: moves the mark of events read forward to sequence, but never past the last event claimed, as a
+        //          cursor from before the log was reconfigured may be beyond the end of this ring
+        private void markRead(long sequence) {
+            long read = Math.min(sequence, nextSequence.get());
+            readSequence.accumulateAndGet(read, Math::max);
+        }
+
+        // EFFECTS: returns a new event with the fields stored for the given sequence number, or null if it has not
+        //          been written yet or has been overwritten
+        private Event get(long sequence) {
+            int slot = (int) sequence & mask;
+            if (states.get(slot) != written(sequence)) {
+                return null;
+            }
+            EventType type = types[slot];
+            long presetId = presetIds[slot];
+            String detail = details[slot];
+            long millis = epochMillis[slot];
+            long nanos = nanoTimes[slot];
+            VarHandle.loadLoadFence(); // the fields must be read before the state is checked again
+            if (states.get(slot) != written(sequence)) {
+                return null;
+            }
+            return new Event(type, presetId, detail, millis, nanos);
+        }
+
+        // EFFECTS: passes up to max events from sequence from onwards to consumer and returns the sequence to continue
+        //          from. A slot not yet written for its sequence is waited for (by returning) while no newer event
+        //          can have claimed it; otherwise its event was overwritten, or dropped, and is skipped.
+        private long drainTo(long from, int max, Consumer<Event> consumer) {
+            long end = nextSequence.get();
+            long sequence = from > end ? firstSequence : from;
+            sequence = Math.max(sequence, Math.max(firstSequence, end - capacity()));
+            int passed = 0;
+            while (sequence < end && passed < max) {
+                long state = states.get((int) sequence & mask);
+                if (state < written(sequence) || state == written(sequence) + 1) {
+                    if (end - sequence < capacity()) {
+                        break;
+                    }
+                    sequence++;
+                    continue;
+                }
+                Event e = get(sequence++);
+                if (e != null) {
+                    consumer.accept(e);
+                    passed++;
+                }
+            }
+            return sequence;
+        }
+
+        // EFFECTS: returns an iterator over the events in the ring when it is called, from oldest to newest
+        private Iterator<Event> iterator() {
+            long end = nextSequence.get();
+            long start = Math.max(firstSequence, end - capacity());
+            return new Iterator<Event>() {
+                private long sequence = start;
+                private Event next = advance();
+
+                // EFFECTS: returns the next readable event before end, or null if there are none
+                private Event advance() {
+                    while (sequence < end) {
+                        Event e = get(sequence++);
+                        if (e != null) {
+                            return e;
+                        }
+                    }
+                    return null;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Event next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    Event e = next;
+                    next = advance();
+                    return e;
+                }
+            };
+        }
+
+        // EFFECTS: returns the slot state for a slot holding the fully written event with the given sequence number
+        private static long written(long sequence) {
+            return (sequence + 1) << 1;
+        }
+
+        // EFFECTS: returns true if state belongs to a slot whose event is still being written
+        private static boolean isBeingWritten(long state) {
+            return (state & 1) == 1;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package model;
+
+// Represents the kinds of events that can be logged. Each kind has a stable code that identifies it outside the
+// program, and knows how to describe an event of its kind.
+public enum EventType {
+    MESSAGE(0, ""),
+    PRESET_ADDED(1, "Added"),
+    PRESET_DELETED(2, "Deleted");
+
+    // Fields
+    private final int code;
+    private final String action;
+
+    // EFFECTS: constructs an event type with the given code, whose events describe the given action
+    EventType(int code, String action) {
+        this.code = code;
+        this.action = action;
+    }
+
+    // EFFECTS: returns the code that identifies this event type
+    public int getCode() {
+        return code;
+    }
+
+    // EFFECTS: returns the event type with the given code; throws IllegalArgumentException if there is none
+    public static EventType fromCode(int code) {
+        for (EventType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("No event type with code " + code);
+    }
+
+    // EFFECTS: returns a description of an event of this type, where detail is the message of a MESSAGE event and
+    //          the name of the preset otherwise
+    String describe(String detail) {
+        if (this == MESSAGE) {
+            return detail;
+        }
+        return action + " Preset: " + detail + ".";
+    }
+}
@@ -3,19 +3,35 @@ package model;
 import org.json.JSONObject;
 import persistence.Writable;
 
+import java.util.ArrayList;
+import java.util.List;
+
 // Represents information related to users setting custom presets.
 public class Preset implements Writable {
 
+    // Constants
+    public static final long NO_ID = 0;
+
     // Fields
+    private long id;
     private String name;
     private long focusTime;
     private long meditationTime;
     private long restTime;
+    private List<PresetObserver> observers;
 
     // REQUIRES: focusTime, meditationTime, && restTime are all >= 1
     // EFFECTS: sets the name, focus time, meditation time, and rest time
-    //                  from the given local parameters
+    //                  from the given local parameters; the preset has no id until it is added to a PresetList
     public Preset(String name, long focusTime, long meditationTime, long restTime) {
+        this(NO_ID, name, focusTime, meditationTime, restTime);
+    }
+
+    // REQUIRES: focusTime, meditationTime, && restTime are all >= 1, id >= 0
+    // EFFECTS: sets the id, name, focus time, meditation time, and rest time
+    //                  from the given local parameters
+    public Preset(long id, String name, long focusTime, long meditationTime, long restTime) {
+        this.id = id;
         this.name = name;
         this.focusTime = focusTime;
         this.meditationTime = meditationTime;
@@ -24,30 +40,77 @@ public class Preset implements Writable {
 
     // REQUIRES: name is not null
     // MODIFIES: this
-    // EFFECTS: sets name to this.name
+    // EFFECTS: sets name to this.name and notifies observers
     public String setPresetName(String name) {
-        return this.name = name;
+        String oldName = this.name;
+        this.name = name;
+        notifyObservers(oldName);
+        return name;
     }
 
     // REQUIRES: focusTime is a long number in type String && >= 1
     // MODIFIES: this
-    // EFFECTS: sets focusTime to this.focusTime
+    // EFFECTS: sets focusTime to this.focusTime and notifies observers
     public long setFocusTime(String focusTime) {
-        return this.focusTime = Long.parseLong(focusTime);
+        this.focusTime = Long.parseLong(focusTime);
+        notifyObservers(name);
+        return this.focusTime;
     }
 
     // REQUIRES: meditationTime is a long number in type String && >= 1
     // MODIFIES: this
-    // EFFECTS: sets meditationTime to this.meditationTime
+    // EFFECTS: sets meditationTime to this.meditationTime and notifies observers
     public long setMeditationTime(String meditationTime) {
-        return this.meditationTime = Long.parseLong(meditationTime);
+        this.meditationTime = Long.parseLong(meditationTime);
+        notifyObservers(name);
+        return this.meditationTime;
     }
 
     // REQUIRES: restTime is a long number in type String && >= 1
     // MODIFIES: this
-    // EFFECTS: sets restTime to this.restTime
+    // EFFECTS: sets restTime to this.restTime and notifies observers
     public long setRestTime(String restTime) {
-        return this.restTime = Long.parseLong(restTime);
+        this.restTime = Long.parseLong(restTime);
+        notifyObservers(name);
+        return this.restTime;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: registers observer to be notified when the details of this preset change
+    public void addObserver(PresetObserver observer) {
+        if (observers == null) {
+            observers = new ArrayList<>(1);
+        }
+        observers.add(observer);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops notifying observer of changes to this preset
+    public void removeObserver(PresetObserver observer) {
+        if (observers != null) {
+            observers.remove(observer);
+        }
+    }
+
+    // EFFECTS: notifies observers that the details of this preset changed
+    private void notifyObservers(String oldName) {
+        if (observers != null) {
+            for (PresetObserver observer : observers) {
+                observer.presetChanged(this, oldName);
+            }
+        }
+    }
+
+    // REQUIRES: id > 0
+    // MODIFIES: this
+    // EFFECTS: sets the id that identifies this preset within a PresetList
+    void setId(long id) {
+        this.id = id;
+    }
+
+    // EFFECTS: returns the id of this preset, or NO_ID if it has not been added to a PresetList
+    public long getId() {
+        return id;
     }
 
     // EFFECTS: returns preset name
@@ -89,6 +152,7 @@ public class Preset implements Writable {
     // EFFECTS: saves fields to a JSONObject
     public JSONObject toJson() {
         JSONObject json = new JSONObject();
+        json.put("id", id);
         json.put("name", name);
         json.put("focusTime", focusTime);
         json.put("meditationTime", meditationTime);
@@ -4,11 +4,23 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 import persistence.Writable;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 // Represents information related to adding, deleting, and viewing a user's preset list.
-public class PresetList implements Writable {
+// Every preset in the list has a stable id, and presets are indexed by id and by name so they can be looked up,
+// deleted, and renamed without scanning the list. Each preset added, including another copy of a preset already in
+// the list, is numbered in sequence and kept in the order it was added, and observers are told about each preset
+// added, deleted or changed so views of the list can be updated incrementally. Presets can be searched by part of
+// their name through a PresetNameIndex kept up to date as presets are added, so a list built on a background thread,
+// as when presets are loaded from file, is ready to search once it is handed over.
+public class PresetList implements Writable, PresetObserver {
 
     // Constants
     private static final long DEFAULT_FOCUS_TIME = 50;
@@ -16,37 +28,197 @@ public class PresetList implements Writable {
     private static final long DEFAULT_REST_TIME = 30;
 
     // Fields
-    private final List<Preset> presetList;
+    private final Map<Long, Entry> presetsById;
+    private final Map<Long, Preset> presetsBySequence;
+    private final Map<String, List<Preset>> presetsByName;
+    private final List<PresetListObserver> observers;
+    private final PresetNameIndex nameIndex;
+    private List<Preset> presetList;
+    private long nextId;
+    private long nextSequence;
+    private int size;
 
-    // EFFECTS: presetList is assigned a new ArrayList instance and a default preset is added
+    // EFFECTS: creates an empty preset list
     public PresetList() {
-        presetList = new ArrayList<>();
+        presetsById = new HashMap<>();
+        presetsBySequence = new LinkedHashMap<>();
+        presetsByName = new HashMap<>();
+        observers = new ArrayList<>(1);
+        nameIndex = new PresetNameIndex();
+        nextId = Preset.NO_ID + 1;
     }
 
-    // MODIFIES: this
-    // EFFECTS: adds given preset to the presetList and logs the event
-    public void addPreset(Preset preset) {
-        presetList.add(preset);
-        logPresetEvent("Added", preset);
+    // MODIFIES: this, preset
+    // EFFECTS: adds given preset to the end of the presetList, logs the event and returns the preset added; a preset
+    //          with no id is given one. If its id belongs to a different preset in this list, a copy of it with a new
+    //          id is added and returned instead, as preset may be held under its id by another list.
+    public Preset addPreset(Preset preset) {
+        Entry entry = presetsById.get(preset.getId());
+        if (entry == null || entry.preset != preset) { // the same preset can appear more than once
+            if (entry != null) {
+                preset = new Preset(nextId, preset.getPresetName(), preset.getFocusTime(),
+                        preset.getMeditationTime(), preset.getRestTime());
+            } else if (preset.getId() == Preset.NO_ID) {
+                preset.setId(nextId);
+            }
+            nextId = Math.max(nextId, preset.getId() + 1);
+            entry = new Entry(preset);
+            presetsById.put(preset.getId(), entry);
+            presetsByName.computeIfAbsent(preset.getPresetName(), name -> new ArrayList<>(1)).add(preset);
+            preset.addObserver(this);
+            nameIndex.add(preset);
+        }
+        entry.sequences.addLast(nextSequence);
+        presetsBySequence.put(nextSequence++, preset);
+        presetsChanged(1);
+        logPresetEvent(EventType.PRESET_ADDED, preset);
+        PresetListChangeEvent.commit("added", preset, size);
+        for (PresetListObserver observer : observers) {
+            observer.presetAdded(preset);
+        }
+        return preset;
     }
 
     // REQUIRES: preset must be a valid preset that exists in this.presetList
     // MODIFIES: this
-    // EFFECTS: deletes given preset from the presetList and logs the event
+    // EFFECTS: deletes the first copy of given preset added to the presetList and logs the event
     public void deletePreset(Preset preset) {
-        presetList.remove(preset);
-        logPresetEvent("Deleted", preset);
+        Entry entry = presetsById.get(preset.getId());
+        if (entry == null || entry.preset != preset) {
+            return;
+        }
+        presetsBySequence.remove(entry.sequences.removeFirst());
+        if (entry.sequences.isEmpty()) {
+            presetsById.remove(preset.getId());
+            removeFromNameIndex(preset, preset.getPresetName());
+            preset.removeObserver(this);
+            nameIndex.remove(preset);
+        }
+        presetsChanged(-1);
+        logPresetEvent(EventType.PRESET_DELETED, preset);
+        PresetListChangeEvent.commit("deleted", preset, size);
+        for (PresetListObserver observer : observers) {
+            observer.presetDeleted(preset);
+        }
     }
 
-    // REQUIRES: event != null
+    // MODIFIES: this
+    // EFFECTS: deletes the preset with the given id and returns true, or returns false if there is no such preset
+    public boolean deletePresetById(long id) {
+        Preset preset = getPresetById(id);
+        if (preset == null) {
+            return false;
+        }
+        deletePreset(preset);
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: deletes the first preset added with the given name and returns true, or returns false if there is
+    //          no such preset
+    public boolean deletePresetByName(String name) {
+        Preset preset = getPresetByName(name);
+        if (preset == null) {
+            return false;
+        }
+        deletePreset(preset);
+        return true;
+    }
+
+    // REQUIRES: newName is not null
+    // MODIFIES: this
+    // EFFECTS: renames the preset with the given id and returns true, or returns false if there is no such preset
+    public boolean renamePreset(long id, String newName) {
+        Preset preset = getPresetById(id);
+        if (preset == null) {
+            return false;
+        }
+        preset.setPresetName(newName); // the name index is updated through presetChanged
+        return true;
+    }
+
+    // EFFECTS: returns the preset with the given id, or null if there is no such preset
+    public Preset getPresetById(long id) {
+        Entry entry = presetsById.get(id);
+        return (entry == null) ? null : entry.preset;
+    }
+
+    // EFFECTS: returns the first preset added with the given name, or null if there is no such preset
+    public Preset getPresetByName(String name) {
+        List<Preset> presetsWithName = presetsByName.get(name);
+        return (presetsWithName == null) ? null : presetsWithName.get(0);
+    }
+
+    // REQUIRES: limit >= 0
+    // EFFECTS: returns at most limit presets whose names contain query, ignoring case, best match first: names equal
+    //          to query, then names starting with it, then names with a word starting with it, then the rest; a
+    //          query of fewer than three characters only matches the start of a word. Each preset is returned once
+    //          however many copies of it the list has.
+    public List<Preset> searchByName(String query, int limit) {
+        return nameIndex.search(query, limit);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: registers observer to be notified when presets are added to, deleted from, or changed in this list
+    public void addObserver(PresetListObserver observer) {
+        observers.add(observer);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops notifying observer of changes to this list
+    public void removeObserver(PresetListObserver observer) {
+        observers.remove(observer);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: keeps the name index up to date when a preset in this list is renamed, and notifies observers; a
+    //          preset that is not in this list is ignored
+    @Override
+    public void presetChanged(Preset preset, String oldName) {
+        Entry entry = presetsById.get(preset.getId());
+        if (entry == null || entry.preset != preset) {
+            return;
+        }
+        if (!oldName.equals(preset.getPresetName())) {
+            removeFromNameIndex(preset, oldName);
+            presetsByName.computeIfAbsent(preset.getPresetName(), name -> new ArrayList<>(1)).add(preset);
+            nameIndex.update(preset);
+        }
+        PresetListChangeEvent.commit("updated", preset, size);
+        for (PresetListObserver observer : observers) {
+            observer.presetUpdated(preset);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes preset from the presets indexed under name
+    private void removeFromNameIndex(Preset preset, String name) {
+        List<Preset> presetsWithName = presetsByName.get(name);
+        presetsWithName.remove(preset);
+        if (presetsWithName.isEmpty()) {
+            presetsByName.remove(name);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adjusts the size of the list by change and discards the cached view of the list
+    private void presetsChanged(int change) {
+        size += change;
+        presetList = null;
+    }
+
+    // REQUIRES: type != null
     // MODIFIES: events in EventLog
-    // EFFECTS: logs the preset event occurred
-    private void logPresetEvent(String event, Preset preset) {
-        EventLog.getInstance().logEvent(new Event(event + " Preset: " + preset.getPresetName() + "."));
+    // EFFECTS: logs the preset event occurred; its description is only built if the event is read
+    private void logPresetEvent(EventType type, Preset preset) {
+        EventLog.getInstance().logEvent(type, preset.getId(), preset.getPresetName());
     }
 
-    // EFFECTS: returns the presetList
+    // EFFECTS: returns an unmodifiable view of the presetList in the order presets were added
     public List<Preset> getPresetList() {
+        if (presetList == null) {
+            presetList = Collections.unmodifiableList(new ArrayList<>(presetsBySequence.values()));
+        }
         return presetList;
     }
 
@@ -76,9 +248,21 @@ public class PresetList implements Writable {
     // EFFECTS: returns presetList in this PresetList as a JSON array
     public JSONArray presetListToJson() {
         JSONArray jsonArray = new JSONArray();
-        for (Preset preset : presetList) {
+        for (Preset preset : getPresetList()) {
             jsonArray.put(preset.toJson());
         }
         return jsonArray;
     }
-}
\ No newline at end of file
+
+    // Represents a preset in the list and the sequence numbers of its copies, oldest first.
+    private static class Entry {
+        private final Preset preset;
+        private final Deque<Long> sequences;
+
+        // EFFECTS: constructs an entry for a preset that has no copies yet
+        private Entry(Preset preset) {
+            this.preset = preset;
+            this.sequences = new ArrayDeque<>(1);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Represents a Java Flight Recorder event for a preset added to, deleted from or updated in a PresetList.
+@Name("focusclinic.PresetListChange")
+@Label("Preset List Change")
+@Category({"Focus Clinic", "Presets"})
+@Description("A preset was added to, deleted from or updated in a preset list")
+@StackTrace(false)
+class PresetListChangeEvent extends jdk.jfr.Event {
+
+    // Fields
+    @Label("Change")
+    String change;
+
+    @Label("Preset Id")
+    long presetId;
+
+    @Label("List Size")
+    int listSize;
+
+    // EFFECTS: commits an event for the given change to a preset, if the event is enabled
+    static void commit(String change, Preset preset, int listSize) {
+        PresetListChangeEvent event = new PresetListChangeEvent();
+        if (event.isEnabled()) {
+            event.change = change;
+            event.presetId = preset.getId();
+            event.listSize = listSize;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package model;
+
+// Represents an observer that is notified whenever the presets in a PresetList it observes change.
+public interface PresetListObserver {
+
+    // EFFECTS: handles preset being added to the end of the list, whether or not it already has copies there
+    void presetAdded(Preset preset);
+
+    // EFFECTS: handles the first copy of preset in the list being deleted from it
+    void presetDeleted(Preset preset);
+
+    // EFFECTS: handles a change to the details of preset, which is in the list
+    void presetUpdated(Preset preset);
+}
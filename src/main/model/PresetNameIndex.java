@@ -0,0 +1,423 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Represents an index of the names of presets for finding presets by part of their name as it is typed. Matches are
+// ranked: a name equal to the query comes first, then names starting with it, then names with a later word starting
+// with it, then names containing it anywhere; shorter names come first within a rank, then names in alphabetical
+// order. The index is kept up to date one preset at a time as presets are added, deleted and renamed.
+// Presets are grouped by the length of their names, and the best matches are found by walking the groups from the
+// shortest and stopping as soon as there are enough of them. In each group the names, and the rest of each name from
+// the start of each later word, are kept in sorted sets, so the matches starting a name or a word are read off in
+// order. Only a query of three or more characters that still needs more matches looks further: in each group, each
+// lower-case trigram of a name lists the presets whose names contain it, and only the presets on the shortest list
+// among the query's trigrams are checked. The sets hold positions in the names rather than copies of their parts,
+// and a preset removed is only marked on its trigram lists until half of a list is marked, so adding a preset
+// allocates little.
+public class PresetNameIndex {
+
+    // Constants
+    private static final int GRAM_LENGTH = 3;
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int WORD_PREFIX = 2;
+    private static final int SUBSTRING = 3;
+
+    // Fields
+    private final Map<Preset, Entry> entries;
+    private final NavigableMap<Integer, Group> groupsByLength;
+    private long nextSequence;
+
+    // EFFECTS: constructs an empty index
+    public PresetNameIndex() {
+        entries = new HashMap<>();
+        groupsByLength = new TreeMap<>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: indexes preset under its current name; does nothing if it is already indexed
+    public void add(Preset preset) {
+        if (entries.containsKey(preset)) {
+            return;
+        }
+        Entry entry = new Entry(preset, normalize(preset.getPresetName()), nextSequence++);
+        entries.put(preset, entry);
+        String name = entry.name;
+        Group group = groupsByLength.computeIfAbsent(name.length(), length -> new Group());
+        for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            group.entriesByGram.computeIfAbsent(gramAt(name, i), g -> new GramList()).add(entry);
+        }
+        group.names.add(new Key(entry, 0));
+        for (int i = 1; i < name.length(); i++) {
+            if (isWordStart(name, i)) {
+                group.wordStarts.add(new Key(entry, i));
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes preset from the index, under the name it was indexed with; does nothing if it is not indexed
+    public void remove(Preset preset) {
+        Entry entry = entries.remove(preset);
+        if (entry == null) {
+            return;
+        }
+        entry.removed = true;
+        String name = entry.name;
+        Group group = groupsByLength.get(name.length());
+        for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            Long gram = gramAt(name, i);
+            GramList listed = group.entriesByGram.get(gram); // dropped already if the name has the trigram twice
+            if (listed != null && listed.markRemoved()) {
+                group.entriesByGram.remove(gram);
+            }
+        }
+        group.names.remove(new Key(entry, 0));
+        for (int i = 1; i < name.length(); i++) {
+            if (isWordStart(name, i)) {
+                group.wordStarts.remove(new Key(entry, i));
+            }
+        }
+        if (group.names.isEmpty()) {
+            groupsByLength.remove(name.length());
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: indexes preset under its new name if it was renamed
+    public void update(Preset preset) {
+        Entry entry = entries.get(preset);
+        if (entry != null && !entry.name.equals(normalize(preset.getPresetName()))) {
+            remove(preset);
+            add(preset);
+        }
+    }
+
+    // EFFECTS: returns the number of presets indexed
+    public int size() {
+        return entries.size();
+    }
+
+    // REQUIRES: limit >= 0
+    // EFFECTS: returns at most limit presets whose names contain query, ignoring case, best match first; a query of
+    //          fewer than three characters only matches the start of a word. Returns no presets if query is blank.
+    public List<Preset> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit == 0) {
+            return Collections.emptyList();
+        }
+        Matches best = new Matches(limit);
+        collectPrefixMatches(normalized, best);
+        if (!best.isFull()) {
+            collectWordStartMatches(normalized, best);
+        }
+        if (!best.isFull() && normalized.length() >= GRAM_LENGTH) {
+            collectSubstringMatches(normalized, best);
+        }
+        return best.toPresets();
+    }
+
+    // MODIFIES: best
+    // EFFECTS: offers best the presets whose names start with query, shortest and then alphabetically first, until
+    //          it is full
+    private void collectPrefixMatches(String query, Matches best) {
+        for (Map.Entry<Integer, Group> group : groupsByLength.tailMap(query.length(), true).entrySet()) {
+            int rank = group.getKey() == query.length() ? EXACT : PREFIX;
+            String last = null;
+            for (Key key : startingWith(group.getValue().names, query)) {
+                if (best.isFull() && !key.entry.name.equals(last)) {
+                    return; // presets with the same name are ordered by id, so all of them are offered
+                }
+                best.offer(key.entry, rank);
+                last = key.entry.name;
+            }
+            if (best.isFull()) {
+                return;
+            }
+        }
+    }
+
+    // MODIFIES: best
+    // EFFECTS: offers best the presets with a later word starting with query, once however many of their words do,
+    //          one group of names of the same length at a time from the shortest, until it is full
+    private void collectWordStartMatches(String query, Matches best) {
+        for (Group group : groupsByLength.tailMap(query.length(), false).values()) {
+            for (Key wordStart : startingWith(group.wordStarts, query)) {
+                if (firstWordStartMatch(wordStart.entry.name, query) == wordStart.start) {
+                    best.offer(wordStart.entry, WORD_PREFIX);
+                }
+            }
+            if (best.isFull()) {
+                return;
+            }
+        }
+    }
+
+    // MODIFIES: best
+    // EFFECTS: offers best the presets containing query other than at the start of a word, one group of names of the
+    //          same length at a time from the shortest, until it is full; in each group only the presets on the
+    //          shortest list among the trigrams of query are checked
+    private void collectSubstringMatches(String query, Matches best) {
+        for (Group group : groupsByLength.tailMap(query.length(), false).values()) {
+            GramList shortest = group.shortestGramList(query);
+            if (shortest != null) {
+                for (int i = 0; i < shortest.size; i++) {
+                    Entry entry = shortest.entries[i];
+                    if (!entry.removed && rankOf(entry.name, query) == SUBSTRING) {
+                        best.offer(entry, SUBSTRING);
+                    }
+                }
+            }
+            if (best.isFull()) {
+                return;
+            }
+        }
+    }
+
+    // EFFECTS: returns the keys whose text starts with query
+    private static NavigableSet<Key> startingWith(NavigableSet<Key> keys, String query) {
+        Key from = new Key(new Entry(null, query, Long.MIN_VALUE), 0);
+        Key to = new Key(new Entry(null, query + Character.MAX_VALUE, Long.MAX_VALUE), 0);
+        return keys.subSet(from, true, to, true);
+    }
+
+    // REQUIRES: name has at least index + GRAM_LENGTH characters
+    // EFFECTS: returns the trigram of name starting at index, packed into a number
+    private static long gramAt(String name, int index) {
+        return (long) name.charAt(index) << (2 * Character.SIZE) | (long) name.charAt(index + 1) << Character.SIZE
+                | name.charAt(index + 2);
+    }
+
+    // EFFECTS: returns the rank of name as a match of query, or -1 if name does not contain query
+    private static int rankOf(String name, String query) {
+        int index = name.indexOf(query);
+        if (index < 0) {
+            return -1;
+        }
+        if (index == 0) {
+            return name.length() == query.length() ? EXACT : PREFIX;
+        }
+        while (index > 0) {
+            if (isWordStart(name, index)) {
+                return WORD_PREFIX;
+            }
+            index = name.indexOf(query, index + 1);
+        }
+        return SUBSTRING;
+    }
+
+    // EFFECTS: returns the index of the first word of name that starts with query, or -1 if there is none
+    private static int firstWordStartMatch(String name, String query) {
+        int index = name.indexOf(query);
+        while (index >= 0 && !isWordStart(name, index)) {
+            index = name.indexOf(query, index + 1);
+        }
+        return index;
+    }
+
+    // EFFECTS: returns true if a word of name starts at index
+    private static boolean isWordStart(String name, int index) {
+        return Character.isLetterOrDigit(name.charAt(index))
+                && (index == 0 || !Character.isLetterOrDigit(name.charAt(index - 1)));
+    }
+
+    // EFFECTS: returns name in lower case without leading or trailing white space
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Represents an indexed preset, the name it was indexed under and the order it was indexed in.
+    private static class Entry {
+        private final Preset preset;
+        private final String name;
+        private final long sequence;
+        private boolean removed;
+
+        // EFFECTS: constructs an entry for preset indexed under name as the given one in sequence
+        private Entry(Preset preset, String name, long sequence) {
+            this.preset = preset;
+            this.name = name;
+            this.sequence = sequence;
+        }
+    }
+
+    // Represents the rest of the name of an entry from start, ordered by that text and then by when the entry was
+    // indexed.
+    private static class Key implements Comparable<Key> {
+        private final Entry entry;
+        private final int start;
+
+        // EFFECTS: constructs the key of the name of entry from start
+        private Key(Entry entry, int start) {
+            this.entry = entry;
+            this.start = start;
+        }
+
+        // EFFECTS: compares the text of this key with that of other, then the order their entries were indexed in
+        @Override
+        public int compareTo(Key other) {
+            String name = entry.name;
+            String otherName = other.entry.name;
+            int length = Math.min(name.length() - start, otherName.length() - other.start);
+            for (int i = 0; i < length; i++) {
+                char c = name.charAt(start + i);
+                char otherC = otherName.charAt(other.start + i);
+                if (c != otherC) {
+                    return c - otherC;
+                }
+            }
+            int byLength = (name.length() - start) - (otherName.length() - other.start);
+            return byLength != 0 ? byLength : Long.compare(entry.sequence, other.entry.sequence);
+        }
+    }
+
+    // Represents the entries whose names contain a trigram, in the order they were indexed, some of which may have
+    // been removed since.
+    private static class GramList {
+        private Entry[] entries = new Entry[2];
+        private int size;
+        private int removed;
+
+        // MODIFIES: this
+        // EFFECTS: lists entry, unless it was the last entry listed, as when a name has the trigram twice
+        private void add(Entry entry) {
+            if (size > 0 && entries[size - 1] == entry) {
+                return;
+            }
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = entry;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: counts an entry of the list as removed, dropping the removed entries once they are half of the
+        //          list, and returns true if no entries are left; may count an entry twice, which only drops them
+        //          sooner
+        private boolean markRemoved() {
+            if (++removed * 2 >= size) {
+                int kept = 0;
+                for (int i = 0; i < size; i++) {
+                    if (!entries[i].removed) {
+                        entries[kept++] = entries[i];
+                    }
+                }
+                Arrays.fill(entries, kept, size, null);
+                size = kept;
+                removed = 0;
+            }
+            return size == 0;
+        }
+
+        // EFFECTS: returns an estimate of the number of entries listed that have not been removed
+        private int liveSize() {
+            return size - removed;
+        }
+    }
+
+    // Represents the presets whose names have the same length: their names, the rest of their names from the start
+    // of each later word, and the trigrams of their names.
+    private static class Group {
+        private final NavigableSet<Key> names = new TreeSet<>();
+        private final NavigableSet<Key> wordStarts = new TreeSet<>();
+        private final Map<Long, GramList> entriesByGram = new HashMap<>();
+
+        // EFFECTS: returns the shortest list among those of the trigrams of query, or null if a trigram of query is
+        //          in no name of the group
+        private GramList shortestGramList(String query) {
+            GramList shortest = null;
+            for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+                GramList candidates = entriesByGram.get(gramAt(query, i));
+                if (candidates == null) {
+                    return null;
+                }
+                if (shortest == null || candidates.liveSize() < shortest.liveSize()) {
+                    shortest = candidates;
+                }
+            }
+            return shortest;
+        }
+    }
+
+    // Represents a match of a query, ordered by a key packing its rank and the length of its name, then by name.
+    private static class Match implements Comparable<Match> {
+        private final Entry entry;
+        private final long key;
+
+        // EFFECTS: constructs a match of entry with the given key
+        private Match(Entry entry, long key) {
+            this.entry = entry;
+            this.key = key;
+        }
+
+        // EFFECTS: orders matches worst first
+        @Override
+        public int compareTo(Match other) {
+            return -compareBest(other.key, other.entry);
+        }
+
+        // EFFECTS: returns a negative number if this match is better than a match of entry with the given key,
+        //          zero if they are the same, and a positive number otherwise
+        private int compareBest(long otherKey, Entry otherEntry) {
+            if (key != otherKey) {
+                return Long.compare(key, otherKey);
+            }
+            int byName = entry.name.compareTo(otherEntry.name);
+            return byName != 0 ? byName : Long.compare(entry.preset.getId(), otherEntry.preset.getId());
+        }
+    }
+
+    // Represents the best matches of a query found so far, at most limit of them, worst at the head of a heap, so
+    // most candidates are turned away by comparing their key with that of the worst match.
+    private static class Matches {
+        private final int limit;
+        private final PriorityQueue<Match> worstFirst;
+
+        // EFFECTS: constructs an empty set of at most limit matches
+        private Matches(int limit) {
+            this.limit = limit;
+            this.worstFirst = new PriorityQueue<>(Math.min(limit, 1024) + 1);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: keeps a match of entry with the given rank if it is among the best limit matches so far
+        private void offer(Entry entry, int rank) {
+            long key = ((long) rank << 32) | entry.name.length();
+            if (isFull()) {
+                Match worst = worstFirst.peek();
+                if (key > worst.key || (key == worst.key && worst.compareBest(key, entry) < 0)) {
+                    return;
+                }
+                worstFirst.poll();
+            }
+            worstFirst.add(new Match(entry, key));
+        }
+
+        // EFFECTS: returns true if there are limit matches
+        private boolean isFull() {
+            return worstFirst.size() == limit;
+        }
+
+        // EFFECTS: returns the presets of the matches, best first
+        private List<Preset> toPresets() {
+            List<Match> matches = new ArrayList<>(worstFirst);
+            matches.sort(Collections.reverseOrder());
+            List<Preset> presets = new ArrayList<>(matches.size());
+            for (Match match : matches) {
+                presets.add(match.entry.preset);
+            }
+            return presets;
+        }
+    }
+}
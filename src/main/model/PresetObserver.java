@@ -0,0 +1,8 @@
+package model;
+
+// Represents an observer that is notified whenever the details of a preset it observes change.
+public interface PresetObserver {
+
+    // EFFECTS: handles a change to the details of preset, whose name before the change was oldName
+    void presetChanged(Preset preset, String oldName);
+}
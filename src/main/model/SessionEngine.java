@@ -0,0 +1,235 @@
+package model;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Represents the state machine that runs a session: it cycles through focus, meditation and rest blocks using the
+// times of a preset, and can be paused, resumed and stopped. All session state is owned by a single thread; the
+// public methods only hand commands to that thread, and the state is published as immutable SessionSnapshots.
+// Blocks are timed against a planned timeline on a monotonic clock: each block is planned to end one block length
+// after the previous one was planned to end, plus any time spent paused. How late each block actually ends is
+// measured as its drift, and the next block is shortened to make it up, by at most half its length, so lateness in
+// waking up does not accumulate over a long session.
+public class SessionEngine {
+
+    // Constants
+    private static final BlockType[] CYCLE = {
+            BlockType.FOCUS, BlockType.MEDITATION, BlockType.FOCUS, BlockType.MEDITATION, BlockType.REST
+    };
+    private static final int MAX_CORRECTION_DIVISOR = 2; // a block is shortened by at most 1/2 of its length
+
+    // Fields
+    private final BlockPlayer player;
+    private final ScheduledExecutorService owner;
+    private final TimeUnit blockTimeUnit;
+    private final BlockTimer blockTimer;
+    private final TimeSource clock;
+    private final int[] sessionsCompleted;
+    private final List<BlockObserver> observers;
+    private volatile SessionSnapshot snapshot;
+    private SessionState state;
+    private Preset preset;
+    private int currentBlock;
+    private long blockPresetId;
+    private long blockStartEpochMillis;
+    private long blockMillis;
+    private BlockEvent blockEvent;
+    private long plannedEndNanos;
+    private long pausedAtNanos;
+    private long lastBlockDriftNanos;
+
+    // EFFECTS: constructs an idle engine that plays blocks with player, measures preset times in minutes, and owns
+    //          its state on its own daemon thread
+    public SessionEngine(BlockPlayer player) {
+        this(player, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-engine");
+            thread.setDaemon(true);
+            return thread;
+        }), TimeUnit.MINUTES);
+    }
+
+    // REQUIRES: owner runs its tasks one at a time on a single thread
+    // EFFECTS: constructs an idle engine that plays blocks with player, measures preset times in blockTimeUnit,
+    //          and runs all state changes and block deadlines on owner
+    public SessionEngine(BlockPlayer player, ScheduledExecutorService owner, TimeUnit blockTimeUnit) {
+        this(player, owner, blockTimeUnit, DeadlineScheduler.of(owner));
+    }
+
+    // REQUIRES: owner runs its tasks one at a time on a single thread
+    // EFFECTS: constructs an idle engine that plays blocks with player, measures preset times in blockTimeUnit,
+    //          runs all state changes on owner, and waits for block deadlines with deadlines, handing each one to
+    //          owner when it is due
+    public SessionEngine(BlockPlayer player, ScheduledExecutorService owner, TimeUnit blockTimeUnit,
+                         DeadlineScheduler deadlines) {
+        this(player, owner, blockTimeUnit, deadlines, TimeSource.SYSTEM);
+    }
+
+    // REQUIRES: owner runs its tasks one at a time on a single thread, deadlines measures delays on clock
+    // EFFECTS: constructs an idle engine that plays blocks with player, measures preset times in blockTimeUnit,
+    //          runs all state changes on owner, waits for block deadlines with deadlines, and reads time from clock
+    public SessionEngine(BlockPlayer player, ScheduledExecutorService owner, TimeUnit blockTimeUnit,
+                         DeadlineScheduler deadlines, TimeSource clock) {
+        this.player = player;
+        this.owner = owner;
+        this.blockTimeUnit = blockTimeUnit;
+        this.clock = clock;
+        this.blockTimer = new BlockTimer(deadlines.runningOn(owner), clock);
+        this.sessionsCompleted = new int[BlockType.values().length];
+        this.observers = new CopyOnWriteArrayList<>();
+        this.state = SessionState.IDLE;
+        publish();
+    }
+
+    // EFFECTS: starts a session with the given preset from its first focus block; does nothing if a session is
+    //          already running or paused, so repeated requests to start have no further effect
+    public void start(Preset preset) {
+        owner.execute(() -> {
+            if (state == SessionState.IDLE) {
+                this.preset = preset;
+                currentBlock = 0;
+                state = SessionState.RUNNING;
+                plannedEndNanos = clock.nanoTime();
+                lastBlockDriftNanos = 0;
+                beginBlock();
+            }
+        });
+    }
+
+    // EFFECTS: makes blocks that begin from now on use the times of the given preset
+    public void setPreset(Preset preset) {
+        owner.execute(() -> {
+            this.preset = preset;
+            publish();
+        });
+    }
+
+    // EFFECTS: pauses the current block; does nothing unless the session is running
+    public void pause() {
+        owner.execute(() -> {
+            if (state == SessionState.RUNNING) {
+                blockTimer.pause();
+                player.pause();
+                blockEvent.pause();
+                pausedAtNanos = clock.nanoTime();
+                state = SessionState.PAUSED;
+                publish();
+            }
+        });
+    }
+
+    // EFFECTS: resumes the current block; does nothing unless the session is paused
+    public void resume() {
+        owner.execute(() -> {
+            if (state == SessionState.PAUSED) {
+                plannedEndNanos += clock.nanoTime() - pausedAtNanos;
+                blockEvent.resume();
+                player.resume();
+                blockTimer.resume();
+                state = SessionState.RUNNING;
+                publish();
+            }
+        });
+    }
+
+    // EFFECTS: ends the session, keeping the number of blocks completed; does nothing if idle
+    public void stop() {
+        owner.execute(() -> {
+            if (state != SessionState.IDLE) {
+                blockTimer.cancel();
+                player.stop();
+                blockEvent.finish(false, 0);
+                state = SessionState.IDLE;
+                publish();
+            }
+        });
+    }
+
+    // EFFECTS: stops the session and the thread that owns it
+    public void shutdown() {
+        stop();
+        owner.shutdown();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: registers observer to be notified, on the engine's thread, of every block that is completed
+    public void addBlockObserver(BlockObserver observer) {
+        observers.add(observer);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops notifying observer of completed blocks
+    public void removeBlockObserver(BlockObserver observer) {
+        observers.remove(observer);
+    }
+
+    // EFFECTS: returns the most recently published snapshot of the session
+    public SessionSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: plays the current block and arms its deadline for the planned end of the block, making up the drift
+    //          of earlier blocks but never arming it for less than half the block's length
+    private void beginBlock() {
+        BlockType blockType = CYCLE[currentBlock];
+        long blockTime = getBlockTime(blockType);
+        long blockNanos = blockTimeUnit.toNanos(blockTime);
+        plannedEndNanos += blockNanos;
+        long armedNanos = Math.max(blockNanos / MAX_CORRECTION_DIVISOR, plannedEndNanos - clock.nanoTime());
+        blockPresetId = preset.getId();
+        blockStartEpochMillis = clock.currentTimeMillis();
+        blockMillis = blockTimeUnit.toMillis(blockTime);
+        blockEvent = new BlockEvent(blockType, blockPresetId, blockMillis);
+        player.play(blockType);
+        blockTimer.start(ceilMicros(armedNanos), this::endBlock);
+        publish();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: counts the block that just ended, tells observers about it, and begins the next one
+    private void endBlock() {
+        if (state != SessionState.RUNNING) {
+            return;
+        }
+        BlockType blockType = CYCLE[currentBlock];
+        sessionsCompleted[blockType.ordinal()]++;
+        lastBlockDriftNanos = clock.nanoTime() - plannedEndNanos;
+        blockEvent.finish(true, lastBlockDriftNanos);
+        for (BlockObserver observer : observers) {
+            observer.blockCompleted(blockType, blockPresetId, blockStartEpochMillis, blockMillis,
+                    TimeUnit.NANOSECONDS.toMicros(lastBlockDriftNanos));
+        }
+        currentBlock = (currentBlock + 1) % CYCLE.length;
+        beginBlock();
+    }
+
+    // EFFECTS: returns the length of the given kind of block for the current preset, in blockTimeUnit
+    private long getBlockTime(BlockType blockType) {
+        switch (blockType) {
+            case MEDITATION:
+                return preset.getMeditationTime();
+            case REST:
+                return preset.getRestTime();
+            default:
+                return preset.getFocusTime();
+        }
+    }
+
+    // EFFECTS: returns nanos in whole microseconds, rounded up so a deadline is never armed early
+    private static long ceilMicros(long nanos) {
+        return (nanos + 999) / 1000;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: publishes a snapshot of the current state for other threads to read
+    private void publish() {
+        boolean idle = state == SessionState.IDLE;
+        snapshot = new SessionSnapshot(state, idle ? null : preset,
+                idle ? null : CYCLE[currentBlock], idle ? null : CYCLE[(currentBlock + 1) % CYCLE.length],
+                blockTimer.getRemainingMicroSeconds(), clock.nanoTime(), clock,
+                TimeUnit.NANOSECONDS.toMicros(lastBlockDriftNanos), sessionsCompleted);
+    }
+}
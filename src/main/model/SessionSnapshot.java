@@ -0,0 +1,95 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+
+// Represents an immutable view of a session at one moment, published by a SessionEngine so that other threads can
+// read the whole state of a session without locking.
+public final class SessionSnapshot {
+
+    // Fields
+    private final SessionState state;
+    private final Preset preset;
+    private final BlockType blockType;
+    private final BlockType nextBlockType;
+    private final long remainingMicroSeconds;
+    private final long takenAtNanoSeconds;
+    private final TimeSource clock;
+    private final long lastBlockDriftMicroSeconds;
+    private final int focusSessionsCompleted;
+    private final int meditationSessionsCompleted;
+    private final int restSessionsCompleted;
+
+    // EFFECTS: constructs a snapshot with the given values; blockType and nextBlockType are null when idle, and
+    //          remainingMicroSeconds is the time left in the current block at takenAtNanoSeconds on clock
+    SessionSnapshot(SessionState state, Preset preset, BlockType blockType, BlockType nextBlockType,
+                    long remainingMicroSeconds, long takenAtNanoSeconds, TimeSource clock,
+                    long lastBlockDriftMicroSeconds, int[] sessionsCompleted) {
+        this.state = state;
+        this.preset = preset;
+        this.blockType = blockType;
+        this.nextBlockType = nextBlockType;
+        this.remainingMicroSeconds = remainingMicroSeconds;
+        this.takenAtNanoSeconds = takenAtNanoSeconds;
+        this.clock = clock;
+        this.lastBlockDriftMicroSeconds = lastBlockDriftMicroSeconds;
+        this.focusSessionsCompleted = sessionsCompleted[BlockType.FOCUS.ordinal()];
+        this.meditationSessionsCompleted = sessionsCompleted[BlockType.MEDITATION.ordinal()];
+        this.restSessionsCompleted = sessionsCompleted[BlockType.REST.ordinal()];
+    }
+
+    // EFFECTS: returns the state of the session
+    public SessionState getState() {
+        return state;
+    }
+
+    // EFFECTS: returns true if no session has been started
+    public boolean isIdle() {
+        return state == SessionState.IDLE;
+    }
+
+    // EFFECTS: returns the preset the session is playing, or null if idle
+    public Preset getPreset() {
+        return preset;
+    }
+
+    // EFFECTS: returns the kind of block being played, or null if idle
+    public BlockType getBlockType() {
+        return blockType;
+    }
+
+    // EFFECTS: returns the kind of block that follows the current one, or null if idle
+    public BlockType getNextBlockType() {
+        return nextBlockType;
+    }
+
+    // EFFECTS: returns the time remaining in the current block in microseconds, counting down from when the
+    //          snapshot was taken if the session is running
+    public long getRemainingMicroSeconds() {
+        if (state != SessionState.RUNNING) {
+            return remainingMicroSeconds;
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMicros(clock.nanoTime() - takenAtNanoSeconds);
+        return Math.max(0, remainingMicroSeconds - elapsed);
+    }
+
+    // EFFECTS: returns how far behind the session's planned timeline the most recently completed block ended, in
+    //          microseconds, or 0 if no block has been completed
+    public long getLastBlockDriftMicroSeconds() {
+        return lastBlockDriftMicroSeconds;
+    }
+
+    // EFFECTS: returns the number of focus blocks completed
+    public int getFocusSessionsCompleted() {
+        return focusSessionsCompleted;
+    }
+
+    // EFFECTS: returns the number of meditation blocks completed
+    public int getMeditationSessionsCompleted() {
+        return meditationSessionsCompleted;
+    }
+
+    // EFFECTS: returns the number of rest blocks completed
+    public int getRestSessionsCompleted() {
+        return restSessionsCompleted;
+    }
+}
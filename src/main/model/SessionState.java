@@ -0,0 +1,8 @@
+package model;
+
+// Represents the states a session can be in.
+public enum SessionState {
+    IDLE,
+    RUNNING,
+    PAUSED
+}
@@ -0,0 +1,25 @@
+package model;
+
+// Represents a source of the current time. The model reads time through a TimeSource instead of calling System
+// directly, so tests can substitute a clock they control.
+public interface TimeSource {
+
+    // Constants
+    TimeSource SYSTEM = new TimeSource() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    // EFFECTS: returns the value of a monotonic clock in nanoseconds; only differences between values are meaningful
+    long nanoTime();
+
+    // EFFECTS: returns the wall-clock time in milliseconds since the epoch
+    long currentTimeMillis();
+}
@@ -0,0 +1,316 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Represents a hierarchical timing wheel: a scheduler for very many deadlines that can schedule and cancel each one
+// in constant time, however many are waiting. Time is divided into ticks of a fixed length, and each level of the
+// wheel is a ring of buckets: a bucket of the first level holds the deadlines that fall in one tick, a bucket of
+// the second level those that fall in one turn of the first level, and so on. A deadline is put in the lowest level
+// whose ring reaches it, and is moved down a level whenever the level below turns over to its bucket. Each bucket is
+// a doubly linked list, so a cancelled deadline unlinks itself without searching.
+// Deadlines run on the wheel's own thread at the first tick at or after they are due, so never early and at most one
+// tick late; tasks should be short or hand their work to another thread (see runningOn).
+public class TimingWheel implements DeadlineScheduler {
+
+    // Constants
+    public static final long DEFAULT_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4; // 2^32 ticks, or 49 days at the default tick, before a deadline is re-filed
+    private static final long MAX_DELAY_NANOS = Long.MAX_VALUE / 4;
+    private static final long IDLE = Long.MAX_VALUE;
+
+    // Fields
+    private final long tickNanos;
+    private final long startNanos;
+    private final Timeout[][] buckets;
+    private final ReentrantLock lock;
+    private final Condition attentionNeeded;
+    private final Thread worker;
+    private long currentTick;
+    private long sleepingUntilTick;
+    private int size;
+    private int firstLevelSize;
+    private boolean running;
+
+    // EFFECTS: constructs a wheel with ticks of DEFAULT_TICK_NANOS and starts its thread
+    public TimingWheel() {
+        this(DEFAULT_TICK_NANOS);
+    }
+
+    // REQUIRES: tickNanos >= 1
+    // EFFECTS: constructs a wheel with ticks of tickNanos nanoseconds and starts its daemon thread
+    public TimingWheel(long tickNanos) {
+        this.tickNanos = tickNanos;
+        this.startNanos = System.nanoTime();
+        this.buckets = new Timeout[LEVELS][WHEEL_SIZE];
+        for (Timeout[] level : buckets) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                level[i] = new Timeout(null, 0); // the head of an empty circular list
+            }
+        }
+        this.lock = new ReentrantLock();
+        this.attentionNeeded = lock.newCondition();
+        this.sleepingUntilTick = IDLE;
+        this.running = true;
+        this.worker = new Thread(this::run, "timing-wheel");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // REQUIRES: delayNanos >= 0
+    // EFFECTS: schedules task to run on the wheel's thread once delayNanos nanoseconds have passed
+    @Override
+    public Deadline schedule(Runnable task, long delayNanos) {
+        long now = System.nanoTime();
+        long dueTick = ceilDiv(now - startNanos + Math.min(delayNanos, MAX_DELAY_NANOS), tickNanos);
+        Timeout timeout = new Timeout(task, dueTick);
+        lock.lock();
+        try {
+            if (size == 0) {
+                currentTick = Math.max(currentTick, tickOf(now)); // nothing to run in the ticks skipped
+            }
+            long attentionTick = insert(timeout, currentTick + 1);
+            size++;
+            if (attentionTick < sleepingUntilTick) {
+                attentionNeeded.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return timeout;
+    }
+
+    // EFFECTS: returns the length of a tick in nanoseconds
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    // EFFECTS: returns the number of deadlines waiting to run
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops the wheel's thread; deadlines still waiting never run
+    public void shutdown() {
+        lock.lock();
+        try {
+            running = false;
+            attentionNeeded.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // EFFECTS: advances the wheel a tick at a time as time passes and runs the deadlines that fall due. While the
+    //          first level is empty nothing can fall due before it next turns over, so the thread sleeps until then;
+    //          while the wheel is empty it sleeps until a deadline is scheduled.
+    private void run() {
+        List<Runnable> due = new ArrayList<>();
+        while (true) {
+            lock.lock();
+            try {
+                if (!awaitNextTick()) {
+                    return;
+                }
+                long nowTick = tickOf(System.nanoTime());
+                while (currentTick < nowTick) {
+                    currentTick++;
+                    cascade();
+                    expire(buckets[0][(int) (currentTick & WHEEL_MASK)], due);
+                }
+            } finally {
+                lock.unlock();
+            }
+            runAll(due);
+        }
+    }
+
+    // REQUIRES: lock is held
+    // MODIFIES: this
+    // EFFECTS: waits until at least one tick has passed since the last one handled and the wheel may have work in
+    //          it, and returns true; returns false once shut down
+    private boolean awaitNextTick() {
+        while (running) {
+            long nowNanos = System.nanoTime();
+            if (size == 0) {
+                currentTick = Math.max(currentTick, tickOf(nowNanos));
+                sleepingUntilTick = IDLE;
+                attentionNeeded.awaitUninterruptibly();
+                continue;
+            }
+            long targetTick = firstLevelSize > 0 ? currentTick + 1 : ((currentTick >> WHEEL_BITS) + 1) << WHEEL_BITS;
+            long waitNanos = startNanos + targetTick * tickNanos - nowNanos;
+            if (waitNanos <= 0 && tickOf(nowNanos) > currentTick) {
+                sleepingUntilTick = IDLE;
+                return true;
+            }
+            sleepingUntilTick = targetTick;
+            try {
+                attentionNeeded.awaitNanos(Math.max(1, waitNanos));
+            } catch (InterruptedException e) {
+                running = false;
+            }
+        }
+        return false;
+    }
+
+    // REQUIRES: lock is held, timeout is in no bucket, earliestTick > currentTick or the first level is turning
+    //           over to earliestTick
+    // MODIFIES: this
+    // EFFECTS: puts timeout in the bucket of the lowest level whose ring reaches it, treating it as due no earlier
+    //          than earliestTick, and returns the tick at which the wheel next needs to look at that bucket; a
+    //          deadline beyond the highest level's ring is put in its furthest bucket and re-filed from there
+    private long insert(Timeout timeout, long earliestTick) {
+        long dueTick = Math.max(timeout.dueTick, earliestTick);
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * WHEEL_BITS;
+            if ((dueTick >> shift) - (currentTick >> shift) < WHEEL_SIZE) {
+                link(timeout, level, (int) ((dueTick >> shift) & WHEEL_MASK));
+                return level == 0 ? dueTick : (dueTick >> shift) << shift;
+            }
+        }
+        int shift = (LEVELS - 1) * WHEEL_BITS;
+        long furthest = (currentTick >> shift) + WHEEL_SIZE - 1;
+        link(timeout, LEVELS - 1, (int) (furthest & WHEEL_MASK));
+        return furthest << shift;
+    }
+
+    // REQUIRES: lock is held
+    // MODIFIES: this
+    // EFFECTS: moves the deadlines of every higher level that turns over at currentTick down into lower levels
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = level * WHEEL_BITS;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            Timeout head = buckets[level][(int) ((currentTick >> shift) & WHEEL_MASK)];
+            while (head.next != head) {
+                Timeout timeout = head.next;
+                unlink(timeout);
+                insert(timeout, currentTick);
+            }
+        }
+    }
+
+    // REQUIRES: lock is held, every deadline in the bucket is due
+    // MODIFIES: this, due
+    // EFFECTS: empties the bucket with the given head, adding the tasks of its deadlines to due
+    private void expire(Timeout head, List<Runnable> due) {
+        while (head.next != head) {
+            Timeout timeout = head.next;
+            unlink(timeout);
+            timeout.expired = true;
+            size--;
+            due.add(timeout.task);
+        }
+    }
+
+    // MODIFIES: due
+    // EFFECTS: runs and removes every task in due; a task that throws is reported and does not stop the others
+    private static void runAll(List<Runnable> due) {
+        for (Runnable task : due) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.out.println("Unable to run timer task: " + e);
+            }
+        }
+        due.clear();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: cancels timeout if it is still waiting, and returns true if it was
+    private boolean cancel(Timeout timeout) {
+        lock.lock();
+        try {
+            if (timeout.expired || timeout.next == null) {
+                return false;
+            }
+            unlink(timeout);
+            timeout.expired = true;
+            size--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // REQUIRES: lock is held
+    // MODIFIES: this
+    // EFFECTS: adds timeout to the end of the given bucket
+    private void link(Timeout timeout, int level, int bucket) {
+        Timeout head = buckets[level][bucket];
+        timeout.level = level;
+        timeout.prev = head.prev;
+        timeout.next = head;
+        head.prev.next = timeout;
+        head.prev = timeout;
+        if (level == 0) {
+            firstLevelSize++;
+        }
+    }
+
+    // REQUIRES: lock is held, timeout is in a bucket
+    // MODIFIES: this
+    // EFFECTS: removes timeout from its bucket
+    private void unlink(Timeout timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+        if (timeout.level == 0) {
+            firstLevelSize--;
+        }
+    }
+
+    // EFFECTS: returns the number of whole ticks from the start of the wheel to nanos
+    private long tickOf(long nanos) {
+        return (nanos - startNanos) / tickNanos;
+    }
+
+    // REQUIRES: divisor > 0
+    // EFFECTS: returns dividend / divisor rounded up, or 0 if dividend is negative
+    private static long ceilDiv(long dividend, long divisor) {
+        return dividend <= 0 ? 0 : (dividend + divisor - 1) / divisor;
+    }
+
+    // Represents a deadline in the wheel: the head of a bucket, or an entry in a bucket's circular list.
+    private final class Timeout implements Deadline {
+
+        // Fields
+        private final Runnable task;
+        private final long dueTick;
+        private Timeout prev;
+        private Timeout next;
+        private int level;
+        private boolean expired;
+
+        // EFFECTS: constructs a deadline for task due at dueTick; a head (with no task) starts as an empty list
+        private Timeout(Runnable task, long dueTick) {
+            this.task = task;
+            this.dueTick = dueTick;
+            if (task == null) {
+                prev = this;
+                next = this;
+            }
+        }
+
+        @Override
+        public boolean cancel() {
+            return TimingWheel.this.cancel(this);
+        }
+    }
+}
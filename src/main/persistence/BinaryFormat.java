@@ -0,0 +1,39 @@
+package persistence;
+
+// Represents the layout of the binary preset format shared by BinaryReader and BinaryWriter. A file is a header,
+// followed by one fixed-width record per preset, followed by a string table holding the UTF-8 bytes of every
+// distinct preset name. All numbers are big-endian.
+//
+//     header:       magic (int), version (int), preset count (int), unused (int), string table offset (long)
+//     record:       id (long), focusTime (long), meditationTime (long), restTime (long),
+//                   name offset in string table (int), name length in bytes (int)
+//     string table: name bytes, each name stored once
+final class BinaryFormat {
+
+    // Constants
+    static final int MAGIC = 0x46435052; // "FCPR"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+    static final int RECORD_BYTES = 40;
+
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int COUNT_OFFSET = 8;
+    static final int STRING_TABLE_OFFSET = 16;
+
+    static final int ID_OFFSET = 0;
+    static final int FOCUS_TIME_OFFSET = 8;
+    static final int MEDITATION_TIME_OFFSET = 16;
+    static final int REST_TIME_OFFSET = 24;
+    static final int NAME_OFFSET = 32;
+    static final int NAME_LENGTH_OFFSET = 36;
+
+    // EFFECTS: prevents construction; this class only holds constants
+    private BinaryFormat() {
+    }
+
+    // EFFECTS: returns the position in the file of the record with the given index
+    static long recordPosition(int index) {
+        return HEADER_BYTES + (long) index * RECORD_BYTES;
+    }
+}
@@ -0,0 +1,77 @@
+package persistence;
+
+import model.Preset;
+import model.PresetList;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+// Represents a reader that reads presets from a file in the binary preset format described in BinaryFormat.
+// The file is memory-mapped, so opening it takes the same time however many presets it holds, and presets are only
+// read when they are asked for.
+public class BinaryReader {
+
+    // Fields
+    private final String source;
+
+    // EFFECTS: constructs reader to read from source file
+    public BinaryReader(String source) {
+        this.source = source;
+    }
+
+    // EFFECTS: maps the source file into memory and returns a view of its presets, checking only the header;
+    // throws IOException if the file cannot be read, is larger than 2GB, or is not a binary preset file
+    public MappedPresets open() throws IOException {
+        MappedByteBuffer file;
+        try (FileChannel channel = FileChannel.open(Paths.get(source), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(source + " is too large to map");
+            }
+            file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()); // stays valid once closed
+        }
+        if (file.limit() < BinaryFormat.HEADER_BYTES || file.getInt(BinaryFormat.MAGIC_OFFSET) != BinaryFormat.MAGIC) {
+            throw new IOException(source + " is not a binary preset file");
+        }
+        if (file.getInt(BinaryFormat.VERSION_OFFSET) != BinaryFormat.VERSION) {
+            throw new IOException(source + " has unsupported version " + file.getInt(BinaryFormat.VERSION_OFFSET));
+        }
+        int size = file.getInt(BinaryFormat.COUNT_OFFSET);
+        long stringTableOffset = file.getLong(BinaryFormat.STRING_TABLE_OFFSET);
+        if (size < 0 || BinaryFormat.recordPosition(size) > stringTableOffset || stringTableOffset > file.limit()) {
+            throw new IOException(source + " is truncated or malformed");
+        }
+        return new MappedPresets(file, size, (int) stringTableOffset);
+    }
+
+    // EFFECTS: reads presetList from file and returns it;
+    // throws IOException if an error occurs reading data from file
+    public PresetList read() throws IOException {
+        PresetList pl = new PresetList();
+        readInto(pl);
+        return pl;
+    }
+
+    // MODIFIES: pl
+    // EFFECTS: reads presets from file and adds them to pl in order;
+    // throws IOException if an error occurs reading data from file
+    public void readInto(PresetList pl) throws IOException {
+        read(pl::addPreset);
+    }
+
+    // EFFECTS: reads presets from file and passes each one to consumer in order;
+    // throws IOException if an error occurs reading data from file
+    public void read(Consumer<Preset> consumer) throws IOException {
+        MappedPresets presets = open();
+        try {
+            for (int i = 0; i < presets.size(); i++) {
+                consumer.accept(presets.getPreset(i));
+            }
+        } catch (IllegalStateException e) {
+            throw new IOException(source + " is malformed", e);
+        }
+    }
+}
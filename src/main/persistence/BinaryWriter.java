@@ -0,0 +1,124 @@
+package persistence;
+
+import model.Preset;
+import model.PresetList;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+// Represents a writer that writes PresetList to file in the binary preset format described in BinaryFormat.
+// Like JsonWriter, it writes to a temporary file next to the destination and only replaces the destination once the
+// file is complete.
+public class BinaryWriter {
+
+    // Constants
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    // Fields
+    private final String destination;
+    private final boolean syncOnClose;
+    private ReplacementFile file;
+    private FileChannel channel;
+
+    // EFFECTS: constructs writer to write to destination file
+    public BinaryWriter(String destination) {
+        this(destination, false);
+    }
+
+    // EFFECTS: constructs writer to write to destination file; forces the file to the storage device before
+    // replacing destination if syncOnClose
+    public BinaryWriter(String destination, boolean syncOnClose) {
+        this.destination = destination;
+        this.syncOnClose = syncOnClose;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens writer on a temporary file next to the destination; throws FileNotFoundException if it
+    // cannot be opened for writing
+    public void open() throws FileNotFoundException {
+        file = new ReplacementFile(destination);
+        channel = file.getChannel();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the presets of pl to file: the records are streamed out in order, while the distinct names
+    // are collected into the string table that follows them; throws IOException if an error occurs writing to file
+    public void write(PresetList pl) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        ByteArrayOutputStream stringTable = new ByteArrayOutputStream();
+        Map<String, Integer> nameOffsets = new HashMap<>();
+        int count = 0;
+
+        channel.position(BinaryFormat.HEADER_BYTES);
+        for (Preset preset : pl.getPresetList()) {
+            byte[] name = preset.getPresetName().getBytes(StandardCharsets.UTF_8);
+            Integer nameOffset = nameOffsets.get(preset.getPresetName());
+            if (nameOffset == null) {
+                nameOffset = stringTable.size();
+                nameOffsets.put(preset.getPresetName(), nameOffset);
+                stringTable.write(name, 0, name.length);
+            }
+            if (buffer.remaining() < BinaryFormat.RECORD_BYTES) {
+                drain(buffer);
+            }
+            buffer.putLong(preset.getId());
+            buffer.putLong(preset.getFocusTime());
+            buffer.putLong(preset.getMeditationTime());
+            buffer.putLong(preset.getRestTime());
+            buffer.putInt(nameOffset);
+            buffer.putInt(name.length);
+            count++;
+        }
+        drain(buffer);
+
+        long stringTableOffset = BinaryFormat.recordPosition(count);
+        writeFully(ByteBuffer.wrap(stringTable.toByteArray()), stringTableOffset);
+        buffer.putInt(BinaryFormat.MAGIC);
+        buffer.putInt(BinaryFormat.VERSION);
+        buffer.putInt(count);
+        buffer.putInt(0);
+        buffer.putLong(stringTableOffset);
+        buffer.flip();
+        writeFully(buffer, 0);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forces the file to the storage device if requested, and atomically replaces the destination file
+    // with it; throws IOException if an error occurs writing to file
+    public void close() throws IOException {
+        file.replaceDestination(syncOnClose);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the writer and deletes the temporary file, unless close has replaced the destination with it;
+    // does nothing if the writer was never opened
+    public void abort() {
+        if (file != null) {
+            file.abort();
+        }
+    }
+
+    // MODIFIES: this, buffer
+    // EFFECTS: writes the contents of buffer at the channel's position and empties buffer
+    private void drain(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes all of buffer at the given position of the file
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package persistence;
+
+import model.Preset;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Represents a line-based text format for bulk preset files, in which each line holds one preset so that a file
+// can be split anywhere between lines and its parts read independently. Blank lines are ignored. CSV has no
+// escape for a line break, so a preset whose name has one cannot be exported to CSV; JSON Lines escapes it.
+//   CSV:        an optional header line, then id,name,focusTime,meditationTime,restTime on each line, with the id
+//               column optional; a field containing a comma or a double quote is quoted, with "" for a quote
+//   JSON_LINES: one preset object per line with the keys of Preset.toJson, of which id is optional
+public enum BulkFormat {
+    CSV(".csv"),
+    JSON_LINES(".jsonl");
+
+    // Constants
+    static final String CSV_HEADER = "id,name,focusTime,meditationTime,restTime";
+
+    // Fields
+    private final String extension;
+
+    // EFFECTS: constructs a format whose files end in extension
+    BulkFormat(String extension) {
+        this.extension = extension;
+    }
+
+    // EFFECTS: returns the format of file, by its extension; throws IllegalArgumentException if it is neither
+    //          .csv nor .jsonl
+    public static BulkFormat forFile(String file) {
+        String lowerCase = file.toLowerCase(Locale.ROOT);
+        for (BulkFormat format : values()) {
+            if (lowerCase.endsWith(format.extension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Not a .csv or .jsonl file: " + file);
+    }
+
+    // EFFECTS: returns the line written before the presets, or null if there is none
+    String header() {
+        return this == CSV ? CSV_HEADER : null;
+    }
+
+    // EFFECTS: returns true if line, the first line of a file, is a header rather than a preset
+    boolean isHeader(String line) {
+        if (this != CSV) {
+            return false;
+        }
+        String first = line.substring(0, Math.max(0, line.indexOf(','))).trim().toLowerCase(Locale.ROOT);
+        return first.equals("id") || first.equals("name");
+    }
+
+    // MODIFIES: out
+    // EFFECTS: appends preset to out as one line, without its line break; throws IllegalArgumentException if the
+    //          format is CSV and the name of preset has a line break
+    void appendRecord(StringBuilder out, Preset preset) {
+        if (this == CSV) {
+            String name = preset.getPresetName();
+            if (name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0) {
+                throw new IllegalArgumentException("name of preset " + preset.getId()
+                        + " has a line break, which CSV cannot hold; export to .jsonl instead");
+            }
+            out.append(preset.getId()).append(',');
+            appendCsvField(out, preset.getPresetName());
+        } else {
+            out.append("{\"id\":").append(preset.getId()).append(",\"name\":")
+                    .append(JSONObject.quote(preset.getPresetName()));
+        }
+        appendTime(out, "focusTime", preset.getFocusTime());
+        appendTime(out, "meditationTime", preset.getMeditationTime());
+        appendTime(out, "restTime", preset.getRestTime());
+        if (this == JSON_LINES) {
+            out.append('}');
+        }
+    }
+
+    // EFFECTS: returns the preset on line, which has no line break; throws IllegalArgumentException, with a message
+    //          saying what is wrong, if line is not a valid preset
+    Preset parseRecord(String line) {
+        return this == CSV ? parseCsv(line) : parseJson(line);
+    }
+
+    // MODIFIES: out
+    // EFFECTS: appends the time with the given key to out
+    private void appendTime(StringBuilder out, String key, long time) {
+        if (this == CSV) {
+            out.append(',').append(time);
+        } else {
+            out.append(",\"").append(key).append("\":").append(time);
+        }
+    }
+
+    // MODIFIES: out
+    // EFFECTS: appends field, which has no line break, to out, quoted if it contains a comma, a double quote or
+    //          leading or trailing white space
+    private static void appendCsvField(StringBuilder out, String field) {
+        boolean quote = !field.isEmpty() && (field.charAt(0) == ' ' || field.charAt(field.length() - 1) == ' ');
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"';
+        }
+        if (!quote) {
+            out.append(field);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    // EFFECTS: returns the preset on the CSV line; throws IllegalArgumentException if it is not valid
+    private static Preset parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != 4 && fields.size() != 5) {
+            throw new IllegalArgumentException("expected 4 or 5 fields but found " + fields.size());
+        }
+        int first = fields.size() - 4;
+        long id = first == 0 ? Preset.NO_ID : parseLong("id", fields.get(0).trim(), 0);
+        return newPreset(id, fields.get(first),
+                parseLong("focusTime", fields.get(first + 1).trim(), 1),
+                parseLong("meditationTime", fields.get(first + 2).trim(), 1),
+                parseLong("restTime", fields.get(first + 3).trim(), 1));
+    }
+
+    // EFFECTS: returns the fields of the CSV line, unquoted; throws IllegalArgumentException if a quoted field is
+    //          not closed or is followed by anything but a comma, or if a field that is not quoted has a quote
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(5);
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            if (i < line.length() && line.charAt(i) == '"') {
+                i = readQuoted(line, i + 1, field);
+                if (i < line.length() && line.charAt(i) != ',') {
+                    throw new IllegalArgumentException("unexpected character after quoted field at column "
+                            + (i + 1));
+                }
+            } else {
+                int comma = line.indexOf(',', i);
+                int end = comma < 0 ? line.length() : comma;
+                int quote = line.indexOf('"', i);
+                if (quote >= 0 && quote < end) {
+                    throw new IllegalArgumentException("unexpected quote in unquoted field at column " + (quote + 1));
+                }
+                field.append(line, i, end);
+                i = end;
+            }
+            fields.add(field.toString());
+            field.setLength(0);
+            if (i >= line.length()) {
+                return fields;
+            }
+            i++;
+        }
+    }
+
+    // MODIFIES: field
+    // EFFECTS: appends to field the quoted field of line starting after the opening quote at start, and returns the
+    //          index after its closing quote; throws IllegalArgumentException if it is not closed
+    private static int readQuoted(String line, int start, StringBuilder field) {
+        int i = start;
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            if (c != '"') {
+                field.append(c);
+                i++;
+            } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                field.append('"');
+                i += 2;
+            } else {
+                return i + 1;
+            }
+        }
+        throw new IllegalArgumentException("quoted field starting at column " + start + " is not closed");
+    }
+
+    // EFFECTS: returns the preset in the JSON line; throws IllegalArgumentException if it is not valid
+    private static Preset parseJson(String line) {
+        try {
+            JSONObject json = new JSONObject(line);
+            return newPreset(json.has("id") ? checkAtLeast("id", json.getLong("id"), 0) : Preset.NO_ID,
+                    json.getString("name"),
+                    checkAtLeast("focusTime", json.getLong("focusTime"), 1),
+                    checkAtLeast("meditationTime", json.getLong("meditationTime"), 1),
+                    checkAtLeast("restTime", json.getLong("restTime"), 1));
+        } catch (JSONException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    // EFFECTS: returns a preset with the given fields; throws IllegalArgumentException if name is blank
+    private static Preset newPreset(long id, String name, long focusTime, long meditationTime, long restTime) {
+        if (name.isBlank()) {
+            throw new IllegalArgumentException("name is blank");
+        }
+        return new Preset(id, name, focusTime, meditationTime, restTime);
+    }
+
+    // EFFECTS: returns the whole number in text, the value of key; throws IllegalArgumentException if it is not one
+    //          or is less than min
+    private static long parseLong(String key, String text, long min) {
+        try {
+            return checkAtLeast(key, Long.parseLong(text), min);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " is not a whole number: \"" + text + "\"");
+        }
+    }
+
+    // EFFECTS: returns value, the value of key; throws IllegalArgumentException if it is less than min
+    private static long checkAtLeast(String key, long value, long min) {
+        if (value < min) {
+            throw new IllegalArgumentException(key + " must be at least " + min + " but is " + value);
+        }
+        return value;
+    }
+}
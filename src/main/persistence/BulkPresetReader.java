@@ -0,0 +1,295 @@
+package persistence;
+
+import model.Preset;
+import model.PresetList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Represents a reader of a bulk preset file in CSV or JSON Lines, such as a catalog of presets built in a
+// spreadsheet. The file is split into chunks of about the same number of bytes, which are memory-mapped and parsed
+// in parallel on a ForkJoinPool; each chunk starts at the first line beginning in it, and reads past its end to
+// finish its last line. A line that is not a valid preset does not stop the read: it is reported with its line
+// number and byte offset, and every valid line is kept. Presets are returned in the order of the file.
+public class BulkPresetReader {
+
+    // Constants
+    public static final int DEFAULT_CHUNK_BYTES = 1 << 20;
+    public static final int MAX_RECORD_BYTES = 64 * 1024;
+    public static final int MAX_ERRORS_KEPT = 1000;
+
+    // Fields
+    private final String source;
+    private final BulkFormat format;
+    private final ForkJoinPool pool;
+    private final int chunkBytes;
+
+    // EFFECTS: constructs a reader of source, in the format of its extension, that parses it on the common pool
+    public BulkPresetReader(String source) {
+        this(source, BulkFormat.forFile(source), ForkJoinPool.commonPool(), DEFAULT_CHUNK_BYTES);
+    }
+
+    // REQUIRES: chunkBytes >= 1
+    // EFFECTS: constructs a reader of source, in the given format, that parses chunks of chunkBytes bytes on pool
+    public BulkPresetReader(String source, BulkFormat format, ForkJoinPool pool, int chunkBytes) {
+        this.source = source;
+        this.format = format;
+        this.pool = pool;
+        this.chunkBytes = chunkBytes;
+    }
+
+    // EFFECTS: reads the presets of the source file and the lines that are not valid presets;
+    // throws IOException if the file cannot be read
+    public Result read() throws IOException {
+        PresetFileEvent event = new PresetFileEvent("import", source);
+        Result result;
+        long size;
+        try (FileChannel channel = FileChannel.open(Paths.get(source), StandardOpenOption.READ)) {
+            size = channel.size();
+            Chunk[] chunks = new Chunk[(int) Math.max(1, (size + chunkBytes - 1) / chunkBytes)];
+            pool.invoke(new ParseChunks(this, channel, size, chunks, 0, chunks.length));
+            result = new Result(chunks);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.bytes = size;
+            event.presets = result.presets.size();
+            event.commit();
+        }
+        return result;
+    }
+
+    // EFFECTS: parses the lines starting in chunk index of the file open on channel, which has size bytes;
+    //          throws UncheckedIOException if it cannot be mapped
+    private Chunk parseChunk(FileChannel channel, long size, int index) {
+        long start = (long) index * chunkBytes;
+        long end = Math.min(size, start + chunkBytes);
+        long from = Math.max(0, start - 1);
+        long to = Math.min(size, end + MAX_RECORD_BYTES);
+        Chunk chunk = new Chunk();
+        if (from >= to) {
+            return chunk;
+        }
+        MappedByteBuffer bytes;
+        try {
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int limit = (int) (end - from);
+        int position = 0;
+        if (start > 0) {
+            // the first line of this chunk starts after the first line break at or after the byte before it
+            position = indexOfLineBreak(bytes, 0, limit);
+            if (position < 0) {
+                return chunk;
+            }
+            position++;
+        }
+        while (position < limit) {
+            int lineBreak = indexOfLineBreak(bytes, position, bytes.limit());
+            if (lineBreak < 0 && to < size) {
+                chunk.lines++;
+                chunk.error(from + position, "line is longer than " + MAX_RECORD_BYTES + " bytes");
+                return chunk;
+            }
+            int lineEnd = lineBreak < 0 ? bytes.limit() : lineBreak;
+            parseLine(bytes, position, lineEnd, from + position, chunk);
+            position = lineEnd + 1;
+        }
+        return chunk;
+    }
+
+    // MODIFIES: chunk
+    // EFFECTS: parses the line in bytes from start to end, without its line break, which starts at offset in the
+    //          file, and adds its preset, or why it is not one, to chunk; blank lines and a header are skipped
+    private void parseLine(MappedByteBuffer bytes, int start, int end, long offset, Chunk chunk) {
+        chunk.lines++;
+        if (end > start && bytes.get(end - 1) == '\r') {
+            end--;
+        }
+        byte[] line = new byte[end - start];
+        bytes.get(start, line);
+        String text = new String(line, StandardCharsets.UTF_8);
+        if (text.isBlank() || (offset == 0 && format.isHeader(text))) {
+            return;
+        }
+        try {
+            chunk.presets.add(format.parseRecord(text));
+        } catch (IllegalArgumentException e) {
+            chunk.error(offset, e.getMessage());
+        }
+    }
+
+    // EFFECTS: returns the index of the first line break in bytes from start up to end, or -1 if there is none
+    private static int indexOfLineBreak(MappedByteBuffer bytes, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (bytes.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Represents the presets and the reasons lines are not presets found in a read of a bulk preset file.
+    public static class Result {
+        private final List<Preset> presets;
+        private final List<RecordError> errors;
+        private final long errorCount;
+        private final long lineCount;
+
+        // EFFECTS: joins the parsed chunks of a file, in order, numbering the lines of each after the lines of the
+        //          chunks before it
+        private Result(Chunk[] chunks) {
+            int presetCount = 0;
+            for (Chunk chunk : chunks) {
+                presetCount += chunk.presets.size();
+            }
+            presets = new ArrayList<>(presetCount);
+            errors = new ArrayList<>();
+            long errorsSeen = 0;
+            long linesBefore = 0;
+            for (Chunk chunk : chunks) {
+                presets.addAll(chunk.presets);
+                for (RecordError error : chunk.errors) {
+                    if (errors.size() < MAX_ERRORS_KEPT) {
+                        errors.add(new RecordError(linesBefore + error.line, error.offset, error.message));
+                    }
+                }
+                errorsSeen += chunk.errorCount;
+                linesBefore += chunk.lines;
+            }
+            errorCount = errorsSeen;
+            lineCount = linesBefore;
+        }
+
+        // EFFECTS: returns the presets read, in the order of the file
+        public List<Preset> getPresets() {
+            return Collections.unmodifiableList(presets);
+        }
+
+        // EFFECTS: returns the first MAX_ERRORS_KEPT lines that are not valid presets, in the order of the file
+        public List<RecordError> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+
+        // EFFECTS: returns the number of lines that are not valid presets, including those not kept
+        public long getErrorCount() {
+            return errorCount;
+        }
+
+        // EFFECTS: returns the number of lines in the file
+        public long getLineCount() {
+            return lineCount;
+        }
+
+        // MODIFIES: pl
+        // EFFECTS: adds the presets read to pl, in order; a preset keeps its id from the file unless pl has
+        //          another preset with that id
+        public void addTo(PresetList pl) {
+            for (Preset preset : presets) {
+                pl.addPreset(preset);
+            }
+        }
+    }
+
+    // Represents a line of a bulk preset file that is not a valid preset.
+    public static class RecordError {
+        private final long line;
+        private final long offset;
+        private final String message;
+
+        // EFFECTS: constructs an error on the given line, counting from 1, which starts offset bytes into the file
+        private RecordError(long line, long offset, String message) {
+            this.line = line;
+            this.offset = offset;
+            this.message = message;
+        }
+
+        // EFFECTS: returns the number of the line, counting from 1
+        public long getLine() {
+            return line;
+        }
+
+        // EFFECTS: returns the offset in bytes of the start of the line in the file
+        public long getOffset() {
+            return offset;
+        }
+
+        // EFFECTS: returns why the line is not a valid preset
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + " (offset " + offset + "): " + message;
+        }
+    }
+
+    // Represents the lines starting in one chunk of a file, once parsed; errors are numbered from the chunk's
+    // first line until the chunks are joined.
+    private static class Chunk {
+        private final List<Preset> presets = new ArrayList<>();
+        private final List<RecordError> errors = new ArrayList<>();
+        private long errorCount;
+        private long lines;
+
+        // MODIFIES: this
+        // EFFECTS: records that the last line counted, which starts at offset, is not a valid preset
+        private void error(long offset, String message) {
+            if (errors.size() < MAX_ERRORS_KEPT) {
+                errors.add(new RecordError(lines, offset, message));
+            }
+            errorCount++;
+        }
+    }
+
+    // Represents the parsing of chunks from start to end of a file, splitting the range in half until one chunk
+    // is left.
+    private static class ParseChunks extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final BulkPresetReader reader;
+        private final FileChannel channel;
+        private final long size;
+        private final Chunk[] chunks;
+        private final int start;
+        private final int end;
+
+        // EFFECTS: constructs the parsing by reader of chunks from start to end of the file of size bytes open on
+        //          channel
+        private ParseChunks(BulkPresetReader reader, FileChannel channel, long size, Chunk[] chunks, int start,
+                            int end) {
+            this.reader = reader;
+            this.channel = channel;
+            this.size = size;
+            this.chunks = chunks;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start == 1) {
+                chunks[start] = reader.parseChunk(channel, size, start);
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new ParseChunks(reader, channel, size, chunks, start, middle),
+                    new ParseChunks(reader, channel, size, chunks, middle, end));
+        }
+    }
+}
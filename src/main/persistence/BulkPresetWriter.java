@@ -0,0 +1,116 @@
+package persistence;
+
+import model.Preset;
+import model.PresetList;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+// Represents a writer that exports presets to a bulk preset file in CSV or JSON Lines, one line per preset.
+// Presets are streamed a batch of lines at a time to a temporary file next to the destination, which only replaces
+// the destination once it has been written completely, so any number of presets can be exported.
+public class BulkPresetWriter {
+
+    // Constants
+    private static final int BATCH_CHARS = 64 * 1024;
+
+    // Fields
+    private final String destination;
+    private final BulkFormat format;
+    private final boolean syncOnClose;
+    private final StringBuilder batch;
+    private ReplacementFile file;
+    private Writer writer;
+    private PresetFileEvent event;
+
+    // EFFECTS: constructs writer to write to destination file in the format of its extension; throws
+    // IllegalArgumentException if it is neither .csv nor .jsonl
+    public BulkPresetWriter(String destination) {
+        this(destination, BulkFormat.forFile(destination));
+    }
+
+    // EFFECTS: constructs writer to write to destination file in the given format
+    public BulkPresetWriter(String destination, BulkFormat format) {
+        this(destination, format, false);
+    }
+
+    // EFFECTS: constructs writer to write to destination file in the given format; forces the file to the storage
+    // device before replacing destination if syncOnClose
+    public BulkPresetWriter(String destination, BulkFormat format, boolean syncOnClose) {
+        this.destination = destination;
+        this.format = format;
+        this.syncOnClose = syncOnClose;
+        this.batch = new StringBuilder(BATCH_CHARS + 256);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens writer on a temporary file next to the destination; throws FileNotFoundException if it
+    // cannot be opened for writing
+    public void open() throws FileNotFoundException {
+        file = new ReplacementFile(destination);
+        writer = Channels.newWriter(file.getChannel(), StandardCharsets.UTF_8);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the presets of pl to file, one line each; throws IOException if an error occurs writing to
+    // file, and IllegalArgumentException if the format is CSV and a preset name has a line break
+    public void write(PresetList pl) throws IOException {
+        write(pl.getPresetList());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes presets to file, one line each, as they are iterated; throws IOException if an error occurs
+    // writing to file, and IllegalArgumentException if the format is CSV and a preset name has a line break, after
+    // which the writer should be aborted
+    public void write(Iterable<Preset> presets) throws IOException {
+        event = new PresetFileEvent("export", destination);
+        String header = format.header();
+        if (header != null) {
+            batch.append(header).append('\n');
+        }
+        for (Preset preset : presets) {
+            format.appendRecord(batch, preset);
+            batch.append('\n');
+            event.presets++;
+            if (batch.length() >= BATCH_CHARS) {
+                writeBatch();
+            }
+        }
+        writeBatch();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: finishes writing, forces the file to the storage device if requested, and atomically replaces the
+    // destination file with it; throws IOException if an error occurs writing to file
+    public void close() throws IOException {
+        writer.flush();
+        long bytes = file.replaceDestination(syncOnClose);
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.bytes = bytes;
+                event.commit();
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the writer and deletes the temporary file, unless close has replaced the destination with it;
+    // does nothing if the writer was never opened
+    public void abort() {
+        batch.setLength(0);
+        if (file != null) {
+            file.abort();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the lines in the batch to file and empties it
+    private void writeBatch() throws IOException {
+        writer.append(batch);
+        batch.setLength(0);
+    }
+}
@@ -0,0 +1,319 @@
+package persistence;
+
+import model.Event;
+import model.EventLog;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Represents a background exporter that copies the events of an EventLog to JSON Lines files, one event per line.
+// The log's ring is the bounded queue between the threads logging events and the exporter: its own thread reads
+// the events from a cursor in batches without ever blocking a logging thread, and marks the events before its
+// cursor as read, so a log that drops new events only fills up with events the exporter has not read. If it falls
+// behind, the ring's OverflowPolicy decides which events are lost, and the exporter counts them as skipped. Lines
+// are gathered in a buffer and written to the channel whenever it fills or the exporter has caught up; they count
+// as exported once they have been written, and as failed if writing the buffer fails. Once the current file would
+// grow past a maximum size it is rotated: events.jsonl becomes events.1.jsonl, and so on, keeping a fixed number of
+// files.
+public class EventLogExporter {
+
+    // Constants
+    public static final int DEFAULT_BATCH_SIZE = 512;
+    public static final long DEFAULT_MAX_FILE_BYTES = 4L << 20;
+    public static final int DEFAULT_MAX_FILES = 5;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 250;
+    private static final String FILE_NAME = "events";
+    private static final String FILE_EXTENSION = ".jsonl";
+    private static final int BUFFER_BYTES = 64 << 10;
+
+    // Fields
+    private final EventLog log;
+    private final String directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final ByteBuffer buffer;
+    private final Thread worker;
+    private volatile boolean running;
+    private volatile long cursor;
+    private long startNanos;
+    private FileChannel channel;
+    private long fileBytes;
+    private int bufferedLines;
+    // written only by the exporter's thread
+    private volatile long exported;
+    private volatile long skipped;
+    private volatile long failed;
+    private volatile long batches;
+    private volatile long bytesWritten;
+    private volatile long rotations;
+
+    // EFFECTS: constructs an exporter of log to files in directory with the default file size, number of files,
+    //          batch size and flush interval
+    public EventLogExporter(EventLog log, String directory) {
+        this(log, directory, DEFAULT_MAX_FILE_BYTES, DEFAULT_MAX_FILES, DEFAULT_BATCH_SIZE,
+                DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    // REQUIRES: maxFileBytes >= 1, maxFiles >= 1, batchSize >= 1, flushIntervalMillis >= 1
+    // EFFECTS: constructs an exporter of log to files in directory that keeps at most maxFiles files of about
+    //          maxFileBytes bytes (a file holds at least one event), reads at most batchSize events at a time, and
+    //          looks for new events every flushIntervalMillis milliseconds once it has caught up
+    public EventLogExporter(EventLog log, String directory, long maxFileBytes, int maxFiles, int batchSize,
+                            long flushIntervalMillis) {
+        this.log = log;
+        this.directory = directory;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        this.worker = new Thread(this::run, "event-log-exporter");
+        worker.setDaemon(true);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts exporting on the exporter's own thread, beginning with the oldest event still in the log
+    public void start() {
+        startNanos = System.nanoTime();
+        running = true;
+        worker.start();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: asks the exporter to write every event logged so far and close its file, waiting at most timeout
+    //          for it to finish; returns true if it finished in time. Events logged after this is called may not
+    //          be exported.
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!worker.isAlive()) {
+            return true;
+        }
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(Math.max(1, unit.toMillis(timeout)));
+        return !worker.isAlive();
+    }
+
+    // EFFECTS: returns the number of events written to file
+    public long getExportedCount() {
+        return exported;
+    }
+
+    // EFFECTS: returns the number of events that were overwritten, dropped or cleared from the log before the
+    //          exporter read them
+    public long getSkippedCount() {
+        return skipped;
+    }
+
+    // EFFECTS: returns the number of events read from the log that could not be written to file
+    public long getFailedCount() {
+        return failed;
+    }
+
+    // EFFECTS: returns the number of batches of events read from the log
+    public long getBatchCount() {
+        return batches;
+    }
+
+    // EFFECTS: returns the number of bytes written to file
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    // EFFECTS: returns the number of times the current file was rotated
+    public long getRotationCount() {
+        return rotations;
+    }
+
+    // EFFECTS: returns the number of events logged that the exporter has not read yet
+    public long getBacklog() {
+        return Math.max(0, log.getLoggedCount() - cursor);
+    }
+
+    // EFFECTS: returns the average number of events exported per second since the exporter started
+    public double getEventsPerSecond() {
+        long elapsed = System.nanoTime() - startNanos;
+        return elapsed <= 0 ? 0 : exported * 1e9 / elapsed;
+    }
+
+    // EFFECTS: returns the path of the current file, or of the rotated file with the given number if it is >= 1
+    public Path getFile(int number) {
+        String suffix = number == 0 ? "" : "." + number;
+        return Paths.get(directory, FILE_NAME + suffix + FILE_EXTENSION);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads events from the log in batches and writes them, writing out the buffer and waiting for the
+    //          flush interval whenever it has caught up; once shut down, exports what is left and closes the file
+    private void run() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        while (true) {
+            boolean stopping = !running; // read first, so events logged before shutdown are still exported
+            long from = cursor;
+            long next = log.drainTo(from, batchSize, batch::add);
+            skipped += Math.max(0, next - from - batch.size());
+            cursor = next;
+            log.markRead(next);
+            boolean full = batch.size() == batchSize;
+            if (!batch.isEmpty()) {
+                batches++;
+                writeBatch(batch);
+                batch.clear();
+            }
+            if (full) {
+                continue;
+            }
+            flushQuietly();
+            if (stopping) {
+                closeQuietly();
+                return;
+            }
+            LockSupport.parkNanos(this, flushIntervalNanos);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the events of batch to file, counting the buffered lines and the rest of the batch as failed
+    //          if writing fails
+    private void writeBatch(List<Event> batch) {
+        int added = 0;
+        try {
+            for (Event e : batch) {
+                write(toLine(e));
+                added++;
+            }
+        } catch (IOException e) {
+            System.out.println("Unable to write to file: " + getFile(0));
+            failed += batch.size() - added;
+            discardBuffer();
+            closeQuietly(); // reopened, and appended to, with the next batch
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds line to the current file, opening it or rotating it first if needed
+    private void write(byte[] line) throws IOException {
+        if (channel == null) {
+            openFile();
+        }
+        if (fileBytes > 0 && fileBytes + line.length > maxFileBytes) {
+            rotate();
+        }
+        if (line.length > buffer.remaining()) {
+            flush();
+        }
+        if (line.length > buffer.capacity()) {
+            writeFully(ByteBuffer.wrap(line));
+            exported++;
+        } else {
+            buffer.put(line);
+            bufferedLines++;
+        }
+        fileBytes += line.length;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens the current file for appending, creating the directory and file if needed
+    private void openFile() throws IOException {
+        Files.createDirectories(Paths.get(directory));
+        channel = FileChannel.open(getFile(0), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        fileBytes = channel.size();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the current file and renames each file to the next number, deleting the oldest, then opens
+    //          a new current file
+    private void rotate() throws IOException {
+        flush();
+        channel.close();
+        channel = null;
+        Files.deleteIfExists(getFile(maxFiles - 1));
+        for (int number = maxFiles - 2; number >= 0; number--) {
+            if (Files.exists(getFile(number))) {
+                Files.move(getFile(number), getFile(number + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        rotations++;
+        openFile();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the buffered lines to the current file and counts them as exported
+    private void flush() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+        exported += bufferedLines;
+        bufferedLines = 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: drops the buffered lines, counting them as failed
+    private void discardBuffer() {
+        failed += bufferedLines;
+        bufferedLines = 0;
+        buffer.clear();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes all of bytes to the current file
+    private void writeFully(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            bytesWritten += channel.write(bytes);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the buffered lines to the current file if it is open, counting them as failed if writing fails
+    private void flushQuietly() {
+        if (channel == null || buffer.position() == 0) {
+            return;
+        }
+        try {
+            flush();
+        } catch (IOException e) {
+            System.out.println("Unable to write to file: " + getFile(0));
+            discardBuffer();
+            closeQuietly();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forces the current file to the storage device and closes it, if it is open
+    private void closeQuietly() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            System.out.println("Unable to close file: " + getFile(0));
+        }
+        channel = null;
+    }
+
+    // EFFECTS: returns the JSON line, with its line break, for event e
+    private static byte[] toLine(Event e) {
+        JSONObject json = new JSONObject();
+        json.put("epochMillis", e.getEpochMillis());
+        json.put("type", e.getType().toString());
+        json.put("presetId", e.getPresetId());
+        json.put("description", e.getDescription());
+        return (json.toString() + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,323 @@
+package persistence;
+
+import model.Preset;
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+// Represents a parser that reads presets from JSON text one token at a time. Each preset object is turned into a
+// Preset as soon as it has been read, so no JSON document is built and only one preset is held at a time.
+class JsonPresetParser {
+
+    // Constants
+    private static final int BUFFER_SIZE = 8192;
+    private static final int END_OF_INPUT = -1;
+    private static final long MISSING = Long.MIN_VALUE;
+
+    // Fields
+    private final Reader reader;
+    private final char[] buffer;
+    private final StringBuilder text;
+    private int position;
+    private int limit;
+    private long charactersBeforeBuffer;
+    private long journalGeneration;
+
+    // EFFECTS: constructs a parser that reads JSON text from reader
+    JsonPresetParser(Reader reader) {
+        this.reader = reader;
+        this.buffer = new char[BUFFER_SIZE];
+        this.text = new StringBuilder();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: parses a {"presetList": [...]} document and passes each preset to consumer in order, remembering its
+    //          journalGeneration if it has one; throws JSONException if the text is not valid or a preset is missing
+    //          a field
+    void parsePresetList(Consumer<Preset> consumer) throws IOException {
+        boolean foundPresetList = false;
+        expect('{');
+        if (!skipIfNext('}')) {
+            do {
+                readString();
+                expect(':');
+                if (isKey("presetList")) {
+                    parsePresets(consumer);
+                    foundPresetList = true;
+                } else if (isKey("journalGeneration")) {
+                    journalGeneration = readLong();
+                } else {
+                    skipValue();
+                }
+            } while (skipIfNext(','));
+            expect('}');
+        }
+        if (!foundPresetList) {
+            throw new JSONException("JSONObject[\"presetList\"] not found.");
+        }
+    }
+
+    // EFFECTS: returns the generation of the PresetJournal that applies on top of the document parsed, or 0 if it
+    //          did not name one
+    long getJournalGeneration() {
+        return journalGeneration;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: parses the array of presets, passing each one to consumer
+    private void parsePresets(Consumer<Preset> consumer) throws IOException {
+        expect('[');
+        if (skipIfNext(']')) {
+            return;
+        }
+        do {
+            consumer.accept(parsePreset());
+        } while (skipIfNext(','));
+        expect(']');
+    }
+
+    // MODIFIES: this
+    // EFFECTS: parses a preset object, ignoring any fields other than the ones a Preset has; presets saved without
+    //          an id are given NO_ID
+    private Preset parsePreset() throws IOException {
+        long id = Preset.NO_ID;
+        String name = null;
+        long focusTime = MISSING;
+        long meditationTime = MISSING;
+        long restTime = MISSING;
+
+        expect('{');
+        if (!skipIfNext('}')) {
+            do {
+                readString();
+                expect(':');
+                if (isKey("id")) {
+                    id = readLong();
+                } else if (isKey("name")) {
+                    readString();
+                    name = text.toString();
+                } else if (isKey("focusTime")) {
+                    focusTime = readLong();
+                } else if (isKey("meditationTime")) {
+                    meditationTime = readLong();
+                } else if (isKey("restTime")) {
+                    restTime = readLong();
+                } else {
+                    skipValue();
+                }
+            } while (skipIfNext(','));
+            expect('}');
+        }
+
+        requireField(name != null, "name");
+        requireField(focusTime != MISSING, "focusTime");
+        requireField(meditationTime != MISSING, "meditationTime");
+        requireField(restTime != MISSING, "restTime");
+        return new Preset(id, name, focusTime, meditationTime, restTime);
+    }
+
+    // EFFECTS: throws JSONException naming key if the field was not found
+    private void requireField(boolean found, String key) {
+        if (!found) {
+            throw syntaxError("JSONObject[\"" + key + "\"] not found");
+        }
+    }
+
+    // EFFECTS: returns true if the last string read is equal to key
+    private boolean isKey(String key) {
+        return text.length() == key.length() && text.indexOf(key) == 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads a JSON number (or a string holding one) and returns it as a long
+    private long readLong() throws IOException {
+        if (peek() == '"') {
+            readString();
+        } else {
+            readNumber();
+        }
+        try {
+            return Long.parseLong(text, 0, text.length(), 10);
+        } catch (NumberFormatException e) {
+            try {
+                return (long) Double.parseDouble(text.toString());
+            } catch (NumberFormatException notADouble) {
+                throw syntaxError("Value \"" + text + "\" is not a number");
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the characters of a JSON number into text
+    private void readNumber() throws IOException {
+        skipWhitespace();
+        text.setLength(0);
+        int next = peekWithoutSkipping();
+        while (next != END_OF_INPUT && (Character.isDigit(next) || "+-.eE".indexOf(next) >= 0)) {
+            text.append((char) next);
+            position++;
+            next = peekWithoutSkipping();
+        }
+        if (text.length() == 0) {
+            throw syntaxError("Expected a number");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads a JSON string and leaves its unescaped contents in text
+    private void readString() throws IOException {
+        expect('"');
+        text.setLength(0);
+        int next = read();
+        while (next != '"') {
+            if (next == END_OF_INPUT || next == '\n' || next == '\r') {
+                throw syntaxError("Unterminated string");
+            }
+            if (next == '\\') {
+                text.append(readEscape());
+            } else {
+                text.append((char) next);
+            }
+            next = read();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the character following a backslash and returns the character it stands for
+    private char readEscape() throws IOException {
+        int escaped = read();
+        switch (escaped) {
+            case 'b':
+                return '\b';
+            case 't':
+                return '\t';
+            case 'n':
+                return '\n';
+            case 'f':
+                return '\f';
+            case 'r':
+                return '\r';
+            case 'u':
+                return readUnicodeEscape();
+            case '"':
+            case '\\':
+            case '/':
+                return (char) escaped;
+            default:
+                throw syntaxError("Illegal escape");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the four hex digits of a unicode escape and returns the character they encode
+    private char readUnicodeEscape() throws IOException {
+        int code = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(read(), 16);
+            if (digit < 0) {
+                throw syntaxError("Illegal escape");
+            }
+            code = (code << 4) | digit;
+        }
+        return (char) code;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads past the next JSON value of any kind
+    private void skipValue() throws IOException {
+        int next = peek();
+        if (next == '"') {
+            readString();
+        } else if (next == '{' || next == '[') {
+            skipContainer();
+        } else {
+            while (next != END_OF_INPUT && next != ',' && next != '}' && next != ']'
+                    && !Character.isWhitespace(next)) {
+                position++;
+                next = peekWithoutSkipping();
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads past a JSON object or array, including everything nested in it
+    private void skipContainer() throws IOException {
+        int depth = 0;
+        do {
+            int next = peek();
+            if (next == END_OF_INPUT) {
+                throw syntaxError("Unterminated object or array");
+            } else if (next == '"') {
+                readString();
+            } else {
+                position++;
+                if (next == '{' || next == '[') {
+                    depth++;
+                } else if (next == '}' || next == ']') {
+                    depth--;
+                }
+            }
+        } while (depth > 0);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads past whitespace and the expected character; throws JSONException if another character is next
+    private void expect(char expected) throws IOException {
+        if (!skipIfNext(expected)) {
+            throw syntaxError("Expected '" + expected + "'");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads past whitespace, then reads past the given character and returns true if it is next
+    private boolean skipIfNext(char expected) throws IOException {
+        if (peek() == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads past whitespace and returns the next character without consuming it
+    private int peek() throws IOException {
+        skipWhitespace();
+        return peekWithoutSkipping();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next character without consuming it, or END_OF_INPUT if there is none
+    private int peekWithoutSkipping() throws IOException {
+        return (position < limit || fill()) ? buffer[position] : END_OF_INPUT;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads past any whitespace
+    private void skipWhitespace() throws IOException {
+        while ((position < limit || fill()) && Character.isWhitespace(buffer[position])) {
+            position++;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes and returns the next character, or END_OF_INPUT if there is none
+    private int read() throws IOException {
+        return (position < limit || fill()) ? buffer[position++] : END_OF_INPUT;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: refills the buffer from reader and returns false if there is no more input
+    private boolean fill() throws IOException {
+        charactersBeforeBuffer += limit;
+        position = 0;
+        limit = Math.max(0, reader.read(buffer, 0, buffer.length));
+        return limit > 0;
+    }
+
+    // EFFECTS: returns a JSONException describing the problem and where it was found
+    private JSONException syntaxError(String message) {
+        return new JSONException(message + " at character " + (charactersBeforeBuffer + position));
+    }
+}
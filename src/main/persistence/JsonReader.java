@@ -2,24 +2,26 @@ package persistence;
 
 import model.Preset;
 import model.PresetList;
-import org.json.JSONArray;
-import org.json.JSONObject;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.stream.Stream;
+import java.util.function.Consumer;
 
 // NOTE: The code contained in this class has been based off the JsonReader.java class
 //             in the JsonSerializationDemo, found here:
 //             https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo
 
 // Represents a reader that reads relevant fields in classes from JSON data stored in file.
+// Presets are parsed straight from the file as it is read, without building a JSON document first.
 public class JsonReader {
 
     // Fields
     private final String source;
+    private long journalGeneration;
 
     // EFFECTS: constructs reader to read from source file
     public JsonReader(String source) {
@@ -29,47 +31,41 @@ public class JsonReader {
     // EFFECTS: reads presetList from file and returns it;
     // throws IOException if an error occurs reading data from file
     public PresetList read() throws IOException {
-        String jsonData = readFile(source);
-        JSONObject jsonObject = new JSONObject(jsonData);
-        return parsePresetList(jsonObject);
-    }
-
-    // EFFECTS: reads source file as string and returns it
-    private String readFile(String source) throws IOException {
-        StringBuilder contentBuilder = new StringBuilder();
-
-        try (Stream<String> stream = Files.lines(Paths.get(source), StandardCharsets.UTF_8)) {
-            stream.forEach(contentBuilder::append);
-        }
-
-        return contentBuilder.toString();
-    }
-
-    // EFFECTS: parses PresetList from JSON object and returns it
-    private PresetList parsePresetList(JSONObject jsonObject) {
         PresetList pl = new PresetList();
-        addPresets(pl, jsonObject);
+        readInto(pl);
         return pl;
     }
 
     // MODIFIES: pl
-    // EFFECTS: parses presets from JSON object and adds them to pl
-    private void addPresets(PresetList pl, JSONObject jsonObject) {
-        JSONArray jsonArray = jsonObject.getJSONArray("presetList");
-        for (Object json : jsonArray) {
-            JSONObject nextPreset = (JSONObject) json;
-            addPreset(pl, nextPreset);
+    // EFFECTS: reads presets from file and adds them to pl in order;
+    // throws IOException if an error occurs reading data from file
+    public void readInto(PresetList pl) throws IOException {
+        read(pl::addPreset);
+    }
+
+    // EFFECTS: reads presets from file and passes each one to consumer in order, holding only one preset
+    // at a time; throws IOException if an error occurs reading data from file
+    public void read(Consumer<Preset> consumer) throws IOException {
+        PresetFileEvent event = new PresetFileEvent("read", source);
+        try (Reader reader = new InputStreamReader(Files.newInputStream(Paths.get(source)),
+                StandardCharsets.UTF_8)) {
+            JsonPresetParser parser = new JsonPresetParser(reader);
+            parser.parsePresetList(event.isEnabled() ? preset -> {
+                event.presets++;
+                consumer.accept(preset);
+            } : consumer);
+            journalGeneration = parser.getJournalGeneration();
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.bytes = Files.size(Paths.get(source));
+            event.commit();
         }
     }
 
-    // MODIFIES: pl
-    // EFFECTS: parses preset from JSON object and adds it to pl
-    private void addPreset(PresetList pl, JSONObject jsonObject) {
-        String name = jsonObject.getString("name");
-        long focusTime = jsonObject.getLong("focusTime");
-        long meditationTime = jsonObject.getLong("meditationTime");
-        long restTime = jsonObject.getLong("restTime");
-        Preset preset = new Preset(name, focusTime, meditationTime, restTime);
-        pl.addPreset(preset);
+    // EFFECTS: returns the generation of the PresetJournal that applies on top of the file last read, or 0 if it
+    // did not name one
+    public long getJournalGeneration() {
+        return journalGeneration;
     }
-}
\ No newline at end of file
+}
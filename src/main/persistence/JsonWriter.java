@@ -1,52 +1,154 @@
 package persistence;
 
+import model.Preset;
 import model.PresetList;
 import org.json.JSONObject;
 
-import java.io.*;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 
 // NOTE: The code contained in this class has been based off the JsonWriter.java class
 //             in the JsonSerializationDemo, found here:
 //             https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo
 
 // Represents a writer that writes JSON representation of PresetList to file.
+// Presets are streamed to a temporary file next to the destination, which only replaces the destination once it
+// has been written completely, so a crash part way through a save leaves the previous file intact.
 public class JsonWriter {
 
     // Constants
-    private static final int TAB = 4;
+    private static final String TAB = "    ";
 
     // Fields
-    private PrintWriter writer;
     private final String destination;
+    private final boolean prettyPrint;
+    private final boolean syncOnClose;
+    private ReplacementFile file;
+    private Writer writer;
+    private PresetFileEvent event;
 
-    // EFFECTS: constructs writer to write to destination file
+    // EFFECTS: constructs writer to write pretty-printed JSON to destination file
     public JsonWriter(String destination) {
+        this(destination, true, false);
+    }
+
+    // EFFECTS: constructs writer to write to destination file; writes indented JSON if prettyPrint and compact JSON
+    // otherwise, and forces the file to the storage device before replacing destination if syncOnClose
+    public JsonWriter(String destination, boolean prettyPrint, boolean syncOnClose) {
         this.destination = destination;
+        this.prettyPrint = prettyPrint;
+        this.syncOnClose = syncOnClose;
     }
 
     // MODIFIES: this
-    // EFFECTS: opens writer; throws FileNotFoundException if destination file cannot
-    // be opened for writing
+    // EFFECTS: opens writer on a temporary file next to the destination; throws FileNotFoundException if it
+    // cannot be opened for writing
     public void open() throws FileNotFoundException {
-        writer = new PrintWriter(destination);
+        file = new ReplacementFile(destination);
+        writer = Channels.newWriter(file.getChannel(), StandardCharsets.UTF_8);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes JSON representation of PresetList to file, one preset at a time;
+    // throws IOException if an error occurs writing to file
+    public void write(PresetList pl) throws IOException {
+        event = new PresetFileEvent("write", destination);
+        writer.write(prettyPrint ? "{\"presetList\": [" : "{\"presetList\":[");
+        writePresets(pl.getPresetList());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes presets to file as a preset list that a PresetJournal of the given generation applies on top
+    // of, one preset at a time; throws IOException if an error occurs writing to file
+    public void write(Iterable<Preset> presets, long journalGeneration) throws IOException {
+        event = new PresetFileEvent("write", destination);
+        writer.write(prettyPrint ? "{\"journalGeneration\": " : "{\"journalGeneration\":");
+        writer.write(Long.toString(journalGeneration));
+        writer.write(prettyPrint ? ", \"presetList\": [" : ",\"presetList\":[");
+        writePresets(presets);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the presets of a preset list and closes the list
+    private void writePresets(Iterable<Preset> presets) throws IOException {
+        boolean first = true;
+        for (Preset preset : presets) {
+            if (!first) {
+                writer.write(',');
+            }
+            writePreset(preset);
+            event.presets++;
+            first = false;
+        }
+        if (!first) {
+            newLine(0);
+        }
+        writer.write("]}");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: finishes writing, forces the file to the storage device if requested, and atomically replaces the
+    // destination file with it; throws IOException if an error occurs writing to file
+    public void close() throws IOException {
+        writer.flush();
+        long bytes = file.replaceDestination(syncOnClose);
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.bytes = bytes;
+                event.commit();
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the writer and deletes the temporary file, leaving the destination as it was, unless close has
+    // replaced the destination with it; does nothing if the writer was never opened, so it can be called from a
+    // finally block
+    public void abort() {
+        if (file != null) {
+            file.abort();
+        }
     }
 
     // MODIFIES: this
-    // EFFECTS: writes JSON representation of PresetList to file
-    public void write(PresetList pl) {
-        JSONObject json = pl.toJson();
-        saveToFile(json.toString(TAB));
+    // EFFECTS: writes a single preset as a JSON object
+    private void writePreset(Preset preset) throws IOException {
+        newLine(1);
+        writer.write('{');
+        writeField("id", Long.toString(preset.getId()), true);
+        writeField("name", JSONObject.quote(preset.getPresetName()), false);
+        writeField("focusTime", preset.getFocusTimeInString(), false);
+        writeField("meditationTime", preset.getMeditationTimeInString(), false);
+        writeField("restTime", preset.getRestTimeInString(), false);
+        newLine(1);
+        writer.write('}');
     }
 
     // MODIFIES: this
-    // EFFECTS: closes writer
-    public void close() {
-        writer.close();
+    // EFFECTS: writes "key": value, preceded by a comma unless it is the first field of the object
+    private void writeField(String key, String value, boolean first) throws IOException {
+        if (!first) {
+            writer.write(',');
+        }
+        newLine(2);
+        writer.write('"');
+        writer.write(key);
+        writer.write(prettyPrint ? "\": " : "\":");
+        writer.write(value);
     }
 
     // MODIFIES: this
-    // EFFECTS: writes string to file
-    private void saveToFile(String json) {
-        writer.print(json);
+    // EFFECTS: starts a new line indented by the given number of tabs when pretty-printing
+    private void newLine(int indent) throws IOException {
+        if (prettyPrint) {
+            writer.write('\n');
+            for (int i = 0; i < indent; i++) {
+                writer.write(TAB);
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package persistence;
+
+import model.Preset;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Represents the presets of a binary preset file, read straight from a memory-mapped view of the file. Opening the
+// file only checks its header; the fields of a preset are read from the mapping when they are asked for, and a
+// Preset is only created by getPreset. Any number of threads may read from it at once.
+public class MappedPresets {
+
+    // Fields
+    private final ByteBuffer file;
+    private final int size;
+    private final int stringTableOffset;
+
+    // REQUIRES: file holds a binary preset file whose header has been checked, with stringTableOffset inside it
+    // EFFECTS: constructs a view of the size presets in file
+    MappedPresets(ByteBuffer file, int size, int stringTableOffset) {
+        this.file = file;
+        this.size = size;
+        this.stringTableOffset = stringTableOffset;
+    }
+
+    // EFFECTS: returns the number of presets in the file
+    public int size() {
+        return size;
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns the id of the preset at index
+    public long getId(int index) {
+        return file.getLong(field(index, BinaryFormat.ID_OFFSET));
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns the focus time of the preset at index
+    public long getFocusTime(int index) {
+        return file.getLong(field(index, BinaryFormat.FOCUS_TIME_OFFSET));
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns the meditation time of the preset at index
+    public long getMeditationTime(int index) {
+        return file.getLong(field(index, BinaryFormat.MEDITATION_TIME_OFFSET));
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns the rest time of the preset at index
+    public long getRestTime(int index) {
+        return file.getLong(field(index, BinaryFormat.REST_TIME_OFFSET));
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns the name of the preset at index, decoded from the string table;
+    // throws IllegalStateException if the name lies outside the string table
+    public String getPresetName(int index) {
+        int offset = file.getInt(field(index, BinaryFormat.NAME_OFFSET));
+        int length = file.getInt(field(index, BinaryFormat.NAME_LENGTH_OFFSET));
+        long start = (long) stringTableOffset + offset;
+        if (offset < 0 || length < 0 || start + length > file.limit()) {
+            throw new IllegalStateException("Name of preset " + index + " lies outside the string table");
+        }
+        byte[] name = new byte[length];
+        file.get((int) start, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    // REQUIRES: 0 <= index < size()
+    // EFFECTS: returns a new preset with the fields of the preset at index
+    public Preset getPreset(int index) {
+        return new Preset(getId(index), getPresetName(index), getFocusTime(index), getMeditationTime(index),
+                getRestTime(index));
+    }
+
+    // EFFECTS: returns the position in the file of a field of the preset at index;
+    // throws IndexOutOfBoundsException if there is no preset at index
+    private int field(int index, int fieldOffset) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Preset " + index + " of " + size);
+        }
+        return (int) BinaryFormat.recordPosition(index) + fieldOffset;
+    }
+}
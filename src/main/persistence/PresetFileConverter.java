@@ -0,0 +1,105 @@
+package persistence;
+
+import model.PresetList;
+
+import java.io.IOException;
+
+// Represents a converter between the JSON and binary preset formats, and between JSON and the bulk CSV and JSON
+// Lines formats. It can also be run from the command line:
+//     java persistence.PresetFileConverter json-to-binary|binary-to-json|import|export <source> <destination>
+// where import reads a .csv or .jsonl source into a JSON destination, printing the lines that are not presets, and
+// export writes the presets of a JSON source to a .csv or .jsonl destination.
+public class PresetFileConverter {
+
+    // EFFECTS: prevents construction; this class only has static methods
+    private PresetFileConverter() {
+    }
+
+    // EFFECTS: writes the presets of the JSON file jsonSource to the binary file binaryDestination;
+    // throws IOException if either file cannot be read or written
+    public static void jsonToBinary(String jsonSource, String binaryDestination) throws IOException {
+        PresetList pl = new JsonReader(jsonSource).read();
+        BinaryWriter writer = new BinaryWriter(binaryDestination);
+        writer.open();
+        try {
+            writer.write(pl);
+            writer.close();
+        } finally {
+            writer.abort();
+        }
+    }
+
+    // EFFECTS: writes the presets of the binary file binarySource to the JSON file jsonDestination;
+    // throws IOException if either file cannot be read or written
+    public static void binaryToJson(String binarySource, String jsonDestination) throws IOException {
+        PresetList pl = new BinaryReader(binarySource).read();
+        JsonWriter writer = new JsonWriter(jsonDestination);
+        writer.open();
+        try {
+            writer.write(pl);
+            writer.close();
+        } finally {
+            writer.abort();
+        }
+    }
+
+    // EFFECTS: writes the presets of the bulk file bulkSource, in the format of its extension, to the JSON file
+    // jsonDestination and returns the result of the read, with the lines that are not presets; throws IOException
+    // if either file cannot be read or written
+    public static BulkPresetReader.Result importBulk(String bulkSource, String jsonDestination) throws IOException {
+        BulkPresetReader.Result result = new BulkPresetReader(bulkSource).read();
+        PresetList pl = new PresetList();
+        result.addTo(pl);
+        JsonWriter writer = new JsonWriter(jsonDestination);
+        writer.open();
+        try {
+            writer.write(pl);
+            writer.close();
+        } finally {
+            writer.abort();
+        }
+        return result;
+    }
+
+    // EFFECTS: writes the presets of the JSON file jsonSource to the bulk file bulkDestination, in the format of its
+    // extension; throws IOException if either file cannot be read or written, and IllegalArgumentException if
+    // bulkDestination is a CSV file and a preset name has a line break, leaving bulkDestination as it was
+    public static void exportBulk(String jsonSource, String bulkDestination) throws IOException {
+        BulkPresetWriter writer = new BulkPresetWriter(bulkDestination);
+        PresetList pl = new JsonReader(jsonSource).read();
+        writer.open();
+        try {
+            writer.write(pl);
+            writer.close();
+        } finally {
+            writer.abort();
+        }
+    }
+
+    // EFFECTS: converts args[1] to args[2] in the direction named by args[0]
+    public static void main(String[] args) throws IOException {
+        if (args.length == 3 && args[0].equals("json-to-binary")) {
+            jsonToBinary(args[1], args[2]);
+        } else if (args.length == 3 && args[0].equals("binary-to-json")) {
+            binaryToJson(args[1], args[2]);
+        } else if (args.length == 3 && args[0].equals("import")) {
+            BulkPresetReader.Result result = importBulk(args[1], args[2]);
+            for (BulkPresetReader.RecordError error : result.getErrors()) {
+                System.err.println(args[1] + ": " + error);
+            }
+            System.out.println("Imported " + result.getPresets().size() + " presets; "
+                    + result.getErrorCount() + " lines were not presets");
+        } else if (args.length == 3 && args[0].equals("export")) {
+            try {
+                exportBulk(args[1], args[2]);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unable to export to " + args[2] + ": " + e.getMessage());
+                System.exit(1);
+            }
+        } else {
+            System.err.println("Usage: PresetFileConverter json-to-binary|binary-to-json|import|export "
+                    + "<source> <destination>");
+            System.exit(2);
+        }
+    }
+}
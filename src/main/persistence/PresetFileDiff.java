@@ -0,0 +1,170 @@
+package persistence;
+
+import model.Preset;
+import model.PresetList;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Represents the difference between two versions of a preset file: the presets added, deleted and changed. A preset
+// is identified by its id, or by its name if the file gave it no id. The diff is worked out away from the thread that
+// owns the live PresetList, and applying it only touches the presets that changed, so the presets the list shares
+// with the rest of the application, such as the one selected to play, stay the same objects.
+public class PresetFileDiff {
+
+    // Fields
+    private final List<Version> added;
+    private final List<Version> copiesAdded;
+    private final List<Version> deleted;
+    private final List<Preset> updated;
+
+    // EFFECTS: constructs an empty diff
+    private PresetFileDiff() {
+        added = new ArrayList<>();
+        copiesAdded = new ArrayList<>();
+        deleted = new ArrayList<>();
+        updated = new ArrayList<>();
+    }
+
+    // EFFECTS: returns the diff that turns the presets in before into the presets in after
+    public static PresetFileDiff between(List<Preset> before, List<Preset> after) {
+        PresetFileDiff diff = new PresetFileDiff();
+        Map<String, Version> was = index(before);
+        Map<String, Version> now = index(after);
+        for (Map.Entry<String, Version> entry : now.entrySet()) {
+            Version current = entry.getValue();
+            Version previous = was.remove(entry.getKey());
+            if (previous == null) {
+                diff.added.add(current);
+                continue;
+            }
+            if (!hasSameDetails(previous.preset, current.preset)) {
+                diff.updated.add(current.preset);
+            }
+            if (current.copies > previous.copies) {
+                diff.copiesAdded.add(new Version(current.preset, current.copies - previous.copies));
+            } else if (current.copies < previous.copies) {
+                diff.deleted.add(new Version(current.preset, previous.copies - current.copies));
+            }
+        }
+        diff.deleted.addAll(was.values());
+        return diff;
+    }
+
+    // MODIFIES: pl
+    // EFFECTS: applies the changes of this diff to pl. A preset deleted or changed in the file that pl no longer has
+    //          is left out, and a preset added to the file that pl already has is changed to match the file
+    //          instead of added again. Copies are added to the end of pl and deleted from the first, as
+    //          PresetList.addPreset and deletePreset do; presets are not moved to match their order in the file.
+    public void applyTo(PresetList pl) {
+        for (Version gone : deleted) {
+            Preset live = find(pl, gone.preset);
+            for (int i = 0; i < gone.copies && live != null; i++) {
+                pl.deletePreset(live);
+                live = find(pl, gone.preset);
+            }
+        }
+        for (Preset changed : updated) {
+            Preset live = find(pl, changed);
+            if (live != null) {
+                copyDetails(changed, live);
+            }
+        }
+        for (Version more : copiesAdded) {
+            Preset live = find(pl, more.preset);
+            for (int i = 0; i < more.copies && live != null; i++) {
+                pl.addPreset(live);
+            }
+        }
+        for (Version fresh : added) {
+            Preset live = find(pl, fresh.preset);
+            if (live != null) {
+                copyDetails(fresh.preset, live);
+                continue;
+            }
+            Preset preset = new Preset(fresh.preset.getId(), fresh.preset.getPresetName(),
+                    fresh.preset.getFocusTime(), fresh.preset.getMeditationTime(), fresh.preset.getRestTime());
+            for (int i = 0; i < fresh.copies; i++) {
+                preset = pl.addPreset(preset);
+            }
+        }
+    }
+
+    // EFFECTS: returns the number of presets added, deleted or changed, counting each copy
+    public int size() {
+        int size = updated.size();
+        for (List<Version> versions : List.of(added, copiesAdded, deleted)) {
+            for (Version version : versions) {
+                size += version.copies;
+            }
+        }
+        return size;
+    }
+
+    // EFFECTS: returns true if the two versions of the file have the same presets
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // EFFECTS: returns the presets keyed by what identifies them, in order, counting the copies of each
+    private static Map<String, Version> index(List<Preset> presets) {
+        Map<String, Version> versions = new LinkedHashMap<>();
+        for (Preset preset : presets) {
+            Version version = versions.get(keyOf(preset));
+            if (version == null) {
+                versions.put(keyOf(preset), new Version(preset, 1));
+            } else {
+                version.copies++;
+            }
+        }
+        return versions;
+    }
+
+    // EFFECTS: returns what identifies preset: its id, or its name if it has no id
+    private static String keyOf(Preset preset) {
+        return preset.getId() != Preset.NO_ID ? "#" + preset.getId() : "name:" + preset.getPresetName();
+    }
+
+    // EFFECTS: returns the preset in pl identified as preset is, or null if pl has none
+    private static Preset find(PresetList pl, Preset preset) {
+        return preset.getId() != Preset.NO_ID ? pl.getPresetById(preset.getId())
+                : pl.getPresetByName(preset.getPresetName());
+    }
+
+    // EFFECTS: returns true if the two presets have the same name and times
+    private static boolean hasSameDetails(Preset one, Preset other) {
+        return one.getPresetName().equals(other.getPresetName()) && one.getFocusTime() == other.getFocusTime()
+                && one.getMeditationTime() == other.getMeditationTime() && one.getRestTime() == other.getRestTime();
+    }
+
+    // MODIFIES: to
+    // EFFECTS: changes the details of to that differ from those of from
+    private static void copyDetails(Preset from, Preset to) {
+        if (!from.getPresetName().equals(to.getPresetName())) {
+            to.setPresetName(from.getPresetName());
+        }
+        if (from.getFocusTime() != to.getFocusTime()) {
+            to.setFocusTime(String.valueOf(from.getFocusTime()));
+        }
+        if (from.getMeditationTime() != to.getMeditationTime()) {
+            to.setMeditationTime(String.valueOf(from.getMeditationTime()));
+        }
+        if (from.getRestTime() != to.getRestTime()) {
+            to.setRestTime(String.valueOf(from.getRestTime()));
+        }
+    }
+
+    // Represents a preset in a version of the file and the number of copies of it.
+    private static class Version {
+        private final Preset preset;
+        private int copies;
+
+        // EFFECTS: constructs a version of preset with the given number of copies
+        private Version(Preset preset, int copies) {
+            this.preset = preset;
+            this.copies = copies;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package persistence;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Represents a Java Flight Recorder event spanning a read or write of a JSON preset file.
+@Name("focusclinic.PresetFile")
+@Label("Preset File")
+@Category({"Focus Clinic", "Persistence"})
+@Description("A JSON preset file was read or written")
+@StackTrace(false)
+class PresetFileEvent extends jdk.jfr.Event {
+
+    // Fields
+    @Label("Operation")
+    String operation;
+
+    @Label("Path")
+    String path;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Presets")
+    int presets;
+
+    // EFFECTS: constructs an event for the given operation on the file at path that starts now
+    PresetFileEvent(String operation, String path) {
+        this.operation = operation;
+        this.path = path;
+        begin();
+    }
+}
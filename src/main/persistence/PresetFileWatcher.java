@@ -0,0 +1,181 @@
+package persistence;
+
+import model.Preset;
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Represents a watcher of a preset file that another program, such as a sync tool, may replace while the
+// application runs. Its own thread waits on a WatchService for the file to change, waits again until the changes
+// have been quiet for a debounce interval, so that a burst of writes is read once, and then reads the file and
+// hands the diff from the version it read last to a listener. Writes made by the PresetJournal of the file are
+// recognised and skipped, as are versions of the file that cannot be parsed, such as one still being written.
+public class PresetFileWatcher {
+
+    // Constants
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 300;
+
+    // Fields
+    private final Path file;
+    private final PresetJournal journal;
+    private final long debounceNanos;
+    private final Consumer<PresetFileDiff> listener;
+    private final Thread worker;
+    private WatchService watchService;
+    private List<Preset> lastRead;
+    // written only by the watcher's thread
+    private volatile long reloads;
+    private volatile long skipped;
+
+    // EFFECTS: constructs a watcher of file with the default debounce interval; see the constructor below
+    public PresetFileWatcher(String file, PresetJournal journal, Consumer<PresetFileDiff> listener) {
+        this(file, journal, DEFAULT_DEBOUNCE_MILLIS, listener);
+    }
+
+    // REQUIRES: debounceMillis >= 1
+    // EFFECTS: constructs a watcher of file that reads it once it has not changed for debounceMillis milliseconds
+    //          and hands listener, on the watcher's thread, the diff from the version read before; writes made by
+    //          journal, which may be null, are skipped
+    public PresetFileWatcher(String file, PresetJournal journal, long debounceMillis,
+                             Consumer<PresetFileDiff> listener) {
+        this.file = Paths.get(file).toAbsolutePath();
+        this.journal = journal;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        this.listener = listener;
+        this.worker = new Thread(this::run, "preset-file-watcher");
+        worker.setDaemon(true);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts watching the file's directory, creating it if needed, and reads the file as it is now as the
+    //          version later changes are compared with; throws IOException if the directory cannot be watched
+    public void start() throws IOException {
+        Files.createDirectories(file.getParent());
+        watchService = FileSystems.getDefault().newWatchService();
+        file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        lastRead = readOrEmpty();
+        worker.start();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops watching the file and waits for the watcher's thread to finish
+    public void close() throws IOException, InterruptedException {
+        if (watchService == null) {
+            return;
+        }
+        watchService.close();
+        worker.join();
+    }
+
+    // EFFECTS: returns the number of times the file was read after it changed
+    public long getReloadCount() {
+        return reloads;
+    }
+
+    // EFFECTS: returns the number of changes to the file that were skipped, being the journal's own writes or
+    //          versions that could not be read
+    public long getSkippedCount() {
+        return skipped;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: waits for the file to change and reloads it once the changes have been quiet for the debounce
+    //          interval, until the watcher is closed
+    private void run() {
+        try {
+            while (true) {
+                if (!drain(watchService.take())) {
+                    continue;
+                }
+                WatchKey more = watchService.poll(debounceNanos, TimeUnit.NANOSECONDS);
+                while (more != null) {
+                    drain(more);
+                    more = watchService.poll(debounceNanos, TimeUnit.NANOSECONDS);
+                }
+                reload();
+            }
+        } catch (ClosedWatchServiceException e) {
+            // closed
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // MODIFIES: key
+    // EFFECTS: takes the events of key and returns true if any of them may be a change to the file
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            changed |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || file.getFileName().equals(event.context());
+        }
+        key.reset();
+        return changed;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the file and hands the listener the diff from the version read before, if there is one;
+    //          skips the file if the journal wrote it, if it cannot be read or parsed, or if it changed while it
+    //          was read, as another change event follows
+    private void reload() {
+        try {
+            BasicFileAttributes before = Files.readAttributes(file, BasicFileAttributes.class);
+            if (journal != null && journal.isOwnSnapshot(before)) {
+                skipped++;
+                return;
+            }
+            List<Preset> current = read();
+            BasicFileAttributes after = Files.readAttributes(file, BasicFileAttributes.class);
+            if (!before.lastModifiedTime().equals(after.lastModifiedTime()) || before.size() != after.size()
+                    || !Objects.equals(before.fileKey(), after.fileKey())) {
+                skipped++;
+                return;
+            }
+            PresetFileDiff diff = PresetFileDiff.between(lastRead, current);
+            lastRead = current;
+            reloads++;
+            if (!diff.isEmpty()) {
+                listener.accept(diff);
+            }
+        } catch (IOException | JSONException e) {
+            skipped++;
+        }
+    }
+
+    // EFFECTS: returns the presets in the file, or none if there is no file or it cannot be read
+    private List<Preset> readOrEmpty() {
+        try {
+            return read();
+        } catch (NoSuchFileException e) {
+            return new ArrayList<>();
+        } catch (IOException | JSONException e) {
+            System.out.println("Unable to read from file: " + file);
+            return new ArrayList<>();
+        }
+    }
+
+    // EFFECTS: returns the presets in the file, in order; throws IOException if it cannot be read and
+    //          JSONException if it is not a preset file
+    private List<Preset> read() throws IOException {
+        List<Preset> presets = new ArrayList<>();
+        new JsonReader(file.toString()).read(presets::add);
+        return presets;
+    }
+}
@@ -0,0 +1,880 @@
+package persistence;
+
+import model.Preset;
+import model.PresetList;
+import model.PresetListObserver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+// Represents a write-ahead journal of the changes made to a PresetList, kept next to the JSON preset file it applies
+// on top of. Each preset added, deleted or changed is appended to the journal as a small record checked by a CRC-32,
+// so saving costs as much as the change rather than the whole list, and changes made since the last save survive
+// the application dying. Recovery reads the preset file and replays the journal over it, stopping at the first
+// record that is incomplete or corrupt. Once the journal grows past a threshold it is frozen, a new one is started,
+// and a background thread folds the frozen journal into a new preset file.
+// Journals are numbered by generation, and the preset file names the generation of the journal that applies on top
+// of it, so a journal already folded into the preset file is never replayed again, even after a crash part way
+// through compaction. The header of a journal also holds a fingerprint of the preset file it applies on top of, its
+// number of presets and a CRC-32 of them, so journals are dropped rather than replayed onto a preset file that
+// another program replaced while the application was not running.
+// All file work happens on the journal's own I/O thread, in the order it was asked for: saves and loads return
+// CompletableFutures, and a change to the list only has its record built on the thread that owns the list. A save
+// asked for while another save is waiting to start is answered by that save, unless the list has changed since.
+public class PresetJournal {
+
+    // Constants
+    public static final long DEFAULT_COMPACTION_THRESHOLD_BYTES = 64 << 10;
+    public static final ProgressObserver NO_PROGRESS = (done, total) -> { };
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final int MAGIC = 0x464A524E; // "FJRN"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int BASE_FINGERPRINT_OFFSET = 16;
+    private static final long NO_FINGERPRINT = -1;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+    private static final int PROGRESS_INTERVAL = 1024;
+    private static final byte ADDED = 1;
+    private static final byte DELETED = 2;
+    private static final byte UPDATED = 3;
+
+    // Fields
+    private final String snapshot;
+    private final Path journalPath;
+    private final long compactionThresholdBytes;
+    private final ExecutorService io;
+    private final ExecutorService compactor;
+    private final AtomicInteger compactions;
+    private final AtomicReference<Recorder> recorder;
+    private final AtomicReference<CompletableFuture<Void>> queuedSave;
+    private volatile long generation;
+    private volatile long journalBytes;
+    private volatile IOException writeFailure;
+    private volatile BasicFileAttributes ownSnapshot;
+    // confined to the I/O thread
+    private Recorder journaled;
+    private FileChannel channel;
+    private volatile CompletableFuture<Void> compaction;
+
+    // EFFECTS: constructs a journal for the preset file snapshot that is compacted once it grows past
+    //          DEFAULT_COMPACTION_THRESHOLD_BYTES
+    public PresetJournal(String snapshot) {
+        this(snapshot, DEFAULT_COMPACTION_THRESHOLD_BYTES);
+    }
+
+    // REQUIRES: compactionThresholdBytes > 0
+    // EFFECTS: constructs a journal for the preset file snapshot that is compacted once it grows past
+    //          compactionThresholdBytes; the journal is kept in a file named after snapshot with ".journal" added
+    public PresetJournal(String snapshot, long compactionThresholdBytes) {
+        this.snapshot = snapshot;
+        this.journalPath = Paths.get(snapshot + JOURNAL_SUFFIX);
+        this.compactionThresholdBytes = compactionThresholdBytes;
+        this.io = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "preset-journal-io");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "preset-journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.compactions = new AtomicInteger();
+        this.recorder = new AtomicReference<>();
+        this.queuedSave = new AtomicReference<>();
+        this.generation = -1;
+    }
+
+    // EFFECTS: recovers the presets without reporting progress; see recover(ProgressObserver)
+    public CompletableFuture<PresetList> recover() {
+        return recover(NO_PROGRESS);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops recording the list being recorded, then on the I/O thread reads the preset file, if there is
+    //          one, replays the journals that apply on top of it, and completes with the resulting list, whose
+    //          changes are recorded from then on. A torn or corrupt record ends the journal and is cut off.
+    //          progress is told of each PROGRESS_INTERVAL presets read, with a total of -1 until they are all read.
+    //          Completes exceptionally with an IOException if the files cannot be read or the journal opened.
+    public CompletableFuture<PresetList> recover(ProgressObserver progress) {
+        detach();
+        return onIoThread(() -> {
+            journaled = null;
+            PresetList recovered = replayAll(progress);
+            Recorder replacement = new Recorder(recovered);
+            recovered.addObserver(replacement); // the list is not shared with any other thread yet
+            journaled = replacement;
+            writeFailure = null;
+            recorder.compareAndSet(null, replacement); // unless a save has started recording another list since
+            return recovered;
+        });
+    }
+
+    // EFFECTS: saves pl without reporting progress; see save(PresetList, ProgressObserver)
+    public CompletableFuture<Void> save(PresetList pl) {
+        return save(pl, NO_PROGRESS);
+    }
+
+    // REQUIRES: called on the thread that owns pl
+    // MODIFIES: this
+    // EFFECTS: makes the changes to pl durable on the I/O thread. If the journal is recording pl, only the records
+    //          appended since the last save are forced to the storage device, and a save that has not started yet
+    //          and was asked for since the last change is returned instead of asking for another. Otherwise a copy
+    //          of pl is written to the preset file in full, telling progress of each PROGRESS_INTERVAL presets
+    //          written, and a new, empty journal starts recording pl. Completes exceptionally with an IOException if
+    //          an error occurs writing to file.
+    public CompletableFuture<Void> save(PresetList pl, ProgressObserver progress) {
+        Recorder current = recorder.get();
+        if (current != null && current.presets == pl && writeFailure == null) {
+            CompletableFuture<Void> queued = queuedSave.get();
+            if (queued != null) {
+                return queued;
+            }
+            CompletableFuture<Void> save = new CompletableFuture<>();
+            queuedSave.set(save);
+            io.execute(() -> {
+                queuedSave.compareAndSet(save, null); // a save asked for from now on writes again
+                complete(save, () -> {
+                    force(current);
+                    progress.progressMade(1, 1);
+                    return null;
+                });
+            });
+            return save;
+        }
+        List<Preset> copy = copyOf(pl);
+        Recorder replacement = attach(pl);
+        return onIoThread(() -> {
+            reset(copy, replacement, progress);
+            return null;
+        });
+    }
+
+    // REQUIRES: called on the thread that owns pl
+    // MODIFIES: this
+    // EFFECTS: saves pl in full as save would a list the journal is not recording, even if it is; used once the
+    //          preset file was replaced by another program, as the journal no longer applies on top of it
+    public CompletableFuture<Void> rebase(PresetList pl) {
+        detach();
+        return save(pl, NO_PROGRESS);
+    }
+
+    // REQUIRES: called on the thread that owns pl
+    // MODIFIES: this, pl
+    // EFFECTS: follows a change another program made to the preset file, as diff describes, and completes with the
+    //          presets to use from then on. If the journal is recording pl, pl came from the file, so diff is applied
+    //          to pl now and pl is rebased, completing with pl once it has been saved. Otherwise pl may hold presets
+    //          that were never in the file under the same ids, so pl is left alone and the file is recovered in
+    //          full instead. Completes exceptionally with an IOException if the file cannot be written or read.
+    public CompletableFuture<PresetList> follow(PresetList pl, PresetFileDiff diff) {
+        if (!isRecording(pl)) {
+            return recover();
+        }
+        diff.applyTo(pl);
+        return rebase(pl).thenApply(nothing -> pl);
+    }
+
+    // EFFECTS: returns true if the changes made to pl are being recorded, having been saved or recovered
+    public boolean isRecording(PresetList pl) {
+        Recorder current = recorder.get();
+        return current != null && current.presets == pl;
+    }
+
+    // EFFECTS: returns true if attributes are those of the preset file as this journal last wrote it, so that a
+    //          watcher of the file can tell the journal's own writes from another program's
+    public boolean isOwnSnapshot(BasicFileAttributes attributes) {
+        BasicFileAttributes own = ownSnapshot;
+        return own != null && attributes != null && attributes.size() == own.size()
+                && attributes.lastModifiedTime().equals(own.lastModifiedTime())
+                && (own.fileKey() == null || own.fileKey().equals(attributes.fileKey()));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: on the I/O thread, freezes the journal, starts a new one, and folds the frozen journal into the
+    //          preset file on a background thread; completes when the fold does, or at once if the journal is not
+    //          recording a list. Completes exceptionally with an IOException if the new journal cannot be started.
+    public CompletableFuture<Void> compact() {
+        return onIoThread(this::freeze).thenCompose(fold -> fold);
+    }
+
+    // REQUIRES: no more changes are made to the list being recorded
+    // MODIFIES: this
+    // EFFECTS: stops recording changes, waits for the work already asked for and any compaction to finish, and
+    //          closes the journal; throws IOException if the journal cannot be written out
+    public void close() throws IOException {
+        if (io.isShutdown()) {
+            return;
+        }
+        detach();
+        try {
+            onIoThread(() -> {
+                awaitCompaction();
+                closeJournal();
+                journaled = null;
+                generation = -1;
+                return null;
+            }).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        } finally {
+            io.shutdown();
+            compactor.shutdown();
+        }
+    }
+
+    // EFFECTS: returns true if a compaction has started and not yet finished
+    public boolean isCompacting() {
+        CompletableFuture<Void> current = compaction;
+        return current != null && !current.isDone();
+    }
+
+    // EFFECTS: returns the generation of the journal being written, or -1 if none is open
+    public long getGeneration() {
+        return generation;
+    }
+
+    // EFFECTS: returns the size in bytes of the journal being written, including its header, once the work asked
+    //          for so far has been done
+    public long getJournalBytes() {
+        return journalBytes;
+    }
+
+    // EFFECTS: returns the number of compactions that have finished
+    public int getCompactionCount() {
+        return compactions.get();
+    }
+
+    // EFFECTS: returns the path of the journal being written
+    public Path getJournalPath() {
+        return journalPath;
+    }
+
+    // REQUIRES: called on the I/O thread
+    // MODIFIES: this
+    // EFFECTS: appends record to the journal if it was made by the list being recorded, and starts a compaction if
+    //          the journal has grown past the threshold. If writing fails the journal stops recording, and the
+    //          next save writes the list in full instead.
+    private void append(Recorder source, ByteBuffer record) {
+        if (source != journaled || channel == null || writeFailure != null) {
+            return;
+        }
+        try {
+            while (record.hasRemaining()) {
+                journalBytes += channel.write(record);
+            }
+            if (journalBytes > compactionThresholdBytes) {
+                freeze();
+            }
+        } catch (IOException e) {
+            writeFailure = e;
+        }
+    }
+
+    // REQUIRES: called on the I/O thread
+    // MODIFIES: this
+    // EFFECTS: forces the records of the journal to the storage device; throws IOException, and makes the next
+    //          save write the list in full, if expected is no longer being recorded or writing fails
+    private void force(Recorder expected) throws IOException {
+        try {
+            if (writeFailure != null) {
+                throw writeFailure;
+            }
+            if (journaled != expected || channel == null) {
+                throw new IOException("Presets are no longer journaled in " + journalPath);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            writeFailure = e;
+            recorder.compareAndSet(expected, null);
+            throw e;
+        }
+    }
+
+    // REQUIRES: called on the I/O thread
+    // MODIFIES: this
+    // EFFECTS: freezes the journal and starts a new one, then starts folding the frozen journal into the preset
+    //          file on the compactor thread and returns the fold; returns the fold in progress if there is one
+    private CompletableFuture<Void> freeze() throws IOException {
+        if (isCompacting()) {
+            return compaction;
+        }
+        if (channel == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long frozen = generation;
+        closeJournal();
+        Files.move(journalPath, getFrozenPath(frozen));
+        createJournal(frozen + 1, NO_FINGERPRINT); // its preset file is written, and fingerprinted, by the fold
+        compaction = CompletableFuture.runAsync(this::foldFrozenJournals, compactor);
+        return compaction;
+    }
+
+    // REQUIRES: called on the I/O thread
+    // MODIFIES: this
+    // EFFECTS: reads the preset file and replays the journals that apply on top of it, opens the journal to
+    //          append to, and returns the resulting list. The journals that apply are those of consecutive
+    //          generations from the one the preset file names, ending with the journal being written, and only if
+    //          the first of them has the fingerprint of the preset file; the others are deleted or started afresh.
+    private PresetList replayAll(ProgressObserver progress) throws IOException {
+        awaitCompaction();
+        closeJournal();
+        Fold fold = new Fold();
+        long base = fold.readSnapshot(snapshot, progress);
+        long fingerprint = fold.getSnapshotFingerprint();
+        List<Long> chain = new ArrayList<>();
+        for (long frozen : getFrozenGenerations()) {
+            if (frozen == base + chain.size()) {
+                chain.add(frozen);
+            } else {
+                Files.delete(getFrozenPath(frozen)); // already folded into the preset file, or stale
+            }
+        }
+        long live = readGeneration(journalPath);
+        Path first = chain.isEmpty() ? journalPath : getFrozenPath(chain.get(0));
+        if (readGeneration(first) != base || readBaseFingerprint(first) != fingerprint) {
+            for (long frozen : chain) {
+                Files.delete(getFrozenPath(frozen)); // the preset file was replaced by another program
+            }
+            chain.clear();
+            live = -1;
+        }
+        long next = base + chain.size();
+        for (long frozen : chain) {
+            fold.replay(getFrozenPath(frozen));
+        }
+        if (live == next) {
+            long end = fold.replay(journalPath);
+            openJournal(live, end);
+        } else {
+            createJournal(next, chain.isEmpty() ? fingerprint : NO_FINGERPRINT);
+        }
+        if (!chain.isEmpty()) {
+            compaction = CompletableFuture.runAsync(this::foldFrozenJournals, compactor);
+        }
+        PresetList recovered = fold.toPresetList();
+        int size = recovered.getPresetList().size();
+        progress.progressMade(size, size);
+        return recovered;
+    }
+
+    // REQUIRES: called on the I/O thread
+    // MODIFIES: this
+    // EFFECTS: writes presets in full to the preset file, named as the base of a new generation of journal, then
+    //          starts that journal empty and appends the records of replacement to it
+    private void reset(List<Preset> presets, Recorder replacement, ProgressObserver progress) throws IOException {
+        try {
+            journaled = null;
+            awaitCompaction();
+            closeJournal();
+            long next = Math.max(generation + 1, readGeneration(journalPath) + 1);
+            List<Long> frozen = getFrozenGenerations();
+            if (!frozen.isEmpty()) {
+                next = Math.max(next, frozen.get(frozen.size() - 1) + 1);
+            }
+            writeSnapshot(presets, next, progress);
+            for (long g : frozen) {
+                Files.deleteIfExists(getFrozenPath(g));
+            }
+            createJournal(next, fingerprint(presets));
+            journaled = replacement;
+            writeFailure = null;
+        } catch (IOException e) {
+            recorder.compareAndSet(replacement, null);
+            throw e;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: folds the frozen journals that apply on top of the preset file into a new preset file, then deletes
+    //          them; the journal being written is given the fingerprint of the new preset file before it replaces
+    //          the old one. Runs on the compactor thread, while the I/O thread only appends to that journal.
+    private void foldFrozenJournals() {
+        try {
+            Fold fold = new Fold();
+            long base = fold.readSnapshot(snapshot, NO_PROGRESS);
+            long next = base;
+            List<Long> frozen = getFrozenGenerations();
+            for (long g : frozen) {
+                if (g >= base) {
+                    fold.replay(getFrozenPath(g));
+                    next = g + 1;
+                }
+            }
+            if (next > base) {
+                List<Preset> presets = fold.getPresets();
+                writeBaseFingerprint(next, fingerprint(presets));
+                writeSnapshot(presets, next, NO_PROGRESS);
+            }
+            for (long g : frozen) {
+                Files.deleteIfExists(getFrozenPath(g));
+            }
+            compactions.incrementAndGet();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // the frozen journals are kept, and folded by a later compaction
+        }
+    }
+
+    // EFFECTS: replaces the preset file with presets, named as the base of the given generation of journal, and
+    //          forces it to the storage device, telling progress of each PROGRESS_INTERVAL presets written
+    private void writeSnapshot(List<Preset> presets, long journalGeneration, ProgressObserver progress)
+            throws IOException {
+        Path parent = Paths.get(snapshot).toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        int total = presets.size();
+        int[] written = new int[1];
+        Iterable<Preset> counted = () -> presets.stream().peek(preset -> {
+            if (++written[0] % PROGRESS_INTERVAL == 0) {
+                progress.progressMade(written[0], total);
+            }
+        }).iterator();
+        JsonWriter writer = new JsonWriter(snapshot, true, true);
+        writer.open();
+        try {
+            writer.write(counted, journalGeneration);
+            writer.close();
+        } finally {
+            writer.abort();
+        }
+        ownSnapshot = Files.readAttributes(Paths.get(snapshot), BasicFileAttributes.class);
+        progress.progressMade(total, total);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: creates an empty journal of the given generation that applies on top of the preset file with the
+    //          given fingerprint, replacing any journal file there is
+    private void createJournal(long journalGeneration, long baseFingerprint) throws IOException {
+        Path parent = journalPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putLong(journalGeneration).putLong(baseFingerprint).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(false);
+        generation = journalGeneration;
+        journalBytes = HEADER_BYTES;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens the journal of the given generation for appending after its first end bytes, cutting off
+    //          anything after them
+    private void openJournal(long journalGeneration, long end) throws IOException {
+        channel = FileChannel.open(journalPath, StandardOpenOption.WRITE);
+        channel.truncate(end);
+        channel.position(end);
+        generation = journalGeneration;
+        journalBytes = end;
+    }
+
+    // EFFECTS: writes baseFingerprint into the header of the journal being written and forces it to the storage
+    //          device; throws IOException if that journal is not of the given generation
+    private void writeBaseFingerprint(long journalGeneration, long baseFingerprint) throws IOException {
+        if (readGeneration(journalPath) != journalGeneration) {
+            throw new IOException("Journal " + journalPath + " is not of generation " + journalGeneration);
+        }
+        try (FileChannel header = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+            ByteBuffer fingerprint = ByteBuffer.allocate(Long.BYTES).putLong(baseFingerprint).flip();
+            long position = BASE_FINGERPRINT_OFFSET;
+            while (fingerprint.hasRemaining()) {
+                position += header.write(fingerprint, position);
+            }
+            header.force(false);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forces the journal being written to the storage device and closes it, if one is open
+    private void closeJournal() throws IOException {
+        if (channel != null) {
+            try (FileChannel toClose = channel) {
+                channel = null;
+                toClose.force(false);
+            }
+        }
+    }
+
+    // REQUIRES: called on the thread that owns pl
+    // MODIFIES: this, pl
+    // EFFECTS: stops recording the list being recorded, and returns a recorder that sends the changes made to pl
+    //          to the I/O thread from now on
+    private Recorder attach(PresetList pl) {
+        detach();
+        Recorder replacement = new Recorder(pl);
+        pl.addObserver(replacement);
+        recorder.set(replacement);
+        return replacement;
+    }
+
+    // REQUIRES: called on the thread that owns the list being recorded
+    // MODIFIES: this
+    // EFFECTS: stops recording the list being recorded, if any
+    private void detach() {
+        Recorder current = recorder.getAndSet(null);
+        if (current != null) {
+            current.presets.removeObserver(current);
+        }
+    }
+
+    // EFFECTS: runs task on the I/O thread after the work already asked for, and returns a future completed with
+    //          its result, or exceptionally with what it threw; if the journal is closed, completes exceptionally
+    //          with an IOException
+    private <T> CompletableFuture<T> onIoThread(IoTask<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            io.execute(() -> complete(result, task));
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new IOException("Preset journal is closed: " + journalPath));
+        }
+        return result;
+    }
+
+    // MODIFIES: result
+    // EFFECTS: runs task and completes result with its result, or exceptionally with what it threw
+    private static <T> void complete(CompletableFuture<T> result, IoTask<T> task) {
+        try {
+            result.complete(task.run());
+        } catch (IOException | RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    // EFFECTS: returns a copy of the presets in pl, in order, so that they can be written while pl changes
+    private static List<Preset> copyOf(PresetList pl) {
+        List<Preset> copy = new ArrayList<>(pl.getPresetList().size());
+        for (Preset preset : pl.getPresetList()) {
+            copy.add(new Preset(preset.getId(), preset.getPresetName(), preset.getFocusTime(),
+                    preset.getMeditationTime(), preset.getRestTime()));
+        }
+        return copy;
+    }
+
+    // EFFECTS: waits for any compaction to finish, whether or not it succeeded
+    private void awaitCompaction() {
+        if (compaction != null) {
+            compaction.exceptionally(failure -> null).join();
+        }
+    }
+
+    // EFFECTS: returns the path a journal of the given generation is moved to when it is frozen
+    private Path getFrozenPath(long frozenGeneration) {
+        return Paths.get(snapshot + JOURNAL_SUFFIX + "." + frozenGeneration);
+    }
+
+    // EFFECTS: returns the generations of the frozen journals on disk, in increasing order
+    private List<Long> getFrozenGenerations() throws IOException {
+        List<Long> generations = new ArrayList<>();
+        Path directory = journalPath.toAbsolutePath().getParent();
+        if (directory == null || !Files.isDirectory(directory)) {
+            return generations;
+        }
+        String prefix = journalPath.getFileName() + ".";
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*")) {
+            for (Path file : files) {
+                try {
+                    generations.add(Long.parseLong(file.getFileName().toString().substring(prefix.length())));
+                } catch (NumberFormatException e) {
+                    // not a frozen journal
+                }
+            }
+        }
+        Collections.sort(generations);
+        return generations;
+    }
+
+    // EFFECTS: returns the generation in the header of the journal at path, or -1 if there is no such file or its
+    //          header is not valid
+    private static long readGeneration(Path path) throws IOException {
+        ByteBuffer header = readHeader(path);
+        return header == null ? -1 : header.getLong();
+    }
+
+    // EFFECTS: returns the fingerprint of the preset file the journal at path applies on top of, or NO_FINGERPRINT
+    //          if there is no such file, its header is not valid or the preset file has not been written yet
+    private static long readBaseFingerprint(Path path) throws IOException {
+        ByteBuffer header = readHeader(path);
+        return header == null ? NO_FINGERPRINT : header.getLong(BASE_FINGERPRINT_OFFSET);
+    }
+
+    // EFFECTS: returns the header of the journal at path, positioned at its generation, or null if there is no such
+    //          file or its header is not valid
+    private static ByteBuffer readHeader(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && in.read(header) >= 0) {
+                // keep reading until the header is full or the file ends
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                return null;
+            }
+            return header;
+        }
+    }
+
+    // EFFECTS: returns the fingerprint of a preset file holding presets, in order
+    private static long fingerprint(List<Preset> presets) {
+        CRC32 crc = new CRC32();
+        for (Preset preset : presets) {
+            crc.update(encode(ADDED, preset));
+        }
+        return fingerprint(presets.size(), crc);
+    }
+
+    // EFFECTS: returns the fingerprint of a preset file holding count presets whose records have the given CRC-32
+    private static long fingerprint(long count, CRC32 crc) {
+        return count << Integer.SIZE | crc.getValue();
+    }
+
+    // EFFECTS: returns a record of the change to preset: its length and CRC-32, then the operation, the preset's id
+    //          and, unless it was deleted, its details
+    private static ByteBuffer encode(byte operation, Preset preset) {
+        byte[] name = operation == DELETED ? new byte[0] : preset.getPresetName().getBytes(StandardCharsets.UTF_8);
+        int length = 1 + Long.BYTES + (operation == DELETED ? 0 : Integer.BYTES + name.length + 3 * Long.BYTES);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + length);
+        record.putInt(length).putInt(0).put(operation).putLong(preset.getId());
+        if (operation != DELETED) {
+            record.putInt(name.length).put(name);
+            record.putLong(preset.getFocusTime()).putLong(preset.getMeditationTime()).putLong(preset.getRestTime());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), RECORD_HEADER_BYTES, length);
+        record.putInt(Integer.BYTES, (int) crc.getValue());
+        record.flip();
+        return record;
+    }
+
+    // Represents a piece of work on the journal's files, run on the I/O thread
+    private interface IoTask<T> {
+
+        // EFFECTS: does the work and returns its result; throws IOException if an error occurs with a file
+        T run() throws IOException;
+    }
+
+    // Represents the observer of one PresetList being recorded. It builds the record of each change on the thread
+    // that owns the list, where the preset cannot change under it, and hands the record to the I/O thread to append.
+    private final class Recorder implements PresetListObserver {
+
+        // Fields
+        private final PresetList presets;
+
+        // EFFECTS: constructs a recorder of the changes made to presets
+        private Recorder(PresetList presets) {
+            this.presets = presets;
+        }
+
+        // EFFECTS: records that preset was added to the list
+        @Override
+        public void presetAdded(Preset preset) {
+            record(ADDED, preset);
+        }
+
+        // EFFECTS: records that a copy of preset was deleted from the list
+        @Override
+        public void presetDeleted(Preset preset) {
+            record(DELETED, preset);
+        }
+
+        // EFFECTS: records the new details of preset
+        @Override
+        public void presetUpdated(Preset preset) {
+            record(UPDATED, preset);
+        }
+
+        // EFFECTS: hands a record of the change to the I/O thread to append after the work already asked for; a
+        //          save waiting to start forces the journal before this record, so the next save asks for another
+        private void record(byte operation, Preset preset) {
+            ByteBuffer record = encode(operation, preset);
+            try {
+                io.execute(() -> append(this, record));
+            } catch (RejectedExecutionException e) {
+                // the journal is closed; the change is written by the next save
+            }
+            queuedSave.set(null);
+        }
+    }
+
+    // Represents the presets in a preset file with the changes of journals applied, without the events and
+    // observers of a PresetList. Copies of presets are numbered in sequence and kept in the order a PresetList would
+    // keep them.
+    private static final class Fold {
+
+        // Fields
+        private final Map<Long, Preset> presetsById = new HashMap<>();
+        private final Map<Long, Long> idsBySequence = new LinkedHashMap<>();
+        private final Map<Long, Deque<Long>> sequencesById = new HashMap<>();
+        private long nextSequence;
+        private final CRC32 snapshotCrc = new CRC32();
+        private long snapshotCount;
+        private long nextId = Preset.NO_ID + 1;
+
+        // MODIFIES: this
+        // EFFECTS: adds the presets in the preset file, if it exists, and returns the generation of the journal that
+        //          applies on top of it
+        private long readSnapshot(String snapshot, ProgressObserver progress) throws IOException {
+            if (!Files.exists(Paths.get(snapshot))) {
+                return 0;
+            }
+            JsonReader reader = new JsonReader(snapshot);
+            long[] read = new long[1];
+            reader.read(preset -> {
+                snapshotCrc.update(encode(ADDED, preset));
+                snapshotCount++;
+                addFromFile(preset);
+                if (++read[0] % PROGRESS_INTERVAL == 0) {
+                    progress.progressMade(read[0], -1);
+                }
+            });
+            return reader.getJournalGeneration();
+        }
+
+        // EFFECTS: returns the fingerprint of the preset file read, that of an empty one if there was none
+        private long getSnapshotFingerprint() {
+            return fingerprint(snapshotCount, snapshotCrc);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: adds a preset read from a preset file, giving it a new id as PresetList.addPreset would if it has
+        //          none; a preset whose id was already read is another copy of that preset, as a list with copies
+        //          is saved that way
+        private void addFromFile(Preset preset) {
+            if (preset.getId() != Preset.NO_ID && presetsById.containsKey(preset.getId())) {
+                addCopy(preset.getId());
+                return;
+            }
+            long id = preset.getId() == Preset.NO_ID ? nextId : preset.getId();
+            put(new Preset(id, preset.getPresetName(), preset.getFocusTime(), preset.getMeditationTime(),
+                    preset.getRestTime()));
+            addCopy(id);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: applies the records of the journal at path in order, stopping at the first one that is torn or
+        //          corrupt, and returns the number of bytes of the journal that are valid
+        private long replay(Path path) throws IOException {
+            ByteBuffer journal = ByteBuffer.wrap(Files.readAllBytes(path));
+            journal.position(HEADER_BYTES);
+            CRC32 crc = new CRC32();
+            while (journal.remaining() >= RECORD_HEADER_BYTES) {
+                int start = journal.position();
+                int length = journal.getInt();
+                int checksum = journal.getInt();
+                if (length < 1 + Long.BYTES || length > MAX_RECORD_BYTES || length > journal.remaining()) {
+                    return start;
+                }
+                crc.reset();
+                crc.update(journal.array(), journal.position(), length);
+                if ((int) crc.getValue() != checksum) {
+                    return start;
+                }
+                apply(journal.slice().limit(length));
+                journal.position(journal.position() + length);
+            }
+            return journal.position();
+        }
+
+        // MODIFIES: this
+        // EFFECTS: applies the change in a record that has passed its CRC check
+        private void apply(ByteBuffer record) {
+            byte operation = record.get();
+            long id = record.getLong();
+            if (operation == DELETED) {
+                removeCopy(id);
+                return;
+            }
+            byte[] name = new byte[record.getInt()];
+            record.get(name);
+            Preset preset = new Preset(id, new String(name, StandardCharsets.UTF_8), record.getLong(),
+                    record.getLong(), record.getLong());
+            boolean present = presetsById.containsKey(id);
+            put(preset);
+            if (operation == ADDED || !present) {
+                addCopy(id);
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: stores preset under its id, keeping its place in the order if the id is already present
+        private void put(Preset preset) {
+            presetsById.put(preset.getId(), preset);
+            nextId = Math.max(nextId, preset.getId() + 1);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: adds a copy of the preset with the given id at the end of the order
+        private void addCopy(long id) {
+            sequencesById.computeIfAbsent(id, copies -> new ArrayDeque<>(1)).addLast(nextSequence);
+            idsBySequence.put(nextSequence++, id);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: removes the first copy of the preset with the given id, and the preset with its last copy, as
+        //          PresetList.deletePreset does; does nothing if there is no such preset
+        private void removeCopy(long id) {
+            Deque<Long> sequences = sequencesById.get(id);
+            if (sequences == null) {
+                return;
+            }
+            idsBySequence.remove(sequences.removeFirst());
+            if (sequences.isEmpty()) {
+                sequencesById.remove(id);
+                presetsById.remove(id);
+            }
+        }
+
+        // EFFECTS: returns the presets in the order their copies were added, each once for every copy
+        private List<Preset> getPresets() {
+            List<Preset> presets = new ArrayList<>(idsBySequence.size());
+            for (long id : idsBySequence.values()) {
+                presets.add(presetsById.get(id));
+            }
+            return presets;
+        }
+
+        // EFFECTS: returns a new PresetList holding the presets in order, with their ids
+        private PresetList toPresetList() {
+            PresetList pl = new PresetList();
+            for (Preset preset : getPresets()) {
+                pl.addPreset(preset);
+            }
+            return pl;
+        }
+    }
+}
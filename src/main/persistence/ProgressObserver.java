@@ -0,0 +1,8 @@
+package persistence;
+
+// Represents an observer that is told how far a long-running read or write of presets has got.
+public interface ProgressObserver {
+
+    // EFFECTS: handles done of total presets having been read or written; total is -1 while it is not yet known
+    void progressMade(long done, long total);
+}
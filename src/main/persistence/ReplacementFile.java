@@ -0,0 +1,85 @@
+package persistence;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// Represents a temporary file next to a destination file, which the preset writers write to and which only replaces
+// the destination once it has been written completely, so a crash or an error part way through a write leaves the
+// previous file intact.
+class ReplacementFile {
+
+    // Constants
+    static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    // Fields
+    private final Path destinationPath;
+    private final Path temporaryPath;
+    private final FileChannel channel;
+    private boolean replaced;
+
+    // EFFECTS: creates or truncates the temporary file for destination and opens it for writing; throws
+    //          FileNotFoundException if it cannot be opened for writing
+    ReplacementFile(String destination) throws FileNotFoundException {
+        try {
+            destinationPath = Paths.get(destination);
+            temporaryPath = Paths.get(destination + TEMPORARY_FILE_SUFFIX);
+            channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (InvalidPathException | IOException e) {
+            FileNotFoundException notOpened = new FileNotFoundException("Cannot open " + destination);
+            notOpened.initCause(e);
+            throw notOpened;
+        }
+    }
+
+    // EFFECTS: returns the channel the temporary file is written through
+    FileChannel getChannel() {
+        return channel;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the temporary file, forcing it to the storage device first if force, then renames it over the
+    //          destination, atomically where the file system allows it, and returns its size in bytes; throws
+    //          IOException if an error occurs writing to file
+    long replaceDestination(boolean force) throws IOException {
+        long bytes;
+        try (FileChannel toClose = channel) {
+            bytes = toClose.size();
+            if (force) {
+                toClose.force(true);
+            }
+        }
+        try {
+            Files.move(temporaryPath, destinationPath, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryPath, destinationPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        replaced = true;
+        return bytes;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: unless it has replaced the destination, closes the temporary file and deletes it, leaving the
+    //          destination as it was; errors are ignored, as a temporary file left behind is truncated by the next
+    //          write to the destination
+    void abort() {
+        if (replaced) {
+            return;
+        }
+        try {
+            channel.close();
+            Files.deleteIfExists(temporaryPath);
+        } catch (IOException e) {
+            // left for the next write to truncate
+        }
+    }
+}
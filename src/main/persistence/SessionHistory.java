@@ -0,0 +1,415 @@
+package persistence;
+
+import model.BlockType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Represents an append-only history of every completed block, stored on disk in columns: one file each for the
+// start times, durations, block types and preset ids of the blocks, so a row is appended by writing a few bytes to
+// the end of each file. Alongside the columns, the history keeps daily and weekly rollups of the time spent and
+// blocks completed of each kind. The rollups are updated as rows are appended, so totals over any range of days
+// are summed from at most a few weeks' worth of rollups, however many rows the history holds.
+// A block counts towards the day (in the history's time zone) and the week (starting on Monday) in which it started.
+public class SessionHistory {
+
+    // Constants
+    private static final String START_COLUMN = "start.col";
+    private static final String DURATION_COLUMN = "duration.col";
+    private static final String TYPE_COLUMN = "type.col";
+    private static final String PRESET_COLUMN = "preset.col";
+    private static final String DAILY_ROLLUP = "daily.rollup";
+    private static final String WEEKLY_ROLLUP = "weekly.rollup";
+    private static final int ROWS_PER_READ = 4096;
+    private static final int DAYS_PER_WEEK = 7;
+
+    // Fields
+    private final String directory;
+    private final ZoneId zone;
+    private FileChannel starts;
+    private FileChannel durations;
+    private FileChannel types;
+    private FileChannel presetIds;
+    private Rollup daily;
+    private Rollup weekly;
+    private int size;
+
+    // EFFECTS: constructs a history stored in directory that divides time into days in the system time zone
+    public SessionHistory(String directory) {
+        this(directory, ZoneId.systemDefault());
+    }
+
+    // EFFECTS: constructs a history stored in directory that divides time into days in the given time zone
+    public SessionHistory(String directory, ZoneId zone) {
+        this.directory = directory;
+        this.zone = zone;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens the history, creating its files if they do not exist. Rows left partly written by a crash are
+    //          discarded, rows appended since the rollups were last saved are added to them, and rollups that were
+    //          not closed cleanly are rebuilt from the columns; throws IOException if the files cannot be opened
+    public synchronized void open() throws IOException {
+        Path path = Paths.get(directory);
+        Files.createDirectories(path);
+        starts = openFile(path.resolve(START_COLUMN));
+        durations = openFile(path.resolve(DURATION_COLUMN));
+        types = openFile(path.resolve(TYPE_COLUMN));
+        presetIds = openFile(path.resolve(PRESET_COLUMN));
+        size = (int) Math.min(Math.min(starts.size() / Long.BYTES, durations.size() / Long.BYTES),
+                Math.min(types.size(), presetIds.size() / Long.BYTES));
+        starts.truncate((long) size * Long.BYTES);
+        durations.truncate((long) size * Long.BYTES);
+        types.truncate(size);
+        presetIds.truncate((long) size * Long.BYTES);
+
+        daily = new Rollup(openFile(path.resolve(DAILY_ROLLUP)));
+        weekly = new Rollup(openFile(path.resolve(WEEKLY_ROLLUP)));
+        long folded = Math.min(daily.load(), weekly.load());
+        if (folded < 0 || folded > size) {
+            daily.reset();
+            weekly.reset();
+            folded = 0;
+        }
+        foldRows((int) folded);
+    }
+
+    // REQUIRES: durationMillis >= 0
+    // MODIFIES: this
+    // EFFECTS: appends a completed block to the history and adds it to the rollups; throws IOException if an
+    //          error occurs writing to file
+    public synchronized void append(long startEpochMillis, long durationMillis, BlockType blockType, long presetId)
+            throws IOException {
+        daily.markDirty();
+        weekly.markDirty();
+        long position = (long) size * Long.BYTES;
+        writeFully(starts, ByteBuffer.allocate(Long.BYTES).putLong(0, startEpochMillis), position);
+        writeFully(durations, ByteBuffer.allocate(Long.BYTES).putLong(0, durationMillis), position);
+        writeFully(types, ByteBuffer.allocate(1).put(0, (byte) blockType.ordinal()), size);
+        writeFully(presetIds, ByteBuffer.allocate(Long.BYTES).putLong(0, presetId), position);
+        size++;
+        fold(startEpochMillis, durationMillis, blockType.ordinal(), true);
+    }
+
+    // EFFECTS: returns the number of blocks in the history
+    public synchronized int size() {
+        return size;
+    }
+
+    // REQUIRES: 0 <= row < size()
+    // EFFECTS: returns when the block in the given row started, in milliseconds since the epoch
+    public synchronized long getStartTime(int row) throws IOException {
+        return readLong(starts, row);
+    }
+
+    // REQUIRES: 0 <= row < size()
+    // EFFECTS: returns how long the block in the given row lasted, in milliseconds
+    public synchronized long getDuration(int row) throws IOException {
+        return readLong(durations, row);
+    }
+
+    // REQUIRES: 0 <= row < size()
+    // EFFECTS: returns the kind of block in the given row
+    public synchronized BlockType getBlockType(int row) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        readFully(types, buffer, row);
+        return BlockType.values()[buffer.get(0)];
+    }
+
+    // REQUIRES: 0 <= row < size()
+    // EFFECTS: returns the id of the preset the block in the given row was played with
+    public synchronized long getPresetId(int row) throws IOException {
+        return readLong(presetIds, row);
+    }
+
+    // EFFECTS: returns the time spent in blocks of the given kind that started on days from (inclusive) to to
+    //          (exclusive), in milliseconds
+    public synchronized long getTotalMillis(BlockType blockType, LocalDate from, LocalDate to) {
+        return total(blockType, from.toEpochDay(), to.toEpochDay(), false);
+    }
+
+    // EFFECTS: returns the number of blocks of the given kind that started on days from (inclusive) to to
+    //          (exclusive)
+    public synchronized long getBlockCount(BlockType blockType, LocalDate from, LocalDate to) {
+        return total(blockType, from.toEpochDay(), to.toEpochDay(), true);
+    }
+
+    // EFFECTS: returns the time spent in blocks of the given kind over the whole history, in milliseconds
+    public synchronized long getTotalMillis(BlockType blockType) {
+        return weekly.sum(Long.MIN_VALUE, Long.MAX_VALUE, blockType.ordinal(), false);
+    }
+
+    // EFFECTS: returns the number of blocks of the given kind over the whole history
+    public synchronized long getBlockCount(BlockType blockType) {
+        return weekly.sum(Long.MIN_VALUE, Long.MAX_VALUE, blockType.ordinal(), true);
+    }
+
+    // EFFECTS: returns the first day of the week (Monday) that contains date
+    public static LocalDate getWeekStart(LocalDate date) {
+        return LocalDate.ofEpochDay(weekStart(date.toEpochDay()));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: saves the rollups as up to date with every row, forces all files to the storage device and closes
+    //          them; throws IOException if an error occurs writing to file
+    public synchronized void close() throws IOException {
+        daily.save(size);
+        weekly.save(size);
+        for (FileChannel channel : new FileChannel[] {starts, durations, types, presetIds}) {
+            channel.force(false);
+            channel.close();
+        }
+        daily.close();
+        weekly.close();
+    }
+
+    // EFFECTS: sums the time spent in (or number of) blocks of the given kind over days [fromDay, toDay), using the
+    //          weekly rollups for whole weeks and the daily rollups for the days before and after them
+    private long total(BlockType blockType, long fromDay, long toDay, boolean count) {
+        int type = blockType.ordinal();
+        long firstWeek = weekStart(fromDay) == fromDay ? fromDay : weekStart(fromDay) + DAYS_PER_WEEK;
+        long lastWeek = weekStart(toDay);
+        if (firstWeek >= lastWeek) {
+            return daily.sum(fromDay, toDay, type, count);
+        }
+        return daily.sum(fromDay, firstWeek, type, count) + weekly.sum(firstWeek, lastWeek, type, count)
+                + daily.sum(lastWeek, toDay, type, count);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the rows from firstRow to the end of the columns to the rollups and saves them
+    private void foldRows(int firstRow) throws IOException {
+        if (firstRow == size) {
+            return;
+        }
+        ByteBuffer startBuffer = ByteBuffer.allocate(ROWS_PER_READ * Long.BYTES);
+        ByteBuffer durationBuffer = ByteBuffer.allocate(ROWS_PER_READ * Long.BYTES);
+        ByteBuffer typeBuffer = ByteBuffer.allocate(ROWS_PER_READ);
+        for (int row = firstRow; row < size; row += ROWS_PER_READ) {
+            int rows = Math.min(ROWS_PER_READ, size - row);
+            startBuffer.clear().limit(rows * Long.BYTES);
+            durationBuffer.clear().limit(rows * Long.BYTES);
+            typeBuffer.clear().limit(rows);
+            readFully(starts, startBuffer, (long) row * Long.BYTES);
+            readFully(durations, durationBuffer, (long) row * Long.BYTES);
+            readFully(types, typeBuffer, row);
+            for (int i = 0; i < rows; i++) {
+                fold(startBuffer.getLong(i * Long.BYTES), durationBuffer.getLong(i * Long.BYTES),
+                        typeBuffer.get(i), false);
+            }
+        }
+        daily.writeAll();
+        weekly.writeAll();
+        daily.save(size);
+        weekly.save(size);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a block to the rollups of the day and week it started in, writing the changed rollups to file
+    //          if write
+    private void fold(long startEpochMillis, long durationMillis, int type, boolean write) throws IOException {
+        long day = Instant.ofEpochMilli(startEpochMillis).atZone(zone).toLocalDate().toEpochDay();
+        daily.add(day, type, durationMillis, write);
+        weekly.add(weekStart(day), type, durationMillis, write);
+    }
+
+    // EFFECTS: returns the epoch day of the Monday on or before the given epoch day (day 0 was a Thursday)
+    private static long weekStart(long epochDay) {
+        return epochDay - Math.floorMod(epochDay + 3, DAYS_PER_WEEK);
+    }
+
+    // EFFECTS: opens the file at path for reading and writing, creating it if it does not exist
+    private static FileChannel openFile(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    // EFFECTS: returns the long in the given row of a column of longs
+    private static long readLong(FileChannel column, int row) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        readFully(column, buffer, (long) row * Long.BYTES);
+        return buffer.getLong(0);
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: fills the rest of buffer from channel starting at position; throws IOException if the file ends first
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of history file");
+            }
+        }
+    }
+
+    // EFFECTS: writes the rest of buffer to channel starting at position
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    // Represents the totals of each kind of block for a series of periods (days or weeks), stored in a file with a
+    // header followed by one fixed-size record per period in the order the periods were first seen. The header
+    // records how many rows of the history the totals include, or -1 while the file is being changed, so a file
+    // that was not closed cleanly is rebuilt instead of trusted.
+    private static final class Rollup {
+
+        // Constants
+        private static final int MAGIC = 0x46435248; // "FCRH"
+        private static final int VERSION = 1;
+        private static final int HEADER_BYTES = 16;
+        private static final int TYPES = BlockType.values().length;
+        private static final int RECORD_BYTES = Long.BYTES + TYPES * 2 * Long.BYTES;
+        private static final long DIRTY = -1;
+
+        // Fields
+        private final FileChannel channel;
+        private final TreeMap<Long, Period> periods;
+        private final ByteBuffer record;
+        private boolean dirty;
+
+        // EFFECTS: constructs an empty rollup stored in channel
+        private Rollup(FileChannel channel) {
+            this.channel = channel;
+            this.periods = new TreeMap<>();
+            this.record = ByteBuffer.allocate(RECORD_BYTES);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: reads the periods in the file and returns the number of rows they include, or -1 if the file is
+        //          empty, damaged or was not closed cleanly
+        private long load() throws IOException {
+            long fileBytes = channel.size();
+            if (fileBytes < HEADER_BYTES || (fileBytes - HEADER_BYTES) % RECORD_BYTES != 0) {
+                return DIRTY;
+            }
+            ByteBuffer contents = ByteBuffer.allocate((int) fileBytes);
+            readFully(channel, contents, 0);
+            if (contents.getInt(0) != MAGIC || contents.getInt(Integer.BYTES) != VERSION) {
+                return DIRTY;
+            }
+            int slots = (int) ((fileBytes - HEADER_BYTES) / RECORD_BYTES);
+            for (int slot = 0; slot < slots; slot++) {
+                contents.position(HEADER_BYTES + slot * RECORD_BYTES);
+                Period period = new Period(slot);
+                long start = contents.getLong();
+                for (int type = 0; type < TYPES; type++) {
+                    period.millis[type] = contents.getLong();
+                    period.counts[type] = contents.getLong();
+                }
+                periods.put(start, period);
+            }
+            return contents.getLong(2 * Integer.BYTES);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: empties the rollup and its file
+        private void reset() throws IOException {
+            periods.clear();
+            channel.truncate(0);
+            writeHeader(0);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: marks the file as being changed, unless it already is
+        private void markDirty() throws IOException {
+            if (!dirty) {
+                writeHeader(DIRTY);
+                dirty = true;
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: marks the file as including the given number of rows
+        private void save(long rows) throws IOException {
+            writeHeader(rows);
+            dirty = false;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: adds a block of the given type and duration to the period starting on periodStart, and writes
+        //          that period's record to file if write
+        private void add(long periodStart, int type, long durationMillis, boolean write) throws IOException {
+            Period period = periods.get(periodStart);
+            if (period == null) {
+                period = new Period(periods.size());
+                periods.put(periodStart, period);
+            }
+            period.millis[type] += durationMillis;
+            period.counts[type]++;
+            if (write) {
+                writeRecord(periodStart, period);
+            }
+        }
+
+        // EFFECTS: returns the total time (or number of blocks) of the given type over periods starting in
+        //          [fromStart, toStart)
+        private long sum(long fromStart, long toStart, int type, boolean count) {
+            long total = 0;
+            if (fromStart >= toStart) {
+                return total;
+            }
+            for (Period period : periods.subMap(fromStart, toStart).values()) {
+                total += count ? period.counts[type] : period.millis[type];
+            }
+            return total;
+        }
+
+        // EFFECTS: forces the file to the storage device and closes it
+        private void close() throws IOException {
+            channel.force(false);
+            channel.close();
+        }
+
+        // EFFECTS: writes the header, recording that the periods include the given number of rows
+        private void writeHeader(long rows) throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).putLong(rows);
+            header.flip();
+            writeFully(channel, header, 0);
+        }
+
+        // EFFECTS: writes the records of all periods to file
+        private void writeAll() throws IOException {
+            for (Map.Entry<Long, Period> entry : periods.entrySet()) {
+                writeRecord(entry.getKey(), entry.getValue());
+            }
+        }
+
+        // EFFECTS: writes the record of the period starting on periodStart to its slot in the file
+        private void writeRecord(long periodStart, Period period) throws IOException {
+            record.clear();
+            record.putLong(periodStart);
+            for (int type = 0; type < TYPES; type++) {
+                record.putLong(period.millis[type]);
+                record.putLong(period.counts[type]);
+            }
+            record.flip();
+            writeFully(channel, record, HEADER_BYTES + (long) period.slot * RECORD_BYTES);
+        }
+    }
+
+    // Represents the totals of each kind of block in one day or week, and the slot of its record in the file.
+    private static final class Period {
+
+        // Fields
+        private final int slot;
+        private final long[] millis;
+        private final long[] counts;
+
+        // EFFECTS: constructs a period with no blocks whose record is in the given slot
+        private Period(int slot) {
+            this.slot = slot;
+            this.millis = new long[BlockType.values().length];
+            this.counts = new long[BlockType.values().length];
+        }
+    }
+}
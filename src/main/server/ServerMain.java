@@ -0,0 +1,29 @@
+package server;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Runs Focus Clinic as a headless server that hosts sessions for a whole team behind a local HTTP API. Run with
+// the port to listen on and, optionally, the number of scheduler threads the sessions share, for example:
+//     java -cp "out:lib/*" server.ServerMain 8210 4
+public class ServerMain {
+
+    // Constants
+    private static final int DEFAULT_PORT = 8210;
+    private static final int REQUEST_THREADS = 4;
+
+    // EFFECTS: starts a session server and its HTTP API, and serves requests until the process is ended
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int schedulerThreads = args.length > 1 ? Integer.parseInt(args[1])
+                : Runtime.getRuntime().availableProcessors();
+        SessionServer sessions = new SessionServer(schedulerThreads, TimeUnit.MINUTES);
+        SessionHttpServer api = new SessionHttpServer(sessions, port, REQUEST_THREADS);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            api.stop();
+            sessions.shutdown();
+        }));
+        api.start();
+        System.out.println("Focus Clinic server listening on http://localhost:" + api.getPort() + "/sessions");
+    }
+}
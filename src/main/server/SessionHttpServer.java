@@ -0,0 +1,203 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import model.Preset;
+import model.SessionSnapshot;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Represents a local HTTP API for the sessions of a SessionServer, built on the JDK's HTTP server. Requests and
+// responses are JSON:
+//     POST   /sessions               starts a session with the preset in the body and returns its id
+//     GET    /sessions               returns the number of sessions
+//     GET    /sessions/{id}          returns the session
+//     POST   /sessions/{id}/pause    pauses the session (also resume and stop)
+//     DELETE /sessions/{id}          stops and removes the session
+// A preset in a request body has the same fields as a saved preset: name, focusTime, meditationTime and restTime.
+public class SessionHttpServer {
+
+    // Constants
+    private static final String SESSIONS_PATH = "/sessions";
+    private static final int OK = 200;
+    private static final int CREATED = 201;
+    private static final int BAD_REQUEST = 400;
+    private static final int NOT_FOUND = 404;
+    private static final int METHOD_NOT_ALLOWED = 405;
+    private static final int BACKLOG = 1024;
+
+    // Fields
+    private final SessionServer sessions;
+    private final HttpServer httpServer;
+    private final ExecutorService requestThreads;
+
+    // REQUIRES: 0 <= port <= 65535, requestThreads >= 1
+    // EFFECTS: constructs an API for sessions that listens on the loopback address at port (or any free port if
+    //          port is 0) and handles requests on requestThreads threads; throws IOException if the port cannot be
+    //          bound
+    public SessionHttpServer(SessionServer sessions, int port, int requestThreads) throws IOException {
+        this.sessions = sessions;
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        this.requestThreads = Executors.newFixedThreadPool(requestThreads, runnable -> {
+            Thread thread = new Thread(runnable, "session-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpServer.createContext(SESSIONS_PATH, this::handle);
+        httpServer.setExecutor(this.requestThreads);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts accepting requests
+    public void start() {
+        httpServer.start();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops accepting requests and ends the request threads; the sessions keep running
+    public void stop() {
+        httpServer.stop(0);
+        requestThreads.shutdown();
+    }
+
+    // EFFECTS: returns the port the API listens on
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    // EFFECTS: routes a request by its path and method and sends the response
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath().substring(SESSIONS_PATH.length());
+            String[] parts = path.split("/");
+            String method = exchange.getRequestMethod();
+            if (!path.isEmpty() && !path.startsWith("/")) {
+                sendError(exchange, NOT_FOUND, "No such resource");
+            } else if (parts.length <= 1) {
+                handleSessions(exchange, method);
+            } else if (parts.length == 2) {
+                handleSession(exchange, method, Long.parseLong(parts[1]));
+            } else if (parts.length == 3) {
+                handleCommand(exchange, method, Long.parseLong(parts[1]), parts[2]);
+            } else {
+                sendError(exchange, NOT_FOUND, "No such resource");
+            }
+        } catch (NumberFormatException e) {
+            sendError(exchange, NOT_FOUND, "No such session");
+        } catch (JSONException | IllegalArgumentException e) {
+            sendError(exchange, BAD_REQUEST, e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // EFFECTS: handles a request for the collection of sessions
+    private void handleSessions(HttpExchange exchange, String method) throws IOException {
+        if (method.equals("POST")) {
+            long id = sessions.createSession(readPreset(exchange.getRequestBody()));
+            exchange.getResponseHeaders().set("Location", SESSIONS_PATH + "/" + id);
+            send(exchange, CREATED, new JSONObject().put("id", id)); // the session starts on its own thread
+        } else if (method.equals("GET")) {
+            send(exchange, OK, new JSONObject().put("sessions", sessions.getSessionCount()));
+        } else {
+            sendError(exchange, METHOD_NOT_ALLOWED, "Use GET or POST");
+        }
+    }
+
+    // EFFECTS: handles a request for the session with the given id
+    private void handleSession(HttpExchange exchange, String method, long id) throws IOException {
+        SessionSnapshot snapshot = sessions.getSnapshot(id);
+        if (snapshot == null) {
+            sendError(exchange, NOT_FOUND, "No such session");
+        } else if (method.equals("GET")) {
+            send(exchange, OK, toJson(id, snapshot));
+        } else if (method.equals("DELETE")) {
+            sessions.removeSession(id);
+            send(exchange, OK, new JSONObject().put("id", id));
+        } else {
+            sendError(exchange, METHOD_NOT_ALLOWED, "Use GET or DELETE");
+        }
+    }
+
+    // EFFECTS: handles a pause, resume or stop command for the session with the given id
+    private void handleCommand(HttpExchange exchange, String method, long id, String command) throws IOException {
+        if (!method.equals("POST")) {
+            sendError(exchange, METHOD_NOT_ALLOWED, "Use POST");
+            return;
+        }
+        boolean found;
+        switch (command) {
+            case "pause":
+                found = sessions.pause(id);
+                break;
+            case "resume":
+                found = sessions.resume(id);
+                break;
+            case "stop":
+                found = sessions.stop(id);
+                break;
+            default:
+                sendError(exchange, NOT_FOUND, "No such command: " + command);
+                return;
+        }
+        if (found) {
+            send(exchange, OK, new JSONObject().put("id", id));
+        } else {
+            sendError(exchange, NOT_FOUND, "No such session");
+        }
+    }
+
+    // EFFECTS: reads a preset from a JSON request body; throws JSONException if it is not valid JSON or is missing
+    //          a time, and IllegalArgumentException if a time is less than 1
+    private static Preset readPreset(InputStream body) throws IOException {
+        JSONObject json = new JSONObject(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        Preset preset = new Preset(json.optString("name", "Session"), json.getLong("focusTime"),
+                json.getLong("meditationTime"), json.getLong("restTime"));
+        if (preset.getFocusTime() < 1 || preset.getMeditationTime() < 1 || preset.getRestTime() < 1) {
+            throw new IllegalArgumentException("Preset times must be at least 1");
+        }
+        return preset;
+    }
+
+    // EFFECTS: returns the session with the given id and snapshot as JSON
+    private static JSONObject toJson(long id, SessionSnapshot snapshot) {
+        JSONObject json = new JSONObject();
+        json.put("id", id);
+        json.put("state", snapshot.getState().toString());
+        if (!snapshot.isIdle()) {
+            json.put("preset", snapshot.getPreset().toJson());
+            json.put("blockType", snapshot.getBlockType().toString());
+            json.put("nextBlockType", snapshot.getNextBlockType().toString());
+        }
+        json.put("remainingMicroSeconds", snapshot.getRemainingMicroSeconds());
+        json.put("lastBlockDriftMicroSeconds", snapshot.getLastBlockDriftMicroSeconds());
+        json.put("focusSessionsCompleted", snapshot.getFocusSessionsCompleted());
+        json.put("meditationSessionsCompleted", snapshot.getMeditationSessionsCompleted());
+        json.put("restSessionsCompleted", snapshot.getRestSessionsCompleted());
+        return json;
+    }
+
+    // EFFECTS: sends an error response with the given status and message
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, new JSONObject().put("error", message));
+    }
+
+    // EFFECTS: sends a JSON response with the given status
+    private static void send(HttpExchange exchange, int status, JSONObject json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package server;
+
+import model.BlockObserver;
+import model.Preset;
+import model.SessionEngine;
+import model.SessionSnapshot;
+import model.TimingWheel;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Represents a host for many concurrent sessions without a user interface, each identified by a number. Instead of
+// a thread per session, sessions are spread over a small fixed set of scheduler threads: each thread owns the state
+// of every session assigned to it, so a session still sees its commands and transitions one at a time. The block
+// deadlines of all sessions wait in one shared TimingWheel, which hands each one to its session's thread when due.
+public class SessionServer {
+
+    // Fields
+    private final ScheduledThreadPoolExecutor[] schedulers;
+    private final TimingWheel deadlines;
+    private final TimeUnit blockTimeUnit;
+    private final Map<Long, SessionEngine> sessions;
+    private final List<BlockObserver> observers;
+    private final AtomicLong nextId;
+
+    // EFFECTS: constructs a server with a scheduler thread per processor that measures preset times in minutes
+    public SessionServer() {
+        this(Runtime.getRuntime().availableProcessors(), TimeUnit.MINUTES);
+    }
+
+    // REQUIRES: schedulerThreads >= 1
+    // EFFECTS: constructs a server whose sessions share schedulerThreads daemon threads and a timing wheel with the
+    //          default tick, and measure preset times in blockTimeUnit
+    public SessionServer(int schedulerThreads, TimeUnit blockTimeUnit) {
+        this(schedulerThreads, blockTimeUnit, new TimingWheel());
+    }
+
+    // REQUIRES: schedulerThreads >= 1
+    // EFFECTS: constructs a server whose sessions share schedulerThreads daemon threads, wait for block deadlines
+    //          in deadlines, and measure preset times in blockTimeUnit
+    public SessionServer(int schedulerThreads, TimeUnit blockTimeUnit, TimingWheel deadlines) {
+        this.blockTimeUnit = blockTimeUnit;
+        this.deadlines = deadlines;
+        this.sessions = new ConcurrentHashMap<>();
+        this.observers = new CopyOnWriteArrayList<>();
+        this.nextId = new AtomicLong();
+        this.schedulers = new ScheduledThreadPoolExecutor[schedulerThreads];
+        for (int i = 0; i < schedulerThreads; i++) {
+            String name = "session-scheduler-" + i;
+            schedulers[i] = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: registers observer to be notified of every block completed by sessions created from now on; it is
+    //          called on the scheduler thread of the session, so it must not block
+    public void addBlockObserver(BlockObserver observer) {
+        observers.add(observer);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: creates a session, starts it with the given preset and returns its id
+    public long createSession(Preset preset) {
+        long id = nextId.incrementAndGet();
+        ScheduledExecutorService owner = schedulers[(int) (id % schedulers.length)];
+        SessionEngine engine = new SessionEngine(new SilentPlayer(), owner, blockTimeUnit, deadlines);
+        for (BlockObserver observer : observers) {
+            engine.addBlockObserver(observer);
+        }
+        sessions.put(id, engine);
+        engine.start(preset);
+        return id;
+    }
+
+    // EFFECTS: returns the latest snapshot of the session with the given id, or null if there is no such session
+    public SessionSnapshot getSnapshot(long id) {
+        SessionEngine engine = sessions.get(id);
+        return engine == null ? null : engine.getSnapshot();
+    }
+
+    // EFFECTS: pauses the session with the given id; returns false if there is no such session
+    public boolean pause(long id) {
+        SessionEngine engine = sessions.get(id);
+        if (engine == null) {
+            return false;
+        }
+        engine.pause();
+        return true;
+    }
+
+    // EFFECTS: resumes the session with the given id; returns false if there is no such session
+    public boolean resume(long id) {
+        SessionEngine engine = sessions.get(id);
+        if (engine == null) {
+            return false;
+        }
+        engine.resume();
+        return true;
+    }
+
+    // EFFECTS: stops the session with the given id, keeping it so its totals can still be read; returns false if
+    //          there is no such session
+    public boolean stop(long id) {
+        SessionEngine engine = sessions.get(id);
+        if (engine == null) {
+            return false;
+        }
+        engine.stop();
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops and forgets the session with the given id; returns false if there is no such session
+    public boolean removeSession(long id) {
+        SessionEngine engine = sessions.remove(id);
+        if (engine == null) {
+            return false;
+        }
+        engine.stop(); // not shutdown(), which would end the scheduler thread shared with other sessions
+        return true;
+    }
+
+    // EFFECTS: returns the number of sessions hosted
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    // EFFECTS: returns the number of scheduler threads the sessions share
+    public int getSchedulerThreadCount() {
+        return schedulers.length;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops every session, the timing wheel and the scheduler threads
+    public void shutdown() {
+        for (SessionEngine engine : sessions.values()) {
+            engine.stop();
+        }
+        sessions.clear();
+        deadlines.shutdown();
+        for (ScheduledExecutorService scheduler : schedulers) {
+            scheduler.shutdown();
+        }
+    }
+}
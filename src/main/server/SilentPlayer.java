@@ -0,0 +1,29 @@
+package server;
+
+import model.BlockPlayer;
+import model.BlockType;
+
+// Represents a player for sessions hosted without audio: the people in them play their own sound, so blocks are
+// only timed, never heard.
+public class SilentPlayer implements BlockPlayer {
+
+    // EFFECTS: does nothing
+    @Override
+    public void play(BlockType blockType) {
+    }
+
+    // EFFECTS: does nothing
+    @Override
+    public void pause() {
+    }
+
+    // EFFECTS: does nothing
+    @Override
+    public void resume() {
+    }
+
+    // EFFECTS: does nothing
+    @Override
+    public void stop() {
+    }
+}
@@ -1,31 +1,50 @@
 package ui;
 
+import audio.NoisePlayer;
+import model.BlockType;
 import model.EventLog;
 import model.Preset;
 import model.PresetList;
-import persistence.JsonReader;
-import persistence.JsonWriter;
+import model.SessionEngine;
+import model.SessionSnapshot;
+import persistence.EventLogExporter;
+import persistence.PresetFileDiff;
+import persistence.PresetFileWatcher;
+import persistence.PresetJournal;
+import persistence.SessionHistory;
 
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
 import java.awt.*;
 import java.awt.event.*;
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 // User interaction class to play and interact with the application
 public class FocusClinicApp implements ActionListener {
 
     // Constants
     private static final String JSON_STORE = "data/presets/presets.json";
-    private static final String FOCUS_NOISE_PATH = "data/sounds/focusSound_1_Minute.aif";
-    private static final String MEDITATION_NOISE_PATH = "data/sounds/meditationSound_1_Minute.aif";
-    private static final String REST_NOISE_PATH = "data/sounds/restSound_1_Minute.aif";
+    private static final String HISTORY_STORE = "data/history";
+    private static final String EVENT_LOG_STORE = "data/logs";
+    private static final long EVENT_LOG_FLUSH_TIMEOUT_SECONDS = 2;
     private static final int WIDTH = 1440;
     private static final int HEIGHT = 900;
     private static final String COVER_PHOTO_PATH = "data/logos/coverPhoto.png";
@@ -37,88 +56,191 @@ public class FocusClinicApp implements ActionListener {
     private static final String MANAGE_PRESETS_ICON_PATH = "data/icons/managePresetsIcon.png";
     private static final String SAVE_PRESETS_ICON_PATH = "data/icons/savePresetsIcon.png";
     private static final String LOAD_PRESETS_ICON_PATH = "data/icons/loadPresetsIcon.png";
+    private static final String SOUNDS_ICON_PATH = "data/icons/soundsIcon.png";
+    private static final String SOUNDS_DIRECTORY = "data/sounds";
+    private static final String NOISE_CHOICE = "Brownian noise";
     private static final String SELECT_ICON_PATH = "data/icons/selectIcon.png";
     private static final String DELETE_ICON_PATH = "data/icons/deleteIcon.png";
+    private static final int COVER_PHOTO_WIDTH = 1440;
+    private static final int COVER_PHOTO_HEIGHT = 720;
+    private static final int ICON_SIZE = 32;
+    private static final int SEARCH_RESULT_LIMIT = 200;
 
     // Fields
-    private final JsonWriter jsonWriter;
-    private final JsonReader jsonReader;
-    private Clip focusNoise;
-    private Clip meditationNoise;
-    private Clip restNoise;
-    private ArrayList<Clip> noises;
+    private final PresetJournal presetJournal;
+    private final StartupTiming startupTiming;
+    private final EventLogExporter eventLogExporter;
+    private final Map<JButton, String> buttonIconPaths;
+    private NoisePlayer noisePlayer;
+    private SessionEngine sessionEngine;
+    private volatile SessionHistory sessionHistory;
+    private volatile PresetFileWatcher presetFileWatcher;
+    private boolean startQueued;
     private PresetList presets;
     private Preset presetToPlay;
-    private int currentNoiseToPlay;
-    private int focusSessionsCompleted;
-    private int meditationSessionsCompleted;
-    private int restSessionsCompleted;
     private JFrame mainFrame;
     private JPanel homeButtonArea;
-    private long timeInMicroSeconds;
-    private Clip getNoiseToPlay;
+    private JLabel coverPhoto;
+    private JButton startButton;
+    private JButton savePresetsButton;
+    private JButton loadPresetsButton;
+    private PresetListModel presetListModel;
+    private ImageIcon selectIcon;
+    private ImageIcon deleteIcon;
     private JFrame managePresetsWindow;
-    private JPanel managePresetsScrollablePanel;
-    private JPanel managePresetsPanel;
-    private JButton selectButton;
-    private JButton deleteButton;
+    private JList<Preset> managePresetsList;
+    private JTextField presetFilter;
+    private boolean refilterQueued;
+    private JLabel selectedPreset;
     private JPanel presetPanel;
 
-    // REQUIRES: JSON_STORE to be a valid relative path
-    // MODIFIES: this
-    // EFFECTS: initializes sounds, graphics, exit operations, and creates new instances of a JsonWriter and JsonReader
-    public FocusClinicApp() throws Exception {
-        initializeSound();
+    // REQUIRES: called on the event dispatch thread
+    // EFFECTS: starts the application without reporting how long startup takes
+    public FocusClinicApp() {
+        this(new StartupTiming());
+    }
+
+    // REQUIRES: JSON_STORE to be a valid relative path, called on the event dispatch thread
+    // MODIFIES: startupTiming
+    // EFFECTS: initializes presets, graphics, exit operations, and creates the journal that saves and loads
+    //          presets, then shows the main window at once and opens audio and loads images in the background
+    public FocusClinicApp(StartupTiming startupTiming) {
+        this.startupTiming = startupTiming;
+        eventLogExporter = new EventLogExporter(EventLog.getInstance(), EVENT_LOG_STORE);
+        eventLogExporter.start();
+        buttonIconPaths = new LinkedHashMap<>();
+        initializePresets();
         initializeGraphics();
         initializeExitOperations();
-        jsonWriter = new JsonWriter(JSON_STORE);
-        jsonReader = new JsonReader(JSON_STORE);
-    }
-
-    // REQUIRES: audio files to be a valid relative path
-    // MODIFIES: this
-    // EFFECTS: initializes sounds, puts them in a list, and creates a preset list with a default preset selected
-    private void initializeSound() throws Exception {
-        AudioInputStream getInputStreamForFocusNoise =
-                AudioSystem.getAudioInputStream(new File(FOCUS_NOISE_PATH));
-        AudioInputStream getInputStreamForMeditationNoise =
-                AudioSystem.getAudioInputStream(new File(MEDITATION_NOISE_PATH));
-        AudioInputStream getInputStreamForRestNoise =
-                AudioSystem.getAudioInputStream(new File(REST_NOISE_PATH));
-
-        focusNoise = AudioSystem.getClip();
-        focusNoise.open(getInputStreamForFocusNoise); // gets a Clip and opens file from given path
-        meditationNoise = AudioSystem.getClip();
-        meditationNoise.open(getInputStreamForMeditationNoise);
-        restNoise = AudioSystem.getClip();
-        restNoise.open(getInputStreamForRestNoise);
-
-        noises = new ArrayList<>();
-        addNoisesInOrderOfSpecification(); // creates a list of noises to play and adds noises
+        presetJournal = new PresetJournal(JSON_STORE);
+        mainFrame.addWindowListener(new WindowAdapter() {
+            public void windowOpened(WindowEvent e) {
+                startupTiming.markFirstFrame(); // the opened event is only queued once the frame is on screen
+            }
+        });
+        loadInBackground();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: creates a preset list with a default preset selected
+    private void initializePresets() {
         presets = new PresetList(); // creates a new PresetList and sets to default preset
         presets.addPreset(new Preset("Default", 50, 10, 30));
         presetToPlay = presets.getPresetList().get(0);
     }
 
     // MODIFIES: this
-    // EFFECTS: sets initial field values and adds noises according to app specification
-    private void addNoisesInOrderOfSpecification() {
-        currentNoiseToPlay = 0; // sets first noise to play as focus noise
-        focusSessionsCompleted = 0; // used for tracking sessions completed
-        meditationSessionsCompleted = 0;
-        restSessionsCompleted = 0;
+    // EFFECTS: opens audio and loads images in parallel on background threads, handing each result to the event
+    //          dispatch thread when it is ready, then opens the session history
+    private void loadInBackground() {
+        ExecutorService loaders = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "startup-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture.supplyAsync(FocusClinicApp::openNoisePlayer, loaders)
+                .whenComplete((player, failure) -> SwingUtilities.invokeLater(() -> audioLoaded(player, failure)));
+        CompletableFuture.supplyAsync(this::loadImages, loaders)
+                .thenAccept(images -> SwingUtilities.invokeLater(() -> imagesLoaded(images)));
+        loaders.execute(this::openSessionHistory);
+        loaders.shutdown(); // its threads end once every task has run
+    }
+
+    // EFFECTS: opens a noise player on the audio line; noise is generated while it plays, so nothing is decoded
+    //          unless a sound file for a kind of block is shipped in SOUNDS_DIRECTORY, which is decoded now
+    private static NoisePlayer openNoisePlayer() {
+        try {
+            NoisePlayer noisePlayer = new NoisePlayer();
+            noisePlayer.useSoundFiles(SOUNDS_DIRECTORY);
+            noisePlayer.open();
+            return noisePlayer;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens the history of completed blocks; blocks completed before it is open are not recorded
+    private void openSessionHistory() {
+        SessionHistory history = new SessionHistory(HISTORY_STORE);
+        try {
+            history.open();
+            sessionHistory = history;
+        } catch (IOException e) {
+            System.out.println("Unable to read from file: " + HISTORY_STORE);
+        }
+    }
+
+    // EFFECTS: records a completed block in the session history, if it is open; called on the engine's thread
+    private void recordBlock(BlockType blockType, long presetId, long startEpochMillis, long durationMillis,
+                             long driftMicroSeconds) {
+        SessionHistory history = sessionHistory;
+        if (history == null) {
+            return;
+        }
+        try {
+            history.append(startEpochMillis, durationMillis, blockType, presetId);
+        } catch (IOException e) {
+            System.out.println("Unable to write to file: " + HISTORY_STORE);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: creates the session engine that plays blocks on noisePlayer and starts a session if Start was
+    //          pressed while audio was loading; reports the problem instead if audio could not be opened
+    private void audioLoaded(NoisePlayer noisePlayer, Throwable failure) {
+        if (failure != null) {
+            System.out.println("Sorry, there was an issue running the application.");
+            failure.printStackTrace();
+            startButton.setEnabled(false);
+        } else {
+            this.noisePlayer = noisePlayer;
+            sessionEngine = new SessionEngine(noisePlayer); // plays blocks in the order of the app specification
+            sessionEngine.addBlockObserver(this::recordBlock);
+            if (startQueued) {
+                startSession();
+            }
+        }
+        startupTiming.markAudioReady();
+    }
 
-        noises.add(focusNoise);
-        noises.add(meditationNoise);
-        noises.add(focusNoise);
-        noises.add(meditationNoise);
-        noises.add(restNoise);
+    // EFFECTS: returns the cover photo and every icon, keyed by path
+    private Map<String, ImageIcon> loadImages() {
+        Map<String, ImageIcon> images = new HashMap<>();
+        images.put(COVER_PHOTO_PATH, new ImageIcon(COVER_PHOTO_PATH));
+        images.put(SELECT_ICON_PATH, new ImageIcon(SELECT_ICON_PATH));
+        images.put(DELETE_ICON_PATH, new ImageIcon(DELETE_ICON_PATH));
+        for (String iconPath : buttonIconPaths.values()) {
+            images.put(iconPath, new ImageIcon(iconPath));
+        }
+        return images;
     }
 
-    // REQUIRES: COVER_PHOTO_PATH to be a valid relative path
     // MODIFIES: this
-    // EFFECTS: initializes graphics component of the application
+    // EFFECTS: puts the loaded cover photo and icons in place of their blank placeholders
+    private void imagesLoaded(Map<String, ImageIcon> images) {
+        coverPhoto.setIcon(images.get(COVER_PHOTO_PATH));
+        selectIcon = images.get(SELECT_ICON_PATH);
+        deleteIcon = images.get(DELETE_ICON_PATH);
+        for (Map.Entry<JButton, String> buttonIconPath : buttonIconPaths.entrySet()) {
+            buttonIconPath.getKey().setIcon(images.get(buttonIconPath.getValue()));
+        }
+        startupTiming.markImagesReady();
+    }
+
+    // EFFECTS: returns a blank icon the size of the real ones, which holds their place until they are loaded
+    private static ImageIcon blankIcon() {
+        return new ImageIcon(new BufferedImage(ICON_SIZE, ICON_SIZE, BufferedImage.TYPE_INT_ARGB));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: initializes graphics component of the application, including the model shared by every manage
+    //          presets window; images are left blank at their final size until they are loaded
     private void initializeGraphics() {
+        presetListModel = new PresetListModel(presets);
+        selectIcon = blankIcon();
+        deleteIcon = blankIcon();
+
         mainFrame = new JFrame();
         mainFrame.getContentPane().setBackground(Color.white);
         mainFrame.setLayout(new BorderLayout());
@@ -126,7 +248,9 @@ public class FocusClinicApp implements ActionListener {
         mainFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         mainFrame.setLocationRelativeTo(null);
         mainFrame.setVisible(true);
-        mainFrame.add(new JLabel(new ImageIcon(COVER_PHOTO_PATH)));
+        coverPhoto = new JLabel();
+        coverPhoto.setPreferredSize(new Dimension(COVER_PHOTO_WIDTH, COVER_PHOTO_HEIGHT));
+        mainFrame.add(coverPhoto);
 
         homeButtonArea = new JPanel();
         homeButtonArea.setBackground(Color.WHITE);
@@ -147,45 +271,47 @@ public class FocusClinicApp implements ActionListener {
         addManagePresetsButton();
         addSavePresetsButton();
         addLoadPresetsButton();
+        addSoundsButton();
     }
 
     // REQUIRES: START_ICON_PATH to be a valid relative path
     // MODIFIES: this
     // EFFECTS: adds a start button to homeButtonArea
     private void addStartButton() {
-        JButton startButton = new JButton("Start", new ImageIcon(START_ICON_PATH));
-        addButtonConfiguration(startButton, "start");
+        startButton = new JButton("Start"); // a session started before audio is ready begins once it is
+        addButtonConfiguration(startButton, "start", START_ICON_PATH);
     }
 
     // REQUIRES: RESUME_ICON_PATH to be a valid relative path
     // MODIFIES: this
     // EFFECTS: adds a resume button to homeButtonArea
     private void addResumeButton() {
-        JButton resumeButton = new JButton("Resume", new ImageIcon(RESUME_ICON_PATH));
-        addButtonConfiguration(resumeButton, "resume");
+        JButton resumeButton = new JButton("Resume");
+        addButtonConfiguration(resumeButton, "resume", RESUME_ICON_PATH);
     }
 
     // REQUIRES: PAUSE_ICON_PATH to be a valid relative path
     // MODIFIES: this
     // EFFECTS: adds a pause button to homeButtonArea
     private void addPauseButton() {
-        JButton pauseButton = new JButton("Pause", new ImageIcon(PAUSE_ICON_PATH));
-        addButtonConfiguration(pauseButton, "pause");
+        JButton pauseButton = new JButton("Pause");
+        addButtonConfiguration(pauseButton, "pause", PAUSE_ICON_PATH);
     }
 
     // REQUIRES: TIME_ICON_PATH to be a valid relative path
     // MODIFIES: this
     // EFFECTS: adds a time button to homeButtonArea
     private void addTimeButton() {
-        JButton timeButton = new JButton("Time", new ImageIcon(TIME_ICON_PATH));
-        addButtonConfiguration(timeButton, "time");
+        JButton timeButton = new JButton("Time");
+        addButtonConfiguration(timeButton, "time", TIME_ICON_PATH);
     }
 
     // REQUIRES: ADD_PRESET_ICON_PATH to be a valid relative path
     // MODIFIES: this
     // EFFECTS: adds an add preset button to homeButtonArea
     private void addAddPresetButton() {
-        JButton addPresetButton = new JButton("Add Preset", new ImageIcon(ADD_PRESET_ICON_PATH));
+        JButton addPresetButton = new JButton("Add Preset", blankIcon());
+        buttonIconPaths.put(addPresetButton, ADD_PRESET_ICON_PATH);
         addPresetButton.setIconTextGap(0);
         addPresetButton.setVerticalTextPosition(SwingConstants.BOTTOM);
         addPresetButton.setHorizontalTextPosition(SwingConstants.CENTER);
@@ -210,29 +336,40 @@ public class FocusClinicApp implements ActionListener {
     // MODIFIES: this
     // EFFECTS: adds a manage presets button to homeButtonArea
     private void addManagePresetsButton() {
-        JButton managePresetsButton = new JButton("Manage Presets", new ImageIcon(MANAGE_PRESETS_ICON_PATH));
-        addButtonConfiguration(managePresetsButton, "manage presets");
+        JButton managePresetsButton = new JButton("Manage Presets");
+        addButtonConfiguration(managePresetsButton, "manage presets", MANAGE_PRESETS_ICON_PATH);
     }
 
     // REQUIRES: SAVE_PRESETS_ICON_PATH to be a valid relative path
     // MODIFIES: this
     // EFFECTS: adds a save presets button to homeButtonArea
     private void addSavePresetsButton() {
-        JButton savePresetsButton = new JButton("Save Presets", new ImageIcon(SAVE_PRESETS_ICON_PATH));
-        addButtonConfiguration(savePresetsButton, "save presets");
+        savePresetsButton = new JButton("Save Presets");
+        addButtonConfiguration(savePresetsButton, "save presets", SAVE_PRESETS_ICON_PATH);
     }
 
     // REQUIRES: LOAD_PRESETS_ICON_PATH to be a valid relative path
     // MODIFIES: this
     // EFFECTS: adds a load presets button to homeButtonArea
     private void addLoadPresetsButton() {
-        JButton loadPresetsButton = new JButton("Load Presets", new ImageIcon(LOAD_PRESETS_ICON_PATH));
-        addButtonConfiguration(loadPresetsButton, "load presets");
+        loadPresetsButton = new JButton("Load Presets");
+        addButtonConfiguration(loadPresetsButton, "load presets", LOAD_PRESETS_ICON_PATH);
     }
 
+    // REQUIRES: SOUNDS_ICON_PATH to be a valid relative path
     // MODIFIES: this
-    // EFFECTS: configures button placement for GUI component and adds it to homeButtonArea
-    private void addButtonConfiguration(JButton button, String actionCommand) {
+    // EFFECTS: adds a sounds button to homeButtonArea
+    private void addSoundsButton() {
+        JButton soundsButton = new JButton("Sounds");
+        addButtonConfiguration(soundsButton, "sounds", SOUNDS_ICON_PATH);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: configures button placement for GUI component and adds it to homeButtonArea; the icon at iconPath
+    //          is shown once images are loaded
+    private void addButtonConfiguration(JButton button, String actionCommand, String iconPath) {
+        button.setIcon(blankIcon());
+        buttonIconPaths.put(button, iconPath);
         button.setIconTextGap(0);
         button.setVerticalTextPosition(SwingConstants.BOTTOM);
         button.setHorizontalTextPosition(SwingConstants.CENTER);
@@ -242,21 +379,73 @@ public class FocusClinicApp implements ActionListener {
     }
 
     // MODIFIES: this
-    // EFFECTS: prints an EventLog to the console before the user exits the application
+    // EFFECTS: hides the window when the user exits the application, then flushes the EventLog to file and closes
+    //          the session history off the event dispatch thread before exiting
     private void initializeExitOperations() {
         mainFrame.setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
         mainFrame.addWindowListener(new WindowAdapter() {
             public void windowClosing(WindowEvent e) {
-                printEventLog(EventLog.getInstance());
-                System.exit(0);
+                mainFrame.setVisible(false);
+                Thread exit = new Thread(() -> {
+                    flushEventLog();
+                    closePresetFileWatcher();
+                    closePresetJournal();
+                    closeSessionHistory();
+                    System.exit(0);
+                }, "exit");
+                exit.start();
             }
         });
     }
 
-    // EFFECTS: prints the date and its description for every event in EventLog
-    private void printEventLog(EventLog el) {
-        for (model.Event next : el) {
-            System.out.println(next.toString());
+    // EFFECTS: waits a bounded time for the events logged so far to be written to file
+    private void flushEventLog() {
+        try {
+            if (!eventLogExporter.shutdown(EVENT_LOG_FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.out.println("Event log not fully written to: " + EVENT_LOG_STORE);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // EFFECTS: stops watching the preset file, if it is watched
+    private void closePresetFileWatcher() {
+        PresetFileWatcher watcher = presetFileWatcher;
+        if (watcher == null) {
+            return;
+        }
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            System.out.println("Unable to close file: " + JSON_STORE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // EFFECTS: finishes any compaction of the preset journal and closes it; changes not yet saved stay in the
+    //          journal and are loaded with the saved presets
+    private void closePresetJournal() {
+        try {
+            presetJournal.close();
+        } catch (IOException e) {
+            System.out.println("Unable to write to file: " + JSON_STORE);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: saves and closes the session history, if it is open
+    private void closeSessionHistory() {
+        SessionHistory history = sessionHistory;
+        if (history == null) {
+            return;
+        }
+        sessionHistory = null;
+        try {
+            history.close();
+        } catch (IOException e) {
+            System.out.println("Unable to write to file: " + HISTORY_STORE);
         }
     }
 
@@ -289,80 +478,34 @@ public class FocusClinicApp implements ActionListener {
         if (e.getActionCommand().equals("load presets")) {
             loadPresets();
         }
-    }
-
-    // EFFECTS: starts the session by playing noise with the selected preset
-    private void startSession() {
-        new Thread(() -> {
-            try {
-                playNoise();
-            } catch (IOException ex) {
-                throw new RuntimeException(ex);
-            }
-        }).start();
-    }
-
-    // MODIFIES: this
-    // EFFECTS: plays noises in a loop according to app specification and logs sessions completed
-    private void playNoise() throws IOException {
-        while (true) {
-            playNextNoise(presetToPlay.getFocusTime());
-            focusSessionsCompleted++;
-
-            playNextNoise(presetToPlay.getMeditationTime());
-            meditationSessionsCompleted++;
-
-            playNextNoise(presetToPlay.getFocusTime());
-            focusSessionsCompleted++;
-
-            playNextNoise(presetToPlay.getMeditationTime());
-            meditationSessionsCompleted++;
-
-            playNextNoise(presetToPlay.getRestTime());
-            restSessionsCompleted++;
+        if (e.getActionCommand().equals("sounds")) {
+            chooseSounds();
         }
     }
 
-    // REQUIRES: timeInMinutes >= 1
     // MODIFIES: this
-    // EFFECTS: logs current system time and plays noise with currentNoiseToPlay, then increments it by 1
-    private void playNextNoise(long timeInMinutes) {
-        timeInMicroSeconds = convertMinutesToMicroSeconds(timeInMinutes);
-        getNoiseToPlay = noises.get(currentNoiseToPlay);
-        getNoiseToPlay.start();
-        getNoiseToPlay.loop(Clip.LOOP_CONTINUOUSLY);
-        while (getNoiseToPlay.getMicrosecondPosition() < timeInMicroSeconds) {
-            // loops continuously until the noise has reached given timeInMinutes
+    // EFFECTS: starts the session by playing noise with the selected preset, or queues the start until audio is
+    //          ready; does nothing if already started
+    private void startSession() {
+        if (sessionEngine == null) {
+            startQueued = true;
+            return;
         }
-        getNoiseToPlay.stop(); // noise stops playing once it reaches timeInMinutes
-        getNoiseToPlay.setMicrosecondPosition(0); // resets playback position to 0
-        currentNoiseToPlay = (currentNoiseToPlay + 1) % 5; // increments to next noise to play
-    }
-
-    // REQUIRES: durationInMinutes >= 0
-    //  EFFECTS: converts minutes to microseconds
-    private long convertMinutesToMicroSeconds(long durationInMinutes) {
-        return durationInMinutes * 60000000;
+        startQueued = false;
+        sessionEngine.start(presetToPlay);
     }
 
-    // MODIFIES: this
     // EFFECTS: resumes session after session has been paused
     private void resumeSession() {
-        try {
-            getNoiseToPlay.start();
-            getNoiseToPlay.loop(Clip.LOOP_CONTINUOUSLY);
-        } catch (NullPointerException e) {
-            // do nothing (usually occurs when user clicks resume button without starting the session)
+        if (sessionEngine != null) {
+            sessionEngine.resume(); // does nothing when user clicks resume button without starting the session
         }
     }
 
-    // MODIFIES: this
     // EFFECTS: pauses session after session has started or resumed
     private void pauseSession() {
-        try {
-            getNoiseToPlay.stop();
-        } catch (NullPointerException exception) {
-            // do nothing (usually occurs when user clicks pause button without starting the session)
+        if (sessionEngine != null) {
+            sessionEngine.pause(); // does nothing when user clicks pause button without starting the session
         }
     }
 
@@ -370,51 +513,69 @@ public class FocusClinicApp implements ActionListener {
     // MODIFIES: this
     // EFFECTS: opens a new window that shows time session details
     private void showTime() {
-        try {
-            JFrame timeWindow = new JFrame();
-            timeWindow.getContentPane().setBackground(Color.white);
-            JTextArea timeDetailsText = new JTextArea();
-            timeWindow.setLayout(new GridBagLayout());
-            timeWindow.setMinimumSize(new Dimension(WIDTH / 2, HEIGHT / 2));
-            timeWindow.setLocationRelativeTo(null);
-            timeWindow.setVisible(true);
-            timeDetailsText.setText(getTimeDetails());
-            timeDetailsText.setEnabled(false);
-            timeDetailsText.setBorder(new EmptyBorder(30, 30, 30, 30));
-            timeWindow.add(timeDetailsText);
-            timeWindow.pack();
-        } catch (NullPointerException e) {
-            // do nothing (usually occurs when user clicks time button without starting the session)
-        }
-    }
-
-    // EFFECTS: displays remaining time for the current step and time spent for each session
-    private String getTimeDetails() {
+        SessionSnapshot session = (sessionEngine == null) ? null : sessionEngine.getSnapshot();
+        if (session == null || session.isIdle()) {
+            return; // do nothing (occurs when user clicks time button without starting the session)
+        }
+        JFrame timeWindow = new JFrame();
+        timeWindow.getContentPane().setBackground(Color.white);
+        JTextArea timeDetailsText = new JTextArea();
+        timeWindow.setLayout(new GridBagLayout());
+        timeWindow.setMinimumSize(new Dimension(WIDTH / 2, HEIGHT / 2));
+        timeWindow.setLocationRelativeTo(null);
+        timeWindow.setVisible(true);
+        timeDetailsText.setText(getTimeDetails(session));
+        timeDetailsText.setEnabled(false);
+        timeDetailsText.setBorder(new EmptyBorder(30, 30, 30, 30));
+        timeWindow.add(timeDetailsText);
+        timeWindow.pack();
+    }
+
+    // REQUIRES: !session.isIdle()
+    // EFFECTS: displays remaining time for the current step and time spent in each kind of block today and this
+    //          week, as recorded in the session history
+    private String getTimeDetails(SessionSnapshot session) {
+        long remainingMicroSeconds = session.getRemainingMicroSeconds();
+        LocalDate today = LocalDate.now();
         return "There is "
-                + ((timeInMicroSeconds - getNoiseToPlay.getMicrosecondPosition()) / 60000000)
-                + isRemainingTimeOneMinute() + "and "
-                + (((timeInMicroSeconds - getNoiseToPlay.getMicrosecondPosition()) % 60000000) / 1000000)
-                + isRemainingTimeOneSecond() + "remaining before you will " + getNextStep()
+                + (remainingMicroSeconds / 60000000)
+                + isRemainingTimeOneMinute(remainingMicroSeconds) + "and "
+                + ((remainingMicroSeconds % 60000000) / 1000000)
+                + isRemainingTimeOneSecond(remainingMicroSeconds) + "remaining before you will "
+                + getNextStep(session.getNextBlockType())
                 + "\n"
                 + "\n"
                 + "\n"
-                + "\nTime Spent                                                            "
+                + "\nTime Spent Today                                                      "
+                + getTimeSpent(today, today.plusDays(1))
                 + "\n"
-                + "\nFocusing: "
-                + (presetToPlay.getFocusTime() * focusSessionsCompleted) + " minutes "
-                + "(" + focusSessionsCompleted + " x " + presetToPlay.getFocusTime() + "-minute sessions)"
-                + "\nMeditating: "
-                + (presetToPlay.getMeditationTime() * meditationSessionsCompleted) + " minutes "
-                + "(" + meditationSessionsCompleted + " x " + presetToPlay.getMeditationTime()
-                + "-minute sessions)"
-                + "\nResting: "
-                + (presetToPlay.getRestTime() * restSessionsCompleted) + " minutes "
-                + "(" + restSessionsCompleted + " x " + presetToPlay.getRestTime() + "-minute sessions)";
+                + "\nTime Spent This Week                                                  "
+                + getTimeSpent(SessionHistory.getWeekStart(today), today.plusDays(1));
+    }
+
+    // EFFECTS: lists the minutes spent and blocks completed of each kind on days from (inclusive) to to (exclusive)
+    private String getTimeSpent(LocalDate from, LocalDate to) {
+        SessionHistory history = sessionHistory;
+        if (history == null) {
+            return "\nThe session history is unavailable.";
+        }
+        return "\n"
+                + "\nFocusing: " + getTimeSpent(history, BlockType.FOCUS, from, to)
+                + "\nMeditating: " + getTimeSpent(history, BlockType.MEDITATION, from, to)
+                + "\nResting: " + getTimeSpent(history, BlockType.REST, from, to);
+    }
+
+    // EFFECTS: describes the minutes spent and blocks completed of the given kind on days from (inclusive) to to
+    //          (exclusive)
+    private String getTimeSpent(SessionHistory history, BlockType blockType, LocalDate from, LocalDate to) {
+        long blocks = history.getBlockCount(blockType, from, to);
+        return (history.getTotalMillis(blockType, from, to) / 60000) + " minutes "
+                + "(" + blocks + (blocks == 1 ? " session)" : " sessions)");
     }
 
     // EFFECTS: determines if remaining time should display minute in singular form
-    private String isRemainingTimeOneMinute() {
-        if (((timeInMicroSeconds - getNoiseToPlay.getMicrosecondPosition()) / 60000000) == 1) {
+    private String isRemainingTimeOneMinute(long remainingMicroSeconds) {
+        if ((remainingMicroSeconds / 60000000) == 1) {
             return " minute ";
         } else {
             return " minutes ";
@@ -422,27 +583,23 @@ public class FocusClinicApp implements ActionListener {
     }
 
     // EFFECTS: determines if remaining time should display second in singular form
-    private String isRemainingTimeOneSecond() {
-        if ((((timeInMicroSeconds - getNoiseToPlay.getMicrosecondPosition()) % 60000000) / 1000000) == 1) {
+    private String isRemainingTimeOneSecond(long remainingMicroSeconds) {
+        if (((remainingMicroSeconds % 60000000) / 1000000) == 1) {
             return " second ";
         } else {
             return " seconds ";
         }
     }
 
-    // EFFECTS: determines the next step to complete
-    private String getNextStep() {
-        switch (currentNoiseToPlay) {
-            case 0: // or 2
-            case 2:
+    // EFFECTS: determines the next step to complete from the kind of block that comes next
+    private String getNextStep(BlockType nextBlockType) {
+        switch (nextBlockType) {
+            case MEDITATION:
                 return "meditate.";
-            case 1: // or 4
-            case 4:
+            case FOCUS:
                 return "focus.";
-            case 3:
-                return "rest.";
             default:
-                return "Unable to determine next step (additional noises added).";
+                return "rest.";
         }
     }
 
@@ -475,6 +632,52 @@ public class FocusClinicApp implements ActionListener {
         }
     }
 
+    // MODIFIES: this
+    // EFFECTS: opens a window for choosing, for each kind of block, generated noise or one of the sound files in
+    //          SOUNDS_DIRECTORY; a chosen file is decoded in the background and played from the next such block on.
+    //          Does nothing if audio is not ready yet.
+    private void chooseSounds() {
+        NoisePlayer player = noisePlayer;
+        if (player == null) {
+            return;
+        }
+        List<String> soundFiles = NoisePlayer.listSoundFiles(SOUNDS_DIRECTORY);
+        String[] choices = new String[soundFiles.size() + 1];
+        choices[0] = NOISE_CHOICE;
+        for (int i = 0; i < soundFiles.size(); i++) {
+            choices[i + 1] = Paths.get(soundFiles.get(i)).getFileName().toString();
+        }
+        JPanel soundsPanel = new JPanel(new GridLayout(0, 2, 10, 10));
+        Map<BlockType, JComboBox<String>> choosers = new EnumMap<>(BlockType.class);
+        for (BlockType blockType : BlockType.values()) {
+            JComboBox<String> chooser = new JComboBox<>(choices);
+            chooser.setSelectedIndex(soundFiles.indexOf(player.getSoundFile(blockType)) + 1);
+            choosers.put(blockType, chooser);
+            String name = blockType.toString();
+            soundsPanel.add(new JLabel(name.charAt(0) + name.substring(1).toLowerCase(Locale.ROOT) + " Sound:"));
+            soundsPanel.add(chooser);
+        }
+        configureOptionPaneColor();
+        int answer = JOptionPane.showConfirmDialog(null, soundsPanel, "Block Sounds",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (answer != JOptionPane.OK_OPTION) {
+            return;
+        }
+        for (Map.Entry<BlockType, JComboBox<String>> chooser : choosers.entrySet()) {
+            int chosen = chooser.getValue().getSelectedIndex();
+            String path = chosen <= 0 ? null : soundFiles.get(chosen - 1);
+            if (path == null) {
+                player.setSoundFile(chooser.getKey(), null);
+            } else {
+                CompletableFuture.runAsync(() -> {
+                    if (player.preload(path)) {
+                        player.setSoundFile(chooser.getKey(), path); // only once decoded, so no block waits for it
+                    }
+                });
+            }
+        }
+    }
+
     // EFFECTS: sets the option pane background to white
     private void configureOptionPaneColor() {
         UIManager.put("OptionPane.background", Color.white);
@@ -482,74 +685,164 @@ public class FocusClinicApp implements ActionListener {
     }
 
     // MODIFIES: this
-    // EFFECTS: creates a new window that allows users to view, select, or delete their preset list
+    // EFFECTS: creates a new window that allows users to view, search, select, or delete their preset list; only the
+    //          rows scrolled into view are drawn, so opening the window takes the same time however many presets there
+    //          are
     private void managePresets() {
         managePresetsWindow = new JFrame();
         managePresetsWindow.setSize(1000, 600);
         managePresetsWindow.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        managePresetsWindow.setVisible(true);
-
-        managePresetsScrollablePanel = new JPanel();
-        managePresetsScrollablePanel.setBackground(Color.white);
-        managePresetsScrollablePanel.setLayout(new BoxLayout(managePresetsScrollablePanel, BoxLayout.PAGE_AXIS));
-        JScrollPane managePresetsScrollPane = new JScrollPane(managePresetsScrollablePanel);
-        managePresetsScrollPane.setBackground(Color.white);
-        managePresetsWindow.add(managePresetsScrollPane);
         managePresetsWindow.getContentPane().setBackground(Color.white);
+        managePresetsWindow.setLayout(new BorderLayout());
 
-        JLabel selectedPreset = new JLabel("       Selected Preset: " + presetToPlay.getPresetName() + "          ");
+        selectedPreset = new JLabel("       Selected Preset: " + presetToPlay.getPresetName() + "          ");
         selectedPreset.setBorder(new EmptyBorder(20, 20, 20, 20));
-        managePresetsScrollablePanel.setBorder(new EmptyBorder(15, 10, 10, 10));
-        managePresetsScrollablePanel.add(selectedPreset);
         makePresetsGUI();
+        makePresetFilter();
+        makePresetPanel();
+        managePresetsWindow.add(presetPanel, BorderLayout.SOUTH);
+        managePresetsWindow.setLocationRelativeTo(null);
+        managePresetsWindow.setVisible(true);
     }
 
     // MODIFIES: this
-    // EFFECTS: makes a panel with a list of presets that allows users to view, select, or delete their preset list
+    // EFFECTS: makes a scrollable list of presets backed by presetListModel
     private void makePresetsGUI() {
-        for (Preset preset : presets.getPresetList()) {
-            instantiateManagePresetsPanel();
-            JTextArea presetDetails = new JTextArea(
-                    "          Preset Name: " + preset.getPresetName() + "          "
-                            + "\n"
-                            + "\n          Focus Time: " + preset.getFocusTimeInString() + " minutes          "
-                            + "\n          Meditation Time: " + preset.getMeditationTimeInString()
-                            + " minutes          "
-                            + "\n          Rest Time: " + preset.getRestTimeInString() + " minutes          ");
-
-            presetDetails.setBorder(new EmptyBorder(10, 10, 2, 10));
-            presetDetails.setEnabled(false);
-            managePresetsPanel.add(presetDetails);
-            makePresetPanel();
-            selectButton.addActionListener(e -> {
-                presetToPlay = preset;
-                showConfirmationWindow("Preset Selected.");
-            });
-            deleteButton.addActionListener(e -> {
-                presets.deletePreset(preset);
-                showConfirmationWindow("Preset Deleted.");
-            });
-            constructManagePresetsWindow();
-        }
-    }
-
-    // MODIFIES: this
-    // EFFECTS: assigns managePresetsPanel a new JPanel and sets the layout
-    private void instantiateManagePresetsPanel() {
-        managePresetsPanel = new JPanel();
-        managePresetsPanel.setLayout(new GridBagLayout());
-    }
-
-    // REQUIRES: SELECT_ICON_PATH && DELETE_ICON_PATH to be a valid relative path
-    // MODIFIES: this
-    // EFFECTS: makes a preset panel with buttons select and delete
+        managePresetsList = new JList<>(presetListModel);
+        managePresetsList.setCellRenderer(new PresetCellRenderer());
+        managePresetsList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        // a prototype row fixes the row size, so the list never measures every preset to lay itself out
+        managePresetsList.setPrototypeCellValue(new Preset("A preset name of a typical length", 100, 100, 100));
+        JScrollPane managePresetsScrollPane = new JScrollPane(managePresetsList);
+        managePresetsScrollPane.setBorder(new EmptyBorder(0, 10, 0, 10));
+        managePresetsScrollPane.getViewport().setBackground(Color.white);
+        managePresetsWindow.add(managePresetsScrollPane, BorderLayout.CENTER);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a box above the preset list that filters the list by name as the user types, and shows it with
+    //          the selected preset; the filter is run again once after each burst of changes to the presets while the
+    //          window is open
+    private void makePresetFilter() {
+        presetFilter = new JTextField(20);
+        presetFilter.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                filterPresets();
+            }
+
+            public void removeUpdate(DocumentEvent e) {
+                filterPresets();
+            }
+
+            public void changedUpdate(DocumentEvent e) {
+                filterPresets();
+            }
+        });
+        ListDataListener refilter = new ListDataListener() {
+            public void intervalAdded(ListDataEvent e) {
+                queueRefilter();
+            }
+
+            public void intervalRemoved(ListDataEvent e) {
+                queueRefilter();
+            }
+
+            public void contentsChanged(ListDataEvent e) {
+                queueRefilter();
+            }
+        };
+        presetListModel.addListDataListener(refilter);
+        managePresetsWindow.addWindowListener(new WindowAdapter() {
+            public void windowClosed(WindowEvent e) {
+                presetListModel.removeListDataListener(refilter);
+            }
+        });
+        JPanel filterArea = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        filterArea.setBackground(Color.white);
+        filterArea.setBorder(new EmptyBorder(15, 20, 15, 20));
+        filterArea.add(new JLabel("Search: "));
+        filterArea.add(presetFilter);
+        JPanel header = new JPanel(new BorderLayout());
+        header.setBackground(Color.white);
+        header.add(selectedPreset, BorderLayout.WEST);
+        header.add(filterArea, BorderLayout.EAST);
+        managePresetsWindow.add(header, BorderLayout.NORTH);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if the list is showing search results, runs the filter again once the events already queued have
+    //          been handled, so a burst of changes to the presets, such as a load or a change to the preset file,
+    //          searches once rather than once per change
+    private void queueRefilter() {
+        if (refilterQueued || managePresetsList.getModel() == presetListModel) {
+            return;
+        }
+        refilterQueued = true;
+        SwingUtilities.invokeLater(() -> {
+            refilterQueued = false;
+            filterPresets();
+        });
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows every preset if the filter box is blank, and otherwise the presets whose names best match it,
+    //          found through the name index of the preset list; the selected preset stays selected if it still
+    //          matches
+    private void filterPresets() {
+        String query = presetFilter.getText();
+        if (query.isBlank()) {
+            if (managePresetsList.getModel() != presetListModel) {
+                managePresetsList.setModel(presetListModel);
+            }
+            return;
+        }
+        Preset selected = managePresetsList.getSelectedValue();
+        DefaultListModel<Preset> matches = new DefaultListModel<>();
+        matches.addAll(presets.searchByName(query, SEARCH_RESULT_LIMIT));
+        managePresetsList.setModel(matches);
+        int selectedIndex = (selected == null) ? -1 : matches.indexOf(selected);
+        if (selectedIndex >= 0) {
+            managePresetsList.setSelectedIndex(selectedIndex);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes a preset panel with buttons that select or delete the preset chosen in the list
     private void makePresetPanel() {
         presetPanel = new JPanel();
-        presetPanel.setLayout(new GridLayout(2, 2));
-        selectButton = new JButton("Select", new ImageIcon(SELECT_ICON_PATH));
+        presetPanel.setLayout(new GridLayout(1, 2));
+        presetPanel.setBackground(Color.white);
+        presetPanel.setBorder(new EmptyBorder(10, 0, 20, 0));
+        JButton selectButton = new JButton("Select", selectIcon);
         configurePresetPanelButton(selectButton);
-        deleteButton = new JButton("Delete", new ImageIcon(DELETE_ICON_PATH));
+        JButton deleteButton = new JButton("Delete", deleteIcon);
         configurePresetPanelButton(deleteButton);
+        selectButton.addActionListener(e -> selectPreset(managePresetsList.getSelectedValue()));
+        deleteButton.addActionListener(e -> deletePreset(managePresetsList.getSelectedValue()));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: selects preset to be played; does nothing if no preset is chosen
+    private void selectPreset(Preset preset) {
+        if (preset == null) {
+            return;
+        }
+        presetToPlay = preset;
+        if (sessionEngine != null) {
+            sessionEngine.setPreset(preset); // a running session uses it from its next block
+        }
+        selectedPreset.setText("       Selected Preset: " + preset.getPresetName() + "          ");
+        showConfirmationWindow("Preset Selected.");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: deletes preset from the preset list; does nothing if no preset is chosen
+    private void deletePreset(Preset preset) {
+        if (preset == null) {
+            return;
+        }
+        presets.deletePreset(preset); // presetListModel removes its row
+        showConfirmationWindow("Preset Deleted.");
     }
 
     // MODIFIES: this
@@ -583,39 +876,122 @@ public class FocusClinicApp implements ActionListener {
     }
 
     // MODIFIES: this
-    // EFFECTS: finishes construction of the GUI component for the manage presets window
-    private void constructManagePresetsWindow() {
-        managePresetsPanel.setBorder(new EmptyBorder(0, 0, 20, 0));
-        managePresetsPanel.setBackground(Color.white);
-        managePresetsPanel.add(presetPanel);
-        managePresetsScrollablePanel.add(managePresetsPanel);
-        managePresetsWindow.setLocationRelativeTo(null);
+    // EFFECTS: saves the current session to file on the preset journal's thread, showing its progress on the save
+    //          button, and opens a popup window confirming action once it is done; once presets have been saved or
+    //          loaded, their changes are journaled as they are made, so saving only makes the journal durable
+    private void savePresets() {
+        presetJournal.save(presets, (done, total) -> showProgress(savePresetsButton, "Saving", done, total))
+                .whenComplete((nothing, failure) -> SwingUtilities.invokeLater(() -> presetsSaved(failure)));
     }
 
     // MODIFIES: this
-    // EFFECTS: saves the current session to file and opens a popup window confirming action
-    private void savePresets() {
-        try {
-            jsonWriter.open();
-            jsonWriter.write(presets);
-            jsonWriter.close();
-            showPersistenceConfirmationWindow("Your presets have been saved.");
-        } catch (FileNotFoundException e) {
+    // EFFECTS: puts the save button back and confirms the save, or reports why it failed
+    private void presetsSaved(Throwable failure) {
+        savePresetsButton.setText("Save Presets");
+        if (failure != null) {
             System.out.println("Unable to write to file: " + JSON_STORE);
+        } else {
+            showPersistenceConfirmationWindow("Your presets have been saved.");
         }
     }
 
     // MODIFIES: this
-    // EFFECTS: loads presets from file and opens a popup window confirming action
+    // EFFECTS: loads presets from file, with the changes journaled since, on the preset journal's thread, showing
+    //          its progress on the load button, and opens a popup window confirming action once it is done
     private void loadPresets() {
-        try {
-            presets = jsonReader.read();
-            showPersistenceConfirmationWindow("Your presets have been loaded.");
-        } catch (IOException e) {
+        loadPresetsButton.setEnabled(false);
+        presetJournal.recover((done, total) -> showProgress(loadPresetsButton, "Loading", done, total))
+                .whenComplete((loaded, failure) -> SwingUtilities.invokeLater(() -> presetsLoaded(loaded, failure)));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows the loaded presets and confirms the load, or reports why it failed, and puts the load button
+    //          back
+    private void presetsLoaded(PresetList loaded, Throwable failure) {
+        loadPresetsButton.setText("Load Presets");
+        loadPresetsButton.setEnabled(true);
+        if (failure != null) {
             System.out.println("Unable to read from file: " + JSON_STORE);
+        } else {
+            presets = loaded;
+            presetListModel.setPresetList(presets);
+            keepSelectionValid();
+            showPersistenceConfirmationWindow("Your presets have been loaded.");
         }
     }
 
+    // REQUIRES: called on the event dispatch thread
+    // MODIFIES: this
+    // EFFECTS: starts watching the preset file in the background, so that changes another program makes to it are
+    //          applied to the presets as they are made
+    public void watchPresetFile() {
+        PresetFileWatcher watcher = new PresetFileWatcher(JSON_STORE, presetJournal,
+                diff -> SwingUtilities.invokeLater(() -> presetFileChanged(diff)));
+        CompletableFuture.runAsync(() -> {
+            try {
+                watcher.start();
+                presetFileWatcher = watcher;
+            } catch (IOException e) {
+                System.out.println("Unable to read from file: " + JSON_STORE);
+            }
+        });
+    }
+
+    // MODIFIES: this
+    // EFFECTS: follows the changes another program made to the preset file, keeping the selected preset valid: if
+    //          the presets were loaded or saved, the changes are applied to them and they are saved in full, as the
+    //          journal no longer applies on top of the replaced file; otherwise the presets never came from the
+    //          file, so the file is loaded in full instead
+    private void presetFileChanged(PresetFileDiff diff) {
+        boolean journaled = presetJournal.isRecording(presets);
+        presetJournal.follow(presets, diff) // presetListModel updates only the rows that changed
+                .whenComplete((followed, failure) -> SwingUtilities.invokeLater(
+                        () -> presetFileFollowed(journaled, followed, failure)));
+        keepSelectionValid();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows the presets loaded from the changed preset file, if they replace the presets, or reports why
+    //          the file could not be saved or loaded
+    private void presetFileFollowed(boolean journaled, PresetList followed, Throwable failure) {
+        if (failure != null) {
+            System.out.println((journaled ? "Unable to write to file: " : "Unable to read from file: ") + JSON_STORE);
+        } else if (!journaled) {
+            presets = followed;
+            presetListModel.setPresetList(presets);
+            keepSelectionValid();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes the preset selected to play the one in the presets with its id, or the first preset if it is
+    //          no longer there; keeps it if there are no presets
+    private void keepSelectionValid() {
+        Preset selected = presets.getPresetById(presetToPlay.getId());
+        if (selected == presetToPlay) {
+            return;
+        }
+        if (selected == null) {
+            if (presets.getPresetList().isEmpty()) {
+                return;
+            }
+            selected = presets.getPresetList().get(0);
+        }
+        presetToPlay = selected;
+        if (sessionEngine != null) {
+            sessionEngine.setPreset(selected); // a running session uses it from its next block
+        }
+        if (selectedPreset != null) {
+            selectedPreset.setText("       Selected Preset: " + selected.getPresetName() + "          ");
+        }
+    }
+
+    // EFFECTS: shows on button how far the action it started has got; may be called on any thread
+    private static void showProgress(JButton button, String action, long done, long total) {
+        String progress = total > 0 ? (100 * done / total) + "%" : done + " presets";
+        SwingUtilities.invokeLater(() -> button.setText(action + "\u2026 " + progress));
+    }
+
     // EFFECTS: creates and shows a new popup window confirming persistence action
     private void showPersistenceConfirmationWindow(String persistenceConfirmationText) {
         JFrame persistenceConfirmationWindow = new JFrame();
@@ -1,23 +1,32 @@
 package ui;
 
+import javax.swing.*;
+import java.util.Arrays;
+
 // Starts the application.
 public class Main {
 
-    // EFFECTS: Starts the application, and catches any exceptions made from
-    //                  playing audio.
+    // EFFECTS: Starts the application on the event dispatch thread, and catches any exceptions made from
+    //                  building its window. Audio is opened in the background once the window is shown, and
+    //                  problems opening it are reported by the application itself. Run with --watch-presets to
+    //                  apply changes other programs make to the preset file while the application runs.
 
     //                  Note: Used Exception supertype to catch all exceptions since
     //                  in most cases, users will not be able to resolve this issue from the console.
     //                  Additionally, doesn't clutter the code relevant to the application with redundant
-    //                  error phrases. All audio exceptions that can be thrown are
-    //                  UnsupportedAudioFileException, IOException, LineUnavailableException,
-    //                  SecurityException, IllegalArgumentException, and IllegalStateException.
+    //                  error phrases.
     public static void main(String[] args) {
-        try {
-            new FocusClinicApp();
-        } catch (Exception e) {
-            System.out.println("Sorry, there was an issue running the application.");
-            e.printStackTrace();
-        }
+        boolean watchPresets = Arrays.asList(args).contains("--watch-presets");
+        SwingUtilities.invokeLater(() -> {
+            try {
+                FocusClinicApp app = new FocusClinicApp();
+                if (watchPresets) {
+                    app.watchPresetFile();
+                }
+            } catch (Exception e) {
+                System.out.println("Sorry, there was an issue running the application.");
+                e.printStackTrace();
+            }
+        });
     }
-}
\ No newline at end of file
+}
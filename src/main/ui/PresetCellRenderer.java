@@ -0,0 +1,41 @@
+package ui;
+
+import model.Preset;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+
+// Represents a renderer that draws the details of a preset as one row of a list. A single text area is reused to
+// paint every visible row, so no components are created per preset.
+public class PresetCellRenderer implements ListCellRenderer<Preset> {
+
+    // Fields
+    private final JTextArea presetDetails;
+
+    // EFFECTS: constructs a renderer that draws rows on a white background
+    public PresetCellRenderer() {
+        presetDetails = new JTextArea();
+        presetDetails.setBorder(new EmptyBorder(10, 10, 12, 10));
+        presetDetails.setOpaque(true);
+    }
+
+    // EFFECTS: returns the text area, set up to show the details of preset
+    @Override
+    public Component getListCellRendererComponent(JList<? extends Preset> list, Preset preset, int index,
+                                                  boolean isSelected, boolean cellHasFocus) {
+        presetDetails.setText(getPresetDetails(preset));
+        presetDetails.setBackground(isSelected ? list.getSelectionBackground() : Color.white);
+        presetDetails.setForeground(isSelected ? list.getSelectionForeground() : Color.gray);
+        return presetDetails;
+    }
+
+    // EFFECTS: returns the name and times of preset, one per line
+    private String getPresetDetails(Preset preset) {
+        return "          Preset Name: " + preset.getPresetName() + "          "
+                + "\n"
+                + "\n          Focus Time: " + preset.getFocusTimeInString() + " minutes          "
+                + "\n          Meditation Time: " + preset.getMeditationTimeInString() + " minutes          "
+                + "\n          Rest Time: " + preset.getRestTimeInString() + " minutes          ";
+    }
+}
@@ -0,0 +1,101 @@
+package ui;
+
+import model.Preset;
+import model.PresetList;
+import model.PresetListObserver;
+
+import javax.swing.*;
+import java.util.List;
+
+// Represents the presets of a PresetList as a Swing list model. The model keeps its own copy of the list on the
+// event dispatch thread and applies each change the PresetList reports to it, so views only repaint the rows that
+// changed instead of being rebuilt. The rows are kept as PresetRows, so the rows of a preset are found without
+// scanning the list.
+public class PresetListModel extends AbstractListModel<Preset> implements PresetListObserver {
+
+    // Constants
+    private static final long serialVersionUID = 1L;
+
+    // Fields
+    private final PresetRows rows;
+    private PresetList presetList;
+
+    // REQUIRES: called on the event dispatch thread
+    // EFFECTS: constructs a model showing the presets in presetList
+    public PresetListModel(PresetList presetList) {
+        rows = new PresetRows();
+        setPresetList(presetList);
+    }
+
+    // REQUIRES: called on the event dispatch thread
+    // MODIFIES: this
+    // EFFECTS: stops showing the current preset list and shows the presets in presetList instead
+    public void setPresetList(PresetList presetList) {
+        if (this.presetList != null) {
+            this.presetList.removeObserver(this);
+        }
+        this.presetList = presetList;
+        int oldSize = rows.size();
+        rows.setAll(List.of());
+        if (oldSize > 0) {
+            fireIntervalRemoved(this, 0, oldSize - 1);
+        }
+        rows.setAll(presetList.getPresetList());
+        presetList.addObserver(this);
+        if (rows.size() > 0) {
+            fireIntervalAdded(this, 0, rows.size() - 1);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return rows.size();
+    }
+
+    @Override
+    public Preset getElementAt(int index) {
+        return rows.get(index);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a row for preset at the end, where the PresetList put it
+    @Override
+    public void presetAdded(Preset preset) {
+        onEventDispatchThread(() -> {
+            int index = rows.add(preset);
+            fireIntervalAdded(this, index, index);
+        });
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the first row showing preset
+    @Override
+    public void presetDeleted(Preset preset) {
+        onEventDispatchThread(() -> {
+            int index = rows.removeFirst(preset);
+            if (index >= 0) {
+                fireIntervalRemoved(this, index, index);
+            }
+        });
+    }
+
+    // EFFECTS: repaints the rows showing preset, from the first to the last
+    @Override
+    public void presetUpdated(Preset preset) {
+        onEventDispatchThread(() -> {
+            int[] range = rows.rangeOf(preset);
+            if (range != null) {
+                fireContentsChanged(this, range[0], range[1]);
+            }
+        });
+    }
+
+    // EFFECTS: runs change now if called on the event dispatch thread, and queues it to run there otherwise
+    private void onEventDispatchThread(Runnable change) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            change.run();
+        } else {
+            SwingUtilities.invokeLater(change);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package ui;
+
+import model.Preset;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Represents the rows of a list of presets, in order, as a PresetListModel shows them. Rows are only ever added at
+// the end and a deleted row leaves an empty slot behind, so a row keeps its slot until the slots are compacted. The
+// slots of each preset are kept with it, and a binary indexed tree counts the rows in the slots before any slot, so
+// finding the row of a preset, or the preset in a row, takes time logarithmic in the number of slots rather than a
+// scan of the rows.
+class PresetRows {
+
+    // Constants
+    private static final int MIN_CAPACITY = 16;
+
+    // Fields
+    private final Map<Preset, Deque<Integer>> slotsByPreset;
+    private Preset[] slots;
+    private int[] rowCounts;
+    private int slotsUsed;
+    private int size;
+
+    // EFFECTS: constructs an empty list of rows
+    PresetRows() {
+        slotsByPreset = new IdentityHashMap<>();
+        slots = new Preset[MIN_CAPACITY];
+        rowCounts = new int[MIN_CAPACITY + 1];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the rows with a row for each of presets, in order
+    void setAll(List<Preset> presets) {
+        slotsByPreset.clear();
+        slots = presets.toArray(new Preset[Math.max(MIN_CAPACITY, presets.size() * 2)]);
+        slotsUsed = presets.size();
+        size = presets.size();
+        for (int slot = 0; slot < slotsUsed; slot++) {
+            slotsByPreset.computeIfAbsent(slots[slot], preset -> new ArrayDeque<>(1)).addLast(slot);
+        }
+        countRows();
+    }
+
+    // EFFECTS: returns the number of rows
+    int size() {
+        return size;
+    }
+
+    // REQUIRES: 0 <= row < size()
+    // EFFECTS: returns the preset in the given row, found by walking down the tree to the slot with row rows before it
+    Preset get(int row) {
+        int slot = 0;
+        int rowsBefore = row;
+        for (int step = Integer.highestOneBit(slots.length); step > 0; step >>= 1) {
+            int next = slot + step;
+            if (next <= slots.length && rowCounts[next] <= rowsBefore) {
+                slot = next;
+                rowsBefore -= rowCounts[next];
+            }
+        }
+        return slots[slot];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a row for preset at the end and returns its row
+    int add(Preset preset) {
+        if (slotsUsed == slots.length) {
+            compact();
+        }
+        int slot = slotsUsed++;
+        slots[slot] = preset;
+        changeCount(slot, 1);
+        slotsByPreset.computeIfAbsent(preset, p -> new ArrayDeque<>(1)).addLast(slot);
+        return size++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the first row showing preset and returns the row it was in, or -1 if no row shows it
+    int removeFirst(Preset preset) {
+        Deque<Integer> presetSlots = slotsByPreset.get(preset);
+        if (presetSlots == null) {
+            return -1;
+        }
+        int slot = presetSlots.removeFirst();
+        if (presetSlots.isEmpty()) {
+            slotsByPreset.remove(preset);
+        }
+        int row = rowsBefore(slot);
+        slots[slot] = null;
+        changeCount(slot, -1);
+        size--;
+        return row;
+    }
+
+    // EFFECTS: returns the first and last rows showing preset, or null if no row shows it
+    int[] rangeOf(Preset preset) {
+        Deque<Integer> presetSlots = slotsByPreset.get(preset);
+        if (presetSlots == null) {
+            return null;
+        }
+        return new int[] {rowsBefore(presetSlots.getFirst()), rowsBefore(presetSlots.getLast())};
+    }
+
+    // EFFECTS: returns the number of rows in the slots before slot
+    private int rowsBefore(int slot) {
+        int rows = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            rows += rowCounts[i];
+        }
+        return rows;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds change to the count of rows in slot
+    private void changeCount(int slot, int change) {
+        for (int i = slot + 1; i <= slots.length; i += i & -i) {
+            rowCounts[i] += change;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves the rows into the first slots, in order, leaving as many free slots as rows
+    private void compact() {
+        Preset[] rows = new Preset[Math.max(MIN_CAPACITY, size * 2)];
+        int row = 0;
+        for (int slot = 0; slot < slotsUsed; slot++) {
+            if (slots[slot] != null) {
+                rows[row++] = slots[slot];
+            }
+        }
+        slots = rows;
+        slotsUsed = size;
+        slotsByPreset.clear();
+        for (int slot = 0; slot < slotsUsed; slot++) {
+            slotsByPreset.computeIfAbsent(slots[slot], preset -> new ArrayDeque<>(1)).addLast(slot);
+        }
+        countRows();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: rebuilds the tree of row counts from the slots
+    private void countRows() {
+        rowCounts = new int[slots.length + 1];
+        for (int i = 1; i <= slots.length; i++) {
+            if (slots[i - 1] != null) {
+                rowCounts[i]++;
+            }
+            int parent = i + (i & -i);
+            if (parent <= slots.length) {
+                rowCounts[parent] += rowCounts[i];
+            }
+        }
+    }
+}
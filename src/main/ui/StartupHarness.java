@@ -0,0 +1,32 @@
+package ui;
+
+import javax.swing.*;
+import java.util.concurrent.TimeUnit;
+
+// Measures how long the application takes to start: it launches the application, waits until audio and images
+// are ready, prints the time to first frame and the time to ready, and exits. Run it in a fresh JVM each time:
+//     java -cp "out:lib/*" ui.StartupHarness
+public class StartupHarness {
+
+    // Constants
+    private static final long READY_TIMEOUT_SECONDS = 60;
+
+    // EFFECTS: launches the application and prints the timing of its startup
+    public static void main(String[] args) throws Exception {
+        StartupTiming timing = new StartupTiming();
+        SwingUtilities.invokeLater(() -> {
+            try {
+                new FocusClinicApp(timing);
+            } catch (Exception e) {
+                System.out.println("The application could not start: " + e);
+                System.exit(1);
+            }
+        });
+        if (!timing.awaitReady(READY_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            System.out.println("Not ready after " + READY_TIMEOUT_SECONDS + " s. " + timing.report());
+            System.exit(1);
+        }
+        System.out.println(timing.report());
+        System.exit(0);
+    }
+}
@@ -0,0 +1,74 @@
+package ui;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Represents the timeline of one application startup: when the main window was first shown, and when audio and
+// images finished loading in the background. Times are measured from the start of the JVM.
+public class StartupTiming {
+
+    // Fields
+    private final CountDownLatch ready;
+    private volatile long firstFrameMillis;
+    private volatile long audioReadyMillis;
+    private volatile long imagesReadyMillis;
+
+    // EFFECTS: constructs a timeline with nothing marked yet
+    public StartupTiming() {
+        ready = new CountDownLatch(2);
+        firstFrameMillis = -1;
+        audioReadyMillis = -1;
+        imagesReadyMillis = -1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that the main window has been shown
+    public void markFirstFrame() {
+        firstFrameMillis = uptime();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that audio has finished opening, whether or not it succeeded
+    public void markAudioReady() {
+        audioReadyMillis = uptime();
+        ready.countDown();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that icons and the cover photo have finished loading
+    public void markImagesReady() {
+        imagesReadyMillis = uptime();
+        ready.countDown();
+    }
+
+    // EFFECTS: waits up to timeout for audio and images to be ready and returns true if they are
+    public boolean awaitReady(long timeout, TimeUnit unit) throws InterruptedException {
+        return ready.await(timeout, unit);
+    }
+
+    // EFFECTS: returns the milliseconds from JVM start until the main window was shown, or -1 if it has not been
+    public long getTimeToFirstFrame() {
+        return firstFrameMillis;
+    }
+
+    // EFFECTS: returns the milliseconds from JVM start until audio and images were both ready, or -1 if they are
+    //          not yet
+    public long getTimeToReady() {
+        if (ready.getCount() > 0) {
+            return -1;
+        }
+        return Math.max(audioReadyMillis, imagesReadyMillis);
+    }
+
+    // EFFECTS: returns a one-line summary of the startup
+    public String report() {
+        return "Startup: first frame " + firstFrameMillis + " ms, audio ready " + audioReadyMillis
+                + " ms, images ready " + imagesReadyMillis + " ms, ready " + getTimeToReady() + " ms";
+    }
+
+    // EFFECTS: returns the milliseconds since the JVM started
+    private static long uptime() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
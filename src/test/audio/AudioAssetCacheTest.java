@@ -0,0 +1,164 @@
+package audio;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for AudioAssetCache and LoopingSampleSource.
+public class AudioAssetCacheTest {
+
+    // Constants
+    private static final int FRAMES = 1000;
+    private static final int BYTES = FRAMES * BrownianNoiseGenerator.BYTES_PER_FRAME;
+
+    // Fields
+    private Path directory;
+    private String first;
+    private String second;
+    private String third;
+    private AudioAssetCache testCache;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        directory = Files.createTempDirectory("testAudioAssetCache");
+        first = writeWav("first.wav", 1, BrownianNoiseGenerator.FORMAT);
+        second = writeWav("second.wav", 2, BrownianNoiseGenerator.FORMAT);
+        third = writeWav("third.wav", 3, BrownianNoiseGenerator.FORMAT);
+        testCache = new AudioAssetCache(2 * BYTES);
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    void testDecodesOnFirstUse() throws Exception {
+        ByteBuffer samples = testCache.get(first);
+
+        assertEquals(BYTES, samples.remaining());
+        assertTrue(samples.isDirect());
+        assertTrue(samples.isReadOnly());
+        assertEquals(1, samples.get(0));
+        assertEquals(0, testCache.getHitCount());
+        assertEquals(1, testCache.getMissCount());
+        assertEquals(BYTES, testCache.getResidentBytes());
+        assertTrue(testCache.contains(first));
+    }
+
+    @Test
+    void testServesViewsOfSharedBuffer() throws Exception {
+        ByteBuffer view = testCache.get(first);
+        view.position(100);
+        ByteBuffer otherView = testCache.get(first);
+
+        assertEquals(0, otherView.position());
+        assertEquals(1, testCache.getHitCount());
+        assertEquals(1, testCache.getMissCount());
+        assertEquals(BYTES, testCache.getResidentBytes());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() throws Exception {
+        testCache.get(first);
+        testCache.get(second);
+        testCache.get(first);
+        testCache.get(third);
+
+        assertTrue(testCache.contains(first));
+        assertFalse(testCache.contains(second));
+        assertTrue(testCache.contains(third));
+        assertEquals(1, testCache.getEvictionCount());
+        assertEquals(2 * BYTES, testCache.getResidentBytes());
+    }
+
+    @Test
+    void testViewStaysValidAfterEviction() throws Exception {
+        ByteBuffer view = testCache.get(first);
+        testCache.get(second);
+        testCache.get(third);
+
+        assertFalse(testCache.contains(first));
+        assertEquals(1, view.get(BYTES - 2));
+    }
+
+    @Test
+    void testSoundLargerThanBudget() throws Exception {
+        AudioAssetCache smallCache = new AudioAssetCache(BYTES / 2);
+        smallCache.get(first);
+        smallCache.get(second);
+
+        assertFalse(smallCache.contains(first));
+        assertTrue(smallCache.contains(second));
+        assertEquals(1, smallCache.getEvictionCount());
+    }
+
+    @Test
+    void testClear() throws Exception {
+        testCache.get(first);
+        testCache.get(second);
+        testCache.clear();
+
+        assertEquals(0, testCache.getResidentBytes());
+        assertEquals(2, testCache.getEvictionCount());
+        assertEquals(2 * BYTES, testCache.getByteBudget());
+    }
+
+    @Test
+    void testConvertsOtherFormats() throws Exception {
+        AudioFormat bigEndian = new AudioFormat(BrownianNoiseGenerator.SAMPLE_RATE, 16, 1, true, true);
+        String converted = writeWav("bigEndian.wav", 5, bigEndian);
+        ByteBuffer samples = testCache.get(converted);
+
+        assertEquals(BYTES, samples.remaining());
+    }
+
+    @Test
+    void testMissingAndInvalidFiles() throws IOException {
+        Path notAudio = directory.resolve("notAudio.wav");
+        Files.writeString(notAudio, "not audio");
+
+        assertThrows(IOException.class, () -> testCache.get(directory.resolve("missing.wav").toString()));
+        assertThrows(UnsupportedAudioFileException.class, () -> testCache.get(notAudio.toString()));
+        assertEquals(0, testCache.getResidentBytes());
+    }
+
+    @Test
+    void testLoopingSourceRepeatsSound() throws Exception {
+        NoiseSource loop = testCache.openLoop(first);
+        for (int i = 0; i < 3 * FRAMES; i++) {
+            assertEquals(257.0 / Short.MAX_VALUE, loop.nextSample());
+        }
+        assertEquals(0, new LoopingSampleSource(ByteBuffer.allocate(0)).nextSample());
+    }
+
+    // EFFECTS: writes a WAV file in directory with FRAMES frames whose bytes all equal value, and returns its path
+    private String writeWav(String name, int value, AudioFormat format) throws IOException {
+        byte[] pcm = new byte[BYTES];
+        Arrays.fill(pcm, (byte) value);
+        Path file = directory.resolve(name);
+        try (AudioInputStream stream = new AudioInputStream(new ByteArrayInputStream(pcm), format, FRAMES)) {
+            AudioSystem.write(stream, AudioFileFormat.Type.WAVE, file.toFile());
+        }
+        return file.toString();
+    }
+}
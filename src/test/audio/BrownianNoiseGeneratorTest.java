@@ -0,0 +1,116 @@
+package audio;
+
+import model.BlockType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for BrownianNoiseGenerator.
+public class BrownianNoiseGeneratorTest {
+
+    // Constants
+    private static final int FRAMES_PER_BUFFER = 2048;
+    private static final int SAMPLES_TO_ANALYZE = 441000;
+    private static final long ONE_MINUTE_CLIP_BYTES = (long) BrownianNoiseGenerator.SAMPLE_RATE * 60
+            * BrownianNoiseGenerator.BYTES_PER_FRAME;
+
+    // Fields
+    private BrownianNoiseGenerator testFocusGenerator;
+    private BrownianNoiseGenerator testRestGenerator;
+    private byte[] buffer;
+
+    @BeforeEach
+    void runBefore() {
+        testFocusGenerator = new BrownianNoiseGenerator(NoiseProfile.FOCUS, 42);
+        testRestGenerator = new BrownianNoiseGenerator(NoiseProfile.REST, 42);
+        buffer = new byte[FRAMES_PER_BUFFER * BrownianNoiseGenerator.BYTES_PER_FRAME];
+    }
+
+    @Test
+    void testSameSeedGivesSameNoise() {
+        BrownianNoiseGenerator other = new BrownianNoiseGenerator(NoiseProfile.FOCUS, 42);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(testFocusGenerator.nextSample(), other.nextSample());
+        }
+    }
+
+    @Test
+    void testSamplesStayInRange() {
+        double peak = 0;
+        double energy = 0;
+        for (int i = 0; i < SAMPLES_TO_ANALYZE; i++) {
+            double sample = testRestGenerator.nextSample();
+            peak = Math.max(peak, Math.abs(sample));
+            energy += sample * sample;
+        }
+        assertTrue(peak <= 1);
+        assertTrue(energy / SAMPLES_TO_ANALYZE > 0.001); // not silent
+    }
+
+    @Test
+    void testFocusNoiseIsDarkerThanRestNoise() {
+        assertTrue(brightness(testFocusGenerator) < brightness(testRestGenerator));
+        assertTrue(brightness(new BrownianNoiseGenerator(NoiseProfile.MEDITATION, 42))
+                < brightness(new BrownianNoiseGenerator(NoiseProfile.REST, 7)));
+    }
+
+    @Test
+    void testFillWritesLittleEndianSamples() {
+        BrownianNoiseGenerator other = new BrownianNoiseGenerator(NoiseProfile.FOCUS, 42);
+        testFocusGenerator.fill(buffer, 0, 4);
+        for (int i = 0; i < 4; i++) {
+            int expected = (int) Math.round(other.nextSample() * Short.MAX_VALUE);
+            int actual = (buffer[2 * i] & 0xFF) | (buffer[2 * i + 1] << 8);
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void testSteadyStateGenerationDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        int buffersPerMinute = (int) (ONE_MINUTE_CLIP_BYTES / buffer.length);
+        for (int i = 0; i < buffersPerMinute; i++) {
+            testFocusGenerator.fill(buffer, 0, FRAMES_PER_BUFFER);
+        }
+
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < buffersPerMinute; i++) {
+            testFocusGenerator.fill(buffer, 0, FRAMES_PER_BUFFER);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        // a minute of noise costs less than the buffer it is written to, versus a whole minute of PCM for a Clip
+        assertTrue(allocated < buffer.length, "allocated " + allocated + " bytes");
+        assertTrue(buffer.length * 1000L < ONE_MINUTE_CLIP_BYTES);
+    }
+
+    @Test
+    void testProfileForBlock() {
+        assertSame(NoiseProfile.FOCUS, NoiseProfile.forBlock(BlockType.FOCUS));
+        assertSame(NoiseProfile.MEDITATION, NoiseProfile.forBlock(BlockType.MEDITATION));
+        assertSame(NoiseProfile.REST, NoiseProfile.forBlock(BlockType.REST));
+        assertEquals(10, NoiseProfile.FOCUS.getCornerFrequency());
+        assertEquals(400, NoiseProfile.FOCUS.getCutoffFrequency());
+        assertEquals(0.8, NoiseProfile.FOCUS.getGain());
+    }
+
+    // EFFECTS: returns the energy of the first difference of the generator's output relative to its energy,
+    //          which grows with how much high-frequency content the noise has
+    private double brightness(BrownianNoiseGenerator generator) {
+        double previous = generator.nextSample();
+        double energy = 0;
+        double differenceEnergy = 0;
+        for (int i = 0; i < SAMPLES_TO_ANALYZE; i++) {
+            double sample = generator.nextSample();
+            energy += sample * sample;
+            differenceEnergy += (sample - previous) * (sample - previous);
+            previous = sample;
+        }
+        return differenceEnergy / energy;
+    }
+}
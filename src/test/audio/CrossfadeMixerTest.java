@@ -0,0 +1,217 @@
+package audio;
+
+import model.BlockType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for CrossfadeMixer.
+public class CrossfadeMixerTest {
+
+    // Constants
+    private static final int CROSSFADE_FRAMES = 1024;
+    private static final int WARM_UP_FRAMES = 44100;
+    private static final double TOLERANCE = 1e-12;
+
+    // Fields
+    private CrossfadeMixer testMixer;
+    private BrownianNoiseGenerator focus;
+    private BrownianNoiseGenerator rest;
+    private BrownianNoiseGenerator focusTwin;
+    private BrownianNoiseGenerator restTwin;
+
+    @BeforeEach
+    void runBefore() {
+        testMixer = new CrossfadeMixer(CROSSFADE_FRAMES);
+        focus = new BrownianNoiseGenerator(NoiseProfile.FOCUS, 42);
+        rest = new BrownianNoiseGenerator(NoiseProfile.REST, 7);
+        focusTwin = new BrownianNoiseGenerator(NoiseProfile.FOCUS, 42);
+        restTwin = new BrownianNoiseGenerator(NoiseProfile.REST, 7);
+    }
+
+    @Test
+    void testSilentUntilFirstCrossfade() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, testMixer.nextSample());
+        }
+        assertFalse(testMixer.isCrossfading());
+        assertEquals(CROSSFADE_FRAMES, testMixer.getCrossfadeFrames());
+    }
+
+    @Test
+    void testFadeInFromSilence() {
+        testMixer.crossfadeTo(focus);
+        assertTrue(testMixer.isCrossfading());
+        for (int i = 0; i < CROSSFADE_FRAMES; i++) {
+            assertEquals(focusTwin.nextSample() * fadeIn(i), testMixer.nextSample(), TOLERANCE);
+        }
+        assertFalse(testMixer.isCrossfading());
+        assertEquals(focusTwin.nextSample(), testMixer.nextSample());
+    }
+
+    @Test
+    void testCrossfadeIsSampleAccurate() {
+        playFor(focus, WARM_UP_FRAMES);
+        skip(focusTwin, WARM_UP_FRAMES);
+
+        testMixer.crossfadeTo(rest);
+        for (int i = 0; i < CROSSFADE_FRAMES; i++) {
+            double expected = focusTwin.nextSample() * fadeIn(CROSSFADE_FRAMES - 1 - i)
+                    + restTwin.nextSample() * fadeIn(i);
+            assertEquals(expected, testMixer.nextSample(), TOLERANCE, "frame " + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(restTwin.nextSample(), testMixer.nextSample());
+        }
+    }
+
+    @Test
+    void testCrossfadeHasNoDiscontinuities() {
+        double steadyStep = Math.max(maxStep(focusTwin, WARM_UP_FRAMES), maxStep(restTwin, WARM_UP_FRAMES));
+        playFor(focus, WARM_UP_FRAMES);
+
+        double previous = testMixer.nextSample();
+        double transitionStep = 0;
+        testMixer.crossfadeTo(rest);
+        for (int i = 0; i < 3 * CROSSFADE_FRAMES; i++) {
+            double sample = testMixer.nextSample();
+            transitionStep = Math.max(transitionStep, Math.abs(sample - previous));
+            previous = sample;
+        }
+
+        // each frame is two steady signals scaled by gains that change by less than 0.2% per frame
+        assertTrue(transitionStep <= Math.sqrt(2) * steadyStep + 0.005,
+                "step of " + transitionStep + " during crossfade, " + steadyStep + " in steady noise");
+    }
+
+    @Test
+    void testCrossfadeRenderedIntoBufferHasNoDiscontinuities() {
+        byte[] buffer = new byte[4 * CROSSFADE_FRAMES * BrownianNoiseGenerator.BYTES_PER_FRAME];
+        int maxSteadyStep = (int) Math.ceil(maxStep(focusTwin, WARM_UP_FRAMES) * Short.MAX_VALUE);
+        playFor(focus, WARM_UP_FRAMES);
+
+        testMixer.fill(buffer, 0, CROSSFADE_FRAMES);
+        testMixer.crossfadeTo(new BrownianNoiseGenerator(NoiseProfile.FOCUS, 99));
+        testMixer.fill(buffer, CROSSFADE_FRAMES * BrownianNoiseGenerator.BYTES_PER_FRAME, 3 * CROSSFADE_FRAMES);
+
+        int previous = sampleAt(buffer, 0);
+        for (int frame = 1; frame < 4 * CROSSFADE_FRAMES; frame++) {
+            int sample = sampleAt(buffer, frame);
+            assertTrue(Math.abs(sample - previous) <= 2 * maxSteadyStep, "jump at frame " + frame);
+            previous = sample;
+        }
+    }
+
+    @Test
+    void testRequestDuringCrossfadeStartsWhenItEnds() {
+        BrownianNoiseGenerator meditation = new BrownianNoiseGenerator(NoiseProfile.MEDITATION, 3);
+        BrownianNoiseGenerator meditationTwin = new BrownianNoiseGenerator(NoiseProfile.MEDITATION, 3);
+        playFor(focus, WARM_UP_FRAMES);
+        skip(focusTwin, WARM_UP_FRAMES);
+
+        testMixer.crossfadeTo(rest);
+        skipMixer(CROSSFADE_FRAMES / 2);
+        testMixer.crossfadeTo(meditation);
+        skipMixer(CROSSFADE_FRAMES - CROSSFADE_FRAMES / 2);
+        skip(restTwin, CROSSFADE_FRAMES);
+        assertTrue(testMixer.isCrossfading());
+
+        for (int i = 0; i < CROSSFADE_FRAMES; i++) {
+            double expected = restTwin.nextSample() * fadeIn(CROSSFADE_FRAMES - 1 - i)
+                    + meditationTwin.nextSample() * fadeIn(i);
+            assertEquals(expected, testMixer.nextSample(), TOLERANCE);
+        }
+        assertEquals(meditationTwin.nextSample(), testMixer.nextSample());
+    }
+
+    @Test
+    void testCrossfadeToCurrentDoesNothing() {
+        playFor(focus, CROSSFADE_FRAMES + 10);
+        skip(focusTwin, CROSSFADE_FRAMES + 10);
+        testMixer.crossfadeTo(focus);
+
+        assertEquals(focusTwin.nextSample(), testMixer.nextSample());
+        assertFalse(testMixer.isCrossfading());
+    }
+
+    @Test
+    void testFadeOutToSilence() {
+        playFor(focus, WARM_UP_FRAMES);
+        testMixer.crossfadeTo(null);
+        skipMixer(CROSSFADE_FRAMES);
+
+        assertEquals(0, testMixer.nextSample());
+    }
+
+    @Test
+    void testCut() {
+        playFor(focus, 10);
+        testMixer.crossfadeTo(rest);
+        testMixer.cut();
+
+        assertFalse(testMixer.isCrossfading());
+        assertEquals(0, testMixer.nextSample());
+    }
+
+    @Test
+    void testPlayerLatencyIsBounded() {
+        Map<BlockType, NoiseProfile> profiles = new EnumMap<>(BlockType.class);
+        for (BlockType blockType : BlockType.values()) {
+            profiles.put(blockType, NoiseProfile.forBlock(blockType));
+        }
+        NoisePlayer player = new NoisePlayer(profiles, 100, new AudioAssetCache(0));
+
+        // a transition starts within a quarter of a second of play(), and lasts as long as configured
+        assertTrue(player.getMaxLatencyFrames() <= BrownianNoiseGenerator.SAMPLE_RATE / 4);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: fades generator in and plays it for the given number of frames in total
+    private void playFor(BrownianNoiseGenerator generator, int frames) {
+        testMixer.crossfadeTo(generator);
+        skipMixer(frames);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: discards the next frames samples of the mixer
+    private void skipMixer(int frames) {
+        for (int i = 0; i < frames; i++) {
+            testMixer.nextSample();
+        }
+    }
+
+    // MODIFIES: generator
+    // EFFECTS: discards the next frames samples of generator
+    private void skip(BrownianNoiseGenerator generator, int frames) {
+        for (int i = 0; i < frames; i++) {
+            generator.nextSample();
+        }
+    }
+
+    // MODIFIES: generator
+    // EFFECTS: returns the largest difference between consecutive samples over the next frames samples
+    private double maxStep(BrownianNoiseGenerator generator, int frames) {
+        double previous = generator.nextSample();
+        double maxStep = 0;
+        for (int i = 1; i < frames; i++) {
+            double sample = generator.nextSample();
+            maxStep = Math.max(maxStep, Math.abs(sample - previous));
+            previous = sample;
+        }
+        return maxStep;
+    }
+
+    // EFFECTS: returns the gain of the incoming noise at frame i of a crossfade
+    private double fadeIn(int i) {
+        return Math.sin(0.5 * Math.PI * (i + 0.5) / CROSSFADE_FRAMES);
+    }
+
+    // EFFECTS: returns the 16-bit little-endian sample of the given frame in buffer
+    private int sampleAt(byte[] buffer, int frame) {
+        return (buffer[2 * frame] & 0xFF) | (buffer[2 * frame + 1] << 8);
+    }
+}
@@ -0,0 +1,106 @@
+package audio;
+
+import model.BlockType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for the sound file settings of NoisePlayer; playback needs an audio line, so it is not tested here.
+public class NoisePlayerTest {
+
+    // Constants
+    private static final int FRAMES = 100;
+
+    // Fields
+    private Path directory;
+    private AudioAssetCache testCache;
+    private NoisePlayer testPlayer;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        directory = Files.createTempDirectory("testNoisePlayer");
+        testCache = new AudioAssetCache(AudioAssetCache.DEFAULT_BYTE_BUDGET);
+        testPlayer = new NoisePlayer(Map.of(BlockType.FOCUS, NoiseProfile.forBlock(BlockType.FOCUS),
+                BlockType.MEDITATION, NoiseProfile.forBlock(BlockType.MEDITATION),
+                BlockType.REST, NoiseProfile.forBlock(BlockType.REST)), NoisePlayer.DEFAULT_CROSSFADE_MILLIS,
+                testCache);
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    void testListSoundFiles() throws IOException {
+        String rest = writeWav("rest.wav");
+        String ocean = writeWav("Ocean.WAV");
+        Files.writeString(directory.resolve("notes.txt"), "not a sound");
+
+        assertEquals(List.of(ocean, rest), NoisePlayer.listSoundFiles(directory.toString()));
+        assertTrue(NoisePlayer.listSoundFiles(directory.resolve("missing").toString()).isEmpty());
+    }
+
+    @Test
+    void testShippedSoundFilesUsedForTheirBlocks() throws IOException {
+        String focus = writeWav("focus.wav");
+        String rest = writeWav("REST.wav");
+        writeWav("ocean.wav");
+
+        testPlayer.useSoundFiles(directory.toString());
+
+        assertEquals(focus, testPlayer.getSoundFile(BlockType.FOCUS));
+        assertNull(testPlayer.getSoundFile(BlockType.MEDITATION));
+        assertEquals(rest, testPlayer.getSoundFile(BlockType.REST));
+        assertTrue(testCache.contains(focus));
+        assertTrue(testCache.contains(rest));
+    }
+
+    @Test
+    void testUndecodableSoundFileLeftOut() throws IOException {
+        Files.writeString(directory.resolve("meditation.wav"), "not a sound");
+
+        testPlayer.useSoundFiles(directory.toString());
+
+        assertNull(testPlayer.getSoundFile(BlockType.MEDITATION));
+        assertFalse(testPlayer.preload(directory.resolve("meditation.wav").toString()));
+    }
+
+    @Test
+    void testSetSoundFile() throws IOException {
+        String ocean = writeWav("ocean.wav");
+        testPlayer.setSoundFile(BlockType.FOCUS, ocean);
+        assertEquals(ocean, testPlayer.getSoundFile(BlockType.FOCUS));
+
+        testPlayer.setSoundFile(BlockType.FOCUS, null);
+        assertNull(testPlayer.getSoundFile(BlockType.FOCUS));
+    }
+
+    // EFFECTS: writes a short silent WAV file in directory and returns its path
+    private String writeWav(String name) throws IOException {
+        Path file = directory.resolve(name);
+        byte[] pcm = new byte[FRAMES * BrownianNoiseGenerator.BYTES_PER_FRAME];
+        try (AudioInputStream stream = new AudioInputStream(new ByteArrayInputStream(pcm),
+                BrownianNoiseGenerator.FORMAT, FRAMES)) {
+            AudioSystem.write(stream, AudioFileFormat.Type.WAVE, file.toFile());
+        }
+        return file.toString();
+    }
+}
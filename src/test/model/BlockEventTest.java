@@ -0,0 +1,140 @@
+package model;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for the Java Flight Recorder events of the model: BlockEvent and PresetListChangeEvent.
+public class BlockEventTest {
+
+    // Fields
+    private Recording recording;
+    private Path recordingFile;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        recording = new Recording();
+        recording.enable("focusclinic.Block");
+        recording.enable("focusclinic.PresetListChange");
+        recordingFile = Files.createTempFile("testBlockEvent", ".jfr");
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        recording.close();
+        Files.deleteIfExists(recordingFile);
+    }
+
+    @Test
+    void testBlocksRecorded() throws Exception {
+        ScheduledExecutorService owner = Executors.newSingleThreadScheduledExecutor();
+        SessionEngine engine = new SessionEngine(new SilentTestPlayer(), owner, TimeUnit.MILLISECONDS);
+        CountDownLatch firstBlock = new CountDownLatch(1);
+        engine.addBlockObserver((blockType, presetId, startEpochMillis, durationMillis, drift) ->
+                firstBlock.countDown());
+        recording.start();
+        engine.start(new Preset(7, "Short", 20, 60000, 60000));
+        assertTrue(firstBlock.await(2, TimeUnit.SECONDS));
+        engine.pause();
+        engine.stop();
+        owner.submit(() -> { }).get(2, TimeUnit.SECONDS);
+        engine.shutdown();
+        List<RecordedEvent> blocks = stopAndRead("focusclinic.Block");
+
+        assertEquals(2, blocks.size());
+        RecordedEvent focus = blocks.get(0);
+        assertEquals("FOCUS", focus.getString("blockType"));
+        assertEquals(7, focus.getLong("presetId"));
+        assertEquals(20, focus.getDuration("planned").toMillis());
+        assertTrue(focus.getBoolean("completed"));
+        assertTrue(focus.getDuration().toMillis() >= 20);
+        assertTrue(focus.getDuration("drift").toNanos() >= 0);
+        assertEquals("MEDITATION", blocks.get(1).getString("blockType"));
+        assertFalse(blocks.get(1).getBoolean("completed"));
+    }
+
+    @Test
+    void testPresetListChangesRecorded() throws IOException {
+        PresetList presets = new PresetList();
+        Preset preset = new Preset("Morning", 50, 10, 30);
+        recording.start();
+        presets.addPreset(preset);
+        preset.setPresetName("Evening");
+        presets.deletePreset(preset);
+        List<RecordedEvent> changes = stopAndRead("focusclinic.PresetListChange");
+
+        assertEquals(List.of("added", "updated", "deleted"),
+                changes.stream().map(e -> e.getString("change")).collect(Collectors.toList()));
+        assertEquals(preset.getId(), changes.get(0).getLong("presetId"));
+        assertEquals(1, changes.get(0).getInt("listSize"));
+        assertEquals(0, changes.get(2).getInt("listSize"));
+    }
+
+    @Test
+    void testNothingRecordedWhenDisabled() throws IOException {
+        recording.disable("focusclinic.PresetListChange");
+        recording.start();
+        new PresetList().addPreset(new Preset("Morning", 50, 10, 30));
+
+        assertTrue(stopAndRead("focusclinic.PresetListChange").isEmpty());
+    }
+
+    @Test
+    void testShippedProfileEnablesEvents() throws Exception {
+        Configuration profile = Configuration.create(Paths.get("data/jfr/focusclinic.jfc"));
+        Map<String, String> settings = profile.getSettings();
+
+        assertEquals("Focus Clinic", profile.getLabel());
+        for (String event : List.of("focusclinic.Block", "focusclinic.PresetFile", "focusclinic.PresetListChange",
+                "focusclinic.AudioUnderrun")) {
+            assertEquals("true", settings.get(event + "#enabled"));
+        }
+    }
+
+    // EFFECTS: stops the recording and returns its events with the given name, in the order they were committed
+    private List<RecordedEvent> stopAndRead(String name) throws IOException {
+        recording.stop();
+        recording.dump(recordingFile);
+        return RecordingFile.readAllEvents(recordingFile).stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .sorted((a, b) -> a.getEndTime().compareTo(b.getEndTime()))
+                .collect(Collectors.toList());
+    }
+
+    // Represents a player that plays nothing.
+    private static class SilentTestPlayer implements BlockPlayer {
+        @Override
+        public void play(BlockType blockType) {
+        }
+
+        @Override
+        public void pause() {
+        }
+
+        @Override
+        public void resume() {
+        }
+
+        @Override
+        public void stop() {
+        }
+    }
+}
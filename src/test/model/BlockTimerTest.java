@@ -0,0 +1,172 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for BlockTimer.
+public class BlockTimerTest {
+
+    // Constants
+    private static final long MAX_CPU_NANOS_WHILE_PARKED = 20_000_000;
+
+    // Fields
+    private BlockTimer testTimer;
+    private Thread sessionThread;
+
+    @BeforeEach
+    void runBefore() {
+        testTimer = new BlockTimer();
+        sessionThread = new Thread(() -> {
+            try {
+                testTimer.awaitExpiry();
+            } catch (InterruptedException e) {
+                // pass
+            }
+        });
+    }
+
+    @Test
+    void testRemainingTimeBeforeStart() {
+        assertEquals(0, testTimer.getRemainingMicroSeconds());
+        assertFalse(testTimer.isPaused());
+    }
+
+    @Test
+    void testBlockExpires() throws InterruptedException {
+        testTimer.start(50_000);
+        sessionThread.start();
+        sessionThread.join(2000);
+
+        assertFalse(sessionThread.isAlive());
+        assertEquals(0, testTimer.getRemainingMicroSeconds());
+    }
+
+    @Test
+    void testSessionThreadIsParkedWhilePlaying() throws InterruptedException {
+        testTimer.start(5_000_000);
+        sessionThread.start();
+        Thread.sleep(100);
+
+        long cpuTimeUsed = measureCpuTime(sessionThread, 300);
+        assertEquals(Thread.State.WAITING, sessionThread.getState());
+        assertTrue(cpuTimeUsed < MAX_CPU_NANOS_WHILE_PARKED, "session thread used " + cpuTimeUsed + "ns");
+
+        sessionThread.interrupt();
+        sessionThread.join(2000);
+    }
+
+    @Test
+    void testSessionThreadIsParkedWhilePaused() throws InterruptedException {
+        testTimer.start(100_000);
+        sessionThread.start();
+        testTimer.pause();
+        long remainingWhenPaused = testTimer.getRemainingMicroSeconds();
+
+        long cpuTimeUsed = measureCpuTime(sessionThread, 300);
+        assertTrue(testTimer.isPaused());
+        assertTrue(sessionThread.isAlive());
+        assertEquals(Thread.State.WAITING, sessionThread.getState());
+        assertTrue(cpuTimeUsed < MAX_CPU_NANOS_WHILE_PARKED, "session thread used " + cpuTimeUsed + "ns");
+        assertEquals(remainingWhenPaused, testTimer.getRemainingMicroSeconds());
+
+        testTimer.resume();
+        sessionThread.join(2000);
+        assertFalse(sessionThread.isAlive());
+    }
+
+    @Test
+    void testPauseAndResumeExtendBlock() throws InterruptedException {
+        testTimer.start(200_000);
+        sessionThread.start();
+        testTimer.pause();
+        Thread.sleep(300);
+        testTimer.resume();
+        testTimer.resume();
+
+        assertFalse(testTimer.isPaused());
+        assertTrue(sessionThread.isAlive());
+        assertTrue(testTimer.getRemainingMicroSeconds() > 0);
+        sessionThread.join(2000);
+        assertFalse(sessionThread.isAlive());
+    }
+
+    @Test
+    void testPauseAfterExpiryDoesNothing() throws InterruptedException {
+        testTimer.start(10_000);
+        testTimer.awaitExpiry();
+        testTimer.pause();
+
+        assertFalse(testTimer.isPaused());
+        assertEquals(0, testTimer.getRemainingMicroSeconds());
+    }
+
+    @Test
+    void testStartReplacesBlockInProgress() throws InterruptedException {
+        testTimer.start(60_000_000);
+        sessionThread.start();
+        Thread.sleep(100);
+        testTimer.start(60_000_000);
+        sessionThread.join(2000);
+
+        assertFalse(sessionThread.isAlive());
+        assertTrue(testTimer.getRemainingMicroSeconds() > 59_000_000);
+    }
+
+    @Test
+    void testCallbackRunsWhenBlockExpires() throws InterruptedException {
+        CountDownLatch callbackRan = new CountDownLatch(1);
+        testTimer.start(10_000, callbackRan::countDown);
+
+        assertTrue(callbackRan.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testCancelEndsBlockWithoutCallback() throws InterruptedException {
+        CountDownLatch callbackRan = new CountDownLatch(1);
+        testTimer.start(50_000, callbackRan::countDown);
+        sessionThread.start();
+        testTimer.cancel();
+        sessionThread.join(2000);
+
+        assertFalse(sessionThread.isAlive());
+        assertFalse(callbackRan.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(0, testTimer.getRemainingMicroSeconds());
+    }
+
+    @Test
+    void testPauseAndResumeOnTimingWheel() throws InterruptedException {
+        TimingWheel wheel = new TimingWheel();
+        BlockTimer wheelTimer = new BlockTimer(wheel);
+        CountDownLatch callbackRan = new CountDownLatch(1);
+        long started = System.nanoTime();
+        wheelTimer.start(100_000, callbackRan::countDown);
+        Thread.sleep(20);
+        wheelTimer.pause();
+        long frozen = wheelTimer.getRemainingMicroSeconds();
+        assertEquals(0, wheel.size());
+        Thread.sleep(150);
+
+        assertEquals(frozen, wheelTimer.getRemainingMicroSeconds());
+        assertEquals(1, callbackRan.getCount());
+        wheelTimer.resume();
+        assertEquals(1, wheel.size());
+        assertTrue(callbackRan.await(2, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(250));
+        wheel.shutdown();
+    }
+
+    // EFFECTS: returns the CPU time in nanoseconds the given thread used over the next windowInMillis
+    private long measureCpuTime(Thread thread, long windowInMillis) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long before = threads.getThreadCpuTime(thread.getId());
+        Thread.sleep(windowInMillis);
+        return threads.getThreadCpuTime(thread.getId()) - before;
+    }
+}
@@ -0,0 +1,295 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for EventLog.
+public class EventLogTest {
+
+    // Fields
+    private EventLog testLog;
+    private List<Event> testEvents;
+
+    @BeforeEach
+    void runBefore() {
+        testLog = EventLog.getInstance();
+        testLog.configure(8, EventLog.OverflowPolicy.OVERWRITE_OLDEST);
+        testLog.setTimeSource(TimeSource.SYSTEM);
+        testEvents = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            testEvents.add(new Event("Event " + i));
+        }
+    }
+
+    @Test
+    void testGetInstance() {
+        assertSame(testLog, EventLog.getInstance());
+    }
+
+    @Test
+    void testConfigure() {
+        testLog.logEvent(testEvents.get(0));
+        testLog.configure(5, EventLog.OverflowPolicy.DROP_NEWEST);
+
+        assertEquals(8, testLog.getCapacity());
+        assertEquals(EventLog.OverflowPolicy.DROP_NEWEST, testLog.getOverflowPolicy());
+        assertFalse(testLog.iterator().hasNext());
+    }
+
+    @Test
+    void testLogEvents() {
+        testLog.logEvent(testEvents.get(0));
+        testLog.logEvent(testEvents.get(1));
+
+        assertEquals(testEvents.subList(0, 2), eventsInLog());
+        assertEquals(0, testLog.getDroppedCount());
+        assertEquals(0, testLog.getOverwrittenCount());
+    }
+
+    @Test
+    void testOverwriteOldest() {
+        for (Event e : testEvents) {
+            testLog.logEvent(e);
+        }
+
+        assertEquals(testEvents.subList(2, 10), eventsInLog());
+        assertEquals(2, testLog.getOverwrittenCount());
+        assertEquals(0, testLog.getDroppedCount());
+    }
+
+    @Test
+    void testDropNewest() {
+        testLog.configure(8, EventLog.OverflowPolicy.DROP_NEWEST);
+        for (Event e : testEvents) {
+            testLog.logEvent(e);
+        }
+
+        assertEquals(testEvents.subList(0, 8), eventsInLog());
+        assertEquals(2, testLog.getDroppedCount());
+        assertEquals(0, testLog.getOverwrittenCount());
+    }
+
+    @Test
+    void testDropNewestReusesSlotsMarkedRead() {
+        testLog.configure(8, EventLog.OverflowPolicy.DROP_NEWEST);
+        List<Event> drained = new ArrayList<>();
+        long cursor = 0;
+        for (int round = 0; round < 3; round++) {
+            for (Event e : testEvents) {
+                testLog.logEvent(e);
+                cursor = testLog.drainTo(cursor, 100, drained::add);
+                testLog.markRead(cursor);
+            }
+        }
+
+        assertEquals(30, drained.size());
+        assertEquals(testEvents, drained.subList(20, 30));
+        assertEquals(0, testLog.getDroppedCount());
+        assertEquals(0, testLog.getOverwrittenCount());
+
+        testLog.markRead(1000);
+        for (Event e : testEvents) {
+            testLog.logEvent(e);
+        }
+        assertEquals(testEvents.subList(0, 8), eventsInLog());
+        assertEquals(2, testLog.getDroppedCount());
+    }
+
+    @Test
+    void testClear() {
+        testLog.configure(8, EventLog.OverflowPolicy.DROP_NEWEST);
+        for (Event e : testEvents) {
+            testLog.logEvent(e);
+        }
+        testLog.clear();
+        testLog.logEvent(testEvents.get(9));
+
+        assertEquals(List.of(testEvents.get(9)), eventsInLog());
+    }
+
+    @Test
+    void testDrainTo() {
+        for (int i = 0; i < 5; i++) {
+            testLog.logEvent(testEvents.get(i));
+        }
+        List<Event> drained = new ArrayList<>();
+
+        long next = testLog.drainTo(0, 3, drained::add);
+        assertEquals(3, next);
+        next = testLog.drainTo(next, 10, drained::add);
+        assertEquals(5, next);
+        assertEquals(testEvents.subList(0, 5), drained);
+        assertEquals(5, testLog.getLoggedCount());
+    }
+
+    @Test
+    void testDrainToSkipsOverwrittenEvents() {
+        for (Event e : testEvents) {
+            testLog.logEvent(e);
+        }
+        List<Event> drained = new ArrayList<>();
+
+        assertEquals(10, testLog.drainTo(0, 100, drained::add));
+        assertEquals(testEvents.subList(2, 10), drained);
+        testLog.configure(8, EventLog.OverflowPolicy.OVERWRITE_OLDEST);
+        testLog.logEvent(testEvents.get(0));
+        assertEquals(1, testLog.drainTo(10, 100, drained::add));
+        assertEquals(testEvents.get(0), drained.get(8));
+    }
+
+    @Test
+    void testIteratorPastEnd() {
+        Iterator<Event> iterator = testLog.iterator();
+
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void testConcurrentLogging() throws InterruptedException {
+        int threads = 8;
+        int eventsPerThread = 10_000;
+        testLog.configure(threads * eventsPerThread, EventLog.OverflowPolicy.DROP_NEWEST);
+
+        runLoggingThreads(threads, eventsPerThread, null);
+
+        Set<Event> logged = Collections.newSetFromMap(new IdentityHashMap<>());
+        logged.addAll(eventsInLog());
+        assertEquals(threads * eventsPerThread, logged.size());
+        assertEquals(0, testLog.getDroppedCount());
+    }
+
+    @Test
+    void testConcurrentLoggingWhileIterating() throws InterruptedException {
+        int threads = 4;
+        int eventsPerThread = 20_000;
+        testLog.configure(64, EventLog.OverflowPolicy.OVERWRITE_OLDEST);
+        List<Integer> sizesSeen = new ArrayList<>();
+
+        runLoggingThreads(threads, eventsPerThread, () -> sizesSeen.add(eventsInLog().size()));
+
+        List<Event> retained = eventsInLog();
+        assertTrue(retained.size() <= 64);
+        assertFalse(retained.contains(null));
+        assertTrue(sizesSeen.stream().allMatch(size -> size <= 64));
+        assertEquals(threads * eventsPerThread,
+                retained.size() + testLog.getOverwrittenCount() + testLog.getDroppedCount());
+    }
+
+    @Test
+    void testLogStructuredEvent() {
+        testLog.setTimeSource(new TimeSource() {
+            @Override
+            public long nanoTime() {
+                return 42;
+            }
+
+            @Override
+            public long currentTimeMillis() {
+                return 1_000_000;
+            }
+        });
+        testLog.logEvent(EventType.PRESET_ADDED, 7, "Study");
+
+        Event logged = testLog.iterator().next();
+        assertEquals(new Event(EventType.PRESET_ADDED, 7, "Study", 1_000_000, 42), logged);
+        assertEquals("Added Preset: Study.", logged.getDescription());
+    }
+
+    @Test
+    void testPresetListLogsStructuredEvents() {
+        PresetList presets = new PresetList();
+        Preset preset = new Preset("Study", 50, 10, 30);
+        presets.addPreset(preset);
+        presets.deletePreset(preset);
+
+        List<Event> events = eventsInLog();
+        assertEquals(2, events.size());
+        assertEquals(EventType.PRESET_ADDED, events.get(0).getType());
+        assertEquals(preset.getId(), events.get(0).getPresetId());
+        assertEquals(EventType.PRESET_DELETED, events.get(1).getType());
+        assertEquals("Deleted Preset: Study.", events.get(1).getDescription());
+    }
+
+    @Test
+    void testLoggingStructuredEventsDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < 100_000; i++) {
+            testLog.logEvent(EventType.PRESET_ADDED, i, "Study");
+        }
+
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 100_000; i++) {
+            testLog.logEvent(EventType.PRESET_ADDED, i, "Study");
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void testConcurrentReadsSeeWholeEvents() throws InterruptedException {
+        testLog.configure(16, EventLog.OverflowPolicy.OVERWRITE_OLDEST);
+        List<Thread> loggers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread logger = new Thread(() -> {
+                for (long i = 0; i < 200_000; i++) {
+                    testLog.logEvent(new Event(EventType.PRESET_ADDED, i, "Preset", i, i));
+                }
+            });
+            loggers.add(logger);
+            logger.start();
+        }
+        while (loggers.stream().anyMatch(Thread::isAlive)) {
+            for (Event e : testLog) {
+                assertEquals(e.getPresetId(), e.getEpochMillis());
+                assertEquals(e.getPresetId(), e.getNanoTime());
+            }
+        }
+    }
+
+    // EFFECTS: logs eventsPerThread events from each of the given number of threads, running reader repeatedly
+    //          on this thread until they finish if it is not null
+    private void runLoggingThreads(int threads, int eventsPerThread, Runnable reader) throws InterruptedException {
+        List<Thread> loggers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread logger = new Thread(() -> {
+                for (int i = 0; i < eventsPerThread; i++) {
+                    testLog.logEvent(new Event("Concurrent event"));
+                }
+            });
+            loggers.add(logger);
+            logger.start();
+        }
+        for (Thread logger : loggers) {
+            while (logger.isAlive()) {
+                if (reader != null) {
+                    reader.run();
+                }
+                logger.join(1);
+            }
+        }
+    }
+
+    // EFFECTS: returns the events in the log, oldest first
+    private List<Event> eventsInLog() {
+        List<Event> events = new ArrayList<>();
+        for (Event e : testLog) {
+            events.add(e);
+        }
+        return events;
+    }
+}
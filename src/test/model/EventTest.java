@@ -0,0 +1,76 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for Event.
+public class EventTest {
+
+    // Fields
+    private Event testAdded;
+    private Event testMessage;
+
+    @BeforeEach
+    void runBefore() {
+        testAdded = new Event(EventType.PRESET_ADDED, 3, "Study", 1_600_000_000_000L, 123);
+        testMessage = new Event("Loaded presets.");
+    }
+
+    @Test
+    void testConstructor() {
+        assertEquals(EventType.PRESET_ADDED, testAdded.getType());
+        assertEquals(3, testAdded.getPresetId());
+        assertEquals("Study", testAdded.getDetail());
+        assertEquals(1_600_000_000_000L, testAdded.getEpochMillis());
+        assertEquals(123, testAdded.getNanoTime());
+        assertEquals(new Date(1_600_000_000_000L), testAdded.getDate());
+    }
+
+    @Test
+    void testMessageEvent() {
+        assertEquals(EventType.MESSAGE, testMessage.getType());
+        assertEquals(Preset.NO_ID, testMessage.getPresetId());
+        assertEquals("Loaded presets.", testMessage.getDescription());
+        assertTrue(Math.abs(System.currentTimeMillis() - testMessage.getEpochMillis()) < 10_000);
+    }
+
+    @Test
+    void testDescriptions() {
+        assertEquals("Added Preset: Study.", testAdded.getDescription());
+        assertEquals("Deleted Preset: Study.",
+                new Event(EventType.PRESET_DELETED, 3, "Study", 0, 0).getDescription());
+    }
+
+    @Test
+    void testToString() {
+        assertEquals(new Date(1_600_000_000_000L) + "\nAdded Preset: Study.", testAdded.toString());
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        Event same = new Event(EventType.PRESET_ADDED, 3, "Study", 1_600_000_000_000L, 123);
+
+        assertEquals(testAdded, same);
+        assertEquals(testAdded.hashCode(), same.hashCode());
+        assertNotEquals(testAdded, new Event(EventType.PRESET_DELETED, 3, "Study", 1_600_000_000_000L, 123));
+        assertNotEquals(testAdded, new Event(EventType.PRESET_ADDED, 4, "Study", 1_600_000_000_000L, 123));
+        assertNotEquals(testAdded, new Event(EventType.PRESET_ADDED, 3, "Rest", 1_600_000_000_000L, 123));
+        assertNotEquals(testAdded, new Event(EventType.PRESET_ADDED, 3, "Study", 1_600_000_000_001L, 123));
+        assertNotEquals(testAdded, new Event(EventType.PRESET_ADDED, 3, "Study", 1_600_000_000_000L, 124));
+        assertNotEquals(testAdded, null);
+        assertNotEquals(testAdded, "Added Preset: Study.");
+        assertEquals(new Event(EventType.MESSAGE, 0, null, 0, 0), new Event(EventType.MESSAGE, 0, null, 0, 0));
+    }
+
+    @Test
+    void testEventTypeCodes() {
+        for (EventType type : EventType.values()) {
+            assertSame(type, EventType.fromCode(type.getCode()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> EventType.fromCode(-1));
+    }
+}
@@ -148,4 +148,230 @@ public class PresetListTest {
         testJsonArray.put(testPreset1.toJson());
         assertEquals(testJsonArray.length(), testPresetList1.presetListToJson().length());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAddPresetAssignsIds() {
+        testPresetList1.addPreset(testPreset1);
+        testPresetList1.addPreset(testPreset2);
+        testPresetList1.addPreset(testPreset1);
+
+        assertEquals(1, testPreset1.getId());
+        assertEquals(2, testPreset2.getId());
+        assertSame(testPreset1, testPresetList1.getPresetById(1));
+        assertSame(testPreset2, testPresetList1.getPresetById(2));
+        assertNull(testPresetList1.getPresetById(3));
+    }
+
+    @Test
+    void testAddPresetKeepsExistingIds() {
+        Preset loaded = new Preset(7, "Loaded", 1, 1, 1);
+        Preset clash = new Preset(7, "Clash", 2, 2, 2);
+        assertSame(loaded, testPresetList1.addPreset(loaded));
+        Preset added = testPresetList1.addPreset(clash);
+        testPresetList1.addPreset(testPreset1);
+
+        assertEquals(7, loaded.getId());
+        assertEquals(7, clash.getId());
+        assertNotSame(clash, added);
+        assertEquals(8, added.getId());
+        assertEquals("Clash", added.getPresetName());
+        assertEquals(9, testPreset1.getId());
+        assertSame(added, testPresetList1.getPresetById(8));
+        assertSame(loaded, testPresetList1.getPresetById(7));
+    }
+
+    @Test
+    void testPresetSharedWithAnotherListKeepsItsId() {
+        PresetList other = new PresetList();
+        other.addPreset(new Preset("Other", 1, 1, 1));
+        other.addPreset(testPreset1);
+        testPresetList1.addPreset(testPreset2);
+        testPresetList1.addPreset(testPreset3);
+
+        Preset added = testPresetList1.addPreset(testPreset1);
+
+        assertEquals(2, testPreset1.getId());
+        assertSame(testPreset1, other.getPresetById(2));
+        assertNotSame(testPreset1, added);
+        assertSame(added, testPresetList1.getPresetById(3));
+        assertSame(testPreset3, testPresetList1.getPresetById(2));
+        other.deletePreset(testPreset1);
+        assertNull(other.getPresetById(2));
+    }
+
+    @Test
+    void testGetPresetByName() {
+        Preset otherStudy = new Preset("Study", 1, 2, 3);
+        testPresetList1.addPreset(testPreset1);
+        testPresetList1.addPreset(otherStudy);
+        testPresetList1.addPreset(testPreset2);
+
+        assertSame(testPreset1, testPresetList1.getPresetByName("Study"));
+        assertSame(testPreset2, testPresetList1.getPresetByName("Short Focus"));
+        assertNull(testPresetList1.getPresetByName("Eating"));
+
+        testPresetList1.deletePreset(testPreset1);
+        assertSame(otherStudy, testPresetList1.getPresetByName("Study"));
+    }
+
+    @Test
+    void testDeletePresetById() {
+        testPresetList1.addPreset(testPreset1);
+        testPresetList1.addPreset(testPreset2);
+
+        assertTrue(testPresetList1.deletePresetById(testPreset1.getId()));
+        assertFalse(testPresetList1.deletePresetById(testPreset1.getId()));
+        assertEquals(List.of(testPreset2), testPresetList1.getPresetList());
+        assertNull(testPresetList1.getPresetByName("Study"));
+    }
+
+    @Test
+    void testDeletePresetByName() {
+        testPresetList1.addPreset(testPreset1);
+        testPresetList1.addPreset(testPreset2);
+
+        assertTrue(testPresetList1.deletePresetByName("Short Focus"));
+        assertFalse(testPresetList1.deletePresetByName("Short Focus"));
+        assertEquals(List.of(testPreset1), testPresetList1.getPresetList());
+    }
+
+    @Test
+    void testDeletePresetNotInList() {
+        testPresetList1.addPreset(testPreset1);
+        testPresetList1.deletePreset(testPreset2);
+
+        assertEquals(List.of(testPreset1), testPresetList1.getPresetList());
+    }
+
+    @Test
+    void testRenamePreset() {
+        testPresetList1.addPreset(testPreset1);
+
+        assertTrue(testPresetList1.renamePreset(testPreset1.getId(), "Computer Science"));
+        assertFalse(testPresetList1.renamePreset(42, "Nothing"));
+        assertEquals("Computer Science", testPreset1.getPresetName());
+        assertSame(testPreset1, testPresetList1.getPresetByName("Computer Science"));
+        assertNull(testPresetList1.getPresetByName("Study"));
+    }
+
+    @Test
+    void testRenameThroughPresetSetterUpdatesIndex() {
+        testPresetList1.addPreset(testPreset1);
+        testPreset1.setPresetName("Nutrition");
+
+        assertSame(testPreset1, testPresetList1.getPresetByName("Nutrition"));
+        assertNull(testPresetList1.getPresetByName("Study"));
+
+        testPresetList1.deletePreset(testPreset1);
+        testPreset1.setPresetName("Study Again");
+        assertNull(testPresetList1.getPresetByName("Study Again"));
+    }
+
+    @Test
+    void testSearchByNameKeptUpToDate() {
+        testPresetList1.addPreset(testPreset1);
+        testPresetList1.addPreset(testPreset2);
+        assertEquals(List.of(testPreset2), testPresetList1.searchByName("focus", 10));
+
+        testPresetList1.addPreset(testPreset3);
+        testPresetList1.addPreset(testPreset3);
+        testPreset1.setPresetName("Focused Study");
+        testPresetList1.deletePreset(testPreset2);
+        assertEquals(List.of(testPreset1), testPresetList1.searchByName("focus", 10));
+        assertEquals(List.of(testPreset3), testPresetList1.searchByName("eat", 10));
+
+        testPresetList1.deletePreset(testPreset3);
+        assertEquals(List.of(testPreset3), testPresetList1.searchByName("eat", 10));
+        testPresetList1.deletePreset(testPreset3);
+        assertTrue(testPresetList1.searchByName("eat", 10).isEmpty());
+        testPreset3.setPresetName("Eating Again");
+        assertTrue(testPresetList1.searchByName("eat", 10).isEmpty());
+    }
+
+    @Test
+    void testGetPresetListKeepsInsertionOrder() {
+        testPresetList1.addPreset(testPreset1);
+        testPresetList1.addPreset(testPreset2);
+        testPresetList1.addPreset(testPreset3);
+        testPresetList1.deletePreset(testPreset2);
+        testPresetList1.addPreset(testPreset2);
+
+        assertEquals(List.of(testPreset1, testPreset3, testPreset2), testPresetList1.getPresetList());
+        assertThrows(UnsupportedOperationException.class, () -> testPresetList1.getPresetList().clear());
+    }
+
+    @Test
+    void testCopiesKeepInsertionOrder() {
+        testPresetList1.addPreset(testPreset1);
+        testPresetList1.addPreset(testPreset2);
+        testPresetList1.addPreset(testPreset1);
+        testPresetList1.addPreset(testPreset3);
+        assertEquals(List.of(testPreset1, testPreset2, testPreset1, testPreset3), testPresetList1.getPresetList());
+
+        testPresetList1.deletePreset(testPreset1);
+        assertEquals(List.of(testPreset2, testPreset1, testPreset3), testPresetList1.getPresetList());
+        assertEquals(2, testPresetList1.toJson().getJSONArray("presetList").getJSONObject(0).getLong("id"));
+    }
+
+    @Test
+    void testPresetChangedIgnoresPresetNotInList() {
+        List<Preset> updated = new ArrayList<>();
+        testPresetList1.addObserver(new PresetListObserver() {
+            @Override
+            public void presetAdded(Preset preset) {
+            }
+
+            @Override
+            public void presetDeleted(Preset preset) {
+            }
+
+            @Override
+            public void presetUpdated(Preset preset) {
+                updated.add(preset);
+            }
+        });
+        testPresetList1.addPreset(testPreset1);
+        Preset sameId = new Preset(testPreset1.getId(), "Study Elsewhere", 50, 10, 30);
+
+        testPresetList1.presetChanged(testPreset2, "Old Name");
+        testPresetList1.presetChanged(sameId, "Study");
+
+        assertTrue(updated.isEmpty());
+        assertSame(testPreset1, testPresetList1.getPresetByName("Study"));
+        assertEquals(List.of(testPreset1), testPresetList1.searchByName("stud", 10));
+    }
+
+    @Test
+    void testObserversNotifiedOfChanges() {
+        List<String> changes = new ArrayList<>();
+        PresetListObserver observer = new PresetListObserver() {
+            @Override
+            public void presetAdded(Preset preset) {
+                changes.add("added " + preset.getPresetName());
+            }
+
+            @Override
+            public void presetDeleted(Preset preset) {
+                changes.add("deleted " + preset.getPresetName());
+            }
+
+            @Override
+            public void presetUpdated(Preset preset) {
+                changes.add("updated " + preset.getPresetName());
+            }
+        };
+        testPresetList1.addObserver(observer);
+        testPresetList1.addPreset(testPreset1);
+        testPresetList1.addPreset(testPreset2);
+        testPreset1.setFocusTime("40");
+        testPresetList1.renamePreset(testPreset2.getId(), "Long Focus");
+        testPresetList1.deletePreset(testPreset1);
+        testPresetList1.deletePreset(testPreset1);
+        testPreset1.setRestTime("20");
+        testPresetList1.removeObserver(observer);
+        testPresetList1.addPreset(testPreset3);
+
+        assertEquals(List.of("added Study", "added Short Focus", "updated Study", "updated Long Focus",
+                "deleted Study"), changes);
+    }
+}
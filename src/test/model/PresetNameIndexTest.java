@@ -0,0 +1,119 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for PresetNameIndex.
+public class PresetNameIndexTest {
+
+    // Fields
+    private PresetNameIndex testIndex;
+    private Preset study;
+    private Preset deepStudy;
+    private Preset studying;
+    private Preset focus;
+
+    @BeforeEach
+    void runBefore() {
+        testIndex = new PresetNameIndex();
+        study = new Preset(1, "Study", 50, 10, 30);
+        deepStudy = new Preset(2, "Deep Study", 90, 10, 30);
+        studying = new Preset(3, "Studying Late", 40, 10, 30);
+        focus = new Preset(4, "Refocus", 25, 5, 5);
+        testIndex.add(deepStudy);
+        testIndex.add(studying);
+        testIndex.add(study);
+        testIndex.add(focus);
+    }
+
+    @Test
+    void testMatchesRanked() {
+        assertEquals(List.of(study, studying, deepStudy), testIndex.search("study", 10));
+        assertEquals(List.of(study, studying, deepStudy), testIndex.search("  STUDY ", 10));
+    }
+
+    @Test
+    void testSubstringMatchedAnywhere() {
+        assertEquals(List.of(focus), testIndex.search("ocu", 10));
+        assertEquals(List.of(studying), testIndex.search("ying l", 10));
+        assertTrue(testIndex.search("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void testShortQueryMatchesWordStarts() {
+        assertEquals(List.of(study, studying, deepStudy), testIndex.search("st", 10));
+        assertEquals(List.of(deepStudy), testIndex.search("d", 10));
+        assertEquals(List.of(studying), testIndex.search("l", 10));
+        assertTrue(testIndex.search("oc", 10).isEmpty());
+    }
+
+    @Test
+    void testLimit() {
+        assertEquals(List.of(study, studying), testIndex.search("stud", 2));
+        assertTrue(testIndex.search("stud", 0).isEmpty());
+        assertTrue(testIndex.search("   ", 10).isEmpty());
+    }
+
+    @Test
+    void testSubstringLimitKeepsShortestNames() {
+        PresetNameIndex index = new PresetNameIndex();
+        Preset longest = new Preset("Xxxxxxsession", 1, 1, 1);
+        Preset shortest = new Preset("Xsession", 1, 1, 1);
+        Preset middle = new Preset("Xxxsession", 1, 1, 1);
+        Preset sameLength = new Preset("Axxsession", 1, 1, 1);
+        index.add(longest);
+        index.add(shortest);
+        index.add(middle);
+        index.add(sameLength);
+
+        assertEquals(List.of(shortest, sameLength), index.search("ssio", 2));
+        assertEquals(List.of(shortest, sameLength, middle, longest), index.search("ssio", 10));
+    }
+
+    @Test
+    void testRemove() {
+        testIndex.remove(study);
+        testIndex.remove(study);
+
+        assertEquals(List.of(studying, deepStudy), testIndex.search("study", 10));
+        assertEquals(3, testIndex.size());
+    }
+
+    @Test
+    void testUpdateAfterRename() {
+        focus.setPresetName("Study Hall");
+        testIndex.update(focus);
+        testIndex.update(study);
+
+        assertTrue(testIndex.search("refocus", 10).isEmpty());
+        assertEquals(List.of(study, focus, studying, deepStudy), testIndex.search("study", 10));
+        assertEquals(List.of(focus), testIndex.search("hal", 10));
+    }
+
+    @Test
+    void testAddTwiceIndexedOnce() {
+        testIndex.add(study);
+
+        assertEquals(4, testIndex.size());
+        assertEquals(List.of(study), testIndex.search("study", 1));
+    }
+
+    @Test
+    void testManyPresets() {
+        PresetNameIndex large = new PresetNameIndex();
+        for (int i = 0; i < 100_000; i++) {
+            large.add(new Preset(i + 1, "Preset " + i, 25, 5, 15));
+        }
+
+        List<Preset> matches = large.search("preset 9999", 20);
+        assertEquals(11, matches.size());
+        assertEquals("Preset 9999", matches.get(0).getPresetName());
+        assertEquals("Preset 99990", matches.get(1).getPresetName());
+        assertEquals(20, large.search("pre", 20).size());
+        assertEquals("Preset 1", large.search("1", 20).get(0).getPresetName());
+    }
+}
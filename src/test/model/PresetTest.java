@@ -3,6 +3,9 @@ package model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 // Test class for Preset.
@@ -125,4 +128,30 @@ public class PresetTest {
         assertEquals("30", testPreset2.getRestTimeInString());
         assertEquals("5", testPreset3.getRestTimeInString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testConstructorWithId() {
+        Preset loaded = new Preset(12, "Loaded", 1, 2, 3);
+
+        assertEquals(12, loaded.getId());
+        assertEquals(Preset.NO_ID, testPreset1.getId());
+        assertEquals("Loaded", loaded.getPresetName());
+        assertEquals(3, loaded.getRestTime());
+    }
+
+    @Test
+    void testObserversNotifiedOfChanges() {
+        List<String> oldNames = new ArrayList<>();
+        PresetObserver observer = (preset, oldName) -> oldNames.add(oldName);
+        testPreset1.addObserver(observer);
+
+        testPreset1.setPresetName("Computer Science");
+        testPreset1.setFocusTime("45");
+        testPreset1.setMeditationTime("5");
+        testPreset1.setRestTime("20");
+        testPreset1.removeObserver(observer);
+        testPreset1.setPresetName("Unobserved");
+
+        assertEquals(List.of("Study", "Computer Science", "Computer Science", "Computer Science"), oldNames);
+    }
+}
@@ -0,0 +1,248 @@
+package model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for how SessionEngine keeps blocks on their planned timeline, run on a simulated clock so that a day of
+// blocks takes well under a second.
+public class SessionDriftTest {
+
+    // Constants
+    private static final long DAY_NANOS = TimeUnit.HOURS.toNanos(24);
+    private static final long MAX_LATENESS_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long MICRO_NANOS = 1000;
+
+    // Fields
+    private SimulatedClock testClock;
+    private ScheduledExecutorService testOwner;
+    private SessionEngine testEngine;
+    private Preset testPreset;
+    private Random random;
+    private List<Long> blockEndNanos;
+    private List<Long> blockStartMillis;
+    private List<Long> reportedDriftMicros;
+    private long plannedNanos;
+
+    @BeforeEach
+    void runBefore() {
+        testClock = new SimulatedClock();
+        testOwner = Executors.newSingleThreadScheduledExecutor();
+        testEngine = new SessionEngine(new SilentPlayer(), testOwner, TimeUnit.SECONDS, testClock, testClock);
+        testPreset = new Preset("Day", 50, 10, 30);
+        random = new Random(210);
+        blockEndNanos = new ArrayList<>();
+        blockStartMillis = new ArrayList<>();
+        reportedDriftMicros = new ArrayList<>();
+        testEngine.addBlockObserver((blockType, presetId, startEpochMillis, durationMillis, drift) -> {
+            blockEndNanos.add(testClock.nanoTime());
+            blockStartMillis.add(startEpochMillis);
+            reportedDriftMicros.add(drift);
+            plannedNanos += TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        });
+    }
+
+    @AfterEach
+    void runAfter() {
+        testEngine.shutdown();
+    }
+
+    @Test
+    void testDriftStaysBoundedOver24Hours() throws Exception {
+        long start = testClock.nanoTime();
+        testEngine.start(testPreset);
+        awaitOwner();
+        long totalLateness = 0;
+        long maxTimelineError = 0;
+        while (testClock.nanoTime() - start < DAY_NANOS) {
+            long lateness = (long) (random.nextDouble() * MAX_LATENESS_NANOS);
+            totalLateness += lateness;
+            assertTrue(testClock.runNext(lateness));
+            awaitOwner();
+            long timelineError = testClock.nanoTime() - start - plannedNanos;
+            maxTimelineError = Math.max(maxTimelineError, Math.abs(timelineError));
+        }
+
+        assertTrue(blockEndNanos.size() > 2800);
+        assertTrue(maxTimelineError <= MAX_LATENESS_NANOS + MICRO_NANOS);
+        assertTrue(totalLateness > 1000 * MAX_LATENESS_NANOS); // without correction the day would end seconds late
+        long drift = testEngine.getSnapshot().getLastBlockDriftMicroSeconds();
+        assertTrue(drift >= 0 && drift <= TimeUnit.NANOSECONDS.toMicros(MAX_LATENESS_NANOS) + 1);
+    }
+
+    @Test
+    void testPausesExcludedFromTimelineOver24Hours() throws Exception {
+        long start = testClock.nanoTime();
+        long pausedNanos = 0;
+        testEngine.start(testPreset);
+        awaitOwner();
+        while (testClock.nanoTime() - start < DAY_NANOS) {
+            if (random.nextInt(10) == 0) {
+                testClock.advance(TimeUnit.SECONDS.toNanos(random.nextInt(5)));
+                testEngine.pause();
+                awaitOwner();
+                long pause = TimeUnit.SECONDS.toNanos(1 + random.nextInt(600));
+                testClock.advance(pause);
+                pausedNanos += pause;
+                testEngine.resume();
+                awaitOwner();
+            }
+            assertTrue(testClock.runNext((long) (random.nextDouble() * MAX_LATENESS_NANOS)));
+            awaitOwner();
+            long timelineError = testClock.nanoTime() - start - pausedNanos - plannedNanos;
+            assertTrue(Math.abs(timelineError) <= MAX_LATENESS_NANOS + MICRO_NANOS);
+        }
+    }
+
+    @Test
+    void testLongStallCorrectedOverFollowingBlocks() throws Exception {
+        long start = testClock.nanoTime();
+        testEngine.start(testPreset);
+        awaitOwner();
+        assertTrue(testClock.runNext(TimeUnit.SECONDS.toNanos(40))); // the first focus block ends 40 s late
+        awaitOwner();
+        assertEquals(TimeUnit.SECONDS.toMicros(40), testEngine.getSnapshot().getLastBlockDriftMicroSeconds());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(testClock.runNext(0));
+            awaitOwner();
+        }
+
+        // meditation (10 s) and focus (50 s) are each shortened by at most half, making up 5 s and then 25 s
+        assertEquals(TimeUnit.SECONDS.toMicros(35), drift(1));
+        assertEquals(TimeUnit.SECONDS.toMicros(10), drift(2));
+        assertEquals(TimeUnit.SECONDS.toMicros(5), drift(3));
+        assertEquals(0, drift(4));
+        assertEquals(List.of(TimeUnit.SECONDS.toMicros(40), drift(1), drift(2), drift(3), 0L), reportedDriftMicros);
+        assertEquals(TimeUnit.SECONDS.toMillis(5), blockStartMillis.get(2) - blockStartMillis.get(1));
+        assertEquals(TimeUnit.SECONDS.toMillis(25), blockStartMillis.get(3) - blockStartMillis.get(2));
+        assertEquals(plannedNanos, testClock.nanoTime() - start);
+    }
+
+    @Test
+    void testRemainingTimeReadFromClock() throws Exception {
+        testEngine.start(testPreset);
+        SessionSnapshot snapshot = awaitOwner();
+        testClock.advance(TimeUnit.SECONDS.toNanos(20));
+
+        assertEquals(TimeUnit.SECONDS.toMicros(30), snapshot.getRemainingMicroSeconds());
+        assertEquals(0, snapshot.getLastBlockDriftMicroSeconds());
+
+        testEngine.pause();
+        SessionSnapshot paused = awaitOwner();
+        testClock.advance(TimeUnit.HOURS.toNanos(1));
+
+        assertEquals(TimeUnit.SECONDS.toMicros(30), paused.getRemainingMicroSeconds());
+        assertEquals(TimeUnit.SECONDS.toMicros(30), testEngine.getSnapshot().getRemainingMicroSeconds());
+    }
+
+    // EFFECTS: returns the drift of the block that ended at blockEndNanos[index], in microseconds
+    private long drift(int index) {
+        long plannedEnd = TimeUnit.SECONDS.toNanos(50 + (index >= 1 ? 10 : 0) + (index >= 2 ? 50 : 0)
+                + (index >= 3 ? 10 : 0) + (index >= 4 ? 30 : 0));
+        return TimeUnit.NANOSECONDS.toMicros(blockEndNanos.get(index) - SimulatedClock.START_NANOS - plannedEnd);
+    }
+
+    // EFFECTS: waits for the engine's thread to run every command handed to it so far and returns its snapshot
+    private SessionSnapshot awaitOwner() throws Exception {
+        testOwner.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        return testEngine.getSnapshot();
+    }
+
+    // Represents a clock and deadline scheduler whose time only moves when a test moves it. A deadline runs when
+    // the test asks for the next one, at the time it was due plus a chosen lateness.
+    private static class SimulatedClock implements TimeSource, DeadlineScheduler {
+        private static final long START_NANOS = 1_000_000_000L;
+        private static final long START_EPOCH_MILLIS = 1_700_000_000_000L;
+
+        private final PriorityQueue<Entry> waiting = new PriorityQueue<>();
+        private long nanos = START_NANOS;
+        private long sequence;
+
+        @Override
+        public synchronized long nanoTime() {
+            return nanos;
+        }
+
+        @Override
+        public synchronized long currentTimeMillis() {
+            return START_EPOCH_MILLIS + TimeUnit.NANOSECONDS.toMillis(nanos - START_NANOS);
+        }
+
+        @Override
+        public synchronized Deadline schedule(Runnable task, long delayNanos) {
+            Entry entry = new Entry(task, nanos + delayNanos, sequence++);
+            waiting.add(entry);
+            return () -> {
+                synchronized (SimulatedClock.this) {
+                    return waiting.remove(entry);
+                }
+            };
+        }
+
+        private synchronized void advance(long byNanos) {
+            nanos += byNanos;
+        }
+
+        // EFFECTS: moves time to latenessNanos after the earliest deadline is due and runs it; returns false if no
+        //          deadline is waiting
+        private boolean runNext(long latenessNanos) {
+            Entry entry;
+            synchronized (this) {
+                entry = waiting.poll();
+                if (entry == null) {
+                    return false;
+                }
+                nanos = Math.max(nanos, entry.dueNanos + latenessNanos);
+            }
+            entry.task.run();
+            return true;
+        }
+
+        private static class Entry implements Comparable<Entry> {
+            private final Runnable task;
+            private final long dueNanos;
+            private final long sequence;
+
+            private Entry(Runnable task, long dueNanos, long sequence) {
+                this.task = task;
+                this.dueNanos = dueNanos;
+                this.sequence = sequence;
+            }
+
+            @Override
+            public int compareTo(Entry other) {
+                int byDue = Long.compare(dueNanos, other.dueNanos);
+                return byDue != 0 ? byDue : Long.compare(sequence, other.sequence);
+            }
+        }
+    }
+
+    private static class SilentPlayer implements BlockPlayer {
+        @Override
+        public void play(BlockType blockType) {
+        }
+
+        @Override
+        public void pause() {
+        }
+
+        @Override
+        public void resume() {
+        }
+
+        @Override
+        public void stop() {
+        }
+    }
+}
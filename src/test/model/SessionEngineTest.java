@@ -0,0 +1,254 @@
+package model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for SessionEngine.
+public class SessionEngineTest {
+
+    // Fields
+    private RecordingPlayer testPlayer;
+    private ScheduledExecutorService testOwner;
+    private SessionEngine testEngine;
+    private Preset longPreset;
+    private Preset shortPreset;
+
+    @BeforeEach
+    void runBefore() {
+        testPlayer = new RecordingPlayer();
+        testOwner = Executors.newSingleThreadScheduledExecutor();
+        testEngine = new SessionEngine(testPlayer, testOwner, TimeUnit.MILLISECONDS);
+        longPreset = new Preset("Long", 60000, 60000, 60000);
+        shortPreset = new Preset("Short", 30, 20, 40);
+    }
+
+    @AfterEach
+    void runAfter() {
+        testEngine.shutdown();
+    }
+
+    @Test
+    void testIdleBeforeStart() {
+        SessionSnapshot snapshot = testEngine.getSnapshot();
+
+        assertTrue(snapshot.isIdle());
+        assertEquals(SessionState.IDLE, snapshot.getState());
+        assertNull(snapshot.getPreset());
+        assertNull(snapshot.getBlockType());
+        assertEquals(0, snapshot.getRemainingMicroSeconds());
+        assertEquals(0, snapshot.getFocusSessionsCompleted());
+    }
+
+    @Test
+    void testStartPlaysFirstFocusBlock() throws Exception {
+        testEngine.start(longPreset);
+        SessionSnapshot snapshot = awaitOwner();
+
+        assertEquals(SessionState.RUNNING, snapshot.getState());
+        assertEquals(longPreset, snapshot.getPreset());
+        assertEquals(BlockType.FOCUS, snapshot.getBlockType());
+        assertEquals(BlockType.MEDITATION, snapshot.getNextBlockType());
+        assertTrue(snapshot.getRemainingMicroSeconds() > 59_000_000);
+        assertEquals(List.of("play FOCUS"), testPlayer.getCalls());
+    }
+
+    @Test
+    void testStartIsIdempotent() throws Exception {
+        testEngine.start(longPreset);
+        testEngine.start(longPreset);
+        testEngine.start(shortPreset);
+        SessionSnapshot snapshot = awaitOwner();
+
+        assertEquals(longPreset, snapshot.getPreset());
+        assertEquals(List.of("play FOCUS"), testPlayer.getCalls());
+    }
+
+    @Test
+    void testBlocksFollowCycle() throws Exception {
+        testEngine.start(shortPreset);
+        Thread.sleep(400); // a whole cycle takes 30 + 20 + 30 + 20 + 40 = 140ms
+        testEngine.pause();
+        SessionSnapshot snapshot = awaitOwner();
+
+        List<String> calls = testPlayer.getCalls();
+        assertEquals(List.of("play FOCUS", "play MEDITATION", "play FOCUS", "play MEDITATION", "play REST",
+                "play FOCUS"), calls.subList(0, 6));
+        assertTrue(snapshot.getFocusSessionsCompleted() >= 2);
+        assertTrue(snapshot.getMeditationSessionsCompleted() >= 2);
+        assertTrue(snapshot.getRestSessionsCompleted() >= 1);
+    }
+
+    @Test
+    void testPauseFreezesRemainingTime() throws Exception {
+        testEngine.start(longPreset);
+        testEngine.pause();
+        SessionSnapshot paused = awaitOwner();
+        Thread.sleep(50);
+
+        assertEquals(SessionState.PAUSED, paused.getState());
+        assertEquals(paused.getRemainingMicroSeconds(), testEngine.getSnapshot().getRemainingMicroSeconds());
+        assertEquals(List.of("play FOCUS", "pause"), testPlayer.getCalls());
+    }
+
+    @Test
+    void testResumeAfterPause() throws Exception {
+        testEngine.start(longPreset);
+        testEngine.pause();
+        testEngine.resume();
+        testEngine.resume();
+        SessionSnapshot snapshot = awaitOwner();
+
+        assertEquals(SessionState.RUNNING, snapshot.getState());
+        assertEquals(List.of("play FOCUS", "pause", "resume"), testPlayer.getCalls());
+    }
+
+    @Test
+    void testPauseAndResumeWhenIdleDoNothing() throws Exception {
+        testEngine.pause();
+        testEngine.resume();
+        testEngine.stop();
+
+        assertTrue(awaitOwner().isIdle());
+        assertTrue(testPlayer.getCalls().isEmpty());
+    }
+
+    @Test
+    void testStopReturnsToIdle() throws Exception {
+        testEngine.start(shortPreset);
+        testEngine.stop();
+        SessionSnapshot snapshot = awaitOwner();
+        Thread.sleep(100);
+
+        assertTrue(snapshot.isIdle());
+        assertEquals(List.of("play FOCUS", "stop"), testPlayer.getCalls());
+    }
+
+    @Test
+    void testSetPresetAppliesToNextBlock() throws Exception {
+        testEngine.start(shortPreset);
+        testEngine.setPreset(longPreset);
+        Thread.sleep(100);
+        SessionSnapshot snapshot = awaitOwner();
+
+        assertEquals(longPreset, snapshot.getPreset());
+        assertEquals(BlockType.MEDITATION, snapshot.getBlockType());
+        assertTrue(snapshot.getRemainingMicroSeconds() > 59_000_000);
+    }
+
+    @Test
+    void testObserversNotifiedOfCompletedBlocks() throws Exception {
+        List<String> completed = Collections.synchronizedList(new ArrayList<>());
+        List<Long> startTimes = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch twoBlocks = new CountDownLatch(2);
+        BlockObserver observer = (blockType, presetId, startEpochMillis, durationMillis, drift) -> {
+            completed.add(blockType + " " + presetId + " " + durationMillis);
+            startTimes.add(startEpochMillis);
+            twoBlocks.countDown();
+        };
+        long before = System.currentTimeMillis();
+        testEngine.addBlockObserver(observer);
+        testEngine.start(shortPreset);
+        assertTrue(twoBlocks.await(2, TimeUnit.SECONDS));
+        testEngine.removeBlockObserver(observer);
+        testEngine.stop();
+        awaitOwner();
+
+        assertTrue(startTimes.get(0) >= before);
+        assertTrue(startTimes.get(1) > startTimes.get(0));
+        assertEquals(List.of("FOCUS " + shortPreset.getId() + " 30", "MEDITATION " + shortPreset.getId() + " 20"),
+                completed.subList(0, 2));
+    }
+
+    @Test
+    void testSnapshotDoesNotChange() throws Exception {
+        SessionSnapshot idle = testEngine.getSnapshot();
+        testEngine.start(longPreset);
+        awaitOwner();
+
+        assertTrue(idle.isIdle());
+        assertEquals(0, idle.getRemainingMicroSeconds());
+    }
+
+    @Test
+    void testPlayerOnlyCalledOnOwnerThread() throws Exception {
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread caller = new Thread(() -> {
+                for (int j = 0; j < 100; j++) {
+                    testEngine.start(shortPreset);
+                    testEngine.pause();
+                    testEngine.resume();
+                    testEngine.stop();
+                }
+            });
+            callers.add(caller);
+            caller.start();
+        }
+        for (Thread caller : callers) {
+            caller.join(5000);
+        }
+        awaitOwner();
+
+        assertEquals(1, testPlayer.getThreads().size());
+    }
+
+    // EFFECTS: waits until the engine has handled every command given to it so far, then returns its snapshot
+    private SessionSnapshot awaitOwner() throws Exception {
+        testOwner.submit(() -> { }).get(2, TimeUnit.SECONDS);
+        return testEngine.getSnapshot();
+    }
+
+    // Represents a player that records the calls made to it and the threads that made them.
+    private static class RecordingPlayer implements BlockPlayer {
+        private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        private final Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
+
+        @Override
+        public void play(BlockType blockType) {
+            record("play " + blockType);
+        }
+
+        @Override
+        public void pause() {
+            record("pause");
+        }
+
+        @Override
+        public void resume() {
+            record("resume");
+        }
+
+        @Override
+        public void stop() {
+            record("stop");
+        }
+
+        private void record(String call) {
+            calls.add(call);
+            threads.add(Thread.currentThread());
+        }
+
+        private List<String> getCalls() {
+            synchronized (calls) {
+                return new ArrayList<>(calls);
+            }
+        }
+
+        private Set<Thread> getThreads() {
+            return threads;
+        }
+    }
+}
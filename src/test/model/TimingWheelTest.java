@@ -0,0 +1,157 @@
+package model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for TimingWheel.
+public class TimingWheelTest {
+
+    // Constants
+    private static final long TICK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    // Fields
+    private TimingWheel testWheel;
+
+    @BeforeEach
+    void runBefore() {
+        testWheel = new TimingWheel(TICK_NANOS);
+    }
+
+    @AfterEach
+    void runAfter() {
+        testWheel.shutdown();
+    }
+
+    @Test
+    void testDeadlineRunsNoEarlierThanDue() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        long[] ranAt = new long[1];
+        long scheduledAt = System.nanoTime();
+        testWheel.schedule(() -> {
+            ranAt[0] = System.nanoTime();
+            ran.countDown();
+        }, TimeUnit.MILLISECONDS.toNanos(30));
+
+        assertEquals(TICK_NANOS, testWheel.getTickNanos());
+        assertEquals(1, testWheel.size());
+        assertTrue(ran.await(2, TimeUnit.SECONDS));
+        assertTrue(ranAt[0] - scheduledAt >= TimeUnit.MILLISECONDS.toNanos(30));
+        assertEquals(0, testWheel.size());
+    }
+
+    @Test
+    void testZeroDelayRunsAtNextTick() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        testWheel.schedule(ran::countDown, 0);
+
+        assertTrue(ran.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testCancelledDeadlineDoesNotRun() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        DeadlineScheduler.Deadline deadline = testWheel.schedule(ran::countDown, TimeUnit.MILLISECONDS.toNanos(20));
+
+        assertTrue(deadline.cancel());
+        assertFalse(deadline.cancel());
+        assertEquals(0, testWheel.size());
+        assertFalse(ran.await(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testCancelAfterRunningReturnsFalse() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        DeadlineScheduler.Deadline deadline = testWheel.schedule(ran::countDown, 0);
+
+        assertTrue(ran.await(2, TimeUnit.SECONDS));
+        assertFalse(deadline.cancel());
+    }
+
+    @Test
+    void testDeadlinesRunInOrderAcrossLevels() throws InterruptedException {
+        // at 100us per tick, the first level covers 25.6ms and the second 6.5s
+        long[] delaysMillis = {300, 2, 80, 30, 26, 700, 1};
+        List<Long> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch allRan = new CountDownLatch(delaysMillis.length);
+        for (long delay : delaysMillis) {
+            testWheel.schedule(() -> {
+                order.add(delay);
+                allRan.countDown();
+            }, TimeUnit.MILLISECONDS.toNanos(delay));
+        }
+
+        assertTrue(allRan.await(3, TimeUnit.SECONDS));
+        assertEquals(List.of(1L, 2L, 26L, 30L, 80L, 300L, 700L), order);
+    }
+
+    @Test
+    void testManyDeadlinesWithCancellations() throws InterruptedException {
+        AtomicInteger ran = new AtomicInteger();
+        CountDownLatch kept = new CountDownLatch(5000);
+        List<DeadlineScheduler.Deadline> cancelled = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            long delay = TimeUnit.MICROSECONDS.toNanos(200_000 + i * 37 % 200_000); // cancelled before due
+            if (i % 2 == 0) {
+                testWheel.schedule(() -> {
+                    ran.incrementAndGet();
+                    kept.countDown();
+                }, delay);
+            } else {
+                cancelled.add(testWheel.schedule(ran::incrementAndGet, delay));
+            }
+        }
+        for (DeadlineScheduler.Deadline deadline : cancelled) {
+            deadline.cancel();
+        }
+
+        assertTrue(kept.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals(5000, ran.get());
+        assertEquals(0, testWheel.size());
+    }
+
+    @Test
+    void testFarDeadlineIsKept() {
+        testWheel.schedule(() -> { }, TimeUnit.DAYS.toNanos(365 * 100));
+
+        assertEquals(1, testWheel.size());
+    }
+
+    @Test
+    void testTaskThatThrowsDoesNotStopWheel() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        testWheel.schedule(() -> {
+            throw new IllegalStateException("expected by test");
+        }, 0);
+        testWheel.schedule(ran::countDown, TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertTrue(ran.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testRunningOnHandsTasksToExecutor() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "owner"));
+        CountDownLatch ran = new CountDownLatch(1);
+        String[] threadName = new String[1];
+        testWheel.runningOn(executor).schedule(() -> {
+            threadName[0] = Thread.currentThread().getName();
+            ran.countDown();
+        }, TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertTrue(ran.await(2, TimeUnit.SECONDS));
+        assertEquals("owner", threadName[0]);
+        executor.shutdown();
+    }
+}
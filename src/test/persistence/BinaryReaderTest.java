@@ -0,0 +1,122 @@
+package persistence;
+
+import model.Preset;
+import model.PresetList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for BinaryReader and MappedPresets.
+public class BinaryReaderTest {
+
+    // Fields
+    private Path file;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        file = Files.createTempFile("testBinaryReader", ".presets");
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void testReaderNonExistentFile() {
+        BinaryReader reader = new BinaryReader("./data/noSuchFile.presets");
+        assertThrows(IOException.class, reader::read);
+    }
+
+    @Test
+    void testReaderNotBinaryFile() {
+        BinaryReader reader = new BinaryReader("./data/presets/testReaderStandardFile.json");
+        assertThrows(IOException.class, reader::open);
+    }
+
+    @Test
+    void testReaderTruncatedFile() throws IOException {
+        writePresets(3);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(BinaryFormat.recordPosition(2));
+        }
+        assertThrows(IOException.class, () -> new BinaryReader(file.toString()).open());
+    }
+
+    @Test
+    void testReaderNameOutsideStringTable() throws IOException {
+        writePresets(2);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer badLength = ByteBuffer.allocate(4).putInt(0, 1000);
+            channel.write(badLength, BinaryFormat.recordPosition(1) + BinaryFormat.NAME_LENGTH_OFFSET);
+        }
+        MappedPresets presets = new BinaryReader(file.toString()).open();
+
+        assertEquals("Preset 0", presets.getPresetName(0));
+        assertThrows(IllegalStateException.class, () -> presets.getPresetName(1));
+        assertThrows(IOException.class, () -> new BinaryReader(file.toString()).read());
+    }
+
+    @Test
+    void testMappedPresetsReadsFieldsOnDemand() throws IOException {
+        writePresets(1000);
+        MappedPresets presets = new BinaryReader(file.toString()).open();
+
+        assertEquals(1000, presets.size());
+        assertEquals(501, presets.getId(500));
+        assertEquals("Preset 500", presets.getPresetName(500));
+        assertEquals(501, presets.getFocusTime(500));
+        assertEquals(10, presets.getMeditationTime(500));
+        assertEquals(30, presets.getRestTime(500));
+        Preset preset = presets.getPreset(999);
+        assertEquals(1000, preset.getId());
+        assertEquals("Preset 999", preset.getPresetName());
+        assertThrows(IndexOutOfBoundsException.class, () -> presets.getId(1000));
+        assertThrows(IndexOutOfBoundsException.class, () -> presets.getPreset(-1));
+    }
+
+    @Test
+    void testReaderKeepsIds() throws IOException {
+        writePresets(3);
+        PresetList pl = new BinaryReader(file.toString()).read();
+
+        assertEquals(3, pl.getPresetList().size());
+        assertEquals("Preset 1", pl.getPresetById(2).getPresetName());
+    }
+
+    @Test
+    void testReaderLargeFile() throws IOException {
+        int numberOfPresets = 200_000;
+        writePresets(numberOfPresets);
+        long[] totals = new long[2];
+        new BinaryReader(file.toString()).read(preset -> {
+            totals[0]++;
+            totals[1] += preset.getFocusTime();
+        });
+
+        assertEquals(numberOfPresets, totals[0]);
+        assertEquals((long) numberOfPresets * (numberOfPresets + 1) / 2, totals[1]);
+    }
+
+    // EFFECTS: writes a binary file with the given number of presets, where preset i is named "Preset i" and has a
+    //          focus time of i + 1
+    private void writePresets(int numberOfPresets) throws IOException {
+        PresetList pl = new PresetList();
+        for (int i = 0; i < numberOfPresets; i++) {
+            pl.addPreset(new Preset("Preset " + i, i + 1, 10, 30));
+        }
+        BinaryWriter writer = new BinaryWriter(file.toString());
+        writer.open();
+        writer.write(pl);
+        writer.close();
+    }
+}
@@ -0,0 +1,124 @@
+package persistence;
+
+import model.Preset;
+import model.PresetList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for BinaryWriter.
+public class BinaryWriterTest {
+
+    // Fields
+    private Path file;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        file = Files.createTempFile("testBinaryWriter", ".presets");
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void testWriterInvalidFile() {
+        try {
+            BinaryWriter writer = new BinaryWriter("./data/my\0illegal:fileName.presets");
+            writer.open();
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testWriterEmptyFile() throws IOException {
+        write(new PresetList());
+
+        assertEquals(BinaryFormat.HEADER_BYTES, Files.size(file));
+        assertEquals(0, new BinaryReader(file.toString()).read().getPresetList().size());
+    }
+
+    @Test
+    void testWriterStandardFile() throws IOException {
+        PresetList pl = new PresetList();
+        pl.addPreset(new Preset("Default", 50, 10, 30));
+        pl.addPreset(new Preset("T\u00e9st \u2615", 1, 1, 2));
+        write(pl);
+
+        List<Preset> presets = new BinaryReader(file.toString()).read().getPresetList();
+        assertEquals(2, presets.size());
+        checkPreset(pl.getPresetList().get(0), presets.get(0));
+        checkPreset(pl.getPresetList().get(1), presets.get(1));
+    }
+
+    @Test
+    void testWriterStoresEachNameOnce() throws IOException {
+        PresetList pl = new PresetList();
+        for (int i = 0; i < 10; i++) {
+            pl.addPreset(new Preset("Same", i + 1, 1, 1));
+        }
+        write(pl);
+
+        assertEquals(BinaryFormat.recordPosition(10) + "Same".length(), Files.size(file));
+        MappedPresets presets = new BinaryReader(file.toString()).open();
+        assertEquals("Same", presets.getPresetName(9));
+        assertEquals(10, presets.getFocusTime(9));
+    }
+
+    @Test
+    void testWriterKeepsPreviousFileUntilClose() throws IOException {
+        PresetList pl = new PresetList();
+        pl.addPreset(new Preset("Old", 1, 1, 1));
+        write(pl);
+        pl.addPreset(new Preset("New", 2, 2, 2));
+
+        BinaryWriter writer = new BinaryWriter(file.toString(), true);
+        writer.open();
+        writer.write(pl);
+        assertEquals(1, new BinaryReader(file.toString()).open().size());
+        writer.close();
+        assertEquals(2, new BinaryReader(file.toString()).open().size());
+    }
+
+    @Test
+    void testWriterAbortLeavesPreviousFile() throws IOException {
+        PresetList pl = new PresetList();
+        pl.addPreset(new Preset("Old", 1, 1, 1));
+        write(pl);
+        Path temporaryFile = Path.of(file + ".tmp");
+
+        BinaryWriter writer = new BinaryWriter(file.toString());
+        writer.open();
+        assertTrue(Files.exists(temporaryFile));
+        writer.abort();
+        assertFalse(Files.exists(temporaryFile));
+        assertEquals(1, new BinaryReader(file.toString()).open().size());
+    }
+
+    // EFFECTS: writes pl to file
+    private void write(PresetList pl) throws IOException {
+        BinaryWriter writer = new BinaryWriter(file.toString());
+        writer.open();
+        writer.write(pl);
+        writer.close();
+    }
+
+    // EFFECTS: checks that actual has the same fields as expected
+    private void checkPreset(Preset expected, Preset actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getPresetName(), actual.getPresetName());
+        assertEquals(expected.getFocusTime(), actual.getFocusTime());
+        assertEquals(expected.getMeditationTime(), actual.getMeditationTime());
+        assertEquals(expected.getRestTime(), actual.getRestTime());
+    }
+}
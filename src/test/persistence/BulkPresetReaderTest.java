@@ -0,0 +1,207 @@
+package persistence;
+
+import model.Preset;
+import model.PresetList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for BulkPresetReader.
+public class BulkPresetReaderTest {
+
+    // Fields
+    private Path csvFile;
+    private Path jsonLinesFile;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        csvFile = Files.createTempFile("testBulkReader", ".csv");
+        jsonLinesFile = Files.createTempFile("testBulkReader", ".jsonl");
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(csvFile);
+        Files.deleteIfExists(jsonLinesFile);
+    }
+
+    @Test
+    void testReadCsv() throws IOException {
+        Files.writeString(csvFile, "name,focusTime,meditationTime,restTime\r\n"
+                + "Study,50,10,30\r\n"
+                + "\"Deep, \"\"focused\"\" work\",90,5,15\r\n"
+                + "\r\n"
+                + "7, Read ,20,5,5");
+
+        BulkPresetReader.Result result = new BulkPresetReader(csvFile.toString()).read();
+
+        List<Preset> presets = result.getPresets();
+        assertEquals(3, presets.size());
+        assertEquals("Study", presets.get(0).getPresetName());
+        assertEquals(Preset.NO_ID, presets.get(0).getId());
+        assertEquals(50, presets.get(0).getFocusTime());
+        assertEquals("Deep, \"focused\" work", presets.get(1).getPresetName());
+        assertEquals(15, presets.get(1).getRestTime());
+        assertEquals(7, presets.get(2).getId());
+        assertEquals(" Read ", presets.get(2).getPresetName());
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(5, result.getLineCount());
+    }
+
+    @Test
+    void testReadJsonLines() throws IOException {
+        Files.writeString(jsonLinesFile, "{\"id\":3,\"name\":\"Study\",\"focusTime\":50,\"meditationTime\":10,"
+                + "\"restTime\":30}\n"
+                + "{\"name\":\"Line\\nbreak\",\"restTime\":5,\"focusTime\":25,\"meditationTime\":5}\n");
+
+        List<Preset> presets = new BulkPresetReader(jsonLinesFile.toString()).read().getPresets();
+
+        assertEquals(2, presets.size());
+        assertEquals(3, presets.get(0).getId());
+        assertEquals("Line\nbreak", presets.get(1).getPresetName());
+        assertEquals(Preset.NO_ID, presets.get(1).getId());
+    }
+
+    @Test
+    void testInvalidLinesReportedAndRestKept() throws IOException {
+        String valid = "Study,50,10,30\n";
+        String tooFewFields = "Work,90,5\n";
+        String notANumber = "Work,90,five,15\n";
+        String zeroTime = "Work,0,5,15\n";
+        String unclosedQuote = "\"Work,90,5,15\n";
+        Files.writeString(csvFile, valid + tooFewFields + valid + notANumber + zeroTime + unclosedQuote + valid);
+
+        BulkPresetReader.Result result = new BulkPresetReader(csvFile.toString()).read();
+
+        assertEquals(3, result.getPresets().size());
+        assertEquals(4, result.getErrorCount());
+        List<BulkPresetReader.RecordError> errors = result.getErrors();
+        assertEquals(2, errors.get(0).getLine());
+        assertEquals(valid.length(), errors.get(0).getOffset());
+        assertEquals("line 2 (offset 15): expected 4 or 5 fields but found 3", errors.get(0).toString());
+        assertEquals(4, errors.get(1).getLine());
+        assertTrue(errors.get(1).getMessage().contains("meditationTime"));
+        assertEquals(5, errors.get(2).getLine());
+        assertEquals(6, errors.get(3).getLine());
+        assertEquals(2 * valid.length() + tooFewFields.length() + notANumber.length() + zeroTime.length(),
+                errors.get(3).getOffset());
+    }
+
+    @Test
+    void testInvalidJsonLineReported() throws IOException {
+        Files.writeString(jsonLinesFile, "{\"name\":\"Study\",\"focusTime\":50,\"meditationTime\":10,"
+                + "\"restTime\":30}\n"
+                + "{\"name\":\"Work\",\"focusTime\":50}\n"
+                + "{\"name\":\n");
+
+        BulkPresetReader.Result result = new BulkPresetReader(jsonLinesFile.toString()).read();
+
+        assertEquals(1, result.getPresets().size());
+        assertEquals(2, result.getErrorCount());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertEquals(3, result.getErrors().get(1).getLine());
+    }
+
+    @Test
+    void testSmallChunksMatchOneChunk() throws IOException {
+        StringBuilder text = new StringBuilder(BulkFormat.CSV_HEADER).append('\n');
+        for (int i = 1; i <= 2000; i++) {
+            if (i % 97 == 0) {
+                text.append("Broken ").append(i).append('\n');
+            } else if (i % 89 == 0) {
+                text.append('\n');
+            } else {
+                text.append(i).append(",\"Preset, ").append(i).append("\",").append(i).append(",5,")
+                        .append(i % 60 + 1).append('\n');
+            }
+        }
+        Files.writeString(csvFile, text);
+
+        BulkPresetReader.Result whole = new BulkPresetReader(csvFile.toString(), BulkFormat.CSV, pool,
+                Integer.MAX_VALUE).read();
+        for (int chunkBytes : new int[] {5, 64, 1000}) {
+            BulkPresetReader.Result chunked = new BulkPresetReader(csvFile.toString(), BulkFormat.CSV, pool,
+                    chunkBytes).read();
+
+            assertEquals(whole.getLineCount(), chunked.getLineCount());
+            assertEquals(whole.getPresets().size(), chunked.getPresets().size());
+            for (int i = 0; i < whole.getPresets().size(); i++) {
+                assertEquals(whole.getPresets().get(i).getId(), chunked.getPresets().get(i).getId());
+                assertEquals(whole.getPresets().get(i).getPresetName(),
+                        chunked.getPresets().get(i).getPresetName());
+            }
+            assertEquals(whole.getErrors().toString(), chunked.getErrors().toString());
+        }
+        assertEquals(2001, whole.getLineCount());
+        assertEquals(20, whole.getErrorCount());
+        assertEquals(98, whole.getErrors().get(0).getLine());
+        assertEquals(text.indexOf("Broken 97"), whole.getErrors().get(0).getOffset());
+    }
+
+    @Test
+    void testTooLongLineReported() throws IOException {
+        String line = "Study,50,10,30\n";
+        String longName = "x".repeat(BulkPresetReader.MAX_RECORD_BYTES + 1);
+        Files.writeString(csvFile, line + longName + ",1,1,1\n" + line, StandardCharsets.UTF_8);
+
+        BulkPresetReader.Result result = new BulkPresetReader(csvFile.toString(), BulkFormat.CSV, pool, 16).read();
+
+        assertEquals(2, result.getPresets().size());
+        assertEquals(1, result.getErrorCount());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertEquals(line.length(), result.getErrors().get(0).getOffset());
+        assertEquals(3, result.getLineCount());
+    }
+
+    @Test
+    void testErrorsKeptAreCapped() throws IOException {
+        Files.writeString(csvFile, "bad\n".repeat(BulkPresetReader.MAX_ERRORS_KEPT + 5));
+
+        BulkPresetReader.Result result = new BulkPresetReader(csvFile.toString(), BulkFormat.CSV, pool, 64).read();
+
+        assertEquals(BulkPresetReader.MAX_ERRORS_KEPT + 5, result.getErrorCount());
+        assertEquals(BulkPresetReader.MAX_ERRORS_KEPT, result.getErrors().size());
+        assertEquals(BulkPresetReader.MAX_ERRORS_KEPT, result.getErrors().get(BulkPresetReader.MAX_ERRORS_KEPT - 1)
+                .getLine());
+    }
+
+    @Test
+    void testAddToKeepsIdsThatAreFree() throws IOException {
+        Files.writeString(csvFile, "4,Study,50,10,30\n4,Work,90,5,15\nRead,20,5,5\n");
+        PresetList pl = new PresetList();
+
+        new BulkPresetReader(csvFile.toString()).read().addTo(pl);
+
+        assertEquals(3, pl.getPresetList().size());
+        assertEquals("Study", pl.getPresetById(4).getPresetName());
+        assertNotEquals(4, pl.getPresetByName("Work").getId());
+        assertNotEquals(Preset.NO_ID, pl.getPresetByName("Read").getId());
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+        BulkPresetReader.Result result = new BulkPresetReader(csvFile.toString()).read();
+
+        assertTrue(result.getPresets().isEmpty());
+        assertEquals(0, result.getLineCount());
+    }
+
+    @Test
+    void testMissingFileAndUnknownExtension() {
+        assertThrows(NoSuchFileException.class, () -> new BulkPresetReader("./data/noSuchFile.csv").read());
+        assertThrows(IllegalArgumentException.class, () -> new BulkPresetReader("./data/presets.txt"));
+    }
+}
@@ -0,0 +1,152 @@
+package persistence;
+
+import model.Preset;
+import model.PresetList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for BulkPresetWriter.
+public class BulkPresetWriterTest {
+
+    // Fields
+    private Path csvFile;
+    private Path jsonLinesFile;
+    private PresetList pl;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        csvFile = Files.createTempFile("testBulkWriter", ".csv");
+        jsonLinesFile = Files.createTempFile("testBulkWriter", ".jsonl");
+        pl = new PresetList();
+        pl.addPreset(new Preset("Study", 50, 10, 30));
+        pl.addPreset(new Preset("Deep, \"focused\" work", 90, 5, 15));
+        pl.addPreset(new Preset(" Read", 20, 5, 5));
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        Files.deleteIfExists(csvFile);
+        Files.deleteIfExists(jsonLinesFile);
+    }
+
+    @Test
+    void testWriteCsv() throws IOException {
+        write(csvFile, pl);
+
+        assertEquals(List.of(BulkFormat.CSV_HEADER,
+                "1,Study,50,10,30",
+                "2,\"Deep, \"\"focused\"\" work\",90,5,15",
+                "3,\" Read\",20,5,5"), Files.readAllLines(csvFile));
+    }
+
+    @Test
+    void testWriteJsonLines() throws IOException {
+        write(jsonLinesFile, pl);
+
+        List<String> lines = Files.readAllLines(jsonLinesFile);
+        assertEquals(3, lines.size());
+        assertEquals("{\"id\":1,\"name\":\"Study\",\"focusTime\":50,\"meditationTime\":10,\"restTime\":30}",
+                lines.get(0));
+    }
+
+    @Test
+    void testRoundTripBothFormats() throws IOException {
+        pl.addPreset(new Preset("Tab\tand \u00fcn\u00efcode", 25, 5, 5));
+        for (Path file : List.of(csvFile, jsonLinesFile)) {
+            write(file, pl);
+            BulkPresetReader.Result result = new BulkPresetReader(file.toString()).read();
+
+            List<Preset> presets = result.getPresets();
+            assertEquals(4, presets.size());
+            for (int i = 0; i < 4; i++) {
+                Preset original = pl.getPresetList().get(i);
+                assertEquals(original.getId(), presets.get(i).getId());
+                assertEquals(original.getPresetName(), presets.get(i).getPresetName());
+                assertEquals(original.getFocusTime(), presets.get(i).getFocusTime());
+                assertEquals(original.getMeditationTime(), presets.get(i).getMeditationTime());
+                assertEquals(original.getRestTime(), presets.get(i).getRestTime());
+            }
+        }
+    }
+
+    @Test
+    void testManyPresetsStreamed() throws IOException {
+        List<Preset> presets = new ArrayList<>();
+        for (int i = 1; i <= 20_000; i++) {
+            presets.add(new Preset(i, "Preset " + i, i, 5, 15));
+        }
+        BulkPresetWriter writer = new BulkPresetWriter(jsonLinesFile.toString());
+        writer.open();
+        writer.write(presets);
+        writer.close();
+
+        BulkPresetReader.Result result = new BulkPresetReader(jsonLinesFile.toString()).read();
+        assertEquals(20_000, result.getPresets().size());
+        assertEquals(20_000, result.getPresets().get(19_999).getFocusTime());
+        assertEquals(0, result.getErrorCount());
+    }
+
+    @Test
+    void testLineBreakInNameRejectedByCsvOnly() throws IOException {
+        write(csvFile, pl);
+        pl.addPreset(new Preset("Line\nbreak", 25, 5, 5));
+
+        BulkPresetWriter writer = new BulkPresetWriter(csvFile.toString());
+        writer.open();
+        try {
+            assertThrows(IllegalArgumentException.class, () -> writer.write(pl));
+        } finally {
+            writer.abort();
+        }
+        assertEquals(4, Files.readAllLines(csvFile).size());
+
+        write(jsonLinesFile, pl);
+        List<Preset> presets = new BulkPresetReader(jsonLinesFile.toString()).read().getPresets();
+        assertEquals("Line\nbreak", presets.get(3).getPresetName());
+    }
+
+    @Test
+    void testAbortKeepsPreviousFile() throws IOException {
+        write(csvFile, pl);
+        Path temporaryFile = Path.of(csvFile + ".tmp");
+
+        BulkPresetWriter writer = new BulkPresetWriter(csvFile.toString(), BulkFormat.CSV, true);
+        writer.open();
+        Iterable<Preset> failing = () -> {
+            throw new IllegalStateException("presets unavailable");
+        };
+        try {
+            assertThrows(IllegalStateException.class, () -> writer.write(failing));
+        } finally {
+            writer.abort();
+        }
+
+        assertFalse(Files.exists(temporaryFile));
+        assertEquals(4, Files.readAllLines(csvFile).size());
+    }
+
+    @Test
+    void testWriterInvalidFile() {
+        BulkPresetWriter writer = new BulkPresetWriter("./data/my\0illegal:fileName.csv");
+        assertThrows(FileNotFoundException.class, writer::open);
+        assertThrows(IllegalArgumentException.class, () -> new BulkPresetWriter("./data/presets.json"));
+    }
+
+    // EFFECTS: exports pl to file
+    private static void write(Path file, PresetList pl) throws IOException {
+        BulkPresetWriter writer = new BulkPresetWriter(file.toString());
+        writer.open();
+        writer.write(pl);
+        writer.close();
+    }
+}
@@ -0,0 +1,250 @@
+package persistence;
+
+import model.Event;
+import model.EventLog;
+import model.EventType;
+import model.TimeSource;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Test class for EventLogExporter.
+public class EventLogExporterTest {
+
+    // Fields
+    private Path directory;
+    private EventLog testLog;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        directory = Files.createTempDirectory("testEventLogExporter");
+        testLog = EventLog.getInstance();
+        testLog.configure(1024, EventLog.OverflowPolicy.DROP_NEWEST);
+        testLog.setTimeSource(TimeSource.SYSTEM);
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testExportsEventsAsJsonLines() throws Exception {
+        testLog.logEvent(new Event(EventType.PRESET_ADDED, 7, "Study", 1_000, 1));
+        testLog.logEvent(new Event(EventType.PRESET_DELETED, 7, "Study", 2_000, 2));
+        EventLogExporter exporter = new EventLogExporter(testLog, directory.toString());
+        exporter.start();
+
+        assertTrue(exporter.shutdown(5, TimeUnit.SECONDS));
+        List<String> lines = Files.readAllLines(exporter.getFile(0));
+        assertEquals(2, lines.size());
+        JSONObject first = new JSONObject(lines.get(0));
+        assertEquals(1_000, first.getLong("epochMillis"));
+        assertEquals("PRESET_ADDED", first.getString("type"));
+        assertEquals(7, first.getLong("presetId"));
+        assertEquals("Added Preset: Study.", first.getString("description"));
+        assertEquals("Deleted Preset: Study.", new JSONObject(lines.get(1)).getString("description"));
+        assertEquals(2, exporter.getExportedCount());
+        assertEquals(Files.size(exporter.getFile(0)), exporter.getBytesWritten());
+        assertEquals(0, exporter.getBacklog());
+        assertTrue(exporter.getBatchCount() >= 1);
+    }
+
+    @Test
+    void testExportsEventsLoggedWhileRunning() throws Exception {
+        EventLogExporter exporter = new EventLogExporter(testLog, directory.toString(), 1 << 20, 2, 16, 1);
+        exporter.start();
+        for (int i = 0; i < 1000; i++) {
+            testLog.logEvent(EventType.PRESET_ADDED, i, "Preset");
+            if (i % 100 == 0) {
+                Thread.sleep(2);
+            }
+        }
+
+        assertTrue(exporter.shutdown(5, TimeUnit.SECONDS));
+        List<String> lines = Files.readAllLines(exporter.getFile(0));
+        assertEquals(1000, lines.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, new JSONObject(lines.get(i)).getLong("presetId"));
+        }
+        assertEquals(1000, exporter.getExportedCount());
+        assertEquals(0, exporter.getSkippedCount());
+        assertTrue(exporter.getBatchCount() >= 1000 / 16);
+        assertTrue(exporter.getEventsPerSecond() > 0);
+    }
+
+    @Test
+    void testDropNewestOnlyDropsWhenExporterFallsBehind() throws Exception {
+        testLog.configure(8, EventLog.OverflowPolicy.DROP_NEWEST);
+        EventLogExporter exporter = new EventLogExporter(testLog, directory.toString(), 1 << 20, 2, 16, 1);
+        exporter.start();
+        for (int i = 0; i < 20; i++) {
+            testLog.logEvent(EventType.PRESET_ADDED, i, "Preset");
+            while (exporter.getBacklog() > 0) {
+                Thread.sleep(1);
+            }
+        }
+
+        assertTrue(exporter.shutdown(5, TimeUnit.SECONDS));
+        List<String> lines = Files.readAllLines(exporter.getFile(0));
+        assertEquals(20, lines.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, new JSONObject(lines.get(i)).getLong("presetId"));
+        }
+        assertEquals(0, testLog.getDroppedCount());
+        assertEquals(0, exporter.getSkippedCount());
+    }
+
+    @Test
+    void testConcurrentLoggersNeverBlocked() throws Exception {
+        int threads = 4;
+        int eventsPerThread = 5_000;
+        testLog.configure(256, EventLog.OverflowPolicy.OVERWRITE_OLDEST);
+        EventLogExporter exporter = new EventLogExporter(testLog, directory.toString());
+        exporter.start();
+        List<Thread> loggers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long base = t * (long) eventsPerThread;
+            Thread logger = new Thread(() -> {
+                for (int i = 0; i < eventsPerThread; i++) {
+                    testLog.logEvent(EventType.PRESET_ADDED, base + i, "Preset");
+                }
+            });
+            loggers.add(logger);
+            logger.start();
+        }
+        for (Thread logger : loggers) {
+            logger.join();
+        }
+
+        assertTrue(exporter.shutdown(5, TimeUnit.SECONDS));
+        Set<Long> ids = new HashSet<>();
+        for (String line : Files.readAllLines(exporter.getFile(0))) {
+            assertTrue(ids.add(new JSONObject(line).getLong("presetId")));
+        }
+        assertEquals(exporter.getExportedCount(), ids.size());
+        assertEquals(threads * eventsPerThread, exporter.getExportedCount() + exporter.getSkippedCount());
+    }
+
+    @Test
+    void testSkipsEventsOverwrittenBeforeExport() throws Exception {
+        testLog.configure(8, EventLog.OverflowPolicy.OVERWRITE_OLDEST);
+        for (int i = 0; i < 20; i++) {
+            testLog.logEvent(EventType.PRESET_ADDED, i, "Preset");
+        }
+        EventLogExporter exporter = new EventLogExporter(testLog, directory.toString());
+        exporter.start();
+
+        assertTrue(exporter.shutdown(5, TimeUnit.SECONDS));
+        List<String> lines = Files.readAllLines(exporter.getFile(0));
+        assertEquals(8, lines.size());
+        assertEquals(12, new JSONObject(lines.get(0)).getLong("presetId"));
+        assertEquals(8, exporter.getExportedCount());
+    }
+
+    @Test
+    void testRotatesFiles() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            testLog.logEvent(EventType.PRESET_ADDED, i, "Preset");
+        }
+        EventLogExporter exporter = new EventLogExporter(testLog, directory.toString(), 1000, 3, 10, 1);
+        exporter.start();
+
+        assertTrue(exporter.shutdown(5, TimeUnit.SECONDS));
+        assertTrue(exporter.getRotationCount() > 2);
+        assertTrue(Files.exists(exporter.getFile(1)));
+        assertTrue(Files.exists(exporter.getFile(2)));
+        assertFalse(Files.exists(exporter.getFile(3)));
+        for (int number = 0; number < 3; number++) {
+            assertTrue(Files.size(exporter.getFile(number)) <= 1000);
+        }
+        List<String> newest = Files.readAllLines(exporter.getFile(0));
+        assertEquals(99, new JSONObject(newest.get(newest.size() - 1)).getLong("presetId"));
+        List<String> older = Files.readAllLines(exporter.getFile(1));
+        long lastOlder = new JSONObject(older.get(older.size() - 1)).getLong("presetId");
+        assertEquals(lastOlder + 1, new JSONObject(newest.get(0)).getLong("presetId"));
+    }
+
+    @Test
+    void testAppendsToExistingFile() throws Exception {
+        testLog.logEvent(EventType.PRESET_ADDED, 1, "Preset");
+        EventLogExporter first = new EventLogExporter(testLog, directory.toString());
+        first.start();
+        assertTrue(first.shutdown(5, TimeUnit.SECONDS));
+        testLog.clear();
+        testLog.logEvent(EventType.PRESET_ADDED, 2, "Preset");
+        EventLogExporter second = new EventLogExporter(testLog, directory.toString());
+        second.start();
+
+        assertTrue(second.shutdown(5, TimeUnit.SECONDS));
+        assertEquals(2, Files.readAllLines(second.getFile(0)).size());
+    }
+
+    @Test
+    void testShutdownWakesSleepingExporter() throws Exception {
+        EventLogExporter exporter = new EventLogExporter(testLog, directory.toString(), 1 << 20, 1, 16,
+                TimeUnit.HOURS.toMillis(1));
+        exporter.start();
+        Thread.sleep(50);
+        testLog.logEvent(EventType.PRESET_ADDED, 3, "Preset");
+
+        long start = System.nanoTime();
+        assertTrue(exporter.shutdown(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(1, Files.readAllLines(exporter.getFile(0)).size());
+    }
+
+    @Test
+    void testShutdownBeforeStart() throws Exception {
+        EventLogExporter exporter = new EventLogExporter(testLog, directory.toString());
+
+        assertTrue(exporter.shutdown(1, TimeUnit.SECONDS));
+        assertFalse(Files.exists(exporter.getFile(0)));
+    }
+
+    @Test
+    void testUnwritableDirectoryCountsFailures() throws Exception {
+        Path notADirectory = Files.createFile(directory.resolve("file"));
+        testLog.logEvent(EventType.PRESET_ADDED, 1, "Preset");
+        EventLogExporter exporter = new EventLogExporter(testLog, notADirectory.toString());
+        exporter.start();
+
+        assertTrue(exporter.shutdown(5, TimeUnit.SECONDS));
+        assertEquals(1, exporter.getFailedCount());
+        assertEquals(0, exporter.getExportedCount());
+    }
+
+    @Test
+    void testBufferedLinesThatCannotBeWrittenCountAsFailed() throws Exception {
+        Path full = Paths.get("/dev/full");
+        assumeTrue(Files.isWritable(full));
+        Files.createSymbolicLink(directory.resolve("events.jsonl"), full);
+        for (int i = 0; i < 10; i++) {
+            testLog.logEvent(EventType.PRESET_ADDED, i, "Preset " + i);
+        }
+        EventLogExporter exporter = new EventLogExporter(testLog, directory.toString());
+        exporter.start();
+
+        assertTrue(exporter.shutdown(5, TimeUnit.SECONDS));
+        assertEquals(10, exporter.getFailedCount());
+        assertEquals(0, exporter.getExportedCount());
+    }
+}
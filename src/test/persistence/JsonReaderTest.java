@@ -2,9 +2,15 @@ package persistence;
 
 import model.Preset;
 import model.PresetList;
+import org.json.JSONException;
 import org.junit.jupiter.api.Test;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,4 +57,83 @@ public class JsonReaderTest {
             fail("Error reading the file.");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testReaderEscapedFile() {
+        JsonReader reader = new JsonReader("data/presets/testReaderEscapedFile.json");
+        try {
+            List<Preset> presets = reader.read().getPresetList();
+            assertEquals(2, presets.size());
+            assertEquals("Quote \" and \\ slash /", presets.get(0).getPresetName());
+            assertEquals(25, presets.get(0).getFocusTime());
+            assertEquals(5, presets.get(0).getMeditationTime());
+            assertEquals(15, presets.get(0).getRestTime());
+            assertEquals("Caf\u00e9\tBreak", presets.get(1).getPresetName());
+            assertEquals(1, presets.get(1).getFocusTime());
+            assertEquals(2, presets.get(1).getMeditationTime());
+            assertEquals(3, presets.get(1).getRestTime());
+        } catch (IOException e) {
+            fail("Error reading the file.");
+        }
+    }
+
+    @Test
+    void testReaderMalformedFile() {
+        JsonReader reader = new JsonReader("data/presets/testReaderMalformedFile.json");
+        try {
+            reader.read();
+            fail("Expected JSONException.");
+        } catch (JSONException e) {
+            assertTrue(e.getMessage().contains("restTime"));
+        } catch (IOException e) {
+            fail("Error reading the file.");
+        }
+    }
+
+    @Test
+    void testReaderStreamsPresetsToConsumer() {
+        JsonReader reader = new JsonReader("data/presets/testReaderStandardFile.json");
+        List<String> names = new ArrayList<>();
+        try {
+            reader.read(preset -> names.add(preset.getPresetName()));
+            assertEquals(List.of("Default", "Test"), names);
+        } catch (IOException e) {
+            fail("Error reading the file.");
+        }
+    }
+
+    @Test
+    void testReaderLargeFile() {
+        int numberOfPresets = 200_000;
+        try {
+            Path file = Files.createTempFile("testReaderLargeFile", ".json");
+            try {
+                writeLargeFile(file, numberOfPresets);
+                long[] totals = new long[2];
+                new JsonReader(file.toString()).read(preset -> {
+                    totals[0]++;
+                    totals[1] += preset.getFocusTime();
+                });
+                assertEquals(numberOfPresets, totals[0]);
+                assertEquals((long) numberOfPresets * (numberOfPresets - 1) / 2, totals[1]);
+            } finally {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            fail("Error reading the file.");
+        }
+    }
+
+    // EFFECTS: writes a preset file with the given number of presets, where preset i has a focus time of i
+    private void writeLargeFile(Path file, int numberOfPresets) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("{\"presetList\": [");
+            for (int i = 0; i < numberOfPresets; i++) {
+                writer.write(i == 0 ? "\n" : ",\n");
+                writer.write("{\"name\": \"Preset " + i + "\", \"focusTime\": " + i
+                        + ", \"meditationTime\": 10, \"restTime\": 30}");
+            }
+            writer.write("\n]}");
+        }
+    }
+}
@@ -5,6 +5,10 @@ import model.PresetList;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -62,9 +66,97 @@ public class JsonWriterTest {
             assertEquals(2, presets.size());
             assertEquals("Default", presets.get(0).getPresetName());
             assertEquals("Test", presets.get(1).getPresetName());
+            assertEquals(1, presets.get(0).getId());
+            assertEquals(2, presets.get(1).getId());
 
         } catch (IOException e) {
             fail("Did not expect exception to be thrown.");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testWriterCompactFile() {
+        try {
+            Path file = Files.createTempFile("testWriterCompactFile", ".json");
+            try {
+                PresetList pl = new PresetList();
+                pl.addPreset(new Preset("Quote \" Name", 50, 10, 30));
+                JsonWriter writer = new JsonWriter(file.toString(), false, true);
+                writer.open();
+                writer.write(pl);
+                writer.close();
+
+                String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                assertEquals("{\"presetList\":[{\"id\":1,\"name\":\"Quote \\\" Name\",\"focusTime\":50,"
+                        + "\"meditationTime\":10,\"restTime\":30}]}", json);
+                List<Preset> presets = new JsonReader(file.toString()).read().getPresetList();
+                assertEquals("Quote \" Name", presets.get(0).getPresetName());
+            } finally {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            fail("Did not expect exception to be thrown.");
+        }
+    }
+
+    @Test
+    void testWriterKeepsPreviousFileUntilClosed() {
+        try {
+            Path file = Files.createTempFile("testWriterKeepsPreviousFileUntilClosed", ".json");
+            Path temporaryFile = Paths.get(file + ".tmp");
+            try {
+                PresetList pl = new PresetList();
+                pl.addPreset(new Preset("Saved", 50, 10, 30));
+                JsonWriter writer = new JsonWriter(file.toString());
+                writer.open();
+                writer.write(pl);
+                writer.close();
+
+                pl.addPreset(new Preset("Unsaved", 1, 1, 2));
+                writer.open();
+                writer.write(pl);
+                assertEquals(1, new JsonReader(file.toString()).read().getPresetList().size());
+
+                writer.close();
+                assertEquals(2, new JsonReader(file.toString()).read().getPresetList().size());
+                assertFalse(Files.exists(temporaryFile));
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            fail("Did not expect exception to be thrown.");
+        }
+    }
+
+    @Test
+    void testWriterAbortedAfterFailedWrite() throws IOException {
+        Path file = Files.createTempFile("testWriterAbortedAfterFailedWrite", ".json");
+        Path temporaryFile = Paths.get(file + ".tmp");
+        try {
+            PresetList pl = new PresetList();
+            pl.addPreset(new Preset("Saved", 50, 10, 30));
+            JsonWriter writer = new JsonWriter(file.toString());
+            writer.open();
+            writer.write(pl);
+            writer.close();
+            writer.abort();
+            assertEquals(1, new JsonReader(file.toString()).read().getPresetList().size());
+
+            Iterable<Preset> failing = () -> {
+                throw new IllegalStateException("presets unavailable");
+            };
+            writer.open();
+            assertThrows(IllegalStateException.class, () -> writer.write(failing, 1));
+            assertTrue(Files.exists(temporaryFile));
+            writer.abort();
+            writer.abort();
+
+            assertFalse(Files.exists(temporaryFile));
+            assertEquals(1, new JsonReader(file.toString()).read().getPresetList().size());
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+            Files.delete(file);
+        }
+    }
+}
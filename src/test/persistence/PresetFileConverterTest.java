@@ -0,0 +1,94 @@
+package persistence;
+
+import model.Preset;
+import model.PresetList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for PresetFileConverter.
+public class PresetFileConverterTest {
+
+    // Fields
+    private Path binaryFile;
+    private Path jsonFile;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        binaryFile = Files.createTempFile("testConverter", ".presets");
+        jsonFile = Files.createTempFile("testConverter", ".json");
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        Files.deleteIfExists(binaryFile);
+        Files.deleteIfExists(jsonFile);
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        PresetFileConverter.jsonToBinary("data/presets/testReaderEscapedFile.json", binaryFile.toString());
+        PresetFileConverter.binaryToJson(binaryFile.toString(), jsonFile.toString());
+
+        List<Preset> expected = new JsonReader("data/presets/testReaderEscapedFile.json").read().getPresetList();
+        List<Preset> fromBinary = new BinaryReader(binaryFile.toString()).read().getPresetList();
+        List<Preset> fromJson = new JsonReader(jsonFile.toString()).read().getPresetList();
+        assertEquals(expected.size(), fromBinary.size());
+        assertEquals(expected.size(), fromJson.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), fromJson.get(i).getId());
+            assertEquals(expected.get(i).getPresetName(), fromBinary.get(i).getPresetName());
+            assertEquals(expected.get(i).getPresetName(), fromJson.get(i).getPresetName());
+            assertEquals(expected.get(i).getRestTime(), fromJson.get(i).getRestTime());
+        }
+    }
+
+    @Test
+    void testMissingSource() {
+        assertThrows(IOException.class,
+                () -> PresetFileConverter.jsonToBinary("./data/noSuchFile.json", binaryFile.toString()));
+        assertThrows(IOException.class,
+                () -> PresetFileConverter.binaryToJson("./data/noSuchFile.presets", jsonFile.toString()));
+    }
+
+    @Test
+    void testEmptyList() throws IOException {
+        BinaryWriter writer = new BinaryWriter(binaryFile.toString());
+        writer.open();
+        writer.write(new PresetList());
+        writer.close();
+        PresetFileConverter.binaryToJson(binaryFile.toString(), jsonFile.toString());
+
+        assertEquals(0, new JsonReader(jsonFile.toString()).read().getPresetList().size());
+    }
+
+    @Test
+    void testImportAndExportBulk() throws IOException {
+        Path csvFile = Files.createTempFile("testConverter", ".csv");
+        try {
+            PresetFileConverter.exportBulk("data/presets/testReaderEscapedFile.json", csvFile.toString());
+            Files.writeString(csvFile, "Broken,1\n", StandardOpenOption.APPEND);
+            BulkPresetReader.Result result = PresetFileConverter.importBulk(csvFile.toString(), jsonFile.toString());
+
+            List<Preset> expected = new JsonReader("data/presets/testReaderEscapedFile.json").read().getPresetList();
+            List<Preset> imported = new JsonReader(jsonFile.toString()).read().getPresetList();
+            assertEquals(expected.size(), imported.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getId(), imported.get(i).getId());
+                assertEquals(expected.get(i).getPresetName(), imported.get(i).getPresetName());
+            }
+            assertEquals(1, result.getErrorCount());
+            assertEquals(expected.size() + 2, result.getErrors().get(0).getLine());
+        } finally {
+            Files.deleteIfExists(csvFile);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package persistence;
+
+import model.Preset;
+import model.PresetList;
+import model.PresetListObserver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for PresetFileDiff.
+public class PresetFileDiffTest {
+
+    // Fields
+    private PresetList live;
+    private Preset study;
+    private Preset work;
+    private List<Preset> file;
+    private List<String> changes;
+
+    @BeforeEach
+    void runBefore() {
+        live = new PresetList();
+        study = new Preset("Study", 50, 10, 30);
+        work = new Preset("Work", 90, 5, 15);
+        live.addPreset(study);
+        live.addPreset(work);
+        file = copyOf(live.getPresetList());
+        changes = new ArrayList<>();
+        live.addObserver(new PresetListObserver() {
+            @Override
+            public void presetAdded(Preset preset) {
+                changes.add("added " + preset.getPresetName());
+            }
+
+            @Override
+            public void presetDeleted(Preset preset) {
+                changes.add("deleted " + preset.getPresetName());
+            }
+
+            @Override
+            public void presetUpdated(Preset preset) {
+                changes.add("updated " + preset.getPresetName());
+            }
+        });
+    }
+
+    @Test
+    void testSameFileHasEmptyDiff() {
+        PresetFileDiff diff = PresetFileDiff.between(file, copyOf(file));
+
+        assertTrue(diff.isEmpty());
+        diff.applyTo(live);
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    void testOnlyChangedPresetsTouched() {
+        List<Preset> changed = copyOf(file);
+        changed.get(0).setFocusTime("45");
+        changed.remove(1);
+        changed.add(new Preset(9, "Read", 20, 5, 5));
+
+        PresetFileDiff diff = PresetFileDiff.between(file, changed);
+        assertEquals(3, diff.size());
+        diff.applyTo(live);
+
+        assertEquals(List.of("deleted Work", "updated Study", "added Read"), changes);
+        assertSame(study, live.getPresetList().get(0));
+        assertEquals(45, study.getFocusTime());
+        assertNull(live.getPresetById(work.getId()));
+        assertEquals(9, live.getPresetByName("Read").getId());
+    }
+
+    @Test
+    void testRenameKeepsPresetById() {
+        List<Preset> changed = copyOf(file);
+        changed.get(1).setPresetName("Deep Work");
+
+        PresetFileDiff.between(file, changed).applyTo(live);
+
+        assertSame(work, live.getPresetByName("Deep Work"));
+        assertNull(live.getPresetByName("Work"));
+        assertEquals(List.of("updated Deep Work"), changes);
+    }
+
+    @Test
+    void testPresetsWithoutIdMatchedByName() {
+        List<Preset> before = List.of(new Preset("Study", 50, 10, 30), new Preset("Work", 90, 5, 15));
+        List<Preset> after = List.of(new Preset("Study", 25, 10, 30), new Preset("Read", 20, 5, 5));
+
+        PresetFileDiff.between(before, after).applyTo(live);
+
+        assertSame(study, live.getPresetByName("Study"));
+        assertEquals(25, study.getFocusTime());
+        assertNull(live.getPresetByName("Work"));
+        assertNotNull(live.getPresetByName("Read"));
+    }
+
+    @Test
+    void testAddedPresetAlreadyInListUpdated() {
+        List<Preset> before = new ArrayList<>();
+        List<Preset> after = List.of(new Preset(study.getId(), "Study", 50, 10, 20));
+
+        PresetFileDiff.between(before, after).applyTo(live);
+
+        assertEquals(2, live.getPresetList().size());
+        assertEquals(20, study.getRestTime());
+        assertEquals(List.of("updated Study"), changes);
+    }
+
+    @Test
+    void testChangesToPresetsDeletedLocallyIgnored() {
+        live.deletePreset(work);
+        changes.clear();
+        List<Preset> changed = copyOf(file);
+        changed.get(1).setRestTime("1");
+        PresetFileDiff.between(file, changed).applyTo(live);
+        PresetFileDiff.between(changed, file.subList(0, 1)).applyTo(live);
+
+        assertTrue(changes.isEmpty());
+        assertEquals(List.of(study), live.getPresetList());
+    }
+
+    @Test
+    void testCopiesAddedAndDeleted() {
+        List<Preset> changed = copyOf(file);
+        changed.add(1, changed.get(0));
+        changed.add(1, changed.get(0));
+
+        PresetFileDiff diff = PresetFileDiff.between(file, changed);
+        assertEquals(2, diff.size());
+        diff.applyTo(live);
+        assertEquals(List.of(study, work, study, study), live.getPresetList());
+
+        PresetFileDiff.between(changed, file).applyTo(live);
+        assertEquals(List.of(work, study), live.getPresetList());
+    }
+
+    // EFFECTS: returns copies of presets, with the same ids, that no list observes
+    private static List<Preset> copyOf(List<Preset> presets) {
+        List<Preset> copies = new ArrayList<>();
+        for (Preset preset : presets) {
+            copies.add(new Preset(preset.getId(), preset.getPresetName(), preset.getFocusTime(),
+                    preset.getMeditationTime(), preset.getRestTime()));
+        }
+        return copies;
+    }
+}
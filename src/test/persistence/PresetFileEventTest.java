@@ -0,0 +1,72 @@
+package persistence;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import model.Preset;
+import model.PresetList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for PresetFileEvent.
+public class PresetFileEventTest {
+
+    // Fields
+    private Recording recording;
+    private Path presetFile;
+    private Path recordingFile;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        recording = new Recording();
+        recording.enable("focusclinic.PresetFile");
+        presetFile = Files.createTempFile("testPresetFileEvent", ".json");
+        recordingFile = Files.createTempFile("testPresetFileEvent", ".jfr");
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        recording.close();
+        Files.deleteIfExists(presetFile);
+        Files.deleteIfExists(recordingFile);
+    }
+
+    @Test
+    void testReadAndWriteRecorded() throws IOException {
+        PresetList presets = new PresetList();
+        presets.addPreset(new Preset("Default", 50, 10, 30));
+        presets.addPreset(new Preset("Short", 25, 5, 15));
+        recording.start();
+        JsonWriter writer = new JsonWriter(presetFile.toString());
+        writer.open();
+        writer.write(presets);
+        writer.close();
+        new JsonReader(presetFile.toString()).read();
+        recording.stop();
+        recording.dump(recordingFile);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile).stream()
+                .filter(e -> e.getEventType().getName().equals("focusclinic.PresetFile"))
+                .sorted((a, b) -> a.getEndTime().compareTo(b.getEndTime()))
+                .collect(Collectors.toList());
+
+        assertEquals(2, events.size());
+        RecordedEvent write = events.get(0);
+        RecordedEvent read = events.get(1);
+        assertEquals("write", write.getString("operation"));
+        assertEquals("read", read.getString("operation"));
+        assertEquals(presetFile.toString(), read.getString("path"));
+        assertEquals(Files.size(presetFile), write.getLong("bytes"));
+        assertEquals(Files.size(presetFile), read.getLong("bytes"));
+        assertEquals(2, write.getInt("presets"));
+        assertEquals(2, read.getInt("presets"));
+    }
+}
@@ -0,0 +1,141 @@
+package persistence;
+
+import model.Preset;
+import model.PresetList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for PresetFileWatcher.
+public class PresetFileWatcherTest {
+
+    // Constants
+    private static final long DEBOUNCE_MILLIS = 100;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    // Fields
+    private Path directory;
+    private String file;
+    private BlockingQueue<PresetFileDiff> diffs;
+    private PresetJournal journal;
+    private PresetFileWatcher watcher;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        directory = Files.createTempDirectory("testPresetFileWatcher");
+        file = directory.resolve("presets.json").toString();
+        diffs = new LinkedBlockingQueue<>();
+        journal = new PresetJournal(file);
+    }
+
+    @AfterEach
+    void runAfter() throws Exception {
+        watcher.close();
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testChangeByAnotherProgramApplied() throws Exception {
+        writeFile(new Preset(1, "Study", 50, 10, 30));
+        startWatcher();
+        PresetList live = new PresetList();
+        live.addPreset(new Preset(1, "Study", 50, 10, 30));
+
+        writeFile(new Preset(1, "Study", 25, 10, 30), new Preset(2, "Work", 90, 5, 15));
+        PresetFileDiff diff = diffs.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertNotNull(diff);
+        assertEquals(2, diff.size());
+        diff.applyTo(live);
+        assertEquals(25, live.getPresetById(1).getFocusTime());
+        assertEquals("Work", live.getPresetById(2).getPresetName());
+    }
+
+    @Test
+    void testBurstOfWritesReadOnce() throws Exception {
+        startWatcher();
+        for (int i = 1; i <= 10; i++) {
+            writeFile(new Preset(1, "Study", i, 10, 30));
+            Thread.sleep(DEBOUNCE_MILLIS / 10);
+        }
+        PresetFileDiff diff = diffs.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertNotNull(diff);
+        PresetList live = new PresetList();
+        diff.applyTo(live);
+        assertEquals(10, live.getPresetById(1).getFocusTime());
+        assertNull(diffs.poll(3 * DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals(1, watcher.getReloadCount());
+    }
+
+    @Test
+    void testJournalWritesSkipped() throws Exception {
+        startWatcher();
+        PresetList live = new PresetList();
+        live.addPreset(new Preset("Study", 50, 10, 30));
+        journal.save(live).join();
+        Thread.sleep(5 * DEBOUNCE_MILLIS);
+
+        assertTrue(diffs.isEmpty());
+        assertEquals(0, watcher.getReloadCount());
+        assertTrue(watcher.getSkippedCount() >= 1);
+    }
+
+    @Test
+    void testUnparsableFileSkipped() throws Exception {
+        startWatcher();
+        Files.writeString(directory.resolve("presets.json"), "{\"presetList\": [{\"na");
+        Thread.sleep(5 * DEBOUNCE_MILLIS);
+        assertTrue(diffs.isEmpty());
+
+        writeFile(new Preset(1, "Study", 50, 10, 30));
+        PresetFileDiff diff = diffs.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertNotNull(diff);
+        assertEquals(1, diff.size());
+        assertTrue(watcher.getSkippedCount() >= 1);
+    }
+
+    @Test
+    void testOtherFilesIgnored() throws Exception {
+        startWatcher();
+        Files.writeString(directory.resolve("other.json"), "{}");
+        Thread.sleep(5 * DEBOUNCE_MILLIS);
+
+        assertTrue(diffs.isEmpty());
+        assertEquals(0, watcher.getReloadCount() + watcher.getSkippedCount());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts a watcher of the test file that queues the diffs it finds
+    private void startWatcher() throws IOException {
+        watcher = new PresetFileWatcher(file, journal, DEBOUNCE_MILLIS, diffs::add);
+        watcher.start();
+    }
+
+    // EFFECTS: writes the presets to the test file as another program would
+    private void writeFile(Preset... presets) throws IOException {
+        PresetList pl = new PresetList();
+        for (Preset preset : presets) {
+            pl.addPreset(preset);
+        }
+        JsonWriter writer = new JsonWriter(file);
+        writer.open();
+        writer.write(pl);
+        writer.close();
+    }
+}
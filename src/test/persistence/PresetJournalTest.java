@@ -0,0 +1,485 @@
+package persistence;
+
+import model.Preset;
+import model.PresetList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for PresetJournal.
+public class PresetJournalTest {
+
+    // Fields
+    private Path directory;
+    private String snapshot;
+    private PresetJournal journal;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        directory = Files.createTempDirectory("testPresetJournal");
+        snapshot = directory.resolve("presets.json").toString();
+        journal = new PresetJournal(snapshot);
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testRecoverWithNoFiles() throws IOException {
+        PresetList pl = journal.recover().join();
+
+        assertTrue(pl.getPresetList().isEmpty());
+        assertTrue(Files.exists(journal.getJournalPath()));
+        assertEquals(0, journal.getGeneration());
+        assertFalse(Files.exists(Paths.get(snapshot)));
+    }
+
+    @Test
+    void testChangesSurviveWithoutSaving() throws IOException {
+        PresetList pl = journal.recover().join();
+        pl.addPreset(new Preset("Study", 50, 10, 30));
+        Preset work = new Preset("Work", 90, 5, 15);
+        pl.addPreset(work);
+        Preset read = new Preset("Read", 20, 5, 5);
+        pl.addPreset(read);
+        pl.deletePreset(pl.getPresetByName("Study"));
+        work.setPresetName("Deep Work");
+        work.setFocusTime("120");
+        journal.close(); // waits for the records to be written, but never saves
+
+        PresetList recovered = new PresetJournal(snapshot).recover().join();
+
+        assertEquals(describe(pl), describe(recovered));
+        assertEquals(work.getId(), recovered.getPresetByName("Deep Work").getId());
+        assertEquals(120, recovered.getPresetByName("Deep Work").getFocusTime());
+    }
+
+    @Test
+    void testSaveWritesListInFullOnlyOnce() throws IOException {
+        PresetList pl = new PresetList();
+        pl.addPreset(new Preset("Study", 50, 10, 30));
+        journal.save(pl).join();
+        byte[] savedSnapshot = Files.readAllBytes(Paths.get(snapshot));
+        long emptyJournal = Files.size(journal.getJournalPath());
+
+        pl.addPreset(new Preset("Work", 90, 5, 15));
+        journal.save(pl).join();
+
+        assertArrayEquals(savedSnapshot, Files.readAllBytes(Paths.get(snapshot)));
+        assertTrue(Files.size(journal.getJournalPath()) > emptyJournal);
+        assertTrue(new String(savedSnapshot).contains("\"journalGeneration\": 0"));
+        assertEquals(describe(pl), describe(new PresetJournal(snapshot).recover().join()));
+    }
+
+    @Test
+    void testSaveOfAnotherListStartsNewGeneration() throws IOException {
+        PresetList first = journal.recover().join();
+        first.addPreset(new Preset("Study", 50, 10, 30));
+        PresetList second = new PresetList();
+        second.addPreset(new Preset("Work", 90, 5, 15));
+        journal.save(second).join();
+        first.addPreset(new Preset("Ignored", 1, 1, 1));
+
+        assertEquals(1, journal.getGeneration());
+        assertEquals(describe(second), describe(new PresetJournal(snapshot).recover().join()));
+    }
+
+    @Test
+    void testTornRecordIsCutOff() throws IOException {
+        PresetList pl = journal.recover().join();
+        pl.addPreset(new Preset("Study", 50, 10, 30));
+        journal.save(pl).join();
+        long beforeLast = journal.getJournalBytes();
+        pl.addPreset(new Preset("Work", 90, 5, 15));
+        journal.close();
+        try (FileChannel channel = FileChannel.open(journal.getJournalPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        journal = new PresetJournal(snapshot);
+        PresetList recovered = journal.recover().join();
+        assertEquals(List.of("Study 50/10/30"), describe(recovered));
+        assertEquals(beforeLast, Files.size(journal.getJournalPath()));
+        recovered.addPreset(new Preset("Read", 20, 5, 5));
+        journal.close();
+
+        assertEquals(describe(recovered), describe(new PresetJournal(snapshot).recover().join()));
+    }
+
+    @Test
+    void testCorruptRecordEndsReplay() throws IOException {
+        PresetList pl = journal.recover().join();
+        pl.addPreset(new Preset("Study", 50, 10, 30));
+        journal.save(pl).join();
+        long secondRecord = journal.getJournalBytes();
+        pl.addPreset(new Preset("Work", 90, 5, 15));
+        pl.addPreset(new Preset("Read", 20, 5, 5));
+        journal.close();
+        byte[] bytes = Files.readAllBytes(journal.getJournalPath());
+        bytes[(int) secondRecord + 20] ^= 1;
+        Files.write(journal.getJournalPath(), bytes);
+
+        journal = new PresetJournal(snapshot);
+        assertEquals(List.of("Study 50/10/30"), describe(journal.recover().join()));
+    }
+
+    @Test
+    void testCompactionFoldsJournalIntoSnapshot() throws IOException {
+        journal = new PresetJournal(snapshot, 256);
+        PresetList pl = journal.recover().join();
+        for (int i = 0; i < 40; i++) {
+            pl.addPreset(new Preset("Preset " + i, i + 1, 2, 3));
+        }
+        for (int i = 0; i < 40; i += 2) {
+            pl.deletePreset(pl.getPresetByName("Preset " + i));
+        }
+        journal.close();
+
+        assertTrue(journal.getCompactionCount() >= 1);
+        assertEquals(-1, journal.getGeneration());
+        assertTrue(Files.exists(Paths.get(snapshot)));
+        assertEquals(List.of(directory.resolve("presets.json"), journal.getJournalPath()), listFiles());
+        journal = new PresetJournal(snapshot);
+        assertEquals(describe(pl), describe(journal.recover().join()));
+    }
+
+    @Test
+    void testFrozenJournalReplayedAndFoldedAfterCrash() throws IOException {
+        PresetList pl = journal.recover().join();
+        pl.addPreset(new Preset("Study", 50, 10, 30));
+        pl.addPreset(new Preset("Work", 90, 5, 15));
+        journal.close();
+        // the application died after freezing the journal but before starting the next one
+        Files.move(journal.getJournalPath(), Paths.get(snapshot + ".journal.0"));
+
+        journal = new PresetJournal(snapshot);
+        PresetList recovered = journal.recover().join();
+        recovered.addPreset(new Preset("Read", 20, 5, 5));
+        journal.close();
+
+        assertEquals(1, journal.getCompactionCount());
+        assertFalse(Files.exists(Paths.get(snapshot + ".journal.0")));
+        journal = new PresetJournal(snapshot);
+        assertEquals(List.of("Study 50/10/30", "Work 90/5/15", "Read 20/5/5"), describe(journal.recover().join()));
+    }
+
+    @Test
+    void testFoldedJournalNotReplayedAgain() throws IOException {
+        PresetList pl = journal.recover().join();
+        pl.addPreset(new Preset("Study", 50, 10, 30));
+        Path copy = directory.resolve("copy");
+        Files.copy(journal.getJournalPath(), copy);
+        journal.compact().join();
+        // the application died after writing the new snapshot but before deleting the frozen journal
+        Files.copy(copy, Paths.get(snapshot + ".journal.0"), StandardCopyOption.REPLACE_EXISTING);
+        Files.delete(copy);
+
+        PresetJournal afterCrash = new PresetJournal(snapshot);
+        assertEquals(List.of("Study 50/10/30"), describe(afterCrash.recover().join()));
+        afterCrash.close();
+        assertFalse(Files.exists(Paths.get(snapshot + ".journal.0")));
+    }
+
+    @Test
+    void testCopiesAndIdsKept() throws IOException {
+        journal = new PresetJournal(snapshot, 128);
+        PresetList pl = journal.recover().join();
+        Preset study = new Preset("Study", 50, 10, 30);
+        pl.addPreset(study);
+        pl.addPreset(new Preset("Work", 90, 5, 15));
+        pl.addPreset(study);
+        pl.addPreset(new Preset("Read", 20, 5, 5));
+        pl.deletePreset(pl.getPresetByName("Work"));
+        journal.close();
+
+        journal = new PresetJournal(snapshot);
+        PresetList recovered = journal.recover().join();
+        assertEquals(List.of("Study 50/10/30", "Study 50/10/30", "Read 20/5/5"), describe(recovered));
+        assertSame(recovered.getPresetList().get(0), recovered.getPresetList().get(1));
+        assertEquals(study.getId(), recovered.getPresetList().get(0).getId());
+        assertEquals(pl.getPresetByName("Read").getId(), recovered.getPresetByName("Read").getId());
+    }
+
+    @Test
+    void testCopiesKeepTheirOrder() throws IOException {
+        PresetList pl = journal.recover().join();
+        Preset study = new Preset("Study", 50, 10, 30);
+        Preset work = new Preset("Work", 90, 5, 15);
+        pl.addPreset(study);
+        pl.addPreset(work);
+        pl.addPreset(study);
+        pl.addPreset(work);
+        pl.deletePreset(study);
+        journal.close();
+
+        journal = new PresetJournal(snapshot);
+        PresetList recovered = journal.recover().join();
+        assertEquals(List.of("Work 90/5/15", "Study 50/10/30", "Work 90/5/15"), describe(recovered));
+        journal.save(recovered).join();
+        journal.close();
+
+        journal = new PresetJournal(snapshot);
+        assertEquals(describe(recovered), describe(journal.recover().join()));
+    }
+
+    @Test
+    void testRecoverSnapshotWithoutJournal() throws IOException {
+        PresetList pl = new PresetList();
+        pl.addPreset(new Preset("Study", 50, 10, 30));
+        JsonWriter writer = new JsonWriter(snapshot);
+        writer.open();
+        writer.write(pl);
+        writer.close();
+
+        PresetList recovered = journal.recover().join();
+        assertEquals(describe(pl), describe(recovered));
+        recovered.addPreset(new Preset("Work", 90, 5, 15));
+        journal.close();
+
+        assertEquals(describe(recovered), describe(new PresetJournal(snapshot).recover().join()));
+    }
+
+    @Test
+    void testJournalDroppedWhenSnapshotReplacedByAnotherProgram() throws IOException {
+        PresetList pl = journal.recover().join();
+        pl.addPreset(new Preset("Study", 50, 10, 30));
+        pl.addPreset(new Preset("Work", 90, 5, 15));
+        journal.close();
+        // another program wrote a preset file, without a journal generation, while the application was not running
+        PresetList replacement = new PresetList();
+        replacement.addPreset(new Preset("Team A", 25, 5, 5));
+        replacement.addPreset(new Preset("Team B", 45, 5, 10));
+        JsonWriter writer = new JsonWriter(snapshot);
+        writer.open();
+        writer.write(replacement);
+        writer.close();
+
+        journal = new PresetJournal(snapshot);
+        PresetList recovered = journal.recover().join();
+        assertEquals(List.of("Team A 25/5/5", "Team B 45/5/10"), describe(recovered));
+        assertEquals(1, recovered.getPresetByName("Team A").getId());
+        assertEquals(2, recovered.getPresetByName("Team B").getId());
+        assertEquals(24, journal.getJournalBytes());
+        recovered.addPreset(new Preset("Team C", 30, 5, 5));
+        journal.close();
+
+        journal = new PresetJournal(snapshot);
+        assertEquals(describe(recovered), describe(journal.recover().join()));
+    }
+
+    @Test
+    void testFollowAppliesChangesToRecoveredList() throws IOException {
+        PresetList before = new PresetList();
+        before.addPreset(new Preset("Study", 50, 10, 30));
+        write(before);
+        PresetList pl = journal.recover().join();
+        PresetList after = new PresetList();
+        after.addPreset(new Preset(1, "Deep Study", 90, 10, 30));
+        write(after);
+
+        PresetFileDiff diff = PresetFileDiff.between(before.getPresetList(), after.getPresetList());
+        assertSame(pl, journal.follow(pl, diff).join());
+        assertEquals(List.of("Deep Study 90/10/30"), describe(pl));
+        assertTrue(journal.isRecording(pl));
+        journal.close();
+
+        journal = new PresetJournal(snapshot);
+        assertEquals(describe(pl), describe(journal.recover().join()));
+    }
+
+    @Test
+    void testFollowRecoversWhenListNeverReadFromFile() throws IOException {
+        PresetList before = new PresetList();
+        before.addPreset(new Preset("Study", 50, 10, 30));
+        write(before);
+        PresetList pl = new PresetList();
+        Preset defaultPreset = pl.addPreset(new Preset("Default", 50, 10, 30));
+        assertEquals(1, defaultPreset.getId()); // the same id as the preset in the file
+        PresetList after = new PresetList();
+        after.addPreset(new Preset(1, "Deep Study", 90, 10, 30));
+        write(after);
+
+        PresetFileDiff diff = PresetFileDiff.between(before.getPresetList(), after.getPresetList());
+        PresetList followed = journal.follow(pl, diff).join();
+        assertNotSame(pl, followed);
+        assertEquals(List.of("Default 50/10/30"), describe(pl));
+        assertEquals("Default", defaultPreset.getPresetName());
+        assertEquals(List.of("Deep Study 90/10/30"), describe(followed));
+        assertTrue(journal.isRecording(followed));
+    }
+
+    @Test
+    void testJournalOfLaterGenerationDroppedWhenOlderSnapshotRestored() throws IOException {
+        PresetList pl = journal.recover().join();
+        pl.addPreset(new Preset("Study", 50, 10, 30));
+        journal.close();
+        Path older = directory.resolve("older.json");
+        journal = new PresetJournal(snapshot);
+        pl = journal.recover().join();
+        journal.compact().join();
+        Files.copy(Paths.get(snapshot), older);
+        pl.addPreset(new Preset("Work", 90, 5, 15));
+        journal.compact().join();
+        pl.addPreset(new Preset("Read", 20, 5, 5));
+        journal.close();
+        // the preset file was restored from an older copy, which names an earlier generation than the journal's
+        Files.move(older, Paths.get(snapshot), StandardCopyOption.REPLACE_EXISTING);
+
+        journal = new PresetJournal(snapshot);
+        assertEquals(List.of("Study 50/10/30"), describe(journal.recover().join()));
+        assertEquals(1, journal.getGeneration());
+    }
+
+    @Test
+    void testSavesAskedForDuringSaveCollapse() throws Exception {
+        PresetList pl = journal.recover().join();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> inFlight = journal.save(pl, (done, total) -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS); // holds the I/O thread
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        pl.addPreset(new Preset("Study", 50, 10, 30));
+        pl.addPreset(new Preset("Work", 90, 5, 15));
+        CompletableFuture<Void> followUp = journal.save(pl);
+
+        assertSame(followUp, journal.save(pl));
+        assertSame(followUp, journal.save(pl));
+        assertNotSame(inFlight, followUp);
+        assertFalse(followUp.isDone());
+        release.countDown();
+        followUp.join();
+        assertTrue(inFlight.isDone());
+        assertNotSame(followUp, journal.save(pl));
+        journal.close();
+
+        assertEquals(describe(pl), describe(new PresetJournal(snapshot).recover().join()));
+    }
+
+    @Test
+    void testSaveAfterChangeNotAnsweredByEarlierSave() throws Exception {
+        PresetList pl = journal.recover().join();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> inFlight = journal.save(pl, (done, total) -> {
+            try {
+                release.await(5, TimeUnit.SECONDS); // holds the I/O thread
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        pl.addPreset(new Preset("Study", 50, 10, 30));
+        CompletableFuture<Void> followUp = journal.save(pl);
+        pl.addPreset(new Preset("Work", 90, 5, 15));
+        CompletableFuture<Void> afterChange = journal.save(pl);
+        AtomicLong bytesWhenSaved = new AtomicLong();
+        CompletableFuture<Void> recorded = afterChange.thenRun(() -> bytesWhenSaved.set(journal.getJournalBytes()));
+
+        assertNotSame(followUp, afterChange);
+        assertSame(afterChange, journal.save(pl));
+        release.countDown();
+        recorded.join();
+        assertTrue(inFlight.isDone() && followUp.isDone());
+        assertEquals(Files.size(journal.getJournalPath()), bytesWhenSaved.get());
+        journal.close();
+
+        assertEquals(describe(pl), describe(new PresetJournal(snapshot).recover().join()));
+    }
+
+    @Test
+    void testChangesDuringSaveOfAnotherListKept() throws IOException {
+        PresetList pl = new PresetList();
+        for (int i = 0; i < 2000; i++) {
+            pl.addPreset(new Preset("Preset " + i, i + 1, 2, 3));
+        }
+        CompletableFuture<Void> save = journal.save(pl);
+        pl.deletePreset(pl.getPresetByName("Preset 0"));
+        pl.addPreset(new Preset("Study", 50, 10, 30));
+        save.join();
+        journal.close();
+
+        assertEquals(describe(pl), describe(new PresetJournal(snapshot).recover().join()));
+    }
+
+    @Test
+    void testProgressReportedOnIoThread() {
+        PresetList pl = new PresetList();
+        for (int i = 0; i < 3000; i++) {
+            pl.addPreset(new Preset("Preset " + i, i + 1, 2, 3));
+        }
+        List<String> saved = new ArrayList<>();
+        journal.save(pl, (done, total) -> saved.add(done + "/" + total + " " + Thread.currentThread().getName()))
+                .join();
+        List<String> recovered = new ArrayList<>();
+        PresetJournal reader = new PresetJournal(snapshot);
+        reader.recover((done, total) -> recovered.add(done + "/" + total)).join();
+
+        assertEquals(List.of("1024/3000 preset-journal-io", "2048/3000 preset-journal-io",
+                "3000/3000 preset-journal-io"), saved);
+        assertEquals(List.of("1024/-1", "2048/-1", "3000/3000"), recovered);
+    }
+
+    @Test
+    void testSaveAfterCloseFails() throws IOException {
+        journal.close();
+
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> journal.save(new PresetList()).join());
+        assertTrue(failure.getCause() instanceof IOException);
+    }
+
+    // EFFECTS: writes pl to the preset file as another program would, without a journal generation
+    private void write(PresetList pl) throws IOException {
+        JsonWriter writer = new JsonWriter(snapshot);
+        writer.open();
+        writer.write(pl);
+        writer.close();
+    }
+
+    // EFFECTS: returns a description of each preset in pl, in order
+    private static List<String> describe(PresetList pl) {
+        List<String> descriptions = new ArrayList<>();
+        for (Preset preset : pl.getPresetList()) {
+            descriptions.add(preset.getPresetName() + " " + preset.getFocusTime() + "/"
+                    + preset.getMeditationTime() + "/" + preset.getRestTime());
+        }
+        return descriptions;
+    }
+
+    // EFFECTS: returns the files in the test directory, sorted
+    private List<Path> listFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> sorted = new ArrayList<>();
+            files.sorted().forEach(sorted::add);
+            return sorted;
+        }
+    }
+}
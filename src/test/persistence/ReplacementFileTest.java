@@ -0,0 +1,68 @@
+package persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for ReplacementFile.
+public class ReplacementFileTest {
+
+    // Fields
+    private Path destination;
+    private Path temporaryFile;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        destination = Files.createTempFile("testReplacementFile", ".json");
+        temporaryFile = Path.of(destination + ReplacementFile.TEMPORARY_FILE_SUFFIX);
+        Files.writeString(destination, "previous");
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        Files.deleteIfExists(temporaryFile);
+        Files.deleteIfExists(destination);
+    }
+
+    @Test
+    void testReplaceDestination() throws IOException {
+        ReplacementFile file = new ReplacementFile(destination.toString());
+        file.getChannel().write(ByteBuffer.wrap("replacement".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("previous", Files.readString(destination));
+
+        assertEquals(11, file.replaceDestination(true));
+        assertEquals("replacement", Files.readString(destination));
+        assertFalse(Files.exists(temporaryFile));
+        assertFalse(file.getChannel().isOpen());
+
+        file.abort();
+        assertEquals("replacement", Files.readString(destination));
+    }
+
+    @Test
+    void testAbortLeavesDestination() throws IOException {
+        ReplacementFile file = new ReplacementFile(destination.toString());
+        file.getChannel().write(ByteBuffer.wrap("partial".getBytes(StandardCharsets.UTF_8)));
+
+        file.abort();
+        file.abort();
+
+        assertFalse(file.getChannel().isOpen());
+        assertFalse(Files.exists(temporaryFile));
+        assertEquals("previous", Files.readString(destination));
+    }
+
+    @Test
+    void testInvalidDestination() {
+        assertThrows(FileNotFoundException.class, () -> new ReplacementFile("./data/my\0illegal:fileName.json"));
+    }
+}
@@ -0,0 +1,175 @@
+package persistence;
+
+import model.BlockType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for SessionHistory.
+public class SessionHistoryTest {
+
+    // Constants
+    private static final long MINUTE = 60_000;
+    private static final LocalDate MONDAY = LocalDate.of(2024, 1, 1);
+
+    // Fields
+    private Path directory;
+    private SessionHistory history;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        directory = Files.createTempDirectory("testSessionHistory");
+        history = new SessionHistory(directory.toString(), ZoneOffset.UTC);
+        history.open();
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testEmptyHistory() throws IOException {
+        assertEquals(0, history.size());
+        assertEquals(0, history.getTotalMillis(BlockType.FOCUS));
+        assertEquals(0, history.getBlockCount(BlockType.REST, MONDAY, MONDAY.plusDays(7)));
+        history.close();
+    }
+
+    @Test
+    void testAppendStoresColumns() throws IOException {
+        history.append(at(MONDAY, 9), 50 * MINUTE, BlockType.FOCUS, 3);
+        history.append(at(MONDAY, 10), 10 * MINUTE, BlockType.MEDITATION, 4);
+
+        assertEquals(2, history.size());
+        assertEquals(at(MONDAY, 10), history.getStartTime(1));
+        assertEquals(10 * MINUTE, history.getDuration(1));
+        assertEquals(BlockType.MEDITATION, history.getBlockType(1));
+        assertEquals(3, history.getPresetId(0));
+        history.close();
+    }
+
+    @Test
+    void testTotalsByDayAndWeek() throws IOException {
+        history.append(at(MONDAY, 9), 50 * MINUTE, BlockType.FOCUS, 1);
+        history.append(at(MONDAY.plusDays(2), 9), 25 * MINUTE, BlockType.FOCUS, 2);
+        history.append(at(MONDAY.plusDays(7), 9), 40 * MINUTE, BlockType.FOCUS, 1);
+        history.append(at(MONDAY.plusDays(7), 10), 30 * MINUTE, BlockType.REST, 1);
+
+        assertEquals(50 * MINUTE, history.getTotalMillis(BlockType.FOCUS, MONDAY, MONDAY.plusDays(1)));
+        assertEquals(75 * MINUTE, history.getTotalMillis(BlockType.FOCUS, MONDAY, MONDAY.plusDays(7)));
+        assertEquals(65 * MINUTE, history.getTotalMillis(BlockType.FOCUS, MONDAY.plusDays(1), MONDAY.plusDays(8)));
+        assertEquals(2, history.getBlockCount(BlockType.FOCUS, MONDAY.minusDays(3), MONDAY.plusDays(3)));
+        assertEquals(115 * MINUTE, history.getTotalMillis(BlockType.FOCUS));
+        assertEquals(1, history.getBlockCount(BlockType.REST));
+        assertEquals(0, history.getTotalMillis(BlockType.MEDITATION));
+        history.close();
+    }
+
+    @Test
+    void testWeekStartsOnMonday() {
+        assertEquals(MONDAY, SessionHistory.getWeekStart(MONDAY));
+        assertEquals(MONDAY, SessionHistory.getWeekStart(MONDAY.plusDays(6)));
+        assertEquals(MONDAY.plusDays(7), SessionHistory.getWeekStart(MONDAY.plusDays(7)));
+        assertEquals(LocalDate.of(1969, 12, 29), SessionHistory.getWeekStart(LocalDate.of(1970, 1, 1)));
+    }
+
+    @Test
+    void testReopenKeepsHistoryAndRollups() throws IOException {
+        history.append(at(MONDAY, 9), 50 * MINUTE, BlockType.FOCUS, 1);
+        history.close();
+
+        history = new SessionHistory(directory.toString(), ZoneOffset.UTC);
+        history.open();
+        history.append(at(MONDAY, 10), 10 * MINUTE, BlockType.FOCUS, 1);
+
+        assertEquals(2, history.size());
+        assertEquals(60 * MINUTE, history.getTotalMillis(BlockType.FOCUS, MONDAY, MONDAY.plusDays(1)));
+        history.close();
+    }
+
+    @Test
+    void testRollupsRebuiltAfterCrash() throws IOException {
+        history.append(at(MONDAY, 9), 50 * MINUTE, BlockType.FOCUS, 1);
+        history.close();
+        history = new SessionHistory(directory.toString(), ZoneOffset.UTC);
+        history.open();
+        history.append(at(MONDAY.plusDays(1), 9), 20 * MINUTE, BlockType.FOCUS, 1);
+        // not closed, as if the app crashed: the rollups are marked as being changed
+        try (FileChannel start = FileChannel.open(directory.resolve("start.col"), StandardOpenOption.WRITE)) {
+            start.write(ByteBuffer.allocate(3), start.size()); // a partly written row
+        }
+
+        SessionHistory reopened = new SessionHistory(directory.toString(), ZoneOffset.UTC);
+        reopened.open();
+
+        assertEquals(2, reopened.size());
+        assertEquals(70 * MINUTE, reopened.getTotalMillis(BlockType.FOCUS, MONDAY, MONDAY.plusDays(7)));
+        assertEquals(2, reopened.getBlockCount(BlockType.FOCUS));
+        reopened.close();
+        history.close();
+    }
+
+    @Test
+    void testRollupsRebuiltWhenMissing() throws IOException {
+        history.append(at(MONDAY, 9), 50 * MINUTE, BlockType.FOCUS, 1);
+        history.append(at(MONDAY.plusDays(9), 9), 10 * MINUTE, BlockType.MEDITATION, 1);
+        history.close();
+        Files.delete(directory.resolve("daily.rollup"));
+
+        history = new SessionHistory(directory.toString(), ZoneOffset.UTC);
+        history.open();
+
+        assertEquals(50 * MINUTE, history.getTotalMillis(BlockType.FOCUS, MONDAY, MONDAY.plusDays(1)));
+        assertEquals(10 * MINUTE, history.getTotalMillis(BlockType.MEDITATION, MONDAY.plusDays(9),
+                MONDAY.plusDays(10)));
+        history.close();
+    }
+
+    @Test
+    void testYearsOfHistory() throws IOException {
+        LocalDate first = LocalDate.of(2021, 1, 1);
+        LocalDate end = first.plusYears(3);
+        int days = 0;
+        for (LocalDate day = first; day.isBefore(end); day = day.plusDays(1)) {
+            for (int hour = 8; hour < 12; hour++) {
+                history.append(at(day, hour), 25 * MINUTE, BlockType.FOCUS, 1);
+            }
+            days++;
+        }
+        history.close();
+        history = new SessionHistory(directory.toString(), ZoneOffset.UTC);
+        history.open();
+
+        long started = System.nanoTime();
+        long total = history.getTotalMillis(BlockType.FOCUS, first, end);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(days * 4 * 25 * MINUTE, total);
+        assertEquals(days * 4, history.getBlockCount(BlockType.FOCUS, first, end));
+        assertEquals(4 * 25 * MINUTE * 31, history.getTotalMillis(BlockType.FOCUS, LocalDate.of(2022, 3, 1),
+                LocalDate.of(2022, 4, 1)));
+        assertTrue(elapsedMillis < 50);
+        history.close();
+    }
+
+    // EFFECTS: returns the epoch milliseconds of the given hour of day, in UTC
+    private static long at(LocalDate day, int hour) {
+        return day.atTime(hour, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
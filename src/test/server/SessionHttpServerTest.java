@@ -0,0 +1,112 @@
+package server;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for SessionHttpServer.
+public class SessionHttpServerTest {
+
+    // Constants
+    private static final String PRESET =
+            "{\"name\":\"Team\",\"focusTime\":60000,\"meditationTime\":10,\"restTime\":30}";
+
+    // Fields
+    private SessionServer testSessions;
+    private SessionHttpServer testApi;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        testSessions = new SessionServer(1, TimeUnit.MILLISECONDS);
+        testApi = new SessionHttpServer(testSessions, 0, 2);
+        testApi.start();
+    }
+
+    @AfterEach
+    void runAfter() {
+        testApi.stop();
+        testSessions.shutdown();
+    }
+
+    @Test
+    void testCreateAndGetSession() throws Exception {
+        Response created = request("POST", "/sessions", PRESET);
+        assertEquals(201, created.status);
+        long id = created.json.getLong("id");
+        Thread.sleep(50);
+
+        Response session = request("GET", "/sessions/" + id, null);
+        assertEquals(200, session.status);
+        assertEquals("RUNNING", session.json.getString("state"));
+        assertEquals("FOCUS", session.json.getString("blockType"));
+        assertEquals("Team", session.json.getJSONObject("preset").getString("name"));
+        assertEquals(1, request("GET", "/sessions", null).json.getInt("sessions"));
+    }
+
+    @Test
+    void testCommands() throws Exception {
+        long id = request("POST", "/sessions", PRESET).json.getLong("id");
+
+        assertEquals(200, request("POST", "/sessions/" + id + "/pause", "").status);
+        Thread.sleep(50);
+        assertEquals("PAUSED", request("GET", "/sessions/" + id, null).json.getString("state"));
+        assertEquals(200, request("POST", "/sessions/" + id + "/resume", "").status);
+        assertEquals(200, request("POST", "/sessions/" + id + "/stop", "").status);
+        assertEquals(200, request("DELETE", "/sessions/" + id, null).status);
+        assertEquals(404, request("GET", "/sessions/" + id, null).status);
+    }
+
+    @Test
+    void testBadRequests() throws Exception {
+        assertEquals(400, request("POST", "/sessions", "not json").status);
+        assertEquals(400, request("POST", "/sessions", "{\"focusTime\":1}").status);
+        assertEquals(400, request("POST", "/sessions",
+                "{\"focusTime\":0,\"meditationTime\":1,\"restTime\":1}").status);
+        assertEquals(404, request("GET", "/sessions/abc", null).status);
+        assertEquals(404, request("GET", "/sessions/7", null).status);
+        assertEquals(404, request("POST", "/sessions/7/pause", "").status);
+        assertEquals(404, request("GET", "/sessionsx", null).status);
+        assertEquals(405, request("PUT", "/sessions", "").status);
+        assertEquals(405, request("GET", "/sessions/7/pause", null).status);
+    }
+
+    // EFFECTS: sends a request with the given method, path and body (if not null) and returns the response
+    private Response request(String method, String path, String body) throws IOException {
+        URL url = new URL("http://localhost:" + testApi.getPort() + path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        try (InputStream response = in) {
+            return new Response(status, new JSONObject(new String(response.readAllBytes(), StandardCharsets.UTF_8)));
+        }
+    }
+
+    // Represents the status and JSON body of a response.
+    private static class Response {
+        private final int status;
+        private final JSONObject json;
+
+        private Response(int status, JSONObject json) {
+            this.status = status;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package server;
+
+import model.BlockType;
+import model.Preset;
+import model.SessionSnapshot;
+import model.SessionState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test class for SessionServer.
+public class SessionServerTest {
+
+    // Fields
+    private SessionServer testServer;
+    private Preset longPreset;
+    private Preset shortPreset;
+
+    @BeforeEach
+    void runBefore() {
+        testServer = new SessionServer(2, TimeUnit.MILLISECONDS);
+        longPreset = new Preset("Long", 60000, 60000, 60000);
+        shortPreset = new Preset("Short", 10, 10, 10);
+    }
+
+    @AfterEach
+    void runAfter() {
+        testServer.shutdown();
+    }
+
+    @Test
+    void testCreateSessionStartsIt() throws Exception {
+        long id = testServer.createSession(longPreset);
+        SessionSnapshot snapshot = awaitState(id, SessionState.RUNNING);
+
+        assertEquals(1, testServer.getSessionCount());
+        assertEquals(2, testServer.getSchedulerThreadCount());
+        assertEquals(longPreset, snapshot.getPreset());
+        assertEquals(BlockType.FOCUS, snapshot.getBlockType());
+    }
+
+    @Test
+    void testSessionsHaveDistinctIds() {
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(testServer.createSession(longPreset));
+        }
+
+        assertEquals(100, ids.size());
+        assertEquals(100, testServer.getSessionCount());
+    }
+
+    @Test
+    void testCommands() throws Exception {
+        long id = testServer.createSession(longPreset);
+
+        assertTrue(testServer.pause(id));
+        awaitState(id, SessionState.PAUSED);
+        assertTrue(testServer.resume(id));
+        awaitState(id, SessionState.RUNNING);
+        assertTrue(testServer.stop(id));
+        awaitState(id, SessionState.IDLE);
+        assertTrue(testServer.removeSession(id));
+        assertNull(testServer.getSnapshot(id));
+        assertEquals(0, testServer.getSessionCount());
+    }
+
+    @Test
+    void testUnknownSession() {
+        assertNull(testServer.getSnapshot(42));
+        assertFalse(testServer.pause(42));
+        assertFalse(testServer.resume(42));
+        assertFalse(testServer.stop(42));
+        assertFalse(testServer.removeSession(42));
+    }
+
+    @Test
+    void testSessionsShareSchedulerThreads() throws Exception {
+        Set<String> threads = Collections.synchronizedSet(new HashSet<>());
+        List<BlockType> completed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch blocks = new CountDownLatch(200);
+        testServer.addBlockObserver((blockType, presetId, startEpochMillis, durationMillis, drift) -> {
+            threads.add(Thread.currentThread().getName());
+            completed.add(blockType);
+            blocks.countDown();
+        });
+        for (int i = 0; i < 50; i++) {
+            testServer.createSession(shortPreset);
+        }
+
+        assertTrue(blocks.await(5, TimeUnit.SECONDS));
+        assertTrue(threads.size() <= 2);
+        assertTrue(completed.contains(BlockType.MEDITATION));
+    }
+
+    @Test
+    void testRemovedSessionDoesNotStopOthers() throws Exception {
+        long removed = testServer.createSession(longPreset);
+        long kept = testServer.createSession(longPreset);
+        long sameThread = testServer.createSession(longPreset); // ids 1 and 3 share a thread
+        testServer.removeSession(removed);
+
+        assertEquals(SessionState.RUNNING, awaitState(kept, SessionState.RUNNING).getState());
+        assertEquals(SessionState.RUNNING, awaitState(sameThread, SessionState.RUNNING).getState());
+        assertTrue(testServer.pause(sameThread));
+        awaitState(sameThread, SessionState.PAUSED);
+    }
+
+    // EFFECTS: waits up to two seconds for the session with the given id to reach state and returns its snapshot
+    private SessionSnapshot awaitState(long id, SessionState state) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        SessionSnapshot snapshot = testServer.getSnapshot(id);
+        while (snapshot.getState() != state && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+            snapshot = testServer.getSnapshot(id);
+        }
+        assertEquals(state, snapshot.getState());
+        return snapshot;
+    }
+}